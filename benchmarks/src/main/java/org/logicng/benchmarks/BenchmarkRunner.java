@@ -0,0 +1,97 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * The entry point of the benchmark jar.  It accepts all JMH command line options, but writes the results as JSON to
+ * {@code jmh-result.json} unless another result format or file is given with {@code -rf} and {@code -rff}.  The JSON
+ * file contains one entry per benchmark and parameter combination with its score, error and raw measurements and can
+ * be imported into performance dashboards.
+ * <p>
+ * Examples:
+ * <ul>
+ * <li>{@code java -jar target/benchmarks.jar} runs all benchmarks</li>
+ * <li>{@code java -jar target/benchmarks.jar SATSolverBenchmark -p solver=MINISAT} runs the SAT benchmarks of
+ * MiniSat</li>
+ * <li>{@code java -jar target/benchmarks.jar PBEncodingBenchmark.encode} compares the clause counts of the
+ * pseudo-Boolean encodings</li>
+ * <li>{@code java -jar target/benchmarks.jar -rf csv -rff results.csv} writes the results as CSV</li>
+ * <li>{@code java -jar target/benchmarks.jar -h} lists all options</li>
+ * </ul>
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class BenchmarkRunner {
+
+  static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  /**
+   * Private constructor.
+   */
+  private BenchmarkRunner() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Runs the benchmarks.
+   * @param args the JMH command line options
+   * @throws CommandLineOptionException if the options are invalid
+   * @throws RunnerException            if there was a problem running the benchmarks
+   * @throws IOException                if there was a problem listing the benchmarks
+   */
+  public static void main(final String[] args) throws CommandLineOptionException, RunnerException, IOException {
+    final CommandLineOptions options = new CommandLineOptions(args);
+    if (options.shouldHelp()) {
+      options.showHelp();
+      return;
+    }
+    if (options.shouldList() || options.shouldListWithParams() || options.shouldListProfilers() ||
+            options.shouldListResultFormats()) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+    final ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+    if (!options.getResultFormat().hasValue())
+      builder.resultFormat(ResultFormatType.JSON);
+    if (!options.getResult().hasValue())
+      builder.result(DEFAULT_RESULT_FILE);
+    new Runner(builder.build()).run();
+  }
+}
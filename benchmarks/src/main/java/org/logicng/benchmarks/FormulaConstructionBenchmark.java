@@ -0,0 +1,104 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded benchmarks for the construction of random synthetic formulas with a formula factory and for the
+ * parsing of their string representations.
+ * <p>
+ * The formula factory is replaced before each iteration, therefore most generated formulas are new to the factory.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormulaConstructionBenchmark {
+
+  private static final int NUM_STRINGS = 1000;
+
+  @Param({"100", "10000"})
+  public int numVars;
+
+  @Param({"3", "5"})
+  public int depth;
+
+  private int seed;
+  private FormulaGenerator generator;
+  private PropositionalParser parser;
+  private String[] strings;
+  private int next;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    final FormulaFactory f = new FormulaFactory();
+    this.generator = new FormulaGenerator(f, this.numVars, this.seed++, true);
+    this.parser = new PropositionalParser(new FormulaFactory());
+    final FormulaGenerator stringGenerator = new FormulaGenerator(new FormulaFactory(), this.numVars, this.seed++, true);
+    this.strings = new String[NUM_STRINGS];
+    for (int i = 0; i < this.strings.length; i++)
+      this.strings[i] = stringGenerator.formula(this.depth).toString();
+    this.next = 0;
+  }
+
+  @Benchmark
+  public Formula construct() {
+    return this.generator.formula(this.depth);
+  }
+
+  @Benchmark
+  public Formula parse() throws ParserException {
+    final Formula formula = this.parser.parse(this.strings[this.next]);
+    this.next = (this.next + 1) % this.strings.length;
+    return formula;
+  }
+}
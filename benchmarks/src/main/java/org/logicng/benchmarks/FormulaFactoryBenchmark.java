@@ -0,0 +1,149 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-threaded benchmarks for the construction of conjunctions and disjunctions with a formula factory.
+ * <p>
+ * The {@code shared*} benchmarks use one concurrent formula factory for all threads, the {@code local*} benchmarks
+ * use a non-concurrent formula factory for each thread as baseline.  The number of threads can be changed with the
+ * JMH option {@code -t}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class FormulaFactoryBenchmark {
+
+  /**
+   * The formula factory shared by all threads.
+   */
+  @State(Scope.Benchmark)
+  public static class SharedFactory {
+
+    @Param({"100", "1000"})
+    public int numVars;
+
+    FormulaFactory f;
+    Literal[] literals;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      this.f = new FormulaFactory("shared", true);
+      this.literals = literals(this.f, this.numVars);
+    }
+  }
+
+  /**
+   * The state of a single thread with its own formula factory.
+   */
+  @State(Scope.Thread)
+  public static class ThreadLocalState {
+
+    @Param({"100", "1000"})
+    public int numVars;
+
+    FormulaFactory f;
+    Literal[] literals;
+    Random random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      this.f = new FormulaFactory("local", false);
+      this.literals = literals(this.f, this.numVars);
+      this.random = new Random(42 + Thread.currentThread().getId());
+    }
+  }
+
+  private static Literal[] literals(final FormulaFactory f, int numVars) {
+    final Literal[] literals = new Literal[2 * numVars];
+    for (int i = 0; i < numVars; i++) {
+      literals[2 * i] = f.variable("v" + i);
+      literals[2 * i + 1] = f.literal("v" + i, false);
+    }
+    return literals;
+  }
+
+  private static Formula and(final FormulaFactory f, final Literal[] lits, final Random random) {
+    final Formula clause1 = f.or(lits[random.nextInt(lits.length)], lits[random.nextInt(lits.length)]);
+    final Formula clause2 = f.or(lits[random.nextInt(lits.length)], lits[random.nextInt(lits.length)]);
+    return f.and(clause1, clause2, lits[random.nextInt(lits.length)]);
+  }
+
+  private static Formula or(final FormulaFactory f, final Literal[] lits, final Random random) {
+    final Formula term1 = f.and(lits[random.nextInt(lits.length)], lits[random.nextInt(lits.length)]);
+    final Formula term2 = f.and(lits[random.nextInt(lits.length)], lits[random.nextInt(lits.length)]);
+    return f.or(term1, term2, lits[random.nextInt(lits.length)]);
+  }
+
+  @Benchmark
+  public Formula sharedAnd(final SharedFactory shared, final ThreadLocalState local) {
+    return and(shared.f, shared.literals, local.random);
+  }
+
+  @Benchmark
+  public Formula sharedOr(final SharedFactory shared, final ThreadLocalState local) {
+    return or(shared.f, shared.literals, local.random);
+  }
+
+  @Benchmark
+  public Formula localAnd(final ThreadLocalState local) {
+    return and(local.f, local.literals, local.random);
+  }
+
+  @Benchmark
+  public Formula localOr(final ThreadLocalState local) {
+    return or(local.f, local.literals, local.random);
+  }
+}
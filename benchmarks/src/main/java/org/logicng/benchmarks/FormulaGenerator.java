@@ -0,0 +1,110 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+
+import java.util.Random;
+
+/**
+ * A generator for random synthetic formulas.
+ * <p>
+ * A formula of depth 0 is a literal.  A formula of depth {@code d > 0} is a conjunction or disjunction of two or three
+ * formulas of depth {@code d - 1}, or with a smaller probability a negation, an implication, or an equivalence.  The
+ * generator is deterministic for a given seed.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+final class FormulaGenerator {
+
+  private final FormulaFactory f;
+  private final Variable[] variables;
+  private final Random random;
+  private final boolean equivalences;
+
+  /**
+   * Constructs a new formula generator.
+   * @param f            the formula factory
+   * @param numVars      the number of variables
+   * @param seed         the seed for the random generator
+   * @param equivalences {@code true} if equivalences should be generated, {@code false} otherwise
+   */
+  FormulaGenerator(final FormulaFactory f, int numVars, long seed, boolean equivalences) {
+    this.f = f;
+    this.variables = new Variable[numVars];
+    for (int i = 0; i < numVars; i++)
+      this.variables[i] = f.variable("v" + i);
+    this.random = new Random(seed);
+    this.equivalences = equivalences;
+  }
+
+  /**
+   * Generates a random formula of a given depth.
+   * @param depth the depth
+   * @return the random formula
+   */
+  Formula formula(int depth) {
+    if (depth == 0) {
+      final Variable var = this.variables[this.random.nextInt(this.variables.length)];
+      return this.random.nextBoolean() ? var : var.negate();
+    }
+    final int type = this.random.nextInt(10);
+    switch (type) {
+      case 0:
+        return this.f.not(this.formula(depth - 1));
+      case 1:
+        return this.f.implication(this.formula(depth - 1), this.formula(depth - 1));
+      case 2:
+        if (this.equivalences)
+          return this.f.equivalence(this.formula(depth - 1), this.formula(depth - 1));
+        return this.f.or(this.formula(depth - 1), this.formula(depth - 1));
+      case 3:
+      case 4:
+      case 5:
+        return this.f.and(this.operands(depth - 1));
+      default:
+        return this.f.or(this.operands(depth - 1));
+    }
+  }
+
+  /**
+   * Generates two or three random operands of a given depth.
+   * @param depth the depth
+   * @return the operands
+   */
+  private Formula[] operands(int depth) {
+    final Formula[] operands = new Formula[2 + this.random.nextInt(2)];
+    for (int i = 0; i < operands.length; i++)
+      operands[i] = this.formula(depth);
+    return operands;
+  }
+}
@@ -0,0 +1,96 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+
+/**
+ * A memory benchmark for formulas.  It generates a fixed number of distinct formula nodes in a formula factory and
+ * reports the retained heap in bytes per node.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar org.logicng.benchmarks.FormulaMemoryBenchmark [n]} where {@code 4 * n}
+ * nodes are generated (default {@code n = 500000}).  Run it with a fixed heap (e.g. {@code -Xms2g -Xmx2g}) for stable
+ * results.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class FormulaMemoryBenchmark {
+
+  /**
+   * Private constructor.
+   */
+  private FormulaMemoryBenchmark() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Runs the benchmark.
+   * @param args the number {@code n} of variables
+   */
+  public static void main(final String[] args) {
+    final int n = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+    final long before = usedMemory();
+    final FormulaFactory f = new FormulaFactory();
+    final Variable[] vars = new Variable[n + 2];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = f.variable("v" + i);
+    final Literal[] negs = new Literal[n + 2];
+    for (int i = 0; i < negs.length; i++)
+      negs[i] = vars[i].negate();
+    final Formula[] clauses = new Formula[n + 1];
+    for (int i = 0; i < clauses.length; i++)
+      clauses[i] = f.or(vars[i], negs[i + 1]);
+    for (int i = 0; i < n; i++)
+      f.and(clauses[i], clauses[i + 1]);
+    final long after = usedMemory();
+    final long nodes = 2L * vars.length + clauses.length + n;
+    System.out.println(String.format("nodes:          %d", nodes));
+    System.out.println(String.format("retained bytes: %d", after - before));
+    System.out.println(String.format("bytes per node: %.1f", (double) (after - before) / nodes));
+    if (f.variable("v0") != vars[0])
+      throw new IllegalStateException("Factory was collected");
+  }
+
+  private static long usedMemory() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+      try {
+        Thread.sleep(100);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
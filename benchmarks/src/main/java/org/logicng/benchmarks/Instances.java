@@ -0,0 +1,70 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import java.io.File;
+
+/**
+ * Access to the benchmark instances in the {@code tests} folder of LogicNG.
+ * <p>
+ * The folder is taken from the system property {@code logicng.tests}.  If the property is not set, the folders
+ * {@code tests} and {@code ../tests} are tried, i.e. the benchmarks can be started from the LogicNG directory or the
+ * benchmark directory.  Since JMH passes the JVM arguments of the host VM to its forks, the property can be set with
+ * {@code java -Dlogicng.tests=... -jar target/benchmarks.jar}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+final class Instances {
+
+  static final String FOLDER_PROPERTY = "logicng.tests";
+
+  /**
+   * Private constructor.
+   */
+  private Instances() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Returns the file of a benchmark instance.
+   * @param path the path of the instance relative to the {@code tests} folder
+   * @return the file of the instance
+   * @throws IllegalStateException if the instance cannot be found
+   */
+  static File file(final String path) {
+    final String property = System.getProperty(FOLDER_PROPERTY);
+    final File folder = property != null ? new File(property) : new File("tests").isDirectory() ? new File("tests") : new File("../tests");
+    final File file = new File(folder, path);
+    if (!file.isFile())
+      throw new IllegalStateException(String.format("Cannot find the benchmark instance %s.  Set the folder of the " +
+              "instances with -D%s=<folder>", file, FOLDER_PROPERTY));
+    return file;
+  }
+}
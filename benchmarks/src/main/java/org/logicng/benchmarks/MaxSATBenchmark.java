@@ -0,0 +1,157 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.solvers.maxsat.algorithms.IncWBO;
+import org.logicng.solvers.maxsat.algorithms.LinearSU;
+import org.logicng.solvers.maxsat.algorithms.LinearUS;
+import org.logicng.solvers.maxsat.algorithms.MSU3;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.maxsat.algorithms.OLL;
+import org.logicng.solvers.maxsat.algorithms.WBO;
+import org.logicng.solvers.maxsat.algorithms.WMSU3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the MaxSAT algorithms on the instances in {@code tests/maxsat}, {@code tests/partialmaxsat}, and
+ * {@code tests/partialweightedmaxsat}.
+ * <p>
+ * The unweighted instances are solved by all algorithms, the weighted instances only by the algorithms which support
+ * weighted problems.  Each invocation reads the instance into a fresh algorithm (not measured) and solves it once.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MaxSATBenchmark {
+
+  /**
+   * The MaxSAT algorithms.
+   */
+  public enum Algorithm {
+    WBO, INC_WBO, LINEAR_SU, LINEAR_US, MSU3, WMSU3, OLL
+  }
+
+  /**
+   * The state for the unweighted instances.
+   */
+  @State(Scope.Thread)
+  public static class Unweighted {
+
+    @Param({"maxsat/c5315-bug-gate-0.dimacs.seq.filtered.cnf", "maxsat/mot_comb1._red-gate-0.dimacs.seq.filtered.cnf",
+            "partialmaxsat/c1355_F1229gat@1.wcnf", "partialmaxsat/normalized-s3-3-3-1pb.wcnf"})
+    public String instance;
+
+    @Param({"WBO", "INC_WBO", "LINEAR_SU", "LINEAR_US", "MSU3", "OLL"})
+    public Algorithm algorithm;
+
+    MaxSAT solver;
+
+    @Setup(Level.Invocation)
+    public void setup() throws IOException, ParserException {
+      this.solver = algorithm(this.algorithm);
+      DimacsReader.readWCNF(Instances.file(this.instance), this.solver);
+    }
+  }
+
+  /**
+   * The state for the weighted instances.
+   */
+  @State(Scope.Thread)
+  public static class Weighted {
+
+    @Param({"partialweightedmaxsat/8.wcsp.log.wcnf", "partialweightedmaxsat/54.wcsp.log.wcnf",
+            "partialweightedmaxsat/404.wcsp.log.wcnf"})
+    public String instance;
+
+    @Param({"WBO", "INC_WBO", "LINEAR_SU", "WMSU3", "OLL"})
+    public Algorithm algorithm;
+
+    MaxSAT solver;
+
+    @Setup(Level.Invocation)
+    public void setup() throws IOException, ParserException {
+      this.solver = algorithm(this.algorithm);
+      DimacsReader.readWCNF(Instances.file(this.instance), this.solver);
+    }
+  }
+
+  private static MaxSAT algorithm(final Algorithm algorithm) {
+    switch (algorithm) {
+      case WBO:
+        return new WBO();
+      case INC_WBO:
+        return new IncWBO();
+      case LINEAR_SU:
+        return new LinearSU();
+      case LINEAR_US:
+        return new LinearUS();
+      case MSU3:
+        return new MSU3();
+      case WMSU3:
+        return new WMSU3();
+      case OLL:
+        return new OLL();
+      default:
+        throw new IllegalArgumentException("Unknown MaxSAT algorithm: " + algorithm);
+    }
+  }
+
+  @Benchmark
+  public int unweighted(final Unweighted state) {
+    state.solver.search();
+    return state.solver.result();
+  }
+
+  @Benchmark
+  public int weighted(final Weighted state) {
+    state.solver.search();
+    return state.solver.result();
+  }
+}
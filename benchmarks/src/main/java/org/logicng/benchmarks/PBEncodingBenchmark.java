@@ -0,0 +1,153 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.pseudobooleans.PBConfig;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the pseudo-Boolean encodings on random constraints in the style of the pseudo-Boolean solving tests.
+ * <p>
+ * Each invocation generates {@value #NUM_CONSTRAINTS} random constraints over {@value #NUM_VARS} variables on a fresh
+ * formula factory (not measured) which uses the benchmarked encoding.  The {@code encode} benchmark measures the CNF
+ * encoding and reports the number of generated clauses as auxiliary counter {@code clauses}, the {@code solve}
+ * benchmark encodes the constraints and solves them with MiniSat.  The {@code solveNative} benchmark solves the same
+ * constraints with the native pseudo-Boolean propagation of MiniPB as a baseline.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PBEncodingBenchmark {
+
+  static final int NUM_VARS = 50;
+  static final int NUM_CONSTRAINTS = 10;
+
+  /**
+   * The random constraints.
+   */
+  @State(Scope.Thread)
+  public static class Constraints {
+
+    @Param({"SWC", "BDD", "ADDER", "SORTER", "BEST"})
+    public PBConfig.PBEncoding encoding;
+
+    @Param({"5", "50"})
+    public int maxCoefficient;
+
+    Formula[] constraints;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+      final FormulaFactory f = new FormulaFactory();
+      f.putConfiguration(new PBConfig.Builder().pbEncoding(this.encoding).build());
+      this.constraints = constraints(f, this.maxCoefficient);
+    }
+  }
+
+  /**
+   * The auxiliary counter for the number of generated clauses.
+   */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Counters {
+    public long clauses;
+  }
+
+  private static int seed = 0;
+
+  private static Formula[] constraints(final FormulaFactory f, int maxCoefficient) {
+    final Random random = new Random(seed++);
+    final Variable[] vars = new Variable[NUM_VARS];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = f.variable("v" + i);
+    final Formula[] constraints = new Formula[NUM_CONSTRAINTS];
+    for (int i = 0; i < constraints.length; i++) {
+      final int[] coeffs = new int[vars.length];
+      int sum = 0;
+      for (int j = 0; j < coeffs.length; j++) {
+        coeffs[j] = 1 + random.nextInt(maxCoefficient);
+        sum += coeffs[j];
+      }
+      final CType comparator = random.nextBoolean() ? CType.LE : CType.GE;
+      constraints[i] = f.pbc(comparator, sum / 4 + random.nextInt(sum / 2), vars, coeffs);
+    }
+    return constraints;
+  }
+
+  @Benchmark
+  public long encode(final Constraints state, final Counters counters) {
+    long clauses = 0;
+    for (final Formula constraint : state.constraints)
+      clauses += constraint.cnf().numberOfOperands();
+    counters.clauses = clauses;
+    return clauses;
+  }
+
+  @Benchmark
+  public Tristate solve(final Constraints state) {
+    final SATSolver solver = MiniSat.miniSat(state.constraints[0].factory());
+    solver.add(Arrays.asList(state.constraints));
+    return solver.sat();
+  }
+
+  @Benchmark
+  public Tristate solveNative(final Constraints state) {
+    final SATSolver solver = MiniSat.miniPB(state.constraints[0].factory());
+    solver.add(Arrays.asList(state.constraints));
+    return solver.sat();
+  }
+}
@@ -0,0 +1,124 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.datastructures.Tristate;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.solvers.sat.CleaneLingConfig;
+import org.logicng.solvers.sat.CleaneLingSolver;
+import org.logicng.solvers.sat.CleaneLingStyleSolver;
+import org.logicng.solvers.sat.GlucoseConfig;
+import org.logicng.solvers.sat.GlucoseSyrup;
+import org.logicng.solvers.sat.MiniCard;
+import org.logicng.solvers.sat.MiniSat2Solver;
+import org.logicng.solvers.sat.MiniSatConfig;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the SAT solvers on the instances in {@code tests/sat}.
+ * <p>
+ * Each invocation reads the instance into a fresh solver (not measured) and solves it once.  Further instances of the
+ * folder can be benchmarked with the JMH option {@code -p instance=<file>}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SATSolverBenchmark {
+
+  /**
+   * The benchmarked solvers.
+   */
+  public enum Solver {
+    MINISAT, GLUCOSE, MINICARD, CLEANELING
+  }
+
+  @Param({"3col40_5_10.shuffled.cnf", "9symml_gr_rcs_w6.shuffled.cnf", "apex7_gr_rcs_w5.shuffled.cnf",
+          "bart30.shuffled.cnf", "ca064.shuffled.cnf", "x1_16.shuffled.cnf"})
+  public String instance;
+
+  @Param({"MINISAT", "GLUCOSE", "MINICARD", "CLEANELING"})
+  public Solver solver;
+
+  private MiniSatStyleSolver miniSatStyleSolver;
+  private CleaneLingStyleSolver cleaneLingStyleSolver;
+
+  @Setup(Level.Invocation)
+  public void setup() throws IOException, ParserException {
+    final MiniSatConfig config = new MiniSatConfig.Builder().incremental(false).build();
+    this.miniSatStyleSolver = null;
+    this.cleaneLingStyleSolver = null;
+    switch (this.solver) {
+      case MINISAT:
+        this.miniSatStyleSolver = new MiniSat2Solver(config);
+        break;
+      case GLUCOSE:
+        this.miniSatStyleSolver = new GlucoseSyrup(config, new GlucoseConfig.Builder().build());
+        break;
+      case MINICARD:
+        this.miniSatStyleSolver = new MiniCard(config);
+        break;
+      case CLEANELING:
+        this.cleaneLingStyleSolver = new CleaneLingSolver(new CleaneLingConfig.Builder().build());
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown solver: " + this.solver);
+    }
+    if (this.miniSatStyleSolver != null)
+      DimacsReader.readCNF(Instances.file("sat/" + this.instance), this.miniSatStyleSolver);
+    else
+      DimacsReader.readCNF(Instances.file("sat/" + this.instance), this.cleaneLingStyleSolver);
+  }
+
+  @Benchmark
+  public Tristate solve() {
+    return this.miniSatStyleSolver != null ? this.miniSatStyleSolver.solve(null) : this.cleaneLingStyleSolver.solve(null);
+  }
+}
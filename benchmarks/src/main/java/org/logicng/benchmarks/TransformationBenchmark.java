@@ -0,0 +1,174 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.sat.CNFMethod;
+import org.logicng.solvers.sat.MiniSatConfig;
+import org.logicng.transformations.cnf.CNFFactorization;
+import org.logicng.transformations.cnf.PlaistedGreenbaumTransformation;
+import org.logicng.transformations.cnf.TseitinTransformation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the CNF transformations on random synthetic formulas.
+ * <p>
+ * Each invocation transforms a batch of {@value #BATCH_SIZE} random formulas which are generated on a fresh formula
+ * factory before the invocation (not measured), therefore no cached transformation results are reused.  The
+ * factorization is benchmarked on smaller formulas without equivalences, since its result grows exponentially.
+ * <p>
+ * The {@code load*} benchmarks add the same batch to a fresh MiniSat solver, once via the factory transformation and
+ * once via the direct encoding on the solver.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class TransformationBenchmark {
+
+  static final int BATCH_SIZE = 100;
+
+  /**
+   * The random formulas for the Tseitin and Plaisted &amp; Greenbaum transformations.
+   */
+  @State(Scope.Thread)
+  public static class LargeFormulas {
+
+    @Param({"20", "100"})
+    public int numVars;
+
+    @Param({"4", "6"})
+    public int depth;
+
+    Formula[] formulas;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+      this.formulas = formulas(this.numVars, this.depth, true);
+    }
+  }
+
+  /**
+   * The random formulas for the factorization.
+   */
+  @State(Scope.Thread)
+  public static class SmallFormulas {
+
+    @Param({"10", "20"})
+    public int numVars;
+
+    @Param({"2", "3"})
+    public int depth;
+
+    Formula[] formulas;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+      this.formulas = formulas(this.numVars, this.depth, false);
+    }
+  }
+
+  private static int seed = 0;
+
+  private static Formula[] formulas(int numVars, int depth, boolean equivalences) {
+    final FormulaGenerator generator = new FormulaGenerator(new FormulaFactory(), numVars, seed++, equivalences);
+    final Formula[] formulas = new Formula[BATCH_SIZE];
+    for (int i = 0; i < formulas.length; i++)
+      formulas[i] = generator.formula(depth);
+    return formulas;
+  }
+
+  @Benchmark
+  public void tseitin(final LargeFormulas state, final Blackhole blackhole) {
+    final TseitinTransformation transformation = new TseitinTransformation();
+    for (final Formula formula : state.formulas)
+      blackhole.consume(formula.transform(transformation));
+  }
+
+  @Benchmark
+  public void plaistedGreenbaum(final LargeFormulas state, final Blackhole blackhole) {
+    final PlaistedGreenbaumTransformation transformation = new PlaistedGreenbaumTransformation();
+    for (final Formula formula : state.formulas)
+      blackhole.consume(formula.transform(transformation));
+  }
+
+  @Benchmark
+  public SATSolver loadFactoryPlaistedGreenbaum(final LargeFormulas state) {
+    final PlaistedGreenbaumTransformation transformation = new PlaistedGreenbaumTransformation();
+    final SATSolver solver = MiniSat.miniSat(state.formulas[0].factory());
+    for (final Formula formula : state.formulas)
+      solver.add(formula.transform(transformation));
+    return solver;
+  }
+
+  @Benchmark
+  public SATSolver loadSolverPlaistedGreenbaum(final LargeFormulas state) {
+    return load(state, CNFMethod.PLAISTED_GREENBAUM);
+  }
+
+  @Benchmark
+  public SATSolver loadSolverTseitin(final LargeFormulas state) {
+    return load(state, CNFMethod.TSEITIN);
+  }
+
+  private static SATSolver load(final LargeFormulas state, final CNFMethod method) {
+    final SATSolver solver = MiniSat.miniSat(state.formulas[0].factory(), new MiniSatConfig.Builder().cnfMethod(method).build());
+    for (final Formula formula : state.formulas)
+      solver.add(formula);
+    return solver;
+  }
+
+  @Benchmark
+  public void factorization(final SmallFormulas state, final Blackhole blackhole) {
+    final CNFFactorization transformation = new CNFFactorization();
+    for (final Formula formula : state.formulas)
+      blackhole.consume(formula.transform(transformation));
+  }
+}
@@ -0,0 +1,77 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.cardinalityconstraints;
+
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.util.Pair;
+
+import java.util.Collection;
+
+/**
+ * Encodes that at most 'rhs' variables can be assigned value true.  Uses the cardinality network encoding for
+ * translating the cardinality constraint into CNF.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CCAMKCardinalityNetwork extends CCAtMostK {
+
+  private final CCCardinalityNetwork network;
+
+  /**
+   * Constructs a new cardinality network.
+   * @param f the formula factory
+   */
+  public CCAMKCardinalityNetwork(final FormulaFactory f) {
+    this.network = new CCCardinalityNetwork(f);
+  }
+
+  @Override
+  public ImmutableFormulaList build(final Collection<Variable> vars, int rhs) {
+    return this.network.buildAMK(vars, rhs);
+  }
+
+  /**
+   * Builds a cardinality constraint of the form {@code var_1 + var_2 + ... + var_n <= k} whose bound can be
+   * tightened afterwards with the returned incremental data.
+   * @param vars the variables {@code var_1 ... var_n}
+   * @param rhs  the right hand side {@code k} of the constraint
+   * @return the CNF encoding of the cardinality constraint and its incremental data
+   * @throws IllegalArgumentException if the right hand side of the cardinality constraint is negative
+   */
+  public Pair<ImmutableFormulaList, CCIncrementalData> buildForIncremental(final Collection<Variable> vars, int rhs) {
+    return this.network.buildAMKForIncremental(vars, rhs);
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
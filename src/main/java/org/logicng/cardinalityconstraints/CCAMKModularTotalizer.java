@@ -56,6 +56,7 @@ import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.Variable;
+import org.logicng.util.Pair;
 
 import java.util.Collection;
 import java.util.LinkedList;
@@ -103,8 +104,8 @@ public final class CCAMKModularTotalizer extends CCAtMostK {
       throw new IllegalArgumentException("Invalid right hand side of cardinality constraint: " + rhs);
     assert !vars.isEmpty();
     this.result.clear();
-    this.cardinalityUpOutvars.clear();
-    this.cardinalityLwOutvars.clear();
+    this.cardinalityUpOutvars = new LNGVector<>();
+    this.cardinalityLwOutvars = new LNGVector<>();
     if (rhs >= vars.size())
       return new ImmutableFormulaList(FType.AND);
     if (rhs == 0) {
@@ -113,6 +114,49 @@ public final class CCAMKModularTotalizer extends CCAtMostK {
       return new ImmutableFormulaList(FType.AND, this.result);
     }
     assert rhs >= 1 && rhs < vars.size();
+    final int mod = this.encodeCounter(vars, rhs);
+    encodeOutput(this.f, rhs, mod, this.cardinalityUpOutvars, this.cardinalityLwOutvars, this.result);
+    this.currentCardinalityRhs = rhs + 1;
+    return new ImmutableFormulaList(FType.AND, this.result);
+  }
+
+  /**
+   * Builds a cardinality constraint of the form {@code var_1 + var_2 + ... + var_n <= k} whose bound can be
+   * tightened afterwards with the returned incremental data.
+   * <p>
+   * In contrast to {@link #build(Collection, int)} the counter is always generated, even if the bound is not
+   * restrictive.
+   * @param vars the variables {@code var_1 ... var_n}
+   * @param rhs  the right hand side {@code k} of the constraint
+   * @return the CNF encoding of the cardinality constraint and its incremental data
+   * @throws IllegalArgumentException if the right hand side of the cardinality constraint is negative
+   */
+  public Pair<ImmutableFormulaList, CCIncrementalData> buildForIncremental(final Collection<Variable> vars, int rhs) {
+    if (rhs < 0)
+      throw new IllegalArgumentException("Invalid right hand side of cardinality constraint: " + rhs);
+    this.result.clear();
+    if (vars.size() < 2) {
+      final LNGVector<Variable> outputs = new LNGVector<>(vars);
+      if (rhs == 0 && vars.size() == 1)
+        this.result.add(outputs.get(0).negate());
+      final CCIncrementalData data = new CCIncrementalData(this.f, outputs, vars.size(), rhs);
+      return new Pair<>(new ImmutableFormulaList(FType.AND, this.result), data);
+    }
+    final int mod = this.encodeCounter(vars, Math.max(1, Math.min(rhs, vars.size() - 1)));
+    final CCIncrementalData data = new CCIncrementalData(this.f, this.cardinalityUpOutvars, this.cardinalityLwOutvars,
+            mod, vars.size(), rhs);
+    if (rhs < vars.size())
+      encodeOutput(this.f, rhs, mod, this.cardinalityUpOutvars, this.cardinalityLwOutvars, this.result);
+    return new Pair<>(new ImmutableFormulaList(FType.AND, this.result), data);
+  }
+
+  /**
+   * Generates the modular counter for a given right hand side.
+   * @param vars the variables
+   * @param rhs  the right hand side
+   * @return the modulo of the counter
+   */
+  private int encodeCounter(final Collection<Variable> vars, int rhs) {
     int mod = (int) Math.ceil(Math.sqrt(rhs + 1.0));
     this.cardinalityUpOutvars = new LNGVector<>(vars.size() / mod);
     for (int i = 0; i < vars.size() / mod; i++)
@@ -128,29 +172,37 @@ public final class CCAMKModularTotalizer extends CCAtMostK {
       this.cardinalityUpOutvars.push(this.h0);
     this.toCNF(mod, this.cardinalityUpOutvars, this.cardinalityLwOutvars, vars.size());
     assert this.cardinalityInvars.size() == 0;
-    this.encodeOutput(rhs, mod);
-    this.currentCardinalityRhs = rhs + 1;
-    return new ImmutableFormulaList(FType.AND, this.result);
+    return mod;
   }
 
-  private void encodeOutput(int rhs, int mod) {
-    assert this.cardinalityUpOutvars.size() != 0 || this.cardinalityLwOutvars.size() != 0;
+  /**
+   * Generates the clauses which restrict the outputs of a modular counter to a given right hand side.
+   * @param f      the formula factory
+   * @param rhs    the right hand side
+   * @param mod    the modulo of the counter
+   * @param upper  the upper outputs of the counter
+   * @param lower  the lower outputs of the counter
+   * @param result the list to which the clauses are added
+   */
+  static void encodeOutput(final FormulaFactory f, int rhs, int mod, final LNGVector<Variable> upper,
+                           final LNGVector<Variable> lower, final List<Formula> result) {
+    assert upper.size() != 0 || lower.size() != 0;
     int ulimit = (rhs + 1) / mod;
     int llimit = (rhs + 1) - ulimit * mod;
-    assert ulimit <= this.cardinalityUpOutvars.size();
-    assert llimit <= this.cardinalityLwOutvars.size();
-    for (int i = ulimit; i < this.cardinalityUpOutvars.size(); i++)
-      this.result.add(this.cardinalityUpOutvars.get(i).negate());
+    assert ulimit <= upper.size();
+    assert llimit <= lower.size();
+    for (int i = ulimit; i < upper.size(); i++)
+      result.add(upper.get(i).negate());
     if (ulimit != 0 && llimit != 0) {
-      for (int i = llimit - 1; i < this.cardinalityLwOutvars.size(); i++)
-        this.result.add(this.f.clause(this.cardinalityUpOutvars.get(ulimit - 1).negate(), this.cardinalityLwOutvars.get(i).negate()));
+      for (int i = llimit - 1; i < lower.size(); i++)
+        result.add(f.clause(upper.get(ulimit - 1).negate(), lower.get(i).negate()));
     } else {
       if (ulimit == 0) {
         assert llimit != 0;
-        for (int i = llimit - 1; i < this.cardinalityLwOutvars.size(); i++)
-          this.result.add(this.cardinalityLwOutvars.get(i).negate());
+        for (int i = llimit - 1; i < lower.size(); i++)
+          result.add(lower.get(i).negate());
       } else
-        this.result.add(this.cardinalityUpOutvars.get(ulimit - 1).negate());
+        result.add(upper.get(ulimit - 1).negate());
     }
   }
 
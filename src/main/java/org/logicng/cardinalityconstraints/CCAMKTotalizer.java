@@ -52,6 +52,7 @@ package org.logicng.cardinalityconstraints;
 import org.logicng.collections.ImmutableFormulaList;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Variable;
+import org.logicng.util.Pair;
 
 import java.util.Collection;
 
@@ -79,6 +80,18 @@ public final class CCAMKTotalizer extends CCAtMostK {
     return this.totalizer.buildAMK(vars, rhs);
   }
 
+  /**
+   * Builds a cardinality constraint of the form {@code var_1 + var_2 + ... + var_n <= k} whose bound can be
+   * tightened afterwards with the returned incremental data.
+   * @param vars the variables {@code var_1 ... var_n}
+   * @param rhs  the right hand side {@code k} of the constraint
+   * @return the CNF encoding of the cardinality constraint and its incremental data
+   * @throws IllegalArgumentException if the right hand side of the cardinality constraint is negative
+   */
+  public Pair<ImmutableFormulaList, CCIncrementalData> buildForIncremental(final Collection<Variable> vars, int rhs) {
+    return this.totalizer.buildAMKForIncremental(vars, rhs);
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName();
@@ -0,0 +1,78 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.cardinalityconstraints;
+
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Encodes that at most one variable is assigned value true.  Uses the binary (bitwise) encoding due to Frisch et al.
+ * which introduces {@code log(n)} auxiliary variables and {@code n * log(n)} binary clauses.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CCAMOBinary extends CCAtMostOne {
+
+  private final FormulaFactory f;
+
+  /**
+   * Constructs the binary AMO encoder.
+   * @param f the formula factory
+   */
+  public CCAMOBinary(final FormulaFactory f) {
+    this.f = f;
+  }
+
+  @Override
+  public ImmutableFormulaList build(final Variable... vars) {
+    if (vars.length < 2)
+      return new ImmutableFormulaList(FType.AND);
+    final List<Formula> result = new LinkedList<>();
+    final int numBits = 32 - Integer.numberOfLeadingZeros(vars.length - 1);
+    final Variable[] bits = new Variable[numBits];
+    for (int i = 0; i < numBits; i++)
+      bits[i] = this.f.newCCVariable();
+    for (int i = 0; i < vars.length; i++)
+      for (int j = 0; j < numBits; j++)
+        result.add(this.f.clause(vars[i].negate(), (i & (1 << j)) != 0 ? bits[j] : bits[j].negate()));
+    return new ImmutableFormulaList(FType.AND, result);
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
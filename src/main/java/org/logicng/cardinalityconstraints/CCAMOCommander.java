@@ -0,0 +1,116 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.cardinalityconstraints;
+
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Encodes that at most one variable is assigned value true.  Uses the commander encoding due to Klieber and Kwon.
+ * <p>
+ * The variables are partitioned into groups of size {@code k}.  Within each group the naive encoding is used and each
+ * group gets a commander variable which is true iff a variable of the group is true.  At most one of the commander
+ * variables is then encoded recursively.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CCAMOCommander extends CCAtMostOne {
+
+  private final FormulaFactory f;
+  private final int groupSize;
+  private final CCAMOPure amo;
+
+  /**
+   * Constructs the commander AMO encoder with a group size of 3.
+   * @param f the formula factory
+   */
+  public CCAMOCommander(final FormulaFactory f) {
+    this(f, 3);
+  }
+
+  /**
+   * Constructs the commander AMO encoder with a given group size.
+   * @param f         the formula factory
+   * @param groupSize the group size
+   * @throws IllegalArgumentException if the group size is less than 2
+   */
+  public CCAMOCommander(final FormulaFactory f, int groupSize) {
+    if (groupSize < 2)
+      throw new IllegalArgumentException("Invalid group size of commander encoding: " + groupSize);
+    this.f = f;
+    this.groupSize = groupSize;
+    this.amo = new CCAMOPure(f);
+  }
+
+  @Override
+  public ImmutableFormulaList build(final Variable... vars) {
+    if (vars.length < 2)
+      return new ImmutableFormulaList(FType.AND);
+    final List<Formula> result = new LinkedList<>();
+    this.commanderRec(vars, result);
+    return new ImmutableFormulaList(FType.AND, result);
+  }
+
+  private void commanderRec(final Variable[] vars, final List<Formula> result) {
+    if (vars.length <= this.groupSize + 1) {
+      result.addAll(this.amo.build(vars).toList());
+      return;
+    }
+    final Variable[] commanders = new Variable[(vars.length + this.groupSize - 1) / this.groupSize];
+    for (int i = 0; i < commanders.length; i++) {
+      final Variable commander = this.f.newCCVariable();
+      final int from = i * this.groupSize;
+      final int to = Math.min(from + this.groupSize, vars.length);
+      final List<Literal> atLeastOne = new LinkedList<>();
+      atLeastOne.add(commander.negate());
+      for (int j = from; j < to; j++) {
+        atLeastOne.add(vars[j]);
+        result.add(this.f.clause(vars[j].negate(), commander));
+        for (int l = j + 1; l < to; l++)
+          result.add(this.f.clause(vars[j].negate(), vars[l].negate()));
+      }
+      result.add(this.f.clause(atLeastOne));
+      commanders[i] = commander;
+    }
+    this.commanderRec(commanders, result);
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
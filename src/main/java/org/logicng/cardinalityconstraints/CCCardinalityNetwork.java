@@ -0,0 +1,278 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.cardinalityconstraints;
+
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.collections.LNGVector;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.util.Pair;
+
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Super class for cardinality networks due to Asín, Nieuwenhuis, Oliveras and Rodríguez-Carbonell.
+ * <p>
+ * A cardinality network for a bound {@code m} computes the {@code m} largest outputs of a sorting network over the
+ * input variables with {@code O(n * log^2(m))} clauses.  The inputs are padded with false variables to a multiple of
+ * {@code m} rounded up to the next power of two.  Depending on the bound only the clauses for one direction of the
+ * comparators are generated.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CCCardinalityNetwork {
+
+  private enum Bound {LOWER, UPPER}
+
+  private final FormulaFactory f;
+  private final List<Formula> result;
+  private Bound bound;
+
+  /**
+   * Constructs a new cardinality network.
+   * @param f the formula factory
+   */
+  public CCCardinalityNetwork(final FormulaFactory f) {
+    this.f = f;
+    this.result = new LinkedList<>();
+  }
+
+  /**
+   * Builds an at-most-k constraint.
+   * @param vars the variables
+   * @param rhs  the right-hand side
+   * @return the constraint
+   * @throws IllegalArgumentException if the right hand side of the constraint was negative
+   */
+  ImmutableFormulaList buildAMK(final Collection<Variable> vars, int rhs) {
+    if (rhs < 0)
+      throw new IllegalArgumentException("Invalid right hand side of cardinality constraint: " + rhs);
+    this.result.clear();
+    if (rhs >= vars.size()) // there is no constraint
+      return new ImmutableFormulaList(FType.AND);
+    if (rhs == 0) { // no variable can be true
+      for (final Variable var : vars)
+        this.result.add(var.negate());
+      return new ImmutableFormulaList(FType.AND, this.result);
+    }
+    this.bound = Bound.UPPER;
+    final LNGVector<Variable> outputs = this.card(vars, rhs + 1);
+    this.result.add(outputs.get(rhs).negate());
+    return new ImmutableFormulaList(FType.AND, this.result);
+  }
+
+  /**
+   * Builds an at-most-k constraint whose bound can be tightened afterwards.
+   * <p>
+   * In contrast to {@link #buildAMK(Collection, int)} the network is always generated, even if the bound is not
+   * restrictive, and its outputs are kept in the returned incremental data.
+   * @param vars the variables
+   * @param rhs  the right-hand side
+   * @return the constraint and its incremental data
+   * @throws IllegalArgumentException if the right hand side of the constraint was negative
+   */
+  Pair<ImmutableFormulaList, CCIncrementalData> buildAMKForIncremental(final Collection<Variable> vars, int rhs) {
+    if (rhs < 0)
+      throw new IllegalArgumentException("Invalid right hand side of cardinality constraint: " + rhs);
+    this.result.clear();
+    final LNGVector<Variable> outputs;
+    if (vars.size() < 2)
+      outputs = new LNGVector<>(vars);
+    else {
+      this.bound = Bound.UPPER;
+      outputs = this.card(vars, Math.max(2, Math.min(rhs, vars.size() - 1) + 1));
+    }
+    if (rhs < vars.size())
+      this.result.add(outputs.get(rhs).negate());
+    final CCIncrementalData data = new CCIncrementalData(this.f, outputs, vars.size(), rhs);
+    return new Pair<>(new ImmutableFormulaList(FType.AND, this.result), data);
+  }
+
+  /**
+   * Builds an at-least-k constraint.
+   * @param vars the variables
+   * @param rhs  the right-hand side
+   * @return the constraint
+   * @throws IllegalArgumentException if the right hand side of the constraint was negative
+   */
+  ImmutableFormulaList buildALK(final Collection<Variable> vars, int rhs) {
+    if (rhs < 0)
+      throw new IllegalArgumentException("Invalid right hand side of cardinality constraint: " + rhs);
+    this.result.clear();
+    if (rhs > vars.size())
+      return new ImmutableFormulaList(FType.AND, this.f.falsum());
+    if (rhs == 0)
+      return new ImmutableFormulaList(FType.AND);
+    if (rhs == 1) {
+      this.result.add(this.f.or(vars));
+      return new ImmutableFormulaList(FType.AND, this.result);
+    }
+    if (rhs == vars.size()) {
+      for (final Variable var : vars)
+        this.result.add(var);
+      return new ImmutableFormulaList(FType.AND, this.result);
+    }
+    this.bound = Bound.LOWER;
+    final LNGVector<Variable> outputs = this.card(vars, rhs);
+    this.result.add(outputs.get(rhs - 1));
+    return new ImmutableFormulaList(FType.AND, this.result);
+  }
+
+  /**
+   * Generates a cardinality network whose first {@code m} outputs are sorted.
+   * @param vars the input variables
+   * @param m    the number of required outputs (at least 2)
+   * @return the outputs of the network (at least {@code m})
+   */
+  private LNGVector<Variable> card(final Collection<Variable> vars, int m) {
+    int k = 1;
+    while (k < m)
+      k <<= 1;
+    final LNGVector<Variable> inputs = new LNGVector<>(vars.size() + k);
+    for (final Variable var : vars)
+      inputs.push(var);
+    while (inputs.size() % k != 0) {
+      final Variable padding = this.f.newCCVariable();
+      this.result.add(padding.negate());
+      inputs.push(padding);
+    }
+    return this.card(inputs, 0, inputs.size(), k);
+  }
+
+  private LNGVector<Variable> card(final LNGVector<Variable> inputs, int from, int to, int k) {
+    if (to - from == k)
+      return this.hSort(inputs, from, to);
+    final LNGVector<Variable> left = this.card(inputs, from, from + k, k);
+    final LNGVector<Variable> right = this.card(inputs, from + k, to, k);
+    final LNGVector<Variable> merged = this.sMerge(left, right);
+    merged.pop();
+    return merged;
+  }
+
+  private LNGVector<Variable> hSort(final LNGVector<Variable> inputs, int from, int to) {
+    if (to - from == 2) {
+      final LNGVector<Variable> left = new LNGVector<>(1);
+      left.push(inputs.get(from));
+      final LNGVector<Variable> right = new LNGVector<>(1);
+      right.push(inputs.get(from + 1));
+      return this.hMerge(left, right);
+    }
+    final int split = (from + to) / 2;
+    return this.hMerge(this.hSort(inputs, from, split), this.hSort(inputs, split, to));
+  }
+
+  private LNGVector<Variable> hMerge(final LNGVector<Variable> as, final LNGVector<Variable> bs) {
+    assert as.size() == bs.size();
+    final int n = as.size();
+    final LNGVector<Variable> outputs = new LNGVector<>(2 * n);
+    if (n == 1) {
+      this.comparator(as.get(0), bs.get(0), outputs);
+      return outputs;
+    }
+    final LNGVector<Variable> ds = this.hMerge(odds(as), odds(bs));
+    final LNGVector<Variable> es = this.hMerge(evens(as), evens(bs));
+    outputs.push(ds.get(0));
+    for (int i = 1; i < n; i++)
+      this.comparator(ds.get(i), es.get(i - 1), outputs);
+    outputs.push(es.get(n - 1));
+    return outputs;
+  }
+
+  private LNGVector<Variable> sMerge(final LNGVector<Variable> as, final LNGVector<Variable> bs) {
+    assert as.size() == bs.size();
+    final int n = as.size();
+    final LNGVector<Variable> outputs = new LNGVector<>(n + 1);
+    if (n == 1) {
+      this.comparator(as.get(0), bs.get(0), outputs);
+      return outputs;
+    }
+    final LNGVector<Variable> ds = this.sMerge(odds(as), odds(bs));
+    final LNGVector<Variable> es = this.sMerge(evens(as), evens(bs));
+    outputs.push(ds.get(0));
+    for (int i = 1; i <= n / 2; i++)
+      this.comparator(ds.get(i), es.get(i - 1), outputs);
+    return outputs;
+  }
+
+  /**
+   * Generates a 2-comparator with the maximum and the minimum of two variables as outputs.
+   * @param a       the first input
+   * @param b       the second input
+   * @param outputs the vector to which the outputs are appended
+   */
+  private void comparator(final Variable a, final Variable b, final LNGVector<Variable> outputs) {
+    final Variable max = this.f.newCCVariable();
+    final Variable min = this.f.newCCVariable();
+    if (this.bound == Bound.UPPER) {
+      this.result.add(this.f.clause(a.negate(), max));
+      this.result.add(this.f.clause(b.negate(), max));
+      this.result.add(this.f.clause(a.negate(), b.negate(), min));
+    } else {
+      this.result.add(this.f.clause(max.negate(), a, b));
+      this.result.add(this.f.clause(min.negate(), a));
+      this.result.add(this.f.clause(min.negate(), b));
+    }
+    outputs.push(max);
+    outputs.push(min);
+  }
+
+  /**
+   * Returns the elements at the odd positions {@code 1, 3, 5, ...} (counting from 1) of a vector.
+   * @param vars the vector
+   * @return the elements at the odd positions
+   */
+  private static LNGVector<Variable> odds(final LNGVector<Variable> vars) {
+    final LNGVector<Variable> odds = new LNGVector<>((vars.size() + 1) / 2);
+    for (int i = 0; i < vars.size(); i += 2)
+      odds.push(vars.get(i));
+    return odds;
+  }
+
+  /**
+   * Returns the elements at the even positions {@code 2, 4, 6, ...} (counting from 1) of a vector.
+   * @param vars the vector
+   * @return the elements at the even positions
+   */
+  private static LNGVector<Variable> evens(final LNGVector<Variable> vars) {
+    final LNGVector<Variable> evens = new LNGVector<>(vars.size() / 2);
+    for (int i = 1; i < vars.size(); i += 2)
+      evens.push(vars.get(i));
+    return evens;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,197 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.cardinalityconstraints;
+
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+
+/**
+ * The configuration for the encoding of cardinality constraints.
+ * <p>
+ * The configuration is activated by putting it into the formula factory with
+ * {@link org.logicng.formulas.FormulaFactory#putConfiguration(Configuration)}.  It is used for all cardinality
+ * constraints which are encoded afterwards, already computed encodings are not changed.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CCConfig extends Configuration {
+
+  /**
+   * The encodings for at-most-one and exactly-one constraints.
+   * {@code PURE} - the naive encoding with pairwise exclusions
+   * {@code LADDER} - the ladder/regular encoding
+   * {@code PRODUCT} - the 2-product encoding due to Chen
+   * {@code BINARY} - the binary (bitwise) encoding
+   * {@code COMMANDER} - the commander encoding due to Klieber and Kwon
+   * {@code BEST} - the encoding is chosen by the number of variables (cf. {@link CCEncoder})
+   */
+  public enum AMOEncoding {
+    PURE, LADDER, PRODUCT, BINARY, COMMANDER, BEST
+  }
+
+  /**
+   * The encodings for at-most-k constraints.
+   * {@code TOTALIZER} - the totalizer encoding due to Bailleux and Boufkhad
+   * {@code MODULAR_TOTALIZER} - the modular totalizer encoding due to Ogawa et al.
+   * {@code CARDINALITY_NETWORK} - the cardinality network encoding due to Asín et al.
+   * {@code BEST} - the encoding is chosen by the number of variables and the right hand side (cf. {@link CCEncoder})
+   */
+  public enum AMKEncoding {
+    TOTALIZER, MODULAR_TOTALIZER, CARDINALITY_NETWORK, BEST
+  }
+
+  /**
+   * The encodings for at-least-k constraints.
+   * {@code TOTALIZER} - the totalizer encoding due to Bailleux and Boufkhad
+   * {@code CARDINALITY_NETWORK} - the cardinality network encoding due to Asín et al.
+   * {@code BEST} - the encoding is chosen by the number of variables and the right hand side (cf. {@link CCEncoder})
+   */
+  public enum ALKEncoding {
+    TOTALIZER, CARDINALITY_NETWORK, BEST
+  }
+
+  final AMOEncoding amoEncoding;
+  final AMOEncoding exoEncoding;
+  final AMKEncoding amkEncoding;
+  final ALKEncoding alkEncoding;
+
+  /**
+   * The builder for a cardinality constraint encoder configuration.
+   */
+  public static class Builder {
+    private AMOEncoding amoEncoding = AMOEncoding.BEST;
+    private AMOEncoding exoEncoding = AMOEncoding.BEST;
+    private AMKEncoding amkEncoding = AMKEncoding.BEST;
+    private ALKEncoding alkEncoding = ALKEncoding.BEST;
+
+    /**
+     * Sets the encoding for at-most-one constraints.  The default value is {@code BEST}.
+     * @param amoEncoding the encoding
+     * @return the builder
+     */
+    public Builder amoEncoding(final AMOEncoding amoEncoding) {
+      this.amoEncoding = amoEncoding;
+      return this;
+    }
+
+    /**
+     * Sets the encoding for exactly-one constraints.  The default value is {@code BEST}.
+     * @param exoEncoding the encoding
+     * @return the builder
+     */
+    public Builder exoEncoding(final AMOEncoding exoEncoding) {
+      this.exoEncoding = exoEncoding;
+      return this;
+    }
+
+    /**
+     * Sets the encoding for at-most-k constraints.  The default value is {@code BEST}.
+     * @param amkEncoding the encoding
+     * @return the builder
+     */
+    public Builder amkEncoding(final AMKEncoding amkEncoding) {
+      this.amkEncoding = amkEncoding;
+      return this;
+    }
+
+    /**
+     * Sets the encoding for at-least-k constraints.  The default value is {@code BEST}.
+     * @param alkEncoding the encoding
+     * @return the builder
+     */
+    public Builder alkEncoding(final ALKEncoding alkEncoding) {
+      this.alkEncoding = alkEncoding;
+      return this;
+    }
+
+    /**
+     * Builds the cardinality constraint encoder configuration.
+     * @return the configuration
+     */
+    public CCConfig build() {
+      return new CCConfig(this);
+    }
+  }
+
+  /**
+   * Constructs a new cardinality constraint encoder configuration from a given builder.
+   * @param builder the builder
+   */
+  private CCConfig(final Builder builder) {
+    super(ConfigurationType.CC_ENCODER);
+    this.amoEncoding = builder.amoEncoding;
+    this.exoEncoding = builder.exoEncoding;
+    this.amkEncoding = builder.amkEncoding;
+    this.alkEncoding = builder.alkEncoding;
+  }
+
+  /**
+   * Returns the encoding for at-most-one constraints.
+   * @return the encoding
+   */
+  public AMOEncoding amoEncoding() {
+    return this.amoEncoding;
+  }
+
+  /**
+   * Returns the encoding for exactly-one constraints.
+   * @return the encoding
+   */
+  public AMOEncoding exoEncoding() {
+    return this.exoEncoding;
+  }
+
+  /**
+   * Returns the encoding for at-most-k constraints.
+   * @return the encoding
+   */
+  public AMKEncoding amkEncoding() {
+    return this.amkEncoding;
+  }
+
+  /**
+   * Returns the encoding for at-least-k constraints.
+   * @return the encoding
+   */
+  public ALKEncoding alkEncoding() {
+    return this.alkEncoding;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("CCConfig{\n");
+    sb.append("amoEncoding=").append(this.amoEncoding).append("\n");
+    sb.append("exoEncoding=").append(this.exoEncoding).append("\n");
+    sb.append("amkEncoding=").append(this.amkEncoding).append("\n");
+    sb.append("alkEncoding=").append(this.alkEncoding).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+}
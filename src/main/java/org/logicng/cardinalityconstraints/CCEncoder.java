@@ -0,0 +1,344 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.cardinalityconstraints;
+
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.configurations.ConfigurationType;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.Variable;
+import org.logicng.util.Pair;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * An encoder for cardinality constraints which delegates each constraint to the encoder configured in the
+ * {@link CCConfig} of the formula factory.  If no configuration is present, the default configuration is used.
+ * <p>
+ * For the encoding {@code BEST} the encoder is chosen per constraint by the number of variables {@code n} and the
+ * right hand side {@code k}:
+ * <ul>
+ * <li>at-most-one and exactly-one constraints use the naive encoding for up to {@value #AMO_PURE_BOUND} variables
+ * and the 2-product encoding with its {@code 2n + O(sqrt(n))} binary clauses otherwise,</li>
+ * <li>at-most-k and at-least-k constraints use the totalizer or the cardinality network, whichever has the smaller
+ * estimated size: the totalizer grows with {@code n * k}, the cardinality network with {@code n * log^2(k)}.  So the
+ * totalizer is chosen for small and the cardinality network for large right hand sides.</li>
+ * </ul>
+ * The modular totalizer usually yields fewer clauses than both, but in contrast to them unit propagation on its
+ * encoding does not maintain arc consistency.  Therefore it is only used if it is configured explicitly.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CCEncoder {
+
+  private static final CCConfig DEFAULT_CONFIG = new CCConfig.Builder().build();
+  private static final int AMO_PURE_BOUND = 10;
+
+  private final FormulaFactory f;
+
+  private CCAMOPure amoPure;
+  private CCAMOLadder amoLadder;
+  private CCAMOProduct amoProduct;
+  private CCAMOBinary amoBinary;
+  private CCAMOCommander amoCommander;
+  private CCEXOPure exoPure;
+  private CCEXOLadder exoLadder;
+  private CCEXOProduct exoProduct;
+  private CCEXOBinary exoBinary;
+  private CCEXOCommander exoCommander;
+  private CCAMKTotalizer amkTotalizer;
+  private CCAMKModularTotalizer amkModularTotalizer;
+  private CCAMKCardinalityNetwork amkNetwork;
+  private CCALKTotalizer alkTotalizer;
+  private CCALKCardinalityNetwork alkNetwork;
+
+  /**
+   * Constructs a new cardinality constraint encoder.
+   * @param f the formula factory
+   */
+  public CCEncoder(final FormulaFactory f) {
+    this.f = f;
+  }
+
+  /**
+   * Encodes a cardinality constraint.
+   * @param constraint the cardinality constraint
+   * @return the CNF encoding of the cardinality constraint
+   * @throws IllegalArgumentException if the constraint is not a cardinality constraint
+   */
+  public ImmutableFormulaList encode(final PBConstraint constraint) {
+    if (!constraint.isCC())
+      throw new IllegalArgumentException("Cannot encode a non-cardinality constraint with a cardinality encoder");
+    final Variable[] ops = litsAsVars(constraint.operands());
+    switch (constraint.comparator()) {
+      case LE:
+        if (constraint.rhs() == 1)
+          return this.amoEncoder(ops.length).build(ops);
+        else
+          return this.amkEncoder(ops.length, constraint.rhs()).build(ops, constraint.rhs());
+      case LT:
+        if (constraint.rhs() == 2)
+          return this.amoEncoder(ops.length).build(ops);
+        else
+          return this.amkEncoder(ops.length, constraint.rhs() - 1).build(ops, constraint.rhs() - 1);
+      case GE:
+        return this.alkEncoder(ops.length, constraint.rhs()).build(ops, constraint.rhs());
+      case GT:
+        return this.alkEncoder(ops.length, constraint.rhs() + 1).build(ops, constraint.rhs() + 1);
+      case EQ:
+        if (constraint.rhs() == 1)
+          return this.exoEncoder(ops.length).build(ops);
+        else {
+          final List<Formula> list = new LinkedList<>();
+          list.addAll(this.amkEncoder(ops.length, constraint.rhs()).build(ops, constraint.rhs()).toList());
+          list.addAll(this.alkEncoder(ops.length, constraint.rhs()).build(ops, constraint.rhs()).toList());
+          return new ImmutableFormulaList(FType.AND, list);
+        }
+      default:
+        throw new IllegalArgumentException("Unknown pseudo-Boolean comparator: " + constraint.comparator());
+    }
+  }
+
+  /**
+   * Encodes an at-most-k cardinality constraint whose bound can be tightened afterwards with the returned incremental
+   * data.  The at-most-k encoding is chosen with respect to the configuration of the formula factory.
+   * @param constraint the cardinality constraint with comparator {@code <=} or {@code <}
+   * @return the CNF encoding of the cardinality constraint and its incremental data
+   * @throws IllegalArgumentException if the constraint is no at-most-k cardinality constraint
+   */
+  public Pair<ImmutableFormulaList, CCIncrementalData> encodeIncremental(final PBConstraint constraint) {
+    if (!constraint.isCC())
+      throw new IllegalArgumentException("Cannot encode a non-cardinality constraint with a cardinality encoder");
+    final int rhs;
+    if (constraint.comparator() == CType.LE)
+      rhs = constraint.rhs();
+    else if (constraint.comparator() == CType.LT)
+      rhs = constraint.rhs() - 1;
+    else
+      throw new IllegalArgumentException("Incremental cardinality constraints must be at-most-k constraints: " + constraint);
+    final List<Variable> vars = Arrays.asList(litsAsVars(constraint.operands()));
+    final CCAtMostK encoder = this.amkEncoder(vars.size(), rhs);
+    if (encoder instanceof CCAMKModularTotalizer)
+      return ((CCAMKModularTotalizer) encoder).buildForIncremental(vars, rhs);
+    if (encoder instanceof CCAMKCardinalityNetwork)
+      return ((CCAMKCardinalityNetwork) encoder).buildForIncremental(vars, rhs);
+    return ((CCAMKTotalizer) encoder).buildForIncremental(vars, rhs);
+  }
+
+  /**
+   * Returns the at-most-one encoder for a given number of variables with respect to the configuration of the formula
+   * factory.
+   * @param n the number of variables
+   * @return the at-most-one encoder
+   */
+  public CCAtMostOne amoEncoder(int n) {
+    final CCConfig.AMOEncoding encoding = this.config().amoEncoding();
+    switch (encoding == CCConfig.AMOEncoding.BEST ? bestAMO(n) : encoding) {
+      case PURE:
+        if (this.amoPure == null)
+          this.amoPure = new CCAMOPure(this.f);
+        return this.amoPure;
+      case LADDER:
+        if (this.amoLadder == null)
+          this.amoLadder = new CCAMOLadder(this.f);
+        return this.amoLadder;
+      case PRODUCT:
+        if (this.amoProduct == null)
+          this.amoProduct = new CCAMOProduct(this.f);
+        return this.amoProduct;
+      case BINARY:
+        if (this.amoBinary == null)
+          this.amoBinary = new CCAMOBinary(this.f);
+        return this.amoBinary;
+      case COMMANDER:
+        if (this.amoCommander == null)
+          this.amoCommander = new CCAMOCommander(this.f);
+        return this.amoCommander;
+      default:
+        throw new IllegalStateException("Unknown at-most-one encoding: " + encoding);
+    }
+  }
+
+  /**
+   * Returns the exactly-one encoder for a given number of variables with respect to the configuration of the formula
+   * factory.
+   * @param n the number of variables
+   * @return the exactly-one encoder
+   */
+  public CCExactlyOne exoEncoder(int n) {
+    final CCConfig.AMOEncoding encoding = this.config().exoEncoding();
+    switch (encoding == CCConfig.AMOEncoding.BEST ? bestAMO(n) : encoding) {
+      case PURE:
+        if (this.exoPure == null)
+          this.exoPure = new CCEXOPure(this.f);
+        return this.exoPure;
+      case LADDER:
+        if (this.exoLadder == null)
+          this.exoLadder = new CCEXOLadder(this.f);
+        return this.exoLadder;
+      case PRODUCT:
+        if (this.exoProduct == null)
+          this.exoProduct = new CCEXOProduct(this.f);
+        return this.exoProduct;
+      case BINARY:
+        if (this.exoBinary == null)
+          this.exoBinary = new CCEXOBinary(this.f);
+        return this.exoBinary;
+      case COMMANDER:
+        if (this.exoCommander == null)
+          this.exoCommander = new CCEXOCommander(this.f);
+        return this.exoCommander;
+      default:
+        throw new IllegalStateException("Unknown exactly-one encoding: " + encoding);
+    }
+  }
+
+  /**
+   * Returns the at-most-k encoder for a given number of variables and right hand side with respect to the
+   * configuration of the formula factory.
+   * @param n   the number of variables
+   * @param rhs the right hand side
+   * @return the at-most-k encoder
+   */
+  public CCAtMostK amkEncoder(int n, int rhs) {
+    final CCConfig.AMKEncoding encoding = this.config().amkEncoding();
+    switch (encoding == CCConfig.AMKEncoding.BEST ? bestAMK(n, rhs) : encoding) {
+      case TOTALIZER:
+        return this.amkTotalizer();
+      case MODULAR_TOTALIZER:
+        if (this.amkModularTotalizer == null)
+          this.amkModularTotalizer = new CCAMKModularTotalizer(this.f);
+        return this.amkModularTotalizer;
+      case CARDINALITY_NETWORK:
+        if (this.amkNetwork == null)
+          this.amkNetwork = new CCAMKCardinalityNetwork(this.f);
+        return this.amkNetwork;
+      default:
+        throw new IllegalStateException("Unknown at-most-k encoding: " + encoding);
+    }
+  }
+
+  /**
+   * Returns the at-least-k encoder for a given number of variables and right hand side with respect to the
+   * configuration of the formula factory.
+   * @param n   the number of variables
+   * @param rhs the right hand side
+   * @return the at-least-k encoder
+   */
+  public CCAtLeastK alkEncoder(int n, int rhs) {
+    final CCConfig.ALKEncoding encoding = this.config().alkEncoding();
+    switch (encoding == CCConfig.ALKEncoding.BEST ? bestALK(n, rhs) : encoding) {
+      case TOTALIZER:
+        if (this.alkTotalizer == null)
+          this.alkTotalizer = new CCALKTotalizer(this.f);
+        return this.alkTotalizer;
+      case CARDINALITY_NETWORK:
+        if (this.alkNetwork == null)
+          this.alkNetwork = new CCALKCardinalityNetwork(this.f);
+        return this.alkNetwork;
+      default:
+        throw new IllegalStateException("Unknown at-least-k encoding: " + encoding);
+    }
+  }
+
+  /**
+   * Returns the totalizer for at-most-k constraints.  The encoder is created on the first call.
+   * @return the totalizer for at-most-k constraints
+   */
+  public CCAMKTotalizer amkTotalizer() {
+    if (this.amkTotalizer == null)
+      this.amkTotalizer = new CCAMKTotalizer(this.f);
+    return this.amkTotalizer;
+  }
+
+  private static CCConfig.AMOEncoding bestAMO(int n) {
+    return n <= AMO_PURE_BOUND ? CCConfig.AMOEncoding.PURE : CCConfig.AMOEncoding.PRODUCT;
+  }
+
+  private static CCConfig.AMKEncoding bestAMK(int n, int rhs) {
+    return totalizerIsSmaller(n, rhs + 1) ? CCConfig.AMKEncoding.TOTALIZER : CCConfig.AMKEncoding.CARDINALITY_NETWORK;
+  }
+
+  private static CCConfig.ALKEncoding bestALK(int n, int rhs) {
+    return totalizerIsSmaller(n, rhs) ? CCConfig.ALKEncoding.TOTALIZER : CCConfig.ALKEncoding.CARDINALITY_NETWORK;
+  }
+
+  /**
+   * Returns {@code true} if the estimated size of the totalizer is not larger than the estimated size of the
+   * cardinality network for a constraint which counts up to {@code m} of {@code n} variables.
+   * @param n the number of variables
+   * @param m the number of counted variables
+   * @return {@code true} if the totalizer should be used
+   */
+  private static boolean totalizerIsSmaller(int n, int m) {
+    int k = 1;
+    int log = 0;
+    while (k < m) {
+      k <<= 1;
+      log++;
+    }
+    final long paddedN = ((long) n + k - 1) / k * k;
+    return (long) n * Math.min(m, n) <= paddedN * log * (log + 1);
+  }
+
+  /**
+   * Returns the cardinality constraint encoder configuration of the formula factory or the default configuration.
+   * @return the configuration
+   */
+  private CCConfig config() {
+    final CCConfig config = (CCConfig) this.f.configurationFor(ConfigurationType.CC_ENCODER);
+    return config == null ? DEFAULT_CONFIG : config;
+  }
+
+  /**
+   * Converts a literal array to a variable array
+   * <p>
+   * ATTENTION: this only works if because the {@code isCC} method checks, that there are only positive literals.
+   * @param lits the literals
+   * @return the variables
+   */
+  private static Variable[] litsAsVars(final Literal[] lits) {
+    final Variable[] vars = new Variable[lits.length];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = lits[i].variable();
+    return vars;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,147 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.cardinalityconstraints;
+
+import org.logicng.collections.LNGVector;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * The data of an incremental at-most-k cardinality constraint.
+ * <p>
+ * The encoding of the constraint is generated once and the outputs of its counter are kept, such that the bound can
+ * be tightened afterwards by a few unit or binary clauses instead of a completely new encoding.  For the totalizer and
+ * the cardinality network the i-th output is true if at least {@code i + 1} variables are true, for the modular
+ * totalizer the outputs are split in an upper and a lower counter.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CCIncrementalData {
+
+  private final FormulaFactory f;
+  private final LNGVector<Variable> outputs;
+  private final LNGVector<Variable> lowerOutputs;
+  private final int mod;
+  private final int numberOfVariables;
+  private int currentRHS;
+
+  /**
+   * Constructs new incremental data for a totalizer or a cardinality network.
+   * @param f                 the formula factory
+   * @param outputs           the counter outputs, the i-th output is true if at least {@code i + 1} variables are true
+   * @param numberOfVariables the number of variables of the constraint
+   * @param rhs               the right hand side of the encoded constraint
+   */
+  CCIncrementalData(final FormulaFactory f, final LNGVector<Variable> outputs, int numberOfVariables, int rhs) {
+    this.f = f;
+    this.outputs = outputs;
+    this.lowerOutputs = null;
+    this.mod = -1;
+    this.numberOfVariables = numberOfVariables;
+    this.currentRHS = rhs;
+  }
+
+  /**
+   * Constructs new incremental data for a modular totalizer.
+   * @param f                 the formula factory
+   * @param upperOutputs      the outputs of the upper counter
+   * @param lowerOutputs      the outputs of the lower counter
+   * @param mod               the modulo of the counter
+   * @param numberOfVariables the number of variables of the constraint
+   * @param rhs               the right hand side of the encoded constraint
+   */
+  CCIncrementalData(final FormulaFactory f, final LNGVector<Variable> upperOutputs,
+                    final LNGVector<Variable> lowerOutputs, int mod, int numberOfVariables, int rhs) {
+    this.f = f;
+    this.outputs = upperOutputs;
+    this.lowerOutputs = lowerOutputs;
+    this.mod = mod;
+    this.numberOfVariables = numberOfVariables;
+    this.currentRHS = rhs;
+  }
+
+  /**
+   * Tightens the upper bound of the constraint and returns the formula which has to be added to the encoding.
+   * @param rhs the new right hand side
+   * @return the clauses for the new bound or {@code $true} if the bound is not restrictive
+   * @throws IllegalArgumentException if the new right hand side is negative or larger than the current one
+   */
+  public Formula newUpperBound(int rhs) {
+    final Formula bound = this.upperBound(rhs);
+    this.currentRHS = rhs;
+    return bound;
+  }
+
+  /**
+   * Returns the formula which restricts the constraint to a given upper bound without changing the current right
+   * hand side.  In contrast to {@link #newUpperBound(int)} the bound is meant to be used temporarily, e.g. as
+   * assumption of a SAT solver.
+   * @param rhs the right hand side
+   * @return the clauses for the bound or {@code $true} if the bound is not restrictive
+   * @throws IllegalArgumentException if the right hand side is negative or larger than the current one
+   */
+  public Formula upperBound(int rhs) {
+    if (rhs < 0 || rhs > this.currentRHS)
+      throw new IllegalArgumentException("Invalid right hand side for tightening the cardinality constraint: " + rhs);
+    if (rhs >= this.numberOfVariables)
+      return this.f.verum();
+    if (this.lowerOutputs == null)
+      return this.outputs.get(rhs).negate();
+    final List<Formula> clauses = new LinkedList<>();
+    CCAMKModularTotalizer.encodeOutput(this.f, rhs, this.mod, this.outputs, this.lowerOutputs, clauses);
+    return this.f.and(clauses);
+  }
+
+  /**
+   * Returns the current right hand side of the constraint.
+   * @return the current right hand side
+   */
+  public int currentRHS() {
+    return this.currentRHS;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("CCIncrementalData{");
+    sb.append("currentRHS=").append(this.currentRHS).append(", ");
+    if (this.lowerOutputs == null)
+      sb.append("outputs=").append(this.outputs);
+    else
+      sb.append("mod=").append(this.mod).append(", ")
+              .append("upperOutputs=").append(this.outputs).append(", ")
+              .append("lowerOutputs=").append(this.lowerOutputs);
+    sb.append("}");
+    return sb.toString();
+  }
+}
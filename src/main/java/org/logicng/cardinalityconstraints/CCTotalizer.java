@@ -55,6 +55,7 @@ import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Variable;
+import org.logicng.util.Pair;
 
 import java.util.Collection;
 import java.util.LinkedList;
@@ -114,6 +115,38 @@ public final class CCTotalizer {
     return new ImmutableFormulaList(FType.AND, this.result);
   }
 
+  /**
+   * Builds an at-most-k constraint whose bound can be tightened afterwards.
+   * <p>
+   * In contrast to {@link #buildAMK(Collection, int)} the counter is always generated, even if the bound is not
+   * restrictive, and its outputs are kept in the returned incremental data.
+   * @param vars the variables
+   * @param rhs  the right-hand side
+   * @return the constraint and its incremental data
+   * @throws IllegalArgumentException if the right hand side of the constraint was negative
+   */
+  Pair<ImmutableFormulaList, CCIncrementalData> buildAMKForIncremental(final Collection<Variable> vars, int rhs) {
+    if (rhs < 0)
+      throw new IllegalArgumentException("Invalid right hand side of cardinality constraint: " + rhs);
+    this.result.clear();
+    final LNGVector<Variable> cardinalityOutlits = new LNGVector<>(vars.size());
+    if (vars.size() == 1)
+      cardinalityOutlits.push(vars.iterator().next());
+    else if (vars.size() > 1) {
+      this.cardinalityInvars = new LNGVector<>(vars.size());
+      for (final Variable var : vars) {
+        this.cardinalityInvars.push(var);
+        cardinalityOutlits.push(this.f.newCCVariable());
+      }
+      this.toCNF(cardinalityOutlits, Math.min(rhs, vars.size() - 1), Bound.UPPER);
+      assert this.cardinalityInvars.size() == 0;
+    }
+    for (int i = rhs; i < cardinalityOutlits.size(); i++)
+      this.result.add(cardinalityOutlits.get(i).negate());
+    final CCIncrementalData data = new CCIncrementalData(this.f, cardinalityOutlits, vars.size(), rhs);
+    return new Pair<>(new ImmutableFormulaList(FType.AND, this.result), data);
+  }
+
   /**
    * Builds an at-least-k constraint.
    * @param vars the variables
@@ -38,5 +38,9 @@ public enum ConfigurationType {
   MINISAT,
   GLUCOSE,
   CLEANELING,
-  MAXSAT
+  MAXSAT,
+  PORTFOLIO,
+  FORMULA_CACHE,
+  PB_ENCODER,
+  CC_ENCODER
 }
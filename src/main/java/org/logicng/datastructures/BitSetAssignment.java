@@ -0,0 +1,137 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.datastructures;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * A Boolean assignment backed by bit sets over the variable ids of a formula factory.
+ * <p>
+ * In addition to the lists of the plain assignment, the positive and negative variables are stored in two bit sets
+ * indexed by the {@link Variable#id() variable ids}.  Hence evaluating and restricting a literal of the assignment's
+ * factory takes constant time without converting the assignment to a {@link #convertToFastEvaluable() fast evaluable}
+ * one.  As soon as literals of other factories are involved, they are evaluated like in a plain assignment.  The SAT
+ * solvers produce models of this type.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class BitSetAssignment extends Assignment {
+
+  private final FormulaFactory f;
+  private final BitSet posIds;
+  private final BitSet negIds;
+  private boolean foreignLiterals;
+
+  /**
+   * Constructs a new empty assignment.
+   * @param f the formula factory of the variables of this assignment
+   */
+  public BitSetAssignment(final FormulaFactory f) {
+    super(false);
+    this.f = f;
+    this.posIds = new BitSet();
+    this.negIds = new BitSet();
+  }
+
+  /**
+   * Constructs a new assignment for a given collection of literals.
+   * @param f    the formula factory of the variables of this assignment
+   * @param lits the literals
+   */
+  public BitSetAssignment(final FormulaFactory f, final Collection<? extends Literal> lits) {
+    this(f);
+    for (final Literal lit : lits)
+      this.addLiteral(lit);
+  }
+
+  /**
+   * Returns the formula factory of this assignment.
+   * @return the formula factory of this assignment
+   */
+  public FormulaFactory factory() {
+    return this.f;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This assignment is always fast evaluable.
+   */
+  @Override
+  public boolean fastEvaluable() {
+    return true;
+  }
+
+  /**
+   * Does nothing, since this assignment is always fast evaluable.
+   */
+  @Override
+  public void convertToFastEvaluable() {
+    // nothing to do
+  }
+
+  @Override
+  public void addLiteral(final Literal lit) {
+    super.addLiteral(lit);
+    if (lit.factory() == this.f)
+      (lit.phase() ? this.posIds : this.negIds).set(lit.variable().id());
+    else
+      this.foreignLiterals = true;
+  }
+
+  @Override
+  public boolean evaluateLit(final Literal lit) {
+    if (this.foreignLiterals || lit.factory() != this.f)
+      return super.evaluateLit(lit);
+    final int id = lit.variable().id();
+    if (lit.phase())
+      return this.posIds.get(id);
+    else
+      return this.negIds.get(id) || !this.posIds.get(id);
+  }
+
+  @Override
+  public Formula restrictLit(final Literal lit) {
+    if (this.foreignLiterals || lit.factory() != this.f)
+      return super.restrictLit(lit);
+    final int id = lit.variable().id();
+    if (this.posIds.get(id))
+      return lit.phase() ? this.f.verum() : this.f.falsum();
+    if (this.negIds.get(id))
+      return !lit.phase() ? this.f.verum() : this.f.falsum();
+    return null;
+  }
+}
@@ -35,7 +35,6 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 
 import static org.logicng.formulas.cache.PredicateCacheEntry.IS_CNF;
-import static org.logicng.formulas.cache.TransformationCacheEntry.FACTORIZED_CNF;
 
 /**
  * Boolean conjunction.
@@ -59,11 +58,7 @@ public final class And extends NAryOperator {
    */
   And(final LinkedHashSet<? extends Formula> operands, final FormulaFactory f, boolean isCNF) {
     super(FType.AND, operands, f);
-    if (isCNF) {
-      this.setPredicateCacheEntry(IS_CNF, true);
-      this.setTransformationCacheEntry(FACTORIZED_CNF, this);
-    } else
-      this.setPredicateCacheEntry(IS_CNF, false);
+    this.setPredicateCacheEntry(IS_CNF, isCNF);
   }
 
   @Override
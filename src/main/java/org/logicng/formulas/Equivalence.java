@@ -62,10 +62,10 @@ public final class Equivalence extends BinaryOperator {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
+    Formula nnf = this.transformationCacheEntry(NNF);
     if (nnf == null) {
       nnf = f.or(f.and(left.nnf(), right.nnf()), f.and(f.not(left).nnf(), f.not(right).nnf()));
-      this.transformationCache.put(NNF, nnf);
+      this.setTransformationCacheEntry(NNF, nnf);
     }
     return nnf;
   }
@@ -32,13 +32,41 @@ import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
 import org.logicng.datastructures.Tristate;
 import org.logicng.formulas.cache.CacheEntry;
-
-import java.util.SortedMap;
+import org.logicng.formulas.cache.FunctionCacheEntry;
+import org.logicng.formulas.cache.PredicateCacheEntry;
+import org.logicng.formulas.cache.TransformationCacheEntry;
+import org.logicng.util.Pair;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
-import java.util.TreeMap;
 
 /**
  * Super class for formulas.
+ * <p>
+ * The caches of a formula are allocated lazily.  The pre-defined predicate cache entries are stored with two bits per
+ * entry in a single integer, the pre-defined transformation and function cache entries in one array indexed by the
+ * ordinal of the entry.  Only user-defined cache entries are stored in a hash map.  If the formula factory uses a
+ * bounded cache policy, the evictable entries are stored in the factory instead (cf. {@link FormulaCaches}).
+ * <p>
+ * The methods {@link #evaluate(Assignment)}, {@link #restrict(Assignment)} and {@link #substitute(Substitution)}
+ * traverse a formula as a tree, i.e. shared sub-formulas are processed once per occurrence.  For formulas with heavy
+ * sharing, use the {@link org.logicng.predicates.EvaluationPredicate}, the
+ * {@link org.logicng.transformations.RestrictionTransformation} or the
+ * {@link org.logicng.transformations.SubstitutionTransformation} which process each distinct node only once.
+ * <p>
+ * Formulas of a concurrent formula factory may be transformed from several threads at once, e.g. by the default CNF
+ * transformation in {@link org.logicng.solvers.SATSolver#addParallel}.  This is only safe for transformations and
+ * functions whose result depends on the formula alone, like the factorization CNF: a racing write to the pre-defined
+ * caches can only be lost, which leads to a recomputation of the same result, and the hash map for the user-defined
+ * entries is synchronized.  The Plaisted-Greenbaum and Tseitin transformations cache an auxiliary variable and the
+ * clauses defining it in separate entries, hence they must not be applied concurrently to formulas with shared
+ * sub-formulas, since the entries of different threads may be mixed up.
  * @author Christoph Zengler
  * @version 1.0
  * @since 1.0
@@ -47,9 +75,17 @@ public abstract class Formula implements Iterable<Formula> {
 
   protected final FType type;
   protected final FormulaFactory f;
-  protected final SortedMap<CacheEntry, Formula> transformationCache;
-  protected final SortedMap<CacheEntry, Tristate> predicateCache;
-  protected final SortedMap<CacheEntry, Object> functionCache;
+  private static final int TRANSFORMATION_CACHE = 0;
+  private static final int PREDICATE_CACHE = 1;
+  private static final int FUNCTION_CACHE = 2;
+  private static final int FUNCTION_OFFSET = TransformationCacheEntry.values().length;
+  private static final int CACHE_SIZE = FUNCTION_OFFSET + FunctionCacheEntry.values().length;
+  private static final int PREDICATE_TRUE = 1;
+  private static final int PREDICATE_FALSE = 2;
+
+  private Object[] cache;
+  private int predicateCache;
+  private Map<Pair<Integer, CacheEntry>, Object> customCache;
   protected SortedSet<Variable> variables;
   protected long numberOfAtoms;
   protected long numberOfNodes;
@@ -62,9 +98,6 @@ public abstract class Formula implements Iterable<Formula> {
   protected Formula(final FType type, final FormulaFactory f) {
     this.type = type;
     this.f = f;
-    this.transformationCache = new TreeMap<>();
-    this.predicateCache = new TreeMap<>();
-    this.functionCache = new TreeMap<>();
     this.variables = null;
     this.numberOfAtoms = -1;
     this.numberOfNodes = -1;
@@ -150,6 +183,8 @@ public abstract class Formula implements Iterable<Formula> {
   /**
    * Evaluates this formula with a given assignment.  A literal not covered by the assignment evaluates
    * to {@code false} if it is positive, otherwise it evaluates to {@code true}.
+   * <p>
+   * Shared sub-formulas are evaluated once per occurrence (cf. {@link Formula}).
    * @param assignment the given assignment
    * @return the result of the evaluation, {@code true} or {@code false}
    */
@@ -157,6 +192,8 @@ public abstract class Formula implements Iterable<Formula> {
 
   /**
    * Restricts this formula with a given assignment.
+   * <p>
+   * Shared sub-formulas are restricted once per occurrence (cf. {@link Formula}).
    * @param assignment the given assignment
    * @return a new restricted formula
    */
@@ -185,6 +222,8 @@ public abstract class Formula implements Iterable<Formula> {
 
   /**
    * Performs a given substitution on this formula.
+   * <p>
+   * Shared sub-formulas are substituted once per occurrence (cf. {@link Formula}).
    * @param substitution the substitution
    * @return a new substituted formula
    */
@@ -280,7 +319,17 @@ public abstract class Formula implements Iterable<Formula> {
    * @return the cache value or {@code null} if the key is not found
    */
   public Formula transformationCacheEntry(final CacheEntry key) {
-    return this.transformationCache.get(key);
+    final FormulaCaches caches = this.f.caches();
+    final Formula value;
+    if (caches.evicts(key))
+      value = (Formula) caches.get(this, key);
+    else if (key instanceof TransformationCacheEntry)
+      value = this.cache == null ? null : (Formula) this.cache[((TransformationCacheEntry) key).ordinal()];
+    else
+      value = (Formula) this.customCacheEntry(TRANSFORMATION_CACHE, key);
+    if (caches.statistics())
+      caches.recordLookup(key, value != null);
+    return value;
   }
 
   /**
@@ -289,7 +338,13 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setTransformationCacheEntry(final CacheEntry key, final Formula value) {
-    this.transformationCache.put(key, value);
+    final FormulaCaches caches = this.f.caches();
+    if (caches.evicts(key))
+      caches.put(this, key, value);
+    else if (key instanceof TransformationCacheEntry)
+      this.setCacheSlot(caches, key, ((TransformationCacheEntry) key).ordinal(), value);
+    else
+      this.setCustomCacheEntry(caches, TRANSFORMATION_CACHE, key, value);
   }
 
   /**
@@ -298,9 +353,17 @@ public abstract class Formula implements Iterable<Formula> {
    * @return the cache value (which is {@code UNDEF} if nothing is present)
    */
   public Tristate predicateCacheEntry(final CacheEntry key) {
-    final Tristate tristate = this.predicateCache.get(key);
-    if (tristate == null)
-      return Tristate.UNDEF;
+    Tristate tristate;
+    if (key instanceof PredicateCacheEntry)
+      tristate = this.predicateBits((PredicateCacheEntry) key);
+    else {
+      tristate = (Tristate) this.customCacheEntry(PREDICATE_CACHE, key);
+      if (tristate == null)
+        tristate = Tristate.UNDEF;
+    }
+    final FormulaCaches caches = this.f.caches();
+    if (caches.statistics())
+      caches.recordLookup(key, tristate != Tristate.UNDEF);
     return tristate;
   }
 
@@ -310,7 +373,7 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setPredicateCacheEntry(final CacheEntry key, boolean value) {
-    this.predicateCache.put(key, Tristate.fromBool(value));
+    this.setPredicateCacheEntry(key, Tristate.fromBool(value));
   }
 
   /**
@@ -319,7 +382,16 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setPredicateCacheEntry(final CacheEntry key, final Tristate value) {
-    this.predicateCache.put(key, value);
+    final FormulaCaches caches = this.f.caches();
+    if (key instanceof PredicateCacheEntry) {
+      final Tristate old = this.predicateBits((PredicateCacheEntry) key);
+      final int shift = 2 * ((PredicateCacheEntry) key).ordinal();
+      final int bits = value == Tristate.TRUE ? PREDICATE_TRUE : value == Tristate.FALSE ? PREDICATE_FALSE : 0;
+      this.predicateCache = (this.predicateCache & ~(3 << shift)) | (bits << shift);
+      if (caches.statistics())
+        caches.updateSize(key, old == Tristate.UNDEF ? null : old, value == Tristate.UNDEF ? null : value);
+    } else
+      this.setCustomCacheEntry(caches, PREDICATE_CACHE, key, value);
   }
 
   /**
@@ -328,7 +400,17 @@ public abstract class Formula implements Iterable<Formula> {
    * @return the cache value or {@code null} if the key is not found
    */
   public Object functionCacheEntry(final CacheEntry key) {
-    return this.functionCache.get(key);
+    final FormulaCaches caches = this.f.caches();
+    final Object value;
+    if (caches.evicts(key))
+      value = caches.get(this, key);
+    else if (key instanceof FunctionCacheEntry)
+      value = this.cache == null ? null : this.cache[FUNCTION_OFFSET + ((FunctionCacheEntry) key).ordinal()];
+    else
+      value = this.customCacheEntry(FUNCTION_CACHE, key);
+    if (caches.statistics())
+      caches.recordLookup(key, value != null);
+    return value;
   }
 
   /**
@@ -337,7 +419,215 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setFunctionCacheEntry(final CacheEntry key, final Object value) {
-    this.functionCache.put(key, value);
+    final FormulaCaches caches = this.f.caches();
+    if (caches.evicts(key))
+      caches.put(this, key, value);
+    else if (key instanceof FunctionCacheEntry)
+      this.setCacheSlot(caches, key, FUNCTION_OFFSET + ((FunctionCacheEntry) key).ordinal(), value);
+    else
+      this.setCustomCacheEntry(caches, FUNCTION_CACHE, key, value);
+  }
+
+  /**
+   * Returns a view of the transformation cache of this formula.  Reads and writes on the view are forwarded to
+   * {@link #transformationCacheEntry(CacheEntry)} and {@link #setTransformationCacheEntry(CacheEntry, Formula)}.
+   * @return a view of the transformation cache
+   * @deprecated the transformation cache is no longer stored in a map, use {@link #transformationCacheEntry(CacheEntry)}
+   * and {@link #setTransformationCacheEntry(CacheEntry, Formula)} instead
+   */
+  @Deprecated
+  protected Map<CacheEntry, Formula> transformationCache() {
+    return new CacheView<>(TRANSFORMATION_CACHE);
+  }
+
+  /**
+   * Returns a view of the predicate cache of this formula.  Reads and writes on the view are forwarded to
+   * {@link #predicateCacheEntry(CacheEntry)} and {@link #setPredicateCacheEntry(CacheEntry, Tristate)}, an entry with
+   * the value {@code UNDEF} is not present in the view.
+   * @return a view of the predicate cache
+   * @deprecated the predicate cache is no longer stored in a map, use {@link #predicateCacheEntry(CacheEntry)} and
+   * {@link #setPredicateCacheEntry(CacheEntry, Tristate)} instead
+   */
+  @Deprecated
+  protected Map<CacheEntry, Tristate> predicateCache() {
+    return new CacheView<>(PREDICATE_CACHE);
+  }
+
+  /**
+   * Returns a view of the function cache of this formula.  Reads and writes on the view are forwarded to
+   * {@link #functionCacheEntry(CacheEntry)} and {@link #setFunctionCacheEntry(CacheEntry, Object)}.
+   * @return a view of the function cache
+   * @deprecated the function cache is no longer stored in a map, use {@link #functionCacheEntry(CacheEntry)} and
+   * {@link #setFunctionCacheEntry(CacheEntry, Object)} instead
+   */
+  @Deprecated
+  protected Map<CacheEntry, Object> functionCache() {
+    return new CacheView<>(FUNCTION_CACHE);
+  }
+
+  /**
+   * Removes all transformation and function cache entries of this formula.  The predicate cache entries are kept.
+   */
+  synchronized void clearCaches() {
+    this.cache = null;
+    if (this.customCache != null) {
+      for (final Pair<Integer, CacheEntry> key : new ArrayList<>(this.customCache.keySet()))
+        if (key.first() != PREDICATE_CACHE)
+          this.customCache.remove(key);
+      if (this.customCache.isEmpty())
+        this.customCache = null;
+    }
+  }
+
+  /**
+   * Returns the value of a pre-defined predicate cache entry.
+   * @param key the cache key
+   * @return the cache value (which is {@code UNDEF} if nothing is present)
+   */
+  private Tristate predicateBits(final PredicateCacheEntry key) {
+    switch ((this.predicateCache >>> (2 * key.ordinal())) & 3) {
+      case PREDICATE_TRUE:
+        return Tristate.TRUE;
+      case PREDICATE_FALSE:
+        return Tristate.FALSE;
+      default:
+        return Tristate.UNDEF;
+    }
+  }
+
+  /**
+   * Sets a slot of the cache for pre-defined cache entries.  The cache is allocated on the first write.
+   * @param caches the cache management of the factory
+   * @param key    the cache key
+   * @param slot   the slot
+   * @param value  the value
+   */
+  private void setCacheSlot(final FormulaCaches caches, final CacheEntry key, int slot, final Object value) {
+    if (this.cache == null) {
+      if (value == null)
+        return;
+      this.cache = new Object[CACHE_SIZE];
+    }
+    final Object old = this.cache[slot];
+    this.cache[slot] = value;
+    if (caches.statistics())
+      caches.updateSize(key, old, value);
+  }
+
+  /**
+   * Returns an entry for a user-defined cache key.
+   * @param cacheType the type of the cache
+   * @param key       the cache key
+   * @return the cache value or {@code null} if the key is not found
+   */
+  private synchronized Object customCacheEntry(int cacheType, final CacheEntry key) {
+    return this.customCache == null ? null : this.customCache.get(new Pair<>(cacheType, key));
+  }
+
+  /**
+   * Sets an entry for a user-defined cache key.  The cache is allocated on the first write.
+   * @param caches    the cache management of the factory
+   * @param cacheType the type of the cache
+   * @param key       the cache key
+   * @param value     the cache value
+   */
+  private synchronized void setCustomCacheEntry(final FormulaCaches caches, int cacheType, final CacheEntry key, final Object value) {
+    if (this.customCache == null)
+      this.customCache = new HashMap<>();
+    final Object old = this.customCache.put(new Pair<>(cacheType, key), value);
+    if (caches.statistics())
+      caches.updateSize(key, old, value);
+  }
+
+  /**
+   * A map view on one of the caches of this formula.  The entry set is a snapshot of the entries present when it is
+   * created, entries of the factory's evictable store which are evicted later are still contained in it.
+   * @param <V> the type of the cache values
+   */
+  private final class CacheView<V> extends AbstractMap<CacheEntry, V> {
+
+    private final int cacheType;
+
+    /**
+     * Constructs a new cache view.
+     * @param cacheType the type of the cache
+     */
+    private CacheView(int cacheType) {
+      this.cacheType = cacheType;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+      if (!(key instanceof CacheEntry))
+        return null;
+      final CacheEntry entry = (CacheEntry) key;
+      switch (this.cacheType) {
+        case TRANSFORMATION_CACHE:
+          return (V) Formula.this.transformationCacheEntry(entry);
+        case PREDICATE_CACHE:
+          final Tristate tristate = Formula.this.predicateCacheEntry(entry);
+          return tristate == Tristate.UNDEF ? null : (V) tristate;
+        default:
+          return (V) Formula.this.functionCacheEntry(entry);
+      }
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return this.get(key) != null;
+    }
+
+    @Override
+    public V put(final CacheEntry key, final V value) {
+      final V old = this.get(key);
+      switch (this.cacheType) {
+        case TRANSFORMATION_CACHE:
+          Formula.this.setTransformationCacheEntry(key, (Formula) value);
+          break;
+        case PREDICATE_CACHE:
+          Formula.this.setPredicateCacheEntry(key, value == null ? Tristate.UNDEF : (Tristate) value);
+          break;
+        default:
+          Formula.this.setFunctionCacheEntry(key, value);
+      }
+      return old;
+    }
+
+    @Override
+    public V remove(final Object key) {
+      if (!(key instanceof CacheEntry))
+        return null;
+      return this.put((CacheEntry) key, null);
+    }
+
+    @Override
+    public Set<Entry<CacheEntry, V>> entrySet() {
+      final Set<CacheEntry> keys = new LinkedHashSet<>();
+      switch (this.cacheType) {
+        case TRANSFORMATION_CACHE:
+          keys.addAll(Arrays.asList(TransformationCacheEntry.values()));
+          break;
+        case PREDICATE_CACHE:
+          keys.addAll(Arrays.asList(PredicateCacheEntry.values()));
+          break;
+        default:
+          keys.addAll(Arrays.asList(FunctionCacheEntry.values()));
+      }
+      synchronized (Formula.this) {
+        if (Formula.this.customCache != null)
+          for (final Pair<Integer, CacheEntry> key : Formula.this.customCache.keySet())
+            if (key.first() == this.cacheType)
+              keys.add(key.second());
+      }
+      final Set<Entry<CacheEntry, V>> entries = new LinkedHashSet<>();
+      for (final CacheEntry key : keys) {
+        final V value = this.get(key);
+        if (value != null)
+          entries.add(new SimpleImmutableEntry<>(key, value));
+      }
+      return entries;
+    }
   }
 
   @Override
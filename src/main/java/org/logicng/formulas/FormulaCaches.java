@@ -0,0 +1,236 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.logicng.formulas.cache.CacheEntry;
+import org.logicng.formulas.cache.CacheStatistics;
+import org.logicng.formulas.cache.FormulaCacheConfig;
+import org.logicng.formulas.cache.FunctionCacheEntry;
+import org.logicng.formulas.cache.TransformationCacheEntry;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.logicng.formulas.cache.FormulaCacheConfig.CachePolicy.LRU;
+import static org.logicng.formulas.cache.FormulaCacheConfig.CachePolicy.UNBOUNDED;
+import static org.logicng.formulas.cache.TransformationCacheEntry.PLAISTED_GREENBAUM_NEG;
+import static org.logicng.formulas.cache.TransformationCacheEntry.PLAISTED_GREENBAUM_POS;
+import static org.logicng.formulas.cache.TransformationCacheEntry.PLAISTED_GREENBAUM_VARIABLE;
+import static org.logicng.formulas.cache.TransformationCacheEntry.TSEITIN;
+import static org.logicng.formulas.cache.TransformationCacheEntry.TSEITIN_VARIABLE;
+
+/**
+ * The cache management of a formula factory.
+ * <p>
+ * For a bounded cache policy the evictable cache entries of all formulas are stored in one access- or
+ * insertion-ordered hash map.  Additionally the statistics of the cache entries are collected here.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+final class FormulaCaches {
+
+  private static final EnumSet<TransformationCacheEntry> PINNED = EnumSet.of(TSEITIN, TSEITIN_VARIABLE,
+          PLAISTED_GREENBAUM_POS, PLAISTED_GREENBAUM_NEG, PLAISTED_GREENBAUM_VARIABLE);
+
+  private final FormulaCacheConfig config;
+  private final Map<Key, Object> store;
+  private final Map<CacheEntry, long[]> counters;
+
+  /**
+   * Constructs a new cache management for a given configuration.
+   * @param config the configuration
+   */
+  FormulaCaches(final FormulaCacheConfig config) {
+    this.config = config;
+    this.counters = config.statistics() ? new LinkedHashMap<CacheEntry, long[]>() : null;
+    if (config.policy() == UNBOUNDED)
+      this.store = null;
+    else
+      this.store = new LinkedHashMap<Key, Object>(16, 0.75f, config.policy() == LRU) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Object> eldest) {
+          if (this.size() <= FormulaCaches.this.config.maxSize())
+            return false;
+          if (FormulaCaches.this.counters != null) {
+            final long[] counter = FormulaCaches.this.counter(eldest.getKey().entry);
+            counter[2]--;
+            counter[3]++;
+          }
+          return true;
+        }
+      };
+  }
+
+  /**
+   * Returns the configuration of this cache management.
+   * @return the configuration
+   */
+  FormulaCacheConfig config() {
+    return this.config;
+  }
+
+  /**
+   * Returns {@code true} if statistics are collected, {@code false} otherwise.
+   * @return {@code true} if statistics are collected
+   */
+  boolean statistics() {
+    return this.counters != null;
+  }
+
+  /**
+   * Returns {@code true} if the values for a given cache entry are stored in the evictable store of this cache
+   * management, {@code false} if they are stored at the formulas.
+   * @param key the cache entry
+   * @return {@code true} if the values for the cache entry are evictable
+   */
+  boolean evicts(final CacheEntry key) {
+    return this.store != null && (key instanceof FunctionCacheEntry
+            || key instanceof TransformationCacheEntry && !PINNED.contains(key));
+  }
+
+  /**
+   * Returns the value of an evictable cache entry for a given formula.
+   * @param formula the formula
+   * @param key     the cache entry
+   * @return the value or {@code null} if there is no value
+   */
+  synchronized Object get(final Formula formula, final CacheEntry key) {
+    return this.store.get(new Key(formula, key));
+  }
+
+  /**
+   * Sets the value of an evictable cache entry for a given formula.
+   * @param formula the formula
+   * @param key     the cache entry
+   * @param value   the value or {@code null} if the value should be removed
+   */
+  synchronized void put(final Formula formula, final CacheEntry key, final Object value) {
+    final Object old = value == null ? this.store.remove(new Key(formula, key)) : this.store.put(new Key(formula, key), value);
+    this.updateSize(key, old, value);
+  }
+
+  /**
+   * Records a cache lookup if statistics are collected.
+   * @param key the cache entry
+   * @param hit {@code true} if the lookup was a hit, {@code false} otherwise
+   */
+  synchronized void recordLookup(final CacheEntry key, boolean hit) {
+    if (this.counters != null)
+      this.counter(key)[hit ? 0 : 1]++;
+  }
+
+  /**
+   * Updates the size of a cache entry if statistics are collected.
+   * @param key      the cache entry
+   * @param oldValue the old value of the entry
+   * @param newValue the new value of the entry
+   */
+  synchronized void updateSize(final CacheEntry key, final Object oldValue, final Object newValue) {
+    if (this.counters == null)
+      return;
+    if (oldValue == null && newValue != null)
+      this.counter(key)[2]++;
+    else if (oldValue != null && newValue == null)
+      this.counter(key)[2]--;
+  }
+
+  /**
+   * Clears the evictable store and the sizes of the cache entries.  The hit, miss and eviction counters are kept.
+   */
+  synchronized void clear() {
+    if (this.store != null)
+      this.store.clear();
+    if (this.counters != null)
+      for (final long[] counter : this.counters.values())
+        counter[2] = 0;
+  }
+
+  /**
+   * Returns the statistics of all cache entries which were used so far.
+   * @return the statistics
+   */
+  synchronized Map<CacheEntry, CacheStatistics> cacheStatistics() {
+    final Map<CacheEntry, CacheStatistics> result = new LinkedHashMap<>();
+    if (this.counters != null)
+      for (final Map.Entry<CacheEntry, long[]> entry : this.counters.entrySet()) {
+        final long[] c = entry.getValue();
+        result.put(entry.getKey(), new CacheStatistics(entry.getKey(), c[0], c[1], c[2], c[3]));
+      }
+    return result;
+  }
+
+  /**
+   * Returns the counters (hits, misses, size, evictions) for a given cache entry.
+   * @param key the cache entry
+   * @return the counters
+   */
+  private long[] counter(final CacheEntry key) {
+    long[] counter = this.counters.get(key);
+    if (counter == null) {
+      counter = new long[4];
+      this.counters.put(key, counter);
+    }
+    return counter;
+  }
+
+  /**
+   * The key for the evictable store.  Formulas are compared by identity.
+   */
+  private static final class Key {
+    private final Formula formula;
+    private final CacheEntry entry;
+
+    /**
+     * Constructs a new key.
+     * @param formula the formula
+     * @param entry   the cache entry
+     */
+    private Key(final Formula formula, final CacheEntry entry) {
+      this.formula = formula;
+      this.entry = entry;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(this.formula) + this.entry.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (this == other)
+        return true;
+      if (!(other instanceof Key))
+        return false;
+      final Key o = (Key) other;
+      return this.formula == o.formula && this.entry == o.entry;
+    }
+  }
+}
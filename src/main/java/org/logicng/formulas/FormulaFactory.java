@@ -30,11 +30,14 @@ package org.logicng.formulas;
 
 import org.logicng.configurations.Configuration;
 import org.logicng.configurations.ConfigurationType;
+import org.logicng.formulas.cache.CacheEntry;
+import org.logicng.formulas.cache.CacheStatistics;
+import org.logicng.formulas.cache.FormulaCacheConfig;
 import org.logicng.formulas.printer.DefaultStringRepresentation;
 import org.logicng.formulas.printer.FormulaStringRepresentation;
 import org.logicng.functions.SubNodeFunction;
+import org.logicng.io.parsers.FormulaParser;
 import org.logicng.io.parsers.ParserException;
-import org.logicng.io.parsers.PseudoBooleanParser;
 import org.logicng.transformations.cnf.CNFFactorization;
 import org.logicng.util.Pair;
 
@@ -49,6 +52,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.logicng.formulas.FType.AND;
 import static org.logicng.formulas.FType.FALSE;
@@ -63,8 +69,12 @@ import static org.logicng.formulas.FType.TRUE;
  * New formulas can only be generated by a formula factory.  It is implemented s.t. it is guaranteed that equivalent
  * formulas (in terms of associativity and commutativity) are hold exactly once in memory.
  * <p>
- * A formula factory is NOT thread-safe.  If you generate formulas from more than one thread you either need to synchronize the formula factory
- * yourself or you use a formula factory for each single thread.
+ * By default a formula factory is NOT thread-safe.  If you generate formulas from more than one thread you either need
+ * to synchronize the formula factory yourself, use a formula factory for each single thread, or create a concurrent
+ * formula factory.  A concurrent formula factory stores its formulas in concurrent hash maps and guarantees that
+ * equivalent formulas generated from different threads are still the same object.  The user-defined cache entries of
+ * its formulas are synchronized, racing writes to the pre-defined cache entries are only tolerated for transformations
+ * and functions without auxiliary variables (cf. {@link Formula}).
  * @author Christoph Zengler
  * @version 1.0
  * @since 1.0
@@ -76,6 +86,7 @@ public final class FormulaFactory {
   public static final String CNF_PREFIX = "@RESERVED_CNF_";
 
   private final String name;
+  private final boolean concurrent;
 
   private final CFalse cFalse;
   private final CTrue cTrue;
@@ -97,35 +108,42 @@ public final class FormulaFactory {
 
   private final FormulaStringRepresentation stringRepresentation;
   private final Map<ConfigurationType, Configuration> configurations;
-
-  private boolean cnfCheck;
-  private boolean[] formulaAdditionResult;
+  private FormulaCaches caches;
 
   private final String ccPrefix;
   private final String pbPrefix;
   private final String cnfPrefix;
-  private int ccCounter;
-  private int pbCounter;
-  private int cnfCounter;
+  private final AtomicInteger ccCounter;
+  private final AtomicInteger pbCounter;
+  private final AtomicInteger cnfCounter;
+  private final AtomicInteger variableCounter;
 
   private final FormulaTransformation defaultCNFTransformation;
   private final SubNodeFunction subformulaFunction;
 
-  private final PseudoBooleanParser parser;
+  private final FormulaParser parser;
 
   /**
    * Constructor for a new formula factory.
    * @param name                 the name of the factory
    * @param stringRepresentation the string representation of the formulas
+   * @param concurrent           {@code true} if the factory should be thread-safe, {@code false} otherwise
    */
-  public FormulaFactory(final String name, final FormulaStringRepresentation stringRepresentation) {
+  public FormulaFactory(final String name, final FormulaStringRepresentation stringRepresentation, boolean concurrent) {
     this.name = name;
+    this.concurrent = concurrent;
+    this.caches = new FormulaCaches(new FormulaCacheConfig.Builder().build());
     this.cFalse = new CFalse(this);
     this.cTrue = new CTrue(this);
+    this.ccCounter = new AtomicInteger();
+    this.pbCounter = new AtomicInteger();
+    this.cnfCounter = new AtomicInteger();
+    this.variableCounter = new AtomicInteger();
     this.clear();
-    this.formulaAdditionResult = new boolean[2];
     this.stringRepresentation = stringRepresentation;
-    this.configurations = new EnumMap<>(ConfigurationType.class);
+    this.configurations = concurrent
+            ? new ConcurrentHashMap<ConfigurationType, Configuration>()
+            : new EnumMap<ConfigurationType, Configuration>(ConfigurationType.class);
     this.defaultCNFTransformation = new CNFFactorization();
     this.subformulaFunction = new SubNodeFunction();
     if (!name.isEmpty()) {
@@ -137,7 +155,25 @@ public final class FormulaFactory {
       this.pbPrefix = PB_PREFIX;
       this.cnfPrefix = CNF_PREFIX;
     }
-    this.parser = new PseudoBooleanParser(this);
+    this.parser = new FormulaParser(this);
+  }
+
+  /**
+   * Constructor for a new (not thread-safe) formula factory.
+   * @param name                 the name of the factory
+   * @param stringRepresentation the string representation of the formulas
+   */
+  public FormulaFactory(final String name, final FormulaStringRepresentation stringRepresentation) {
+    this(name, stringRepresentation, false);
+  }
+
+  /**
+   * Constructor for a new formula factory with a given name and concurrency mode.
+   * @param name       the name of the factory
+   * @param concurrent {@code true} if the factory should be thread-safe, {@code false} otherwise
+   */
+  public FormulaFactory(final String name, boolean concurrent) {
+    this(name, new DefaultStringRepresentation(), concurrent);
   }
 
   /**
@@ -162,24 +198,56 @@ public final class FormulaFactory {
    * Removes all formulas from the factory cache.
    */
   private void clear() {
-    this.posLiterals = new HashMap<>();
-    this.negLiterals = new HashMap<>();
-    this.generatedVariables = new HashSet<>();
-    this.nots = new HashMap<>();
-    this.implications = new HashMap<>();
-    this.equivalences = new HashMap<>();
-    this.ands2 = new HashMap<>();
-    this.ands3 = new HashMap<>();
-    this.ands4 = new HashMap<>();
-    this.andsN = new HashMap<>();
-    this.ors2 = new HashMap<>();
-    this.ors3 = new HashMap<>();
-    this.ors4 = new HashMap<>();
-    this.orsN = new HashMap<>();
-    this.pbConstraints = new HashMap<>();
-    this.ccCounter = 0;
-    this.pbCounter = 0;
-    this.cnfCounter = 0;
+    this.posLiterals = this.newMap();
+    this.negLiterals = this.newMap();
+    this.generatedVariables = this.concurrent
+            ? Collections.newSetFromMap(new ConcurrentHashMap<Variable, Boolean>())
+            : new HashSet<Variable>();
+    this.nots = this.newMap();
+    this.implications = this.newMap();
+    this.equivalences = this.newMap();
+    this.ands2 = this.newMap();
+    this.ands3 = this.newMap();
+    this.ands4 = this.newMap();
+    this.andsN = this.newMap();
+    this.ors2 = this.newMap();
+    this.ors3 = this.newMap();
+    this.ors4 = this.newMap();
+    this.orsN = this.newMap();
+    this.pbConstraints = this.newMap();
+    this.ccCounter.set(0);
+    this.pbCounter.set(0);
+    this.cnfCounter.set(0);
+  }
+
+  /**
+   * Returns a new empty map for the formula cache.  For a concurrent factory this is a concurrent hash map.
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return a new empty map
+   */
+  private <K, V> Map<K, V> newMap() {
+    return this.concurrent ? new ConcurrentHashMap<K, V>() : new HashMap<K, V>();
+  }
+
+  /**
+   * Stores a new formula in a formula cache and returns the formula which is stored for the key afterwards.  If the
+   * factory is concurrent and another thread stored a formula for the same key in the meantime, this formula is
+   * returned and the new one is discarded.
+   * @param map   the formula cache
+   * @param key   the key
+   * @param value the new formula
+   * @param <K>   the key type
+   * @param <V>   the formula type
+   * @return the formula stored for the key
+   */
+  private <K, V> V putIfAbsent(final Map<K, V> map, final K key, final V value) {
+    if (!this.concurrent) {
+      map.put(key, value);
+      return value;
+    }
+    final V present = ((ConcurrentMap<K, V>) map).putIfAbsent(key, value);
+    return present != null ? present : value;
   }
 
   /**
@@ -190,6 +258,14 @@ public final class FormulaFactory {
     return this.name;
   }
 
+  /**
+   * Returns {@code true} if this formula factory is thread-safe, {@code false} otherwise.
+   * @return {@code true} if this formula factory is thread-safe
+   */
+  public boolean isConcurrent() {
+    return this.concurrent;
+  }
+
   /**
    * Returns the configuration for a given configuration type or {@code null} if there isn't any.
    * @param cType the configuration type
@@ -202,10 +278,49 @@ public final class FormulaFactory {
   /**
    * Puts a new configuration into the configuration database.  If there is already a configuration present for this
    * type, it will be overwritten.
+   * <p>
+   * A {@link FormulaCacheConfig} is activated immediately for the caches of all formulas of this factory.  All
+   * transformation and function cache entries are cleared in this case.
    * @param configuration the configuration
    */
   public void putConfiguration(final Configuration configuration) {
     this.configurations.put(configuration.type(), configuration);
+    if (configuration.type() == ConfigurationType.FORMULA_CACHE) {
+      this.clearCaches();
+      this.caches = new FormulaCaches((FormulaCacheConfig) configuration);
+    }
+  }
+
+  /**
+   * Returns the cache management of this factory.
+   * @return the cache management of this factory
+   */
+  FormulaCaches caches() {
+    return this.caches;
+  }
+
+  /**
+   * Removes all transformation and function cache entries of all formulas of this factory.  The predicate cache
+   * entries are kept, since they only need two bits per entry and formula.
+   */
+  public void clearCaches() {
+    this.caches.clear();
+    this.cTrue.clearCaches();
+    this.cFalse.clearCaches();
+    for (final Map<?, ? extends Formula> map : Arrays.asList(this.posLiterals, this.negLiterals, this.nots,
+            this.implications, this.equivalences, this.ands2, this.ands3, this.ands4, this.andsN, this.ors2,
+            this.ors3, this.ors4, this.orsN, this.pbConstraints))
+      for (final Formula formula : map.values())
+        formula.clearCaches();
+  }
+
+  /**
+   * Returns the statistics of all cache entries which were used since the activation of the current
+   * {@link FormulaCacheConfig}.  If the collection of statistics is not activated, the result is empty.
+   * @return the statistics for each cache entry
+   */
+  public Map<CacheEntry, CacheStatistics> cacheStatistics() {
+    return this.caches.cacheStatistics();
   }
 
   /**
@@ -259,11 +374,9 @@ public final class FormulaFactory {
     if (left.equals(right))
       return this.verum();
     final Pair<Formula, Formula> key = new Pair<>(left, right);
-    Implication implication = this.implications.get(key);
-    if (implication == null) {
-      implication = new Implication(left, right, this);
-      this.implications.put(key, implication);
-    }
+    final Implication implication = this.implications.get(key);
+    if (implication == null)
+      return this.putIfAbsent(this.implications, key, new Implication(left, right, this));
     return implication;
   }
 
@@ -287,11 +400,9 @@ public final class FormulaFactory {
     if (left.equals(right.negate()))
       return this.falsum();
     final LinkedHashSet<Formula> key = new LinkedHashSet<>(Arrays.asList(left, right));
-    Equivalence equivalence = this.equivalences.get(key);
-    if (equivalence == null) {
-      equivalence = new Equivalence(left, right, this);
-      this.equivalences.put(key, equivalence);
-    }
+    final Equivalence equivalence = this.equivalences.get(key);
+    if (equivalence == null)
+      return this.putIfAbsent(this.equivalences, key, new Equivalence(left, right, this));
     return equivalence;
   }
 
@@ -314,11 +425,9 @@ public final class FormulaFactory {
   public Formula not(final Formula operand) {
     if (operand.type() == LITERAL || operand.type() == FALSE || operand.type() == TRUE || operand.type() == NOT)
       return operand.negate();
-    Not not = this.nots.get(operand);
-    if (not == null) {
-      not = new Not(operand, this);
-      this.nots.put(operand, not);
-    }
+    final Not not = this.nots.get(operand);
+    if (not == null)
+      return this.putIfAbsent(this.nots, operand, new Not(operand, this));
     return not;
   }
 
@@ -433,12 +542,8 @@ public final class FormulaFactory {
         break;
     }
     and = condAndMap.get(condensedOperands);
-    if (and == null) {
-      tempAnd = new And(condensedOperands, this, this.cnfCheck);
-      opAndMap.put(operands, tempAnd);
-      condAndMap.put(condensedOperands, tempAnd);
-      return tempAnd;
-    }
+    if (and == null)
+      and = this.putIfAbsent(condAndMap, condensedOperands, new And(condensedOperands, this, isCNF(condensedOperands)));
     opAndMap.put(operands, and);
     return and;
   }
@@ -496,12 +601,10 @@ public final class FormulaFactory {
       default:
         break;
     }
-    And tempAnd = opAndMap.get(clauses);
+    final And tempAnd = opAndMap.get(clauses);
     if (tempAnd != null)
       return tempAnd;
-    tempAnd = new And(clauses, this, true);
-    opAndMap.put(clauses, tempAnd);
-    return tempAnd;
+    return this.putIfAbsent(opAndMap, clauses, new And(clauses, this, true));
   }
 
   /**
@@ -578,12 +681,8 @@ public final class FormulaFactory {
         break;
     }
     or = condOrMap.get(condensedOperands);
-    if (or == null) {
-      tempOr = new Or(condensedOperands, this, this.cnfCheck);
-      opOrMap.put(operands, tempOr);
-      condOrMap.put(condensedOperands, tempOr);
-      return tempOr;
-    }
+    if (or == null)
+      or = this.putIfAbsent(condOrMap, condensedOperands, new Or(condensedOperands, this, isCNFClause(condensedOperands)));
     opOrMap.put(operands, or);
     return or;
   }
@@ -645,9 +744,7 @@ public final class FormulaFactory {
     }
     if (tempOr != null)
       return tempOr;
-    tempOr = new Or(literals, this, true);
-    opOrMap.put(literals, tempOr);
-    return tempOr;
+    return this.putIfAbsent(opOrMap, literals, new Or(literals, this, true));
   }
 
   /**
@@ -662,11 +759,9 @@ public final class FormulaFactory {
     if (phase)
       return this.variable(name);
     else {
-      Literal lit = this.negLiterals.get(name);
-      if (lit == null) {
-        lit = new Literal(name, false, this);
-        this.negLiterals.put(name, lit);
-      }
+      final Literal lit = this.negLiterals.get(name);
+      if (lit == null)
+        return this.putIfAbsent(this.negLiterals, name, new Literal(name, false, this));
       return lit;
     }
   }
@@ -677,11 +772,9 @@ public final class FormulaFactory {
    * @return a new literal with the given name and positive phase
    */
   public Variable variable(final String name) {
-    Variable var = this.posLiterals.get(name);
-    if (var == null) {
-      var = new Variable(name, this);
-      this.posLiterals.put(name, var);
-    }
+    final Variable var = this.posLiterals.get(name);
+    if (var == null)
+      return this.putIfAbsent(this.posLiterals, name, new Variable(name, this.variableCounter.getAndIncrement(), this));
     return var;
   }
 
@@ -716,11 +809,9 @@ public final class FormulaFactory {
 
   private PBConstraint constructPBC(final CType comparator, int rhs, final Literal[] literals, final int[] coefficients) {
     final PBOperands operands = new PBOperands(literals, coefficients, comparator, rhs);
-    PBConstraint constraint = this.pbConstraints.get(operands);
-    if (constraint == null) {
-      constraint = new PBConstraint(literals, coefficients, comparator, rhs, this);
-      this.pbConstraints.put(operands, constraint);
-    }
+    final PBConstraint constraint = this.pbConstraints.get(operands);
+    if (constraint == null)
+      return this.putIfAbsent(this.pbConstraints, operands, new PBConstraint(literals, coefficients, comparator, rhs, this));
     return constraint;
   }
 
@@ -807,7 +898,7 @@ public final class FormulaFactory {
    * @return the new cardinality constraint auxiliary literal
    */
   public Variable newCCVariable() {
-    final Variable var = this.variable(this.ccPrefix + this.ccCounter++);
+    final Variable var = this.variable(this.ccPrefix + this.ccCounter.getAndIncrement());
     this.generatedVariables.add(var);
     return var;
   }
@@ -819,7 +910,7 @@ public final class FormulaFactory {
    * @return the new pseudo Boolean auxiliary literal
    */
   public Variable newPBVariable() {
-    final Variable var = this.variable(this.pbPrefix + this.pbCounter++);
+    final Variable var = this.variable(this.pbPrefix + this.pbCounter.getAndIncrement());
     this.generatedVariables.add(var);
     return var;
   }
@@ -831,65 +922,107 @@ public final class FormulaFactory {
    * @return the new CNF auxiliary literal
    */
   public Variable newCNFVariable() {
-    final Variable var = this.variable(this.cnfPrefix + this.cnfCounter++);
+    final Variable var = this.variable(this.cnfPrefix + this.cnfCounter.getAndIncrement());
     this.generatedVariables.add(var);
     return var;
   }
 
+  /**
+   * Returns a generated variable with a given name, e.g. when formulas of another factory are read into this factory.
+   * The variable is registered as generated variable.  If its name carries one of the auxiliary variable prefixes of
+   * this factory, the respective counter is advanced s.t. new auxiliary variables do not clash with it.
+   * @param name the name of the generated variable
+   * @return the generated variable
+   */
+  public Variable generatedVariable(final String name) {
+    final Variable var = this.variable(name);
+    this.generatedVariables.add(var);
+    advanceCounter(this.ccPrefix, this.ccCounter, name);
+    advanceCounter(this.pbPrefix, this.pbCounter, name);
+    advanceCounter(this.cnfPrefix, this.cnfCounter, name);
+    return var;
+  }
+
+  /**
+   * Advances a counter for auxiliary variables beyond the index of a given variable name if the name carries the given
+   * prefix.
+   * @param prefix  the prefix of the auxiliary variables
+   * @param counter the counter of the auxiliary variables
+   * @param name    the variable name
+   */
+  private static void advanceCounter(final String prefix, final AtomicInteger counter, final String name) {
+    if (!name.startsWith(prefix))
+      return;
+    final int index;
+    try {
+      index = Integer.parseInt(name.substring(prefix.length()));
+    } catch (final NumberFormatException e) {
+      return;
+    }
+    int current = counter.get();
+    while (current <= index && !counter.compareAndSet(current, index + 1))
+      current = counter.get();
+  }
+
   /**
    * Returns a condensed array of operands for a given n-ary disjunction.
    * @param operands the formulas
-   * @return a condensed array of operands
+   * @return a condensed array of operands or {@code null} if the disjunction is a tautology
    */
   private LinkedHashSet<Formula> condenseOperandsOr(Collection<? extends Formula> operands) {
     final LinkedHashSet<Formula> ops = new LinkedHashSet<>();
-    this.cnfCheck = true;
     for (Formula form : operands)
       if (form.type() == OR) {
-        for (Formula f : ((NAryOperator) form).operands) {
-          this.addFormulaOr(ops, f);
-          if (!formulaAdditionResult[0])
+        for (Formula f : ((NAryOperator) form).operands)
+          if (!this.addFormulaOr(ops, f))
             return null;
-          if (!formulaAdditionResult[1])
-            this.cnfCheck = false;
-        }
-      } else {
-        this.addFormulaOr(ops, form);
-        if (!formulaAdditionResult[0])
-          return null;
-        if (!formulaAdditionResult[1])
-          this.cnfCheck = false;
-      }
+      } else if (!this.addFormulaOr(ops, form))
+        return null;
     return ops;
   }
 
   /**
    * Returns a condensed array of operands for a given n-ary conjunction.
    * @param operands the formulas
-   * @return a condensed array of operands
+   * @return a condensed array of operands or {@code null} if the conjunction is a contradiction
    */
   private LinkedHashSet<Formula> condenseOperandsAnd(Collection<? extends Formula> operands) {
     final LinkedHashSet<Formula> ops = new LinkedHashSet<>();
-    this.cnfCheck = true;
     for (Formula form : operands)
       if (form.type() == AND) {
-        for (Formula f : ((NAryOperator) form).operands) {
-          this.addFormulaAnd(ops, f);
-          if (!formulaAdditionResult[0])
+        for (Formula f : ((NAryOperator) form).operands)
+          if (!this.addFormulaAnd(ops, f))
             return null;
-          if (!formulaAdditionResult[1])
-            this.cnfCheck = false;
-        }
-      } else {
-        this.addFormulaAnd(ops, form);
-        if (!formulaAdditionResult[0])
-          return null;
-        if (!formulaAdditionResult[1])
-          this.cnfCheck = false;
-      }
+      } else if (!this.addFormulaAnd(ops, form))
+        return null;
     return ops;
   }
 
+  /**
+   * Returns {@code true} if all given condensed operands of a disjunction are literals, {@code false} otherwise.
+   * @param operands the condensed operands
+   * @return {@code true} if the disjunction of the operands is a clause
+   */
+  private static boolean isCNFClause(final Collection<? extends Formula> operands) {
+    for (final Formula op : operands)
+      if (op.type != LITERAL)
+        return false;
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if all given condensed operands of a conjunction are literals or clauses, {@code false}
+   * otherwise.
+   * @param operands the condensed operands
+   * @return {@code true} if the conjunction of the operands is in CNF
+   */
+  private static boolean isCNF(final Collection<? extends Formula> operands) {
+    for (final Formula op : operands)
+      if (op.type != LITERAL && !(op.type == OR && ((Or) op).isCNFClause()))
+        return false;
+    return true;
+  }
+
   /**
    * Returns {@code true} if the given variable was generated, {@code false} otherwise.
    * @param var the variable to check
@@ -915,53 +1048,41 @@ public final class FormulaFactory {
    * @throws ParserException if the parser throws an exception
    */
   public Formula parse(final String string) throws ParserException {
-    return parser.parse(string);
+    return this.parser.parse(string);
   }
 
   /**
    * Adds a given formula to a list of operands.  If the formula is the neutral element for the respective n-ary
    * operation it will be skipped.  If a complementary formula is already present in the list of operands or the
-   * formula is the dual element, {@code false} is stored as first element of the result array,
-   * otherwise {@code true} is the first element of the result array.  If the added formula was a literal, the second
-   * element in the result array is {@code true}, {@code false} otherwise.
+   * formula is the dual element, {@code false} is returned, {@code true} otherwise.
    * @param ops the list of operands
    * @param f   the formula
+   * @return {@code false} if the disjunction is a tautology, {@code true} otherwise
    */
-  private void addFormulaOr(final LinkedHashSet<Formula> ops, final Formula f) {
-    if (f.type == FALSE) {
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = true;
-    } else if (f.type == TRUE || containsComplement(ops, f)) {
-      formulaAdditionResult[0] = false;
-      formulaAdditionResult[1] = false;
-    } else {
-      ops.add(f);
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = f.type == LITERAL;
-    }
+  private boolean addFormulaOr(final LinkedHashSet<Formula> ops, final Formula f) {
+    if (f.type == FALSE)
+      return true;
+    if (f.type == TRUE || containsComplement(ops, f))
+      return false;
+    ops.add(f);
+    return true;
   }
 
   /**
    * Adds a given formula to a list of operands.  If the formula is the neutral element for the respective n-ary
    * operation it will be skipped.  If a complementary formula is already present in the list of operands or the
-   * formula is the dual element, {@code false} is stored as first element of the result array,
-   * otherwise {@code true} is the first element of the result array.  If the added formula was a clause, the second
-   * element in the result array is {@code true}, {@code false} otherwise.
+   * formula is the dual element, {@code false} is returned, {@code true} otherwise.
    * @param ops the list of operands
    * @param f   the formula
+   * @return {@code false} if the conjunction is a contradiction, {@code true} otherwise
    */
-  private void addFormulaAnd(final LinkedHashSet<Formula> ops, final Formula f) {
-    if (f.type() == TRUE) {
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = true;
-    } else if (f.type == FALSE || containsComplement(ops, f)) {
-      formulaAdditionResult[0] = false;
-      formulaAdditionResult[1] = false;
-    } else {
-      ops.add(f);
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = f.type == LITERAL || f.type == OR && ((Or) f).isCNFClause();
-    }
+  private boolean addFormulaAnd(final LinkedHashSet<Formula> ops, final Formula f) {
+    if (f.type == TRUE)
+      return true;
+    if (f.type == FALSE || containsComplement(ops, f))
+      return false;
+    ops.add(f);
+    return true;
   }
 
   /**
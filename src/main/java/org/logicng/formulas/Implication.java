@@ -65,10 +65,10 @@ public final class Implication extends BinaryOperator {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
+    Formula nnf = this.transformationCacheEntry(NNF);
     if (nnf == null) {
       nnf = f.or(f.not(left).nnf(), right.nnf());
-      this.transformationCache.put(NNF, nnf);
+      this.setTransformationCacheEntry(NNF, nnf);
     }
     return nnf;
   }
@@ -161,13 +161,13 @@ public abstract class NAryOperator extends Formula {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
+    Formula nnf = this.transformationCacheEntry(NNF);
     if (nnf == null) {
       final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
       for (final Formula op : this.operands)
         nops.add(op.nnf());
       nnf = f.naryOperator(type, nops);
-      this.transformationCache.put(NNF, nnf);
+      this.setTransformationCacheEntry(NNF, nnf);
     }
     return nnf;
   }
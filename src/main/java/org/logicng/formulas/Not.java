@@ -138,7 +138,7 @@ public final class Not extends Formula {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
+    Formula nnf = this.transformationCacheEntry(NNF);
     if (nnf == null) {
       switch (this.operand.type) {
         case AND:
@@ -161,7 +161,7 @@ public final class Not extends Formula {
         default:
           nnf = this;
       }
-      this.transformationCache.put(NNF, nnf);
+      this.setTransformationCacheEntry(NNF, nnf);
     }
     return nnf;
   }
@@ -35,7 +35,6 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 
 import static org.logicng.formulas.cache.PredicateCacheEntry.IS_CNF;
-import static org.logicng.formulas.cache.TransformationCacheEntry.FACTORIZED_CNF;
 
 /**
  * Boolean disjunction.
@@ -63,7 +62,6 @@ public final class Or extends NAryOperator {
     super(FType.OR, operands, f);
     if (isClause) {
       this.setPredicateCacheEntry(IS_CNF, true);
-      this.setTransformationCacheEntry(FACTORIZED_CNF, this);
       this.isCNFClause = true;
     } else {
       this.setPredicateCacheEntry(IS_CNF, false);
@@ -33,7 +33,7 @@ import org.logicng.collections.LNGIntVector;
 import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
-import org.logicng.pseudobooleans.PBSWC;
+import org.logicng.pseudobooleans.PBSelector;
 import org.logicng.util.Pair;
 
 import java.util.Arrays;
@@ -81,7 +81,7 @@ public final class PBConstraint extends Formula {
   private final CType comparator;
   private final int rhs;
   private final boolean isCC;
-  private ImmutableFormulaList encoding;
+  private volatile ImmutableFormulaList encoding;
   private int hashCode;
 
   /**
@@ -470,7 +470,7 @@ public final class PBConstraint extends Formula {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
+    Formula nnf = this.transformationCacheEntry(NNF);
     if (nnf == null) {
       if (this.encoding == null)
         this.encode();
@@ -481,10 +481,12 @@ public final class PBConstraint extends Formula {
   }
 
   /**
-   * Encodes this constraint as CNF and stores the result.
+   * Encodes this constraint as CNF and stores the result.  The constraint is encoded only once, even if more than one
+   * thread requests its encoding.
    */
-  private void encode() {
-    this.encoding = new PBSWC(f).build(this);
+  private synchronized void encode() {
+    if (this.encoding == null)
+      this.encoding = new PBSelector(f).build(this);
   }
 
   @Override
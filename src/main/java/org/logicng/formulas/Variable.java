@@ -32,18 +32,34 @@ package org.logicng.formulas;
  * Boolean variables.
  * <p>
  * A variable is a shortcut for a positive literal.
+ * <p>
+ * Each variable carries an integer id which is unique within its formula factory.  The ids are small non-negative
+ * integers assigned in order of creation, so they can be used as array indices, e.g. for mapping variables to solver
+ * variables.
  * @author Christoph Zengler
  * @version 1.0
  * @since 1.0
  */
 public final class Variable extends Literal {
 
+  private final int id;
+
   /**
    * Constructor.
    * @param name the literal name
+   * @param id   the id of the variable in its factory
    * @param f    the factory which created this literal
    */
-  Variable(final String name, FormulaFactory f) {
+  Variable(final String name, int id, FormulaFactory f) {
     super(name, true, f);
+    this.id = id;
+  }
+
+  /**
+   * Returns the id of this variable.  The id is unique within the formula factory which created this variable.
+   * @return the id of this variable
+   */
+  public int id() {
+    return this.id;
   }
 }
@@ -0,0 +1,106 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.cache;
+
+/**
+ * The statistics of a single cache entry of a formula factory.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CacheStatistics {
+
+  private final CacheEntry entry;
+  private final long hits;
+  private final long misses;
+  private final long size;
+  private final long evictions;
+
+  /**
+   * Constructs new cache statistics.
+   * @param entry     the cache entry
+   * @param hits      the number of cache hits
+   * @param misses    the number of cache misses
+   * @param size      the number of currently cached values
+   * @param evictions the number of evicted values
+   */
+  public CacheStatistics(final CacheEntry entry, long hits, long misses, long size, long evictions) {
+    this.entry = entry;
+    this.hits = hits;
+    this.misses = misses;
+    this.size = size;
+    this.evictions = evictions;
+  }
+
+  /**
+   * Returns the cache entry.
+   * @return the cache entry
+   */
+  public CacheEntry entry() {
+    return this.entry;
+  }
+
+  /**
+   * Returns the number of cache hits.
+   * @return the number of cache hits
+   */
+  public long hits() {
+    return this.hits;
+  }
+
+  /**
+   * Returns the number of cache misses.
+   * @return the number of cache misses
+   */
+  public long misses() {
+    return this.misses;
+  }
+
+  /**
+   * Returns the number of currently cached values.
+   * @return the number of currently cached values
+   */
+  public long size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the number of evicted values.
+   * @return the number of evicted values
+   */
+  public long evictions() {
+    return this.evictions;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CacheStatistics{entry=%s, hits=%d, misses=%d, size=%d, evictions=%d}",
+            this.entry, this.hits, this.misses, this.size, this.evictions);
+  }
+}
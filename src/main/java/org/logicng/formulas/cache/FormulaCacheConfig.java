@@ -0,0 +1,156 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.cache;
+
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+
+/**
+ * The configuration object for the caches of the formulas of a formula factory.
+ * <p>
+ * The configuration is activated by putting it into the formula factory with
+ * {@link org.logicng.formulas.FormulaFactory#putConfiguration(Configuration)}.  All cached entries are cleared when a
+ * new configuration is activated.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class FormulaCacheConfig extends Configuration {
+
+  /**
+   * The different policies for the transformation and function caches.
+   * {@code UNBOUNDED} - the entries are stored at the formulas and are never evicted
+   * {@code LRU} - at most {@code maxSize} entries are stored, the least recently used entry is evicted first
+   * {@code FIFO} - at most {@code maxSize} entries are stored, the oldest entry is evicted first
+   * <p>
+   * The entries of the Tseitin and the Plaisted &amp; Greenbaum transformations are never evicted, since the
+   * transformations rely on the entries of the sub-formulas during their computation.  Predicate cache entries and
+   * user-defined cache entries are never evicted, too.
+   */
+  public enum CachePolicy {
+    UNBOUNDED, LRU, FIFO
+  }
+
+  final CachePolicy policy;
+  final int maxSize;
+  final boolean statistics;
+
+  /**
+   * The builder for a formula cache configuration.
+   */
+  public static class Builder {
+    private CachePolicy policy = CachePolicy.UNBOUNDED;
+    private int maxSize = 100000;
+    private boolean statistics = false;
+
+    /**
+     * Sets the cache policy.  The default value is {@code UNBOUNDED}.
+     * @param policy the cache policy
+     * @return the builder
+     */
+    public Builder policy(final CachePolicy policy) {
+      this.policy = policy;
+      return this;
+    }
+
+    /**
+     * Sets the maximal number of evictable cache entries for the bounded cache policies.  The default value is 100000.
+     * @param maxSize the maximal number of entries (should be at least 1)
+     * @return the builder
+     */
+    public Builder maxSize(int maxSize) {
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    /**
+     * Turns the collection of hit, miss, size and eviction counters for each cache entry on and off.  The default
+     * value is {@code false}.
+     * @param statistics {@code true} if statistics should be collected, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder statistics(boolean statistics) {
+      this.statistics = statistics;
+      return this;
+    }
+
+    /**
+     * Builds the formula cache configuration.
+     * @return the configuration
+     */
+    public FormulaCacheConfig build() {
+      return new FormulaCacheConfig(this);
+    }
+  }
+
+  /**
+   * Constructs a new formula cache configuration from a given builder.
+   * @param builder the builder
+   */
+  private FormulaCacheConfig(final Builder builder) {
+    super(ConfigurationType.FORMULA_CACHE);
+    this.policy = builder.policy;
+    this.maxSize = builder.maxSize;
+    this.statistics = builder.statistics;
+  }
+
+  /**
+   * Returns the cache policy.
+   * @return the cache policy
+   */
+  public CachePolicy policy() {
+    return this.policy;
+  }
+
+  /**
+   * Returns the maximal number of evictable cache entries for the bounded cache policies.
+   * @return the maximal number of evictable cache entries
+   */
+  public int maxSize() {
+    return this.maxSize;
+  }
+
+  /**
+   * Returns whether statistics are collected or not.
+   * @return {@code true} if statistics are collected, {@code false} otherwise
+   */
+  public boolean statistics() {
+    return this.statistics;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("FormulaCacheConfig{\n");
+    sb.append("policy=").append(this.policy).append("\n");
+    sb.append("maxSize=").append(this.maxSize).append("\n");
+    sb.append("statistics=").append(this.statistics).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+}
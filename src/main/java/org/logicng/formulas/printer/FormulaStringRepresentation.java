@@ -28,18 +28,25 @@
 
 package org.logicng.formulas.printer;
 
+import org.logicng.formulas.BinaryOperator;
 import org.logicng.formulas.CType;
-import org.logicng.formulas.Equivalence;
 import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
-import org.logicng.formulas.Implication;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.NAryOperator;
 import org.logicng.formulas.Not;
 import org.logicng.formulas.PBConstraint;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 /**
  * Super class for a formula string representation.
+ * <p>
+ * Formulas are printed iteratively with an explicit work stack, so arbitrarily deep formulas can be printed without
+ * overflowing the call stack.  With {@link #write(Formula, Appendable)} the representation is streamed to an
+ * {@link Appendable}, e.g. a {@link java.io.Writer}, without building the whole string in memory.
  * @author Christoph Zengler
  * @version 1.0
  * @since 1.0
@@ -52,105 +59,134 @@ public abstract class FormulaStringRepresentation {
    * @return the string representation of the formula
    */
   public String toString(final Formula formula) {
+    final StringBuilder sb = new StringBuilder();
+    try {
+      this.write(formula, sb);
+    } catch (final IOException e) {
+      throw new IllegalStateException("A string builder cannot throw an I/O exception", e);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Writes the string representation of the given formula to an appendable.
+   * @param formula the formula
+   * @param out     the appendable
+   * @throws IOException if there was a problem writing to the appendable
+   */
+  public void write(final Formula formula, final Appendable out) throws IOException {
+    final Deque<Object> stack = new ArrayDeque<>();
+    stack.push(formula);
+    while (!stack.isEmpty()) {
+      final Object top = stack.pop();
+      if (top instanceof String)
+        out.append((String) top);
+      else
+        this.expand((Formula) top, stack, out);
+    }
+  }
+
+  /**
+   * Expands a formula during printing.  Atomic formulas are written directly to the appendable, the parts of compound
+   * formulas are pushed on the work stack in reverse order.
+   * @param formula the formula
+   * @param stack   the work stack of strings and formulas which still have to be written
+   * @param out     the appendable
+   * @throws IOException if there was a problem writing to the appendable
+   */
+  private void expand(final Formula formula, final Deque<Object> stack, final Appendable out) throws IOException {
     switch (formula.type()) {
       case FALSE:
-        return falsum();
+        out.append(falsum());
+        break;
       case TRUE:
-        return verum();
+        out.append(verum());
+        break;
       case LITERAL:
-        final Literal lit = (Literal) formula;
-        return lit.phase() ? lit.name() : negation() + lit.name();
+        out.append(literal((Literal) formula));
+        break;
       case NOT:
-        final Not not = (Not) formula;
-        return negation() + bracket(not.operand());
+        stack.push(rbr());
+        stack.push(((Not) formula).operand());
+        stack.push(lbr());
+        stack.push(negation());
+        break;
       case IMPL:
-        final Implication impl = (Implication) formula;
-        return binaryOperator(FType.IMPL, impl.left(), impl.right(), implication());
       case EQUIV:
-        final Equivalence equiv = (Equivalence) formula;
-        return binaryOperator(FType.EQUIV, equiv.left(), equiv.right(), equivalence());
+        final BinaryOperator binary = (BinaryOperator) formula;
+        final String op = formula.type() == FType.IMPL ? implication() : equivalence();
+        this.pushOperand(formula.type(), binary.right(), stack);
+        stack.push(" " + op + " ");
+        this.pushOperand(formula.type(), binary.left(), stack);
+        break;
       case AND:
       case OR:
         final NAryOperator nary = (NAryOperator) formula;
-        final String op = formula.type() == FType.AND ? and() : or();
-        return concatOperands(nary, String.format(" %s ", op));
+        final String sep = " " + (formula.type() == FType.AND ? and() : or()) + " ";
+        final Formula[] operands = new Formula[nary.numberOfOperands()];
+        int i = 0;
+        for (final Formula operand : nary)
+          operands[i++] = operand;
+        for (i = operands.length - 1; i >= 0; i--) {
+          this.pushOperand(formula.type(), operands[i], stack);
+          if (i > 0)
+            stack.push(sep);
+        }
+        break;
       case PBC:
         final PBConstraint pbc = (PBConstraint) formula;
-        return String.format("%s %s %d", pbLhs(pbc.operands(), pbc.coefficients()), pbComparator(pbc.comparator()), pbc.rhs());
+        this.writePBLhs(pbc.operands(), pbc.coefficients(), out);
+        out.append(' ').append(pbComparator(pbc.comparator())).append(' ').append(String.valueOf(pbc.rhs()));
+        break;
       default:
         throw new IllegalArgumentException("Cannot print the unknown formula type " + formula.type());
     }
   }
 
   /**
-   * Returns a bracketed string version of a given formula.
-   * @param formula the formula
-   * @return {@code "(" + formula.toString() + ")"}
-   */
-  private String bracket(final Formula formula) {
-    return String.format("%s%s%s", lbr(), toString(formula), rbr());
-  }
-
-  /**
-   * Returns the string representation of a binary operator.
-   * @param type     the type of the binary operator
-   * @param left     the left-hand formula
-   * @param right    the right-hand formula
-   * @param operator the operator string
-   * @return the string representation
+   * Pushes an operand of a given operator on the work stack.  The operand is bracketed if its precedence is not
+   * lower than the precedence of the operator.
+   * @param type    the type of the operator
+   * @param operand the operand
+   * @param stack   the work stack
    */
-  private String binaryOperator(final FType type, final Formula left, final Formula right, final String operator) {
-    String leftString = type.precedence() < left.type().precedence() ? toString(left) : bracket(left);
-    String rightString = type.precedence() < right.type().precedence() ? toString(right) : bracket(right);
-    return String.format("%s %s %s", leftString, operator, rightString);
-  }
-
-  /**
-   * Concatenates the operands of this n-ary operator with a given separator to a string.
-   * @param operator the n-ary operator
-   * @param sep      the separator
-   * @return the concatenated operands
-   */
-  private String concatOperands(final NAryOperator operator, final String sep) {
-    StringBuilder sb = new StringBuilder();
-    int count = 0;
-    int size = operator.numberOfOperands();
-    Formula last = null;
-    for (final Formula op : operator) {
-      if (++count == size)
-        last = op;
-      else {
-        sb.append(operator.type().precedence() < op.type().precedence() ? toString(op) : bracket(op));
-        sb.append(sep);
-      }
+  private void pushOperand(final FType type, final Formula operand, final Deque<Object> stack) {
+    if (type.precedence() < operand.type().precedence())
+      stack.push(operand);
+    else {
+      stack.push(rbr());
+      stack.push(operand);
+      stack.push(lbr());
     }
-    if (last != null)
-      sb.append(operator.type().precedence() < last.type().precedence() ? toString(last) : bracket(last));
-    return sb.toString();
   }
 
   /**
-   * Returns the string representation of the left-hand side of a pseudo-Boolean constraint.
+   * Writes the string representation of the left-hand side of a pseudo-Boolean constraint.
    * @param operands     the literals of the constraint
    * @param coefficients the coefficients of the constraint
-   * @return the string representation
+   * @param out          the appendable
+   * @throws IOException if there was a problem writing to the appendable
    */
-  private String pbLhs(final Literal[] operands, final int[] coefficients) {
+  private void writePBLhs(final Literal[] operands, final int[] coefficients, final Appendable out) throws IOException {
     assert operands.length == coefficients.length;
-    StringBuilder sb = new StringBuilder();
     final String mul = pbMul();
     final String add = pbAdd();
-    for (int i = 0; i < operands.length - 1; i++)
+    for (int i = 0; i < operands.length; i++) {
+      if (i > 0)
+        out.append(' ').append(add).append(' ');
       if (coefficients[i] != 1)
-        sb.append(coefficients[i]).append(mul).append(operands[i]).append(" ").append(add).append(" ");
-      else
-        sb.append(operands[i]).append(" ").append(add).append(" ");
-    if (operands.length > 0)
-      if (coefficients[operands.length - 1] != 1)
-        sb.append(coefficients[operands.length - 1]).append(mul).append(operands[operands.length - 1]);
-      else
-        sb.append(operands[operands.length - 1]);
-    return sb.toString();
+        out.append(String.valueOf(coefficients[i])).append(mul);
+      out.append(operands[i].toString());
+    }
+  }
+
+  /**
+   * Returns the string representation of a literal.
+   * @param lit the literal
+   * @return the string representation of the literal
+   */
+  protected String literal(final Literal lit) {
+    return lit.phase() ? lit.name() : negation() + lit.name();
   }
 
   /**
@@ -29,7 +29,6 @@
 package org.logicng.formulas.printer;
 
 import org.logicng.formulas.CType;
-import org.logicng.formulas.Formula;
 import org.logicng.formulas.Literal;
 
 import java.util.regex.Matcher;
@@ -46,14 +45,8 @@ public final class LatexStringRepresentation extends FormulaStringRepresentation
   private static final Pattern pattern = Pattern.compile("(.*?)(\\d*)");
 
   @Override
-  public String toString(final Formula formula) {
-    switch (formula.type()) {
-      case LITERAL:
-        final Literal lit = (Literal) formula;
-        return lit.phase() ? latexName(lit.name()) : this.negation() + " " + latexName(lit.name());
-      default:
-        return super.toString(formula);
-    }
+  protected String literal(final Literal lit) {
+    return lit.phase() ? latexName(lit.name()) : this.negation() + " " + latexName(lit.name());
   }
 
   /**
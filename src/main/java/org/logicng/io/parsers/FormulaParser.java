@@ -0,0 +1,568 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.parsers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hand-written recursive descent parser for propositional and pseudo-Boolean formulas.
+ * <p>
+ * The parser accepts exactly the syntax of the {@link PropositionalParser} or - in pseudo-Boolean mode - of the
+ * {@link PseudoBooleanParser} and produces the same formulas, but it works directly on a {@link CharSequence} without
+ * an intermediate token stream.  Binary operators are right-associative, n-ary operators are collected in a single
+ * operand list.
+ * <p>
+ * The parser itself holds no state besides its configuration, therefore one instance can be used from more than one
+ * thread if its formula factory is thread-safe.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class FormulaParser {
+
+  private static final int EOF = 0;
+  private static final int VARIABLE = 1;
+  private static final int NUMBER = 2;
+  private static final int TRUE = 3;
+  private static final int FALSE = 4;
+  private static final int LBR = 5;
+  private static final int RBR = 6;
+  private static final int NOT = 7;
+  private static final int AND = 8;
+  private static final int OR = 9;
+  private static final int IMPL = 10;
+  private static final int EQUIV = 11;
+  private static final int MUL = 12;
+  private static final int ADD = 13;
+  private static final int EQ = 14;
+  private static final int LE = 15;
+  private static final int LT = 16;
+  private static final int GE = 17;
+  private static final int GT = 18;
+
+  private final FormulaFactory f;
+  private final boolean pseudoBoolean;
+
+  /**
+   * Constructs a new parser for pseudo-Boolean formulas.
+   * @param f the formula factory
+   */
+  public FormulaParser(final FormulaFactory f) {
+    this(f, true);
+  }
+
+  /**
+   * Constructs a new parser.
+   * @param f             the formula factory
+   * @param pseudoBoolean {@code true} if pseudo-Boolean constraints should be accepted, {@code false} if only
+   *                      propositional formulas should be accepted
+   */
+  public FormulaParser(final FormulaFactory f, boolean pseudoBoolean) {
+    this.f = f;
+    this.pseudoBoolean = pseudoBoolean;
+  }
+
+  /**
+   * Parses and returns a given character sequence.  An empty sequence or {@code null} yields the constant TRUE.
+   * @param in the character sequence
+   * @return the {@link Formula} representation of the character sequence
+   * @throws ParserException if the character sequence was not a valid formula
+   */
+  public Formula parse(final CharSequence in) throws ParserException {
+    if (in == null)
+      return this.f.verum();
+    return new Parse(in).formula();
+  }
+
+  /**
+   * Parses and returns the complete content of a given reader as a single formula.  The reader is not closed by this
+   * method.
+   * @param reader the reader
+   * @return the {@link Formula} representation of the content
+   * @throws ParserException if the content was not a valid formula or there was a problem reading it
+   */
+  public Formula parse(final Reader reader) throws ParserException {
+    final StringBuilder sb = new StringBuilder();
+    final char[] buffer = new char[8192];
+    try {
+      int read;
+      while ((read = reader.read(buffer)) != -1)
+        sb.append(buffer, 0, read);
+    } catch (final IOException e) {
+      throw new ParserException("IO exception when parsing the formula", e);
+    }
+    return this.parse(sb);
+  }
+
+  /**
+   * Parses a file with one formula per line.  Blank lines are skipped.  The reader is not closed by this method.
+   * @param reader the reader
+   * @return the formulas in the order of their lines
+   * @throws ParserException if a line was not a valid formula or there was a problem reading the content
+   */
+  public List<Formula> parseAll(final Reader reader) throws ParserException {
+    final List<Formula> formulas = new ArrayList<>();
+    final BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    int lineNumber = 0;
+    try {
+      String line;
+      while ((line = lines.readLine()) != null) {
+        lineNumber++;
+        final Parse parse = new Parse(line);
+        if (parse.token == EOF)
+          continue;
+        try {
+          formulas.add(parse.formula());
+        } catch (final ParserException e) {
+          throw new ParserException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+      }
+    } catch (final IOException e) {
+      throw new ParserException("IO exception when parsing line " + (lineNumber + 1), e);
+    }
+    return formulas;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+
+  /**
+   * The lexer and parser state for a single input.
+   */
+  private final class Parse {
+    private final CharSequence in;
+    private final int length;
+    private int pos;
+    private int token;
+    private int tokenStart;
+    private int number;
+
+    /**
+     * Constructs a new parse of a given input and reads its first token.
+     * @param in the input
+     * @throws ParserException if the first token is not valid
+     */
+    private Parse(final CharSequence in) throws ParserException {
+      this.in = in;
+      this.length = in.length();
+      this.next();
+    }
+
+    /**
+     * Parses the complete input.
+     * @return the formula
+     * @throws ParserException if the input is not a valid formula
+     */
+    private Formula formula() throws ParserException {
+      if (this.token == EOF)
+        return f.verum();
+      final Formula formula = this.equiv();
+      if (this.token != EOF)
+        throw this.unexpected();
+      return formula;
+    }
+
+    /**
+     * Parses an equivalence or a formula with a higher precedence.
+     * @return the formula
+     * @throws ParserException if the input is not a valid formula
+     */
+    private Formula equiv() throws ParserException {
+      final Formula left = this.impl();
+      if (this.token != EQUIV)
+        return left;
+      this.next();
+      return f.equivalence(left, this.equiv());
+    }
+
+    /**
+     * Parses an implication or a formula with a higher precedence.
+     * @return the formula
+     * @throws ParserException if the input is not a valid formula
+     */
+    private Formula impl() throws ParserException {
+      final Formula left = this.disj();
+      if (this.token != IMPL)
+        return left;
+      this.next();
+      return f.implication(left, this.impl());
+    }
+
+    /**
+     * Parses a disjunction or a formula with a higher precedence.
+     * @return the formula
+     * @throws ParserException if the input is not a valid formula
+     */
+    private Formula disj() throws ParserException {
+      final Formula first = this.conj();
+      if (this.token != OR)
+        return first;
+      final List<Formula> operands = new ArrayList<>();
+      operands.add(first);
+      while (this.token == OR) {
+        this.next();
+        operands.add(this.conj());
+      }
+      return f.or(operands);
+    }
+
+    /**
+     * Parses a conjunction or a formula with a higher precedence.
+     * @return the formula
+     * @throws ParserException if the input is not a valid formula
+     */
+    private Formula conj() throws ParserException {
+      final Formula first = this.lit();
+      if (this.token != AND)
+        return first;
+      final List<Formula> operands = new ArrayList<>();
+      operands.add(first);
+      while (this.token == AND) {
+        this.next();
+        operands.add(this.lit());
+      }
+      return f.and(operands);
+    }
+
+    /**
+     * Parses a negation or a simple formula.
+     * @return the formula
+     * @throws ParserException if the input is not a valid formula
+     */
+    private Formula lit() throws ParserException {
+      if (this.token != NOT)
+        return this.simp();
+      this.next();
+      return f.not(this.lit());
+    }
+
+    /**
+     * Parses a variable, a constant, a pseudo-Boolean constraint or a bracketed formula.
+     * @return the formula
+     * @throws ParserException if the input is not a valid formula
+     */
+    private Formula simp() throws ParserException {
+      final Formula result;
+      switch (this.token) {
+        case VARIABLE:
+          result = f.variable(this.text());
+          break;
+        case TRUE:
+          result = f.verum();
+          break;
+        case FALSE:
+          result = f.falsum();
+          break;
+        case NUMBER:
+          return this.comparison();
+        case LBR:
+          this.next();
+          result = this.equiv();
+          if (this.token != RBR)
+            throw this.unexpected();
+          break;
+        default:
+          throw this.unexpected();
+      }
+      this.next();
+      return result;
+    }
+
+    /**
+     * Parses a pseudo-Boolean constraint.
+     * @return the formula
+     * @throws ParserException if the input is not a valid formula
+     */
+    private Formula comparison() throws ParserException {
+      final List<Literal> literals = new ArrayList<>();
+      final LNGIntVector coefficients = new LNGIntVector();
+      boolean negative = false;
+      while (true) {
+        this.expect(NUMBER);
+        final int coefficient = this.number;
+        this.next();
+        this.expect(MUL);
+        this.next();
+        boolean phase = true;
+        if (this.token == NOT) {
+          phase = false;
+          this.next();
+        }
+        this.expect(VARIABLE);
+        literals.add(f.literal(this.text(), phase));
+        coefficients.push(negative ? -coefficient : coefficient);
+        this.next();
+        if (this.token != ADD)
+          break;
+        negative = this.in.charAt(this.tokenStart) == '-';
+        this.next();
+      }
+      final CType comparator;
+      switch (this.token) {
+        case EQ:
+          comparator = CType.EQ;
+          break;
+        case LE:
+          comparator = CType.LE;
+          break;
+        case LT:
+          comparator = CType.LT;
+          break;
+        case GE:
+          comparator = CType.GE;
+          break;
+        case GT:
+          comparator = CType.GT;
+          break;
+        default:
+          throw this.unexpected();
+      }
+      this.next();
+      this.expect(NUMBER);
+      final int rhs = this.number;
+      this.next();
+      return f.pbc(comparator, rhs, literals.toArray(new Literal[literals.size()]), coefficients.toArray());
+    }
+
+    /**
+     * Checks that the current token has a given type.
+     * @param type the expected token type
+     * @throws ParserException if the current token has another type
+     */
+    private void expect(int type) throws ParserException {
+      if (this.token != type)
+        throw this.unexpected();
+    }
+
+    /**
+     * Returns the text of the current token.
+     * @return the text of the current token
+     */
+    private String text() {
+      return this.in.subSequence(this.tokenStart, this.pos).toString();
+    }
+
+    /**
+     * Returns an exception for an unexpected current token.
+     * @return the exception
+     */
+    private ParserException unexpected() {
+      if (this.token == EOF)
+        return new ParserException("Unexpected end of input", null);
+      return new ParserException(String.format("Unexpected token '%s' at position %d", this.text(), this.tokenStart), null);
+    }
+
+    /**
+     * Reads the next token.
+     * @throws ParserException if there is no valid token at the current position
+     */
+    private void next() throws ParserException {
+      while (this.pos < this.length && isWhitespace(this.in.charAt(this.pos)))
+        this.pos++;
+      this.tokenStart = this.pos;
+      if (this.pos == this.length) {
+        this.token = EOF;
+        return;
+      }
+      final char c = this.in.charAt(this.pos++);
+      if (isVariableStart(c)) {
+        while (this.pos < this.length && isVariablePart(this.in.charAt(this.pos)))
+          this.pos++;
+        this.token = VARIABLE;
+        return;
+      }
+      switch (c) {
+        case '(':
+          this.token = LBR;
+          return;
+        case ')':
+          this.token = RBR;
+          return;
+        case '~':
+          this.token = NOT;
+          return;
+        case '&':
+          this.token = AND;
+          return;
+        case '|':
+          this.token = OR;
+          return;
+        case '$':
+          if (this.consume("true"))
+            this.token = TRUE;
+          else if (this.consume("false"))
+            this.token = FALSE;
+          else
+            throw this.illegalCharacter();
+          return;
+        case '=':
+          if (this.consume(">"))
+            this.token = IMPL;
+          else if (pseudoBoolean)
+            this.token = EQ;
+          else
+            throw this.illegalCharacter();
+          return;
+        case '<':
+          if (this.consume("=>"))
+            this.token = EQUIV;
+          else if (!pseudoBoolean)
+            throw this.illegalCharacter();
+          else
+            this.token = this.consume("=") ? LE : LT;
+          return;
+        default:
+          if (!pseudoBoolean)
+            throw this.illegalCharacter();
+          this.nextPBToken(c);
+      }
+    }
+
+    /**
+     * Reads the next token which is only valid in pseudo-Boolean formulas.
+     * @param c the first character of the token
+     * @throws ParserException if there is no valid token at the current position
+     */
+    private void nextPBToken(char c) throws ParserException {
+      switch (c) {
+        case '*':
+          this.token = MUL;
+          return;
+        case '+':
+          this.token = ADD;
+          return;
+        case '>':
+          this.token = this.consume("=") ? GE : GT;
+          return;
+        case '-':
+          if (this.pos < this.length && isDigit(this.in.charAt(this.pos)))
+            this.readNumber();
+          else
+            this.token = ADD;
+          return;
+        default:
+          if (!isDigit(c))
+            throw this.illegalCharacter();
+          this.readNumber();
+      }
+    }
+
+    /**
+     * Reads the remaining digits of a number token starting at the token start.
+     * @throws ParserException if the number is out of the integer range
+     */
+    private void readNumber() throws ParserException {
+      final boolean negative = this.in.charAt(this.tokenStart) == '-';
+      long value = negative ? 0 : this.in.charAt(this.tokenStart) - '0';
+      while (this.pos < this.length && isDigit(this.in.charAt(this.pos))) {
+        value = value * 10 + (this.in.charAt(this.pos++) - '0');
+        if (value > (long) Integer.MAX_VALUE + 1)
+          throw new ParserException("Number out of range at position " + this.tokenStart, null);
+      }
+      if (negative)
+        value = -value;
+      if (value > Integer.MAX_VALUE)
+        throw new ParserException("Number out of range at position " + this.tokenStart, null);
+      this.number = (int) value;
+      this.token = NUMBER;
+    }
+
+    /**
+     * Consumes a given string if the input continues with it at the current position.
+     * @param s the string
+     * @return {@code true} if the string was consumed, {@code false} otherwise
+     */
+    private boolean consume(final String s) {
+      if (this.pos + s.length() > this.length)
+        return false;
+      for (int i = 0; i < s.length(); i++)
+        if (this.in.charAt(this.pos + i) != s.charAt(i))
+          return false;
+      this.pos += s.length();
+      return true;
+    }
+
+    /**
+     * Returns an exception for an illegal character at the token start.
+     * @return the exception
+     */
+    private ParserException illegalCharacter() {
+      return new ParserException(String.format("Illegal character '%c' at position %d", this.in.charAt(this.tokenStart),
+              this.tokenStart), null);
+    }
+  }
+
+  /**
+   * Returns {@code true} if a given character is a whitespace character of the formula syntax.
+   * @param c the character
+   * @return {@code true} if the character is a whitespace character
+   */
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  /**
+   * Returns {@code true} if a given character is a decimal digit.
+   * @param c the character
+   * @return {@code true} if the character is a decimal digit
+   */
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /**
+   * Returns {@code true} if a variable name can start with a given character.
+   * @param c the character
+   * @return {@code true} if a variable name can start with the character
+   */
+  private static boolean isVariableStart(char c) {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || c == '@';
+  }
+
+  /**
+   * Returns {@code true} if a given character can occur after the first character of a variable name.
+   * @param c the character
+   * @return {@code true} if the character can occur in a variable name
+   */
+  private static boolean isVariablePart(char c) {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+  }
+}
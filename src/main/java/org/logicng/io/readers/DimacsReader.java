@@ -0,0 +1,429 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.readers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.sat.CleaneLingStyleSolver;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.logicng.solvers.sat.MiniSatStyleSolver.mkLit;
+
+/**
+ * A reader for files in the DIMACS CNF, the (partial weighted) MaxSAT WCNF, and the OPB format.
+ * <p>
+ * CNF and WCNF files are streamed directly into the integer clause interface of the solvers without creating any
+ * formulas.  Variable {@code n} of the file is mapped to the solver variable {@code n - 1}.  The file is read in chunks
+ * through a {@link FileChannel}, therefore also very large instances can be read with a constant memory overhead.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class DimacsReader {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Private constructor.
+   */
+  private DimacsReader() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Reads a DIMACS CNF file and adds its clauses to the given solver.  Missing variables are created on the solver, the
+   * problem line is optional.
+   * @param file   the CNF file
+   * @param solver the solver
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid CNF file
+   */
+  public static void readCNF(final File file, final MiniSatStyleSolver solver) throws IOException, ParserException {
+    try (final Tokenizer tokenizer = new Tokenizer(file)) {
+      final LNGIntVector clause = new LNGIntVector();
+      while (tokenizer.skipSpace()) {
+        final int c = tokenizer.current();
+        if (c == 'c')
+          tokenizer.skipLine();
+        else if (c == '%')
+          break;
+        else if (c == 'p') {
+          tokenizer.nextWord();
+          final String format = tokenizer.nextWord();
+          if (!"cnf".equals(format))
+            throw new ParserException("Unsupported DIMACS format: " + format, null);
+          final long numVars = tokenizer.nextLong();
+          tokenizer.nextLong();
+          while (solver.nVars() < numVars)
+            solver.newVar(true, true);
+        } else {
+          final int lit = literal(tokenizer.nextLong());
+          if (lit == 0) {
+            solver.addClause(clause);
+            clause.clear();
+          } else {
+            final int var = Math.abs(lit) - 1;
+            while (solver.nVars() <= var)
+              solver.newVar(true, true);
+            clause.push(mkLit(var, lit < 0));
+          }
+        }
+      }
+      if (!clause.empty())
+        solver.addClause(clause);
+    }
+  }
+
+  /**
+   * Reads a DIMACS CNF file and adds its clauses to the given CleaneLing solver.  The variables of the file are used as
+   * variables of the solver.
+   * @param file   the CNF file
+   * @param solver the solver
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid CNF file
+   */
+  public static void readCNF(final File file, final CleaneLingStyleSolver solver) throws IOException, ParserException {
+    try (final Tokenizer tokenizer = new Tokenizer(file)) {
+      boolean openClause = false;
+      while (tokenizer.skipSpace()) {
+        final int c = tokenizer.current();
+        if (c == 'c' || c == 'p')
+          tokenizer.skipLine();
+        else if (c == '%')
+          break;
+        else {
+          final int lit = literal(tokenizer.nextLong());
+          solver.addlit(lit);
+          openClause = lit != 0;
+        }
+      }
+      if (openClause)
+        solver.addlit(0);
+    }
+  }
+
+  /**
+   * Reads a WCNF file and adds its hard and soft clauses to the given MaxSAT solver.  Clauses with a weight greater or
+   * equal to the top weight of the problem line are added as hard clauses, all others as soft clauses.  If the problem
+   * line has no top weight, all clauses are soft.  A file with a {@code p cnf} problem line is read as a pure MaxSAT
+   * problem, i.e. all clauses are soft clauses with weight 1.  After reading the file, the problem type of the solver
+   * is set with respect to the weights of the soft clauses.
+   * @param file   the WCNF file
+   * @param solver the MaxSAT solver
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid WCNF file
+   */
+  public static void readWCNF(final File file, final MaxSAT solver) throws IOException, ParserException {
+    try (final Tokenizer tokenizer = new Tokenizer(file)) {
+      boolean weighted = true;
+      long top = Long.MAX_VALUE;
+      while (tokenizer.skipSpace()) {
+        final int c = tokenizer.current();
+        if (c == 'c')
+          tokenizer.skipLine();
+        else if (c == '%')
+          break;
+        else if (c == 'p') {
+          tokenizer.nextWord();
+          final String format = tokenizer.nextWord();
+          if ("cnf".equals(format))
+            weighted = false;
+          else if (!"wcnf".equals(format))
+            throw new ParserException("Unsupported DIMACS format: " + format, null);
+          final long numVars = tokenizer.nextLong();
+          tokenizer.nextLong();
+          if (weighted && tokenizer.skipSpaceInLine())
+            top = tokenizer.nextLong();
+          while (solver.nVars() < numVars)
+            solver.newVar();
+        } else {
+          final long weight = weighted ? tokenizer.nextLong() : 1;
+          final LNGIntVector clause = new LNGIntVector();
+          int lit;
+          while ((lit = literal(tokenizer.nextLong())) != 0) {
+            final int var = Math.abs(lit) - 1;
+            while (solver.nVars() <= var)
+              solver.newVar();
+            clause.push(mkLit(var, lit < 0));
+          }
+          if (weight >= top)
+            solver.addHardClause(clause);
+          else {
+            if (weight < 1 || weight >= Integer.MAX_VALUE)
+              throw new ParserException("Illegal weight of a soft clause: " + weight, null);
+            solver.setCurrentWeight((int) weight);
+            solver.updateSumWeights((int) weight);
+            solver.addSoftClause((int) weight, clause);
+          }
+        }
+      }
+      solver.setProblemType(solver.currentWeight() == 1 ? MaxSAT.ProblemType.UNWEIGHTED : MaxSAT.ProblemType.WEIGHTED);
+    }
+  }
+
+  /**
+   * Reads an OPB file and adds its constraints to the given solver.  The objective function of the file is ignored.
+   * Since the pseudo-Boolean constraints are encoded by the solver, they are created as formulas on the solver's
+   * formula factory.
+   * @param file   the OPB file
+   * @param f      the formula factory of the solver
+   * @param solver the solver
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid OPB file
+   */
+  public static void readOPB(final File file, final FormulaFactory f, final SATSolver solver) throws IOException, ParserException {
+    try (final Tokenizer tokenizer = new Tokenizer(file)) {
+      final List<Literal> literals = new ArrayList<>();
+      final List<Integer> coefficients = new ArrayList<>();
+      boolean objective = false;
+      while (tokenizer.skipSpace()) {
+        if (tokenizer.current() == '*') {
+          tokenizer.skipLine();
+          continue;
+        }
+        final String token = tokenizer.nextWord();
+        if (";".equals(token)) {
+          if (!objective)
+            throw new ParserException("Missing comparator in OPB constraint", null);
+          objective = false;
+          literals.clear();
+          coefficients.clear();
+        } else if ("min:".equals(token) || "max:".equals(token))
+          objective = true;
+        else if (!objective && comparator(token) != null) {
+          final CType comparator = comparator(token);
+          final int rhs = coefficient(tokenizer.nextWord());
+          if (!";".equals(tokenizer.nextWord()))
+            throw new ParserException("Missing ';' after OPB constraint", null);
+          solver.add(f.pbc(comparator, rhs, literals, coefficients));
+          literals.clear();
+          coefficients.clear();
+        } else if (!objective) {
+          coefficients.add(coefficient(token));
+          final String lit = tokenizer.nextWord();
+          literals.add(lit.startsWith("~") ? f.literal(lit.substring(1), false) : f.literal(lit, true));
+        }
+      }
+      if (!literals.isEmpty())
+        throw new ParserException("Missing comparator in OPB constraint", null);
+    }
+  }
+
+  /**
+   * Returns the comparator for a given OPB token or {@code null} if the token is no comparator.
+   * @param token the token
+   * @return the comparator or {@code null}
+   */
+  private static CType comparator(final String token) {
+    switch (token) {
+      case "=":
+        return CType.EQ;
+      case ">=":
+        return CType.GE;
+      case ">":
+        return CType.GT;
+      case "<=":
+        return CType.LE;
+      case "<":
+        return CType.LT;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Parses an OPB coefficient.
+   * @param token the token
+   * @return the coefficient
+   * @throws ParserException if the token is no valid coefficient
+   */
+  private static int coefficient(final String token) throws ParserException {
+    try {
+      return Integer.parseInt(token.startsWith("+") ? token.substring(1) : token);
+    } catch (final NumberFormatException e) {
+      throw new ParserException("Illegal coefficient in OPB file: " + token, e);
+    }
+  }
+
+  /**
+   * Checks that a parsed DIMACS literal is in the range of the solver variables.
+   * @param lit the parsed literal
+   * @return the literal as integer
+   * @throws ParserException if the literal is out of range
+   */
+  private static int literal(final long lit) throws ParserException {
+    if (lit >= Integer.MAX_VALUE || lit <= -Integer.MAX_VALUE)
+      throw new ParserException("Literal out of range: " + lit, null);
+    return (int) lit;
+  }
+
+  /**
+   * A simple tokenizer on the bytes of a file.
+   */
+  private static final class Tokenizer implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private int current;
+
+    /**
+     * Constructs a new tokenizer for a given file.
+     * @param file the file
+     * @throws IOException if the file could not be opened
+     */
+    private Tokenizer(final File file) throws IOException {
+      this.channel = new FileInputStream(file).getChannel();
+      this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+      this.buffer.flip();
+      this.advance();
+    }
+
+    /**
+     * Moves to the next byte of the file.
+     * @throws IOException if there was a problem reading the file
+     */
+    private void advance() throws IOException {
+      if (!this.buffer.hasRemaining()) {
+        this.buffer.clear();
+        int read;
+        do {
+          read = this.channel.read(this.buffer);
+        } while (read == 0);
+        this.buffer.flip();
+        if (read < 0) {
+          this.current = -1;
+          return;
+        }
+      }
+      this.current = this.buffer.get() & 0xFF;
+    }
+
+    /**
+     * Returns the current byte or -1 if the end of the file was reached.
+     * @return the current byte
+     */
+    private int current() {
+      return this.current;
+    }
+
+    /**
+     * Skips all whitespace.
+     * @return {@code true} if there is a next token, {@code false} if the end of the file was reached
+     * @throws IOException if there was a problem reading the file
+     */
+    private boolean skipSpace() throws IOException {
+      while (this.current == ' ' || this.current == '\t' || this.current == '\n' || this.current == '\r')
+        this.advance();
+      return this.current != -1;
+    }
+
+    /**
+     * Skips all whitespace in the current line.
+     * @return {@code true} if there is a next token in the current line, {@code false} otherwise
+     * @throws IOException if there was a problem reading the file
+     */
+    private boolean skipSpaceInLine() throws IOException {
+      while (this.current == ' ' || this.current == '\t' || this.current == '\r')
+        this.advance();
+      return this.current != -1 && this.current != '\n';
+    }
+
+    /**
+     * Skips the rest of the current line.
+     * @throws IOException if there was a problem reading the file
+     */
+    private void skipLine() throws IOException {
+      while (this.current != '\n' && this.current != -1)
+        this.advance();
+    }
+
+    /**
+     * Reads the next whitespace separated word.  A semicolon is always returned as single word.
+     * @return the next word
+     * @throws IOException     if there was a problem reading the file
+     * @throws ParserException if the end of the file was reached
+     */
+    private String nextWord() throws IOException, ParserException {
+      if (!this.skipSpace())
+        throw new ParserException("Unexpected end of file", null);
+      final StringBuilder sb = new StringBuilder();
+      if (this.current == ';') {
+        this.advance();
+        return ";";
+      }
+      while (this.current > ' ' && this.current != ';') {
+        sb.append((char) this.current);
+        this.advance();
+      }
+      return sb.toString();
+    }
+
+    /**
+     * Reads the next integer number.
+     * @return the next number
+     * @throws IOException     if there was a problem reading the file
+     * @throws ParserException if the next token is no number
+     */
+    private long nextLong() throws IOException, ParserException {
+      if (!this.skipSpace())
+        throw new ParserException("Unexpected end of file", null);
+      boolean negative = false;
+      if (this.current == '-' || this.current == '+') {
+        negative = this.current == '-';
+        this.advance();
+      }
+      if (this.current < '0' || this.current > '9')
+        throw new ParserException("Unexpected character '" + (char) this.current + "', expected a number", null);
+      long number = 0;
+      while (this.current >= '0' && this.current <= '9') {
+        number = number * 10 + (this.current - '0');
+        this.advance();
+      }
+      return negative ? -number : number;
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.channel.close();
+    }
+  }
+}
@@ -0,0 +1,426 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.readers;
+
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.writers.FormulaBinaryWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.logicng.io.writers.FormulaBinaryWriter.TAG_AND;
+import static org.logicng.io.writers.FormulaBinaryWriter.TAG_EQUIV;
+import static org.logicng.io.writers.FormulaBinaryWriter.TAG_FALSE;
+import static org.logicng.io.writers.FormulaBinaryWriter.TAG_IMPL;
+import static org.logicng.io.writers.FormulaBinaryWriter.TAG_NEG_LITERAL;
+import static org.logicng.io.writers.FormulaBinaryWriter.TAG_NOT;
+import static org.logicng.io.writers.FormulaBinaryWriter.TAG_OR;
+import static org.logicng.io.writers.FormulaBinaryWriter.TAG_PBC;
+import static org.logicng.io.writers.FormulaBinaryWriter.TAG_POS_LITERAL;
+import static org.logicng.io.writers.FormulaBinaryWriter.TAG_TRUE;
+
+/**
+ * A reader for formulas in the binary format of the {@link FormulaBinaryWriter}.
+ * <p>
+ * The formulas are rebuilt bottom-up on a given formula factory, each node of the file is constructed exactly once.
+ * Generated variables of the file are registered as generated variables on the factory.  Files are memory-mapped if
+ * possible, otherwise they are read in chunks through a {@link FileChannel}.
+ * <p>
+ * All lengths of the input are checked against the remaining input before arrays are allocated, so a corrupt input
+ * leads to a {@link ParserException}.  If the size of a channel is unknown, the arrays grow with the input instead.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class FormulaBinaryReader {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  /**
+   * Private constructor.
+   */
+  private FormulaBinaryReader() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Reads the formulas of a file.  Files up to 2 GB are memory-mapped, larger files are streamed.
+   * @param file the file
+   * @param f    the formula factory for the formulas
+   * @return the formulas in the order in which they were written
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid formula file
+   */
+  public static List<Formula> read(final File file, final FormulaFactory f) throws IOException, ParserException {
+    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size <= Integer.MAX_VALUE)
+        return read(new Input(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)), f);
+      return read(channel, f);
+    }
+  }
+
+  /**
+   * Reads the formulas from a channel.  The channel must be in blocking mode and is not closed by this method.
+   * @param channel the channel
+   * @param f       the formula factory for the formulas
+   * @return the formulas in the order in which they were written
+   * @throws IOException              if there was a problem reading from the channel
+   * @throws ParserException          if the input is not a valid formula file
+   * @throws IllegalArgumentException if the channel is in non-blocking mode
+   */
+  public static List<Formula> read(final ReadableByteChannel channel, final FormulaFactory f) throws IOException, ParserException {
+    if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking())
+      throw new IllegalArgumentException("Cannot read formulas from a channel in non-blocking mode");
+    return read(new Input(channel), f);
+  }
+
+  /**
+   * Reads the formulas from a given input.
+   * @param in the input
+   * @param f  the formula factory for the formulas
+   * @return the formulas
+   * @throws IOException     if there was a problem reading the input
+   * @throws ParserException if the input is not a valid formula file
+   */
+  private static List<Formula> read(final Input in, final FormulaFactory f) throws IOException, ParserException {
+    final byte[] magic = new byte[FormulaBinaryWriter.MAGIC.length];
+    in.readBytes(magic);
+    if (!Arrays.equals(magic, FormulaBinaryWriter.MAGIC))
+      throw new ParserException("Not a LogicNG formula file", null);
+    final byte version = in.readByte();
+    if (version != FormulaBinaryWriter.VERSION)
+      throw new ParserException("Unsupported formula file version: " + version, null);
+    final int numNames = in.readLength();
+    String[] names = new String[in.capacity(numNames, 1)];
+    for (int i = 0; i < numNames; i++) {
+      if (i == names.length)
+        names = Arrays.copyOf(names, grownCapacity(names.length, numNames));
+      final int header = in.readVarint();
+      names[i] = new String(in.readBytes(header >>> 1), UTF8);
+      if ((header & 1) != 0)
+        f.generatedVariable(names[i]);
+    }
+    final int numNodes = in.readLength();
+    Formula[] nodes = new Formula[in.capacity(numNodes, 1)];
+    for (int i = 0; i < numNodes; i++) {
+      if (i == nodes.length)
+        nodes = Arrays.copyOf(nodes, grownCapacity(nodes.length, numNodes));
+      nodes[i] = readNode(in, f, names, nodes, i);
+    }
+    final int numFormulas = in.readLength();
+    final List<Formula> formulas = new ArrayList<>(in.capacity(numFormulas, 1));
+    for (int i = 0; i < numFormulas; i++)
+      formulas.add(node(nodes, nodes.length, in.readVarint()));
+    return formulas;
+  }
+
+  /**
+   * Reads a single node and constructs it on the formula factory.
+   * @param in    the input
+   * @param f     the formula factory
+   * @param names the string table
+   * @param nodes the nodes read so far
+   * @param id    the id of the node to read
+   * @return the node
+   * @throws IOException     if there was a problem reading the input
+   * @throws ParserException if the node is not valid
+   */
+  private static Formula readNode(final Input in, final FormulaFactory f, final String[] names, final Formula[] nodes,
+                                  int id) throws IOException, ParserException {
+    final byte tag = in.readByte();
+    switch (tag) {
+      case TAG_FALSE:
+        return f.falsum();
+      case TAG_TRUE:
+        return f.verum();
+      case TAG_POS_LITERAL:
+      case TAG_NEG_LITERAL:
+        return f.literal(name(names, in.readVarint()), tag == TAG_POS_LITERAL);
+      case TAG_NOT:
+        return f.not(node(nodes, id, in.readVarint()));
+      case TAG_IMPL:
+        final Formula implLeft = node(nodes, id, in.readVarint());
+        return f.implication(implLeft, node(nodes, id, in.readVarint()));
+      case TAG_EQUIV:
+        final Formula equivLeft = node(nodes, id, in.readVarint());
+        return f.equivalence(equivLeft, node(nodes, id, in.readVarint()));
+      case TAG_AND:
+      case TAG_OR:
+        final int numOperands = in.readLength();
+        Formula[] operands = new Formula[in.capacity(numOperands, 1)];
+        for (int i = 0; i < numOperands; i++) {
+          if (i == operands.length)
+            operands = Arrays.copyOf(operands, grownCapacity(operands.length, numOperands));
+          operands[i] = node(nodes, id, in.readVarint());
+        }
+        return tag == TAG_AND ? f.and(operands) : f.or(operands);
+      case TAG_PBC:
+        final int comparator = in.readByte();
+        if (comparator < 0 || comparator >= CType.values().length)
+          throw new ParserException("Unknown comparator in node " + id + ": " + comparator, null);
+        final int rhs = unzigzag(in.readVarint());
+        final int numLiterals = in.readLength();
+        Literal[] literals = new Literal[in.capacity(numLiterals, 2)];
+        int[] coefficients = new int[literals.length];
+        for (int i = 0; i < numLiterals; i++) {
+          if (i == literals.length) {
+            literals = Arrays.copyOf(literals, grownCapacity(literals.length, numLiterals));
+            coefficients = Arrays.copyOf(coefficients, literals.length);
+          }
+          final int lit = in.readVarint();
+          literals[i] = f.literal(name(names, lit >>> 1), (lit & 1) == 0);
+          coefficients[i] = unzigzag(in.readVarint());
+        }
+        return f.pbc(CType.values()[comparator], rhs, literals, coefficients);
+      default:
+        throw new ParserException("Unknown node tag in node " + id + ": " + tag, null);
+    }
+  }
+
+  /**
+   * Returns the node with a given id which must have been read before the current node (or before the end of the
+   * node section).
+   * @param nodes   the nodes
+   * @param current the id of the current node
+   * @param id      the id of the requested node
+   * @return the node
+   * @throws ParserException if there is no such node
+   */
+  private static Formula node(final Formula[] nodes, int current, int id) throws ParserException {
+    if (id < 0 || id >= current)
+      throw new ParserException("Illegal node reference: " + id, null);
+    return nodes[id];
+  }
+
+  /**
+   * Returns the name with a given index of the string table.
+   * @param names the string table
+   * @param index the index
+   * @return the name
+   * @throws ParserException if there is no such name
+   */
+  private static String name(final String[] names, int index) throws ParserException {
+    if (index < 0 || index >= names.length)
+      throw new ParserException("Illegal string table reference: " + index, null);
+    return names[index];
+  }
+
+  /**
+   * Returns the next capacity of an array which grows with the input.
+   * @param capacity the current capacity
+   * @param length   the length of the complete array
+   * @return the next capacity
+   */
+  private static int grownCapacity(int capacity, int length) {
+    return (int) Math.min(length, 2L * capacity);
+  }
+
+  /**
+   * Decodes a zig-zag encoded integer.
+   * @param value the zig-zag encoded integer
+   * @return the decoded integer
+   */
+  private static int unzigzag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * A buffered input on a byte channel or on a memory-mapped file.
+   */
+  private static final class Input {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructs a new input on a channel.
+     * @param channel the channel
+     */
+    private Input(final ReadableByteChannel channel) {
+      this.channel = channel;
+      this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      this.buffer.limit(0);
+    }
+
+    /**
+     * Constructs a new input on a buffer which holds the complete input, e.g. a memory-mapped file.
+     * @param buffer the buffer
+     */
+    private Input(final ByteBuffer buffer) {
+      this.channel = null;
+      this.buffer = buffer;
+    }
+
+    /**
+     * Reads a single byte.
+     * @return the byte
+     * @throws IOException     if there was a problem reading the input
+     * @throws ParserException if the end of the input is reached
+     */
+    private byte readByte() throws IOException, ParserException {
+      if (!this.buffer.hasRemaining() && !this.fill())
+        throw new ParserException("Unexpected end of input", null);
+      return this.buffer.get();
+    }
+
+    /**
+     * Fills an array with the next bytes of the input.
+     * @param bytes the array
+     * @throws IOException     if there was a problem reading the input
+     * @throws ParserException if the end of the input is reached
+     */
+    private void readBytes(final byte[] bytes) throws IOException, ParserException {
+      int offset = 0;
+      while (offset < bytes.length) {
+        if (!this.buffer.hasRemaining() && !this.fill())
+          throw new ParserException("Unexpected end of input", null);
+        final int length = Math.min(bytes.length - offset, this.buffer.remaining());
+        this.buffer.get(bytes, offset, length);
+        offset += length;
+      }
+    }
+
+    /**
+     * Reads the next bytes of the input.
+     * @param length the number of bytes
+     * @return the bytes
+     * @throws IOException     if there was a problem reading the input
+     * @throws ParserException if the end of the input is reached
+     */
+    private byte[] readBytes(int length) throws IOException, ParserException {
+      byte[] bytes = new byte[this.capacity(length, 1)];
+      int offset = 0;
+      while (offset < length) {
+        if (offset == bytes.length)
+          bytes = Arrays.copyOf(bytes, grownCapacity(bytes.length, length));
+        if (!this.buffer.hasRemaining() && !this.fill())
+          throw new ParserException("Unexpected end of input", null);
+        final int chunk = Math.min(bytes.length - offset, this.buffer.remaining());
+        this.buffer.get(bytes, offset, chunk);
+        offset += chunk;
+      }
+      return bytes;
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint.
+     * @return the integer
+     * @throws IOException     if there was a problem reading the input
+     * @throws ParserException if the end of the input is reached or the varint is too long
+     */
+    private int readVarint() throws IOException, ParserException {
+      int value = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+        final byte b = this.readByte();
+        value |= (b & 0x7F) << shift;
+        if (b >= 0)
+          return value;
+      }
+      throw new ParserException("Malformed varint", null);
+    }
+
+    /**
+     * Reads the length of an array or list as unsigned LEB128 varint.
+     * @return the length
+     * @throws IOException     if there was a problem reading the input
+     * @throws ParserException if the end of the input is reached or the length is negative
+     */
+    private int readLength() throws IOException, ParserException {
+      final int length = this.readVarint();
+      if (length < 0)
+        throw new ParserException("Illegal length: " + (length & 0xFFFFFFFFL), null);
+      return length;
+    }
+
+    /**
+     * Returns the initial capacity of an array with a given length whose elements occupy at least a given number of
+     * bytes of the input.  If the size of the input is unknown, the capacity is bounded by the buffer size and the
+     * array has to grow with the input.
+     * @param length   the length of the array
+     * @param minBytes the minimal number of bytes per element
+     * @return the initial capacity of the array
+     * @throws IOException     if there was a problem determining the size of the channel
+     * @throws ParserException if the remaining input is too short for the given length
+     */
+    private int capacity(int length, int minBytes) throws IOException, ParserException {
+      final long remaining = this.remaining();
+      if (remaining == -1)
+        return Math.min(length, BUFFER_SIZE);
+      if ((long) length * minBytes > remaining)
+        throw new ParserException("Illegal length " + length + " for " + remaining + " remaining bytes", null);
+      return length;
+    }
+
+    /**
+     * Returns the number of remaining bytes of the input.
+     * @return the number of remaining bytes or -1 if the size of the channel is unknown
+     * @throws IOException if there was a problem determining the size of the channel
+     */
+    private long remaining() throws IOException {
+      if (this.channel == null)
+        return this.buffer.remaining();
+      if (!(this.channel instanceof SeekableByteChannel))
+        return -1;
+      final SeekableByteChannel seekable = (SeekableByteChannel) this.channel;
+      return this.buffer.remaining() + Math.max(0, seekable.size() - seekable.position());
+    }
+
+    /**
+     * Refills the buffer from the channel.  Since the channel is in blocking mode, each read returns at least one byte
+     * unless the end of the channel is reached.
+     * @return {@code true} if new bytes were read, {@code false} if the end of the input is reached
+     * @throws IOException if there was a problem reading from the channel or the channel returned no bytes
+     */
+    private boolean fill() throws IOException {
+      if (this.channel == null)
+        return false;
+      this.buffer.clear();
+      final int read = this.channel.read(this.buffer);
+      this.buffer.flip();
+      if (read == 0)
+        throw new IOException("The channel returned no bytes, non-blocking channels are not supported");
+      return read > 0;
+    }
+  }
+}
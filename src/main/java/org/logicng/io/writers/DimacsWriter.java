@@ -0,0 +1,153 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.writers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.solvers.datastructures.MSClause;
+import org.logicng.solvers.datastructures.MSHardClause;
+import org.logicng.solvers.datastructures.MSSoftClause;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import static org.logicng.solvers.sat.MiniSatStyleSolver.sign;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
+
+/**
+ * A writer for the current clause set of a solver in the DIMACS CNF or the WCNF format.  Solver variable {@code n} is
+ * written as variable {@code n + 1}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class DimacsWriter {
+
+  /**
+   * Private constructor.
+   */
+  private DimacsWriter() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Writes the current clause set of a SAT solver as a DIMACS CNF file.  The clause set consists of the original
+   * clauses of the solver and the literals assigned on decision level 0 as unit clauses.  If the solver already knows
+   * that its clauses are unsatisfiable, a single empty clause is written.  All clauses are checked before the file is
+   * opened, hence no file is written if the solver contains constraints which cannot be written.
+   * @param file   the file of the CNF file to write
+   * @param solver the solver
+   * @throws IOException                   if there was a problem writing the file
+   * @throws UnsupportedOperationException if the solver contains cardinality or pseudo-Boolean constraints
+   */
+  public static void writeCNF(final File file, final MiniSatStyleSolver solver) throws IOException {
+    if (solver.ok())
+      for (final MSClause clause : solver.clauses()) {
+        if (clause.isAtMost())
+          throw new UnsupportedOperationException("Cannot write cardinality constraints in the DIMACS CNF format");
+        if (clause.isPB())
+          throw new UnsupportedOperationException("Cannot write pseudo-Boolean constraints in the DIMACS CNF format");
+      }
+    try (final BufferedWriter writer = Files.newBufferedWriter(file.toPath(), Charset.forName("UTF-8"))) {
+      if (!solver.ok()) {
+        writer.write(String.format("p cnf %d 1%n0%n", solver.nVars()));
+        return;
+      }
+      final LNGIntVector units = solver.levelZeroLiterals();
+      final LNGVector<MSClause> clauses = solver.clauses();
+      writer.write(String.format("p cnf %d %d%n", solver.nVars(), units.size() + clauses.size()));
+      for (int i = 0; i < units.size(); i++) {
+        writeLiteral(writer, units.get(i));
+        writer.write("0");
+        writer.newLine();
+      }
+      for (final MSClause clause : clauses) {
+        for (int i = 0; i < clause.size(); i++)
+          writeLiteral(writer, clause.get(i));
+        writer.write("0");
+        writer.newLine();
+      }
+    }
+  }
+
+  /**
+   * Writes the current hard and soft clauses of a MaxSAT solver as a WCNF file.  The top weight for the hard clauses
+   * is the sum of the weights of all soft clauses plus one.
+   * @param file   the file of the WCNF file to write
+   * @param solver the MaxSAT solver
+   * @throws IOException if there was a problem writing the file
+   */
+  public static void writeWCNF(final File file, final MaxSAT solver) throws IOException {
+    long top = 1;
+    for (final MSSoftClause clause : solver.softClauses())
+      top += clause.weight();
+    final String topString = Long.toString(top) + " ";
+    try (final BufferedWriter writer = Files.newBufferedWriter(file.toPath(), Charset.forName("UTF-8"))) {
+      writer.write(String.format("p wcnf %d %d %d%n", solver.nVars(), solver.hardClauses().size() + solver.softClauses().size(), top));
+      for (final MSHardClause clause : solver.hardClauses()) {
+        writer.write(topString);
+        writeClause(writer, clause.clause());
+      }
+      for (final MSSoftClause clause : solver.softClauses()) {
+        writer.write(Integer.toString(clause.weight()));
+        writer.write(" ");
+        writeClause(writer, clause.clause());
+      }
+    }
+  }
+
+  /**
+   * Writes a clause terminated by 0 and a line break.
+   * @param writer the writer
+   * @param clause the clause
+   * @throws IOException if there was a problem writing the file
+   */
+  private static void writeClause(final BufferedWriter writer, final LNGIntVector clause) throws IOException {
+    for (int i = 0; i < clause.size(); i++)
+      writeLiteral(writer, clause.get(i));
+    writer.write("0");
+    writer.newLine();
+  }
+
+  /**
+   * Writes a solver literal as DIMACS literal followed by a space.
+   * @param writer the writer
+   * @param lit    the solver literal
+   * @throws IOException if there was a problem writing the file
+   */
+  private static void writeLiteral(final BufferedWriter writer, int lit) throws IOException {
+    writer.write(Integer.toString(sign(lit) ? -(var(lit) + 1) : var(lit) + 1));
+    writer.write(" ");
+  }
+}
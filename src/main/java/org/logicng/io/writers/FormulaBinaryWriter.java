@@ -0,0 +1,339 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.writers;
+
+import org.logicng.formulas.BinaryOperator;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Not;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.util.Pair;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A writer for formulas in a compact binary format which preserves the DAG structure of the formulas.
+ * <p>
+ * The format consists of
+ * <ul>
+ * <li>the magic bytes {@link #MAGIC} followed by the format {@link #VERSION}</li>
+ * <li>a string table with the names of all variables: the number of names followed by each name as its UTF-8 length
+ * (shifted left by one, the lowest bit marks a generated variable) and its UTF-8 bytes</li>
+ * <li>the nodes of the formulas in post-order: the number of nodes followed by each node as a tag byte and its
+ * payload.  Each node is written exactly once, its id is its position in this list and operands are referenced by
+ * their node ids.  The literals of a pseudo-Boolean constraint are written inline as string index shifted left by one
+ * with the lowest bit marking a negative literal.</li>
+ * <li>the number of formulas followed by the node id of each formula</li>
+ * </ul>
+ * All non-negative numbers are written as unsigned LEB128 varints, the right-hand sides and coefficients of
+ * pseudo-Boolean constraints as zig-zag encoded varints.  The formulas can be read with
+ * {@link org.logicng.io.readers.FormulaBinaryReader}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class FormulaBinaryWriter {
+
+  public static final byte[] MAGIC = {'L', 'N', 'G', 'F'};
+  public static final byte VERSION = 1;
+
+  public static final byte TAG_FALSE = 0;
+  public static final byte TAG_TRUE = 1;
+  public static final byte TAG_POS_LITERAL = 2;
+  public static final byte TAG_NEG_LITERAL = 3;
+  public static final byte TAG_NOT = 4;
+  public static final byte TAG_IMPL = 5;
+  public static final byte TAG_EQUIV = 6;
+  public static final byte TAG_AND = 7;
+  public static final byte TAG_OR = 8;
+  public static final byte TAG_PBC = 9;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  /**
+   * Private constructor.
+   */
+  private FormulaBinaryWriter() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Writes the given formulas to a file.  An existing file is overwritten.
+   * @param file     the file
+   * @param formulas the formulas
+   * @throws IOException if there was a problem writing the file
+   */
+  public static void write(final File file, final Collection<? extends Formula> formulas) throws IOException {
+    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      write(channel, formulas);
+    }
+  }
+
+  /**
+   * Writes the given formulas to a channel.  The channel is not closed by this method.
+   * @param channel  the channel
+   * @param formulas the formulas
+   * @throws IOException if there was a problem writing to the channel
+   */
+  public static void write(final WritableByteChannel channel, final Collection<? extends Formula> formulas) throws IOException {
+    final Map<Formula, Integer> ids = new IdentityHashMap<>();
+    final List<Formula> nodes = new ArrayList<>();
+    final Map<String, Integer> names = new HashMap<>();
+    final List<Literal> variables = new ArrayList<>();
+    for (final Formula formula : formulas)
+      collect(formula, ids, nodes, names, variables);
+    final Output out = new Output(channel);
+    out.writeBytes(MAGIC);
+    out.writeByte(VERSION);
+    out.writeVarint(variables.size());
+    for (final Literal var : variables) {
+      final byte[] bytes = var.name().getBytes(UTF8);
+      final boolean generated = var.factory().isGeneratedVariable(var.variable());
+      out.writeVarint(bytes.length << 1 | (generated ? 1 : 0));
+      out.writeBytes(bytes);
+    }
+    out.writeVarint(nodes.size());
+    for (final Formula node : nodes)
+      writeNode(out, node, ids, names);
+    out.writeVarint(formulas.size());
+    for (final Formula formula : formulas)
+      out.writeVarint(ids.get(formula));
+    out.flush();
+  }
+
+  /**
+   * Collects the nodes of a formula in post-order and the names of its variables.  Nodes which were already collected
+   * are skipped.
+   * @param formula   the formula
+   * @param ids       the mapping from collected nodes to their ids
+   * @param nodes     the collected nodes
+   * @param names     the mapping from variable names to their index in the string table
+   * @param variables the variables of the string table
+   */
+  private static void collect(final Formula formula, final Map<Formula, Integer> ids, final List<Formula> nodes,
+                              final Map<String, Integer> names, final List<Literal> variables) {
+    if (ids.containsKey(formula))
+      return;
+    final Deque<Pair<Formula, Iterator<Formula>>> stack = new ArrayDeque<>();
+    stack.push(new Pair<>(formula, formula.iterator()));
+    while (!stack.isEmpty()) {
+      final Pair<Formula, Iterator<Formula>> top = stack.peek();
+      final Iterator<Formula> it = top.second();
+      boolean descended = false;
+      while (it.hasNext()) {
+        final Formula op = it.next();
+        if (!ids.containsKey(op)) {
+          stack.push(new Pair<>(op, op.iterator()));
+          descended = true;
+          break;
+        }
+      }
+      if (descended)
+        continue;
+      stack.pop();
+      final Formula node = top.first();
+      if (ids.containsKey(node))
+        continue;
+      if (node.type() == FType.LITERAL)
+        addName((Literal) node, names, variables);
+      else if (node.type() == FType.PBC)
+        for (final Literal lit : ((PBConstraint) node).operands())
+          addName(lit, names, variables);
+      ids.put(node, nodes.size());
+      nodes.add(node);
+    }
+  }
+
+  /**
+   * Adds the name of a literal to the string table if it is not yet present.
+   * @param lit       the literal
+   * @param names     the mapping from variable names to their index in the string table
+   * @param variables the variables of the string table
+   */
+  private static void addName(final Literal lit, final Map<String, Integer> names, final List<Literal> variables) {
+    if (!names.containsKey(lit.name())) {
+      names.put(lit.name(), variables.size());
+      variables.add(lit);
+    }
+  }
+
+  /**
+   * Writes a single node.
+   * @param out   the output
+   * @param node  the node
+   * @param ids   the mapping from nodes to their ids
+   * @param names the mapping from variable names to their index in the string table
+   * @throws IOException if there was a problem writing to the channel
+   */
+  private static void writeNode(final Output out, final Formula node, final Map<Formula, Integer> ids,
+                                final Map<String, Integer> names) throws IOException {
+    switch (node.type()) {
+      case FALSE:
+        out.writeByte(TAG_FALSE);
+        break;
+      case TRUE:
+        out.writeByte(TAG_TRUE);
+        break;
+      case LITERAL:
+        final Literal lit = (Literal) node;
+        out.writeByte(lit.phase() ? TAG_POS_LITERAL : TAG_NEG_LITERAL);
+        out.writeVarint(names.get(lit.name()));
+        break;
+      case NOT:
+        out.writeByte(TAG_NOT);
+        out.writeVarint(ids.get(((Not) node).operand()));
+        break;
+      case IMPL:
+      case EQUIV:
+        final BinaryOperator binary = (BinaryOperator) node;
+        out.writeByte(node.type() == FType.IMPL ? TAG_IMPL : TAG_EQUIV);
+        out.writeVarint(ids.get(binary.left()));
+        out.writeVarint(ids.get(binary.right()));
+        break;
+      case AND:
+      case OR:
+        out.writeByte(node.type() == FType.AND ? TAG_AND : TAG_OR);
+        out.writeVarint(node.numberOfOperands());
+        for (final Formula op : node)
+          out.writeVarint(ids.get(op));
+        break;
+      case PBC:
+        final PBConstraint pbc = (PBConstraint) node;
+        out.writeByte(TAG_PBC);
+        out.writeByte((byte) pbc.comparator().ordinal());
+        out.writeVarint(zigzag(pbc.rhs()));
+        final Literal[] literals = pbc.operands();
+        final int[] coefficients = pbc.coefficients();
+        out.writeVarint(literals.length);
+        for (int i = 0; i < literals.length; i++) {
+          out.writeVarint(names.get(literals[i].name()) << 1 | (literals[i].phase() ? 0 : 1));
+          out.writeVarint(zigzag(coefficients[i]));
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown formula type: " + node.type());
+    }
+  }
+
+  /**
+   * Returns the zig-zag encoding of a signed integer.
+   * @param value the integer
+   * @return the zig-zag encoding
+   */
+  private static int zigzag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  /**
+   * A buffered output on a byte channel.
+   */
+  private static final class Output {
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructs a new output.
+     * @param channel the channel
+     */
+    private Output(final WritableByteChannel channel) {
+      this.channel = channel;
+      this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Writes a single byte.
+     * @param b the byte
+     * @throws IOException if there was a problem writing to the channel
+     */
+    private void writeByte(byte b) throws IOException {
+      if (!this.buffer.hasRemaining())
+        this.flush();
+      this.buffer.put(b);
+    }
+
+    /**
+     * Writes an array of bytes.
+     * @param bytes the bytes
+     * @throws IOException if there was a problem writing to the channel
+     */
+    private void writeBytes(final byte[] bytes) throws IOException {
+      int offset = 0;
+      while (offset < bytes.length) {
+        if (!this.buffer.hasRemaining())
+          this.flush();
+        final int length = Math.min(bytes.length - offset, this.buffer.remaining());
+        this.buffer.put(bytes, offset, length);
+        offset += length;
+      }
+    }
+
+    /**
+     * Writes an unsigned integer as LEB128 varint.
+     * @param value the integer (interpreted as unsigned)
+     * @throws IOException if there was a problem writing to the channel
+     */
+    private void writeVarint(int value) throws IOException {
+      int v = value;
+      while ((v & ~0x7F) != 0) {
+        this.writeByte((byte) ((v & 0x7F) | 0x80));
+        v >>>= 7;
+      }
+      this.writeByte((byte) v);
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     * @throws IOException if there was a problem writing to the channel
+     */
+    private void flush() throws IOException {
+      this.buffer.flip();
+      while (this.buffer.hasRemaining())
+        this.channel.write(this.buffer);
+      this.buffer.clear();
+    }
+  }
+}
@@ -29,20 +29,30 @@
 package org.logicng.io.writers;
 
 import org.logicng.formulas.BinaryOperator;
+import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.Literal;
-import org.logicng.formulas.NAryOperator;
 import org.logicng.formulas.Not;
 import org.logicng.formulas.PBConstraint;
+import org.logicng.util.Pair;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 /**
  * A dot file writer for a formula.  Writes the internal data structure of the formula to a dot file.
@@ -78,106 +88,192 @@ public final class FormulaDotFileWriter {
    * @throws IOException if there was a problem writing the file
    */
   public static void write(final File file, final Formula formula, boolean alignLiterals) throws IOException {
-    final StringBuilder sb = new StringBuilder("digraph G {\n");
+    try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8")))) {
+      write(writer, formula, alignLiterals);
+      writer.flush();
+    }
+  }
+
+  /**
+   * Writes a given formula's internal data structure in the dot format to a writer.  The nodes are written while the
+   * formula is traversed and the traversal uses an explicit stack, hence also very deep formulas can be written.  The
+   * memory consumption is not constant: every distinct node of the formula is assigned an id which is kept until the
+   * formula is written completely, so it grows linearly with the number of distinct nodes (but not with the size of
+   * the output).
+   * @param writer        the writer
+   * @param formula       the formula
+   * @param alignLiterals indicates whether all literals should be aligned at the same vertical level
+   * @throws IOException if there was a problem writing to the writer
+   */
+  public static void write(final Writer writer, final Formula formula, boolean alignLiterals) throws IOException {
+    writer.write("digraph G {\n");
     final Map<Formula, Integer> ids = new HashMap<>();
-    if (alignLiterals && !formula.literals().isEmpty())
-      sb.append("{ rank = same;\n");
+    final SortedSet<Literal> literals = literals(formula);
+    if (alignLiterals && !literals.isEmpty())
+      writer.write("{ rank = same;\n");
     int id = 0;
-    for (final Literal lit : formula.literals()) {
+    for (final Literal lit : literals) {
       ids.put(lit, id);
-      sb.append("  id").append(id).append(" [shape=box, label=\"").
+      writer.append("  id").append(String.valueOf(id)).append(" [shape=box, label=\"").
               append(lit.phase() ? lit.name() : "¬" + lit.name()).append("\"];\n");
       id++;
     }
-    if (alignLiterals && !formula.literals().isEmpty())
-      sb.append("}\n");
-    generateDotString(formula, sb, ids);
-    sb.append("}\n");
-    try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8")))) {
-      writer.append(sb);
-      writer.flush();
+    if (alignLiterals && !literals.isEmpty())
+      writer.write("}\n");
+    writeNodes(formula, writer, ids);
+    writer.write("}\n");
+  }
+
+  /**
+   * Collects the literals of a formula.  In contrast to {@link Formula#literals()}, every distinct node of the formula
+   * is visited only once and the traversal uses an explicit stack.
+   * @param formula the formula
+   * @return the literals of the formula
+   */
+  private static SortedSet<Literal> literals(final Formula formula) {
+    final SortedSet<Literal> literals = new TreeSet<>();
+    final Set<Formula> visited = Collections.newSetFromMap(new IdentityHashMap<Formula, Boolean>());
+    final Deque<Formula> stack = new ArrayDeque<>();
+    stack.push(formula);
+    while (!stack.isEmpty()) {
+      final Formula current = stack.pop();
+      if (!visited.add(current))
+        continue;
+      switch (current.type()) {
+        case LITERAL:
+          literals.add((Literal) current);
+          break;
+        case PBC:
+          literals.addAll(current.literals());
+          break;
+        default:
+          for (final Formula op : current)
+            stack.push(op);
+      }
     }
+    return literals;
   }
 
   /**
-   * Generates the dot string for a formula
+   * Writes the nodes of a formula in post-order.  Nodes which already have an ID are not written again.
    * @param formula the formula
-   * @param sb      the current string builder
+   * @param writer  the writer
    * @param ids     the current ID mapping
+   * @throws IOException if there was a problem writing to the writer
+   */
+  private static void writeNodes(final Formula formula, final Writer writer, final Map<Formula, Integer> ids)
+          throws IOException {
+    if (!isOperator(formula)) {
+      writeAtomicNode(formula, writer, ids);
+      return;
+    }
+    final Deque<Pair<Formula, Iterator<Formula>>> stack = new ArrayDeque<>();
+    stack.push(new Pair<>(formula, formula.iterator()));
+    while (!stack.isEmpty()) {
+      final Pair<Formula, Iterator<Formula>> top = stack.peek();
+      if (top.second().hasNext()) {
+        final Formula operand = top.second().next();
+        if (ids.containsKey(operand))
+          continue;
+        if (isOperator(operand))
+          stack.push(new Pair<>(operand, operand.iterator()));
+        else
+          writeAtomicNode(operand, writer, ids);
+      } else {
+        stack.pop();
+        writeOperatorNode(top.first(), writer, ids);
+      }
+    }
+  }
+
+  /**
+   * Returns whether the given formula is a Boolean operator with sub-formulas.
+   * @param formula the formula
+   * @return {@code true} if the formula is a Boolean operator
    */
-  private static void generateDotString(final Formula formula, final StringBuilder sb, final Map<Formula, Integer> ids) {
+  private static boolean isOperator(final Formula formula) {
+    switch (formula.type()) {
+      case NOT:
+      case IMPL:
+      case EQUIV:
+      case AND:
+      case OR:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Writes a constant, literal or pseudo-Boolean constraint node.  Literals are already written in the header.
+   * @param formula the formula
+   * @param writer  the writer
+   * @param ids     the current ID mapping
+   * @throws IOException if there was a problem writing to the writer
+   */
+  private static void writeAtomicNode(final Formula formula, final Writer writer, final Map<Formula, Integer> ids)
+          throws IOException {
     switch (formula.type()) {
       case FALSE:
-        sb.append("  false;\n");
+        writer.write("  false;\n");
         break;
       case TRUE:
-        sb.append("  true;\n");
+        writer.write("  true;\n");
         break;
       case LITERAL:
         break;
       case PBC:
         final int id = ids.size();
         ids.put(formula, id);
-        sb.append("  id").append(id).append(" [label=\"").append(formula.toString()).append("\"];\n");
+        writer.append("  id").append(String.valueOf(id)).append(" [label=\"").append(formula.toString()).append("\"];\n");
         for (final Formula operand : ((PBConstraint) formula).operands())
-          sb.append("  id").append(id).append(" -> id").append(ids.get(operand)).append(";\n");
+          writeEdge(writer, id, ids.get(operand), ";\n");
         break;
+      default:
+        throw new IllegalArgumentException("Cannot write the formula type " + formula.type());
+    }
+  }
+
+  /**
+   * Writes an operator node and its edges.  All operands must already have been written.
+   * @param formula the operator
+   * @param writer  the writer
+   * @param ids     the current ID mapping
+   * @throws IOException if there was a problem writing to the writer
+   */
+  private static void writeOperatorNode(final Formula formula, final Writer writer, final Map<Formula, Integer> ids)
+          throws IOException {
+    final int id = ids.size();
+    ids.put(formula, id);
+    switch (formula.type()) {
       case NOT:
-        generateNotDotString((Not) formula, sb, ids);
+        writeLabel(writer, id, "¬");
+        writeEdge(writer, id, ids.get(((Not) formula).operand()), ";\n");
         break;
       case IMPL:
-        generateBinaryDotString((BinaryOperator) formula, sb, ids, "⇒", true);
-        break;
       case EQUIV:
-        generateBinaryDotString((BinaryOperator) formula, sb, ids, "⇔", true);
+        final BinaryOperator binary = (BinaryOperator) formula;
+        writeLabel(writer, id, formula.type() == FType.IMPL ? "⇒" : "⇔");
+        writeEdge(writer, id, ids.get(binary.left()), " [label=\"l\"];\n");
+        writeEdge(writer, id, ids.get(binary.right()), " [label=\"r\"];\n");
         break;
       case AND:
-        generateNaryDotString((NAryOperator) formula, sb, ids, "∧");
-        break;
       case OR:
-        generateNaryDotString((NAryOperator) formula, sb, ids, "∨");
+        writeLabel(writer, id, formula.type() == FType.AND ? "∧" : "∨");
+        for (final Formula operand : formula)
+          writeEdge(writer, id, ids.get(operand), ";\n");
         break;
       default:
         throw new IllegalArgumentException("Cannot write the formula type " + formula.type());
     }
-
   }
 
-  private static void generateNotDotString(final Not not, final StringBuilder sb, final Map<Formula, Integer> ids) {
-    int id;
-    if (!ids.containsKey(not.operand()))
-      generateDotString(not.operand(), sb, ids);
-    id = ids.size();
-    ids.put(not, id);
-    sb.append("  id").append(id).append(" [label=\"¬\"];\n");
-    sb.append("  id").append(id).append(" -> id").append(ids.get(not.operand())).append(";\n");
+  private static void writeLabel(final Writer writer, int id, final String label) throws IOException {
+    writer.append("  id").append(String.valueOf(id)).append(" [label=\"").append(label).append("\"];\n");
   }
 
-  private static void generateBinaryDotString(final BinaryOperator formula, final StringBuilder sb,
-                                              final Map<Formula, Integer> ids, String op, boolean directions) {
-    if (!ids.containsKey(formula.left()))
-      generateDotString(formula.left(), sb, ids);
-    if (!ids.containsKey(formula.right()))
-      generateDotString(formula.right(), sb, ids);
-    final int id = ids.size();
-    ids.put(formula, id);
-    sb.append("  id").append(id).append(" [label=\"").append(op).append("\"];\n");
-    sb.append("  id").append(id).append(" -> id").append(ids.get(formula.left()));
-    sb.append(directions ? " [label=\"l\"];\n" : ";\n");
-    sb.append("  id").append(id).append(" -> id").append(ids.get(formula.right()));
-    sb.append(directions ? " [label=\"r\"];\n" : ";\n");
-  }
-
-  private static void generateNaryDotString(final NAryOperator formula, final StringBuilder sb,
-                                            final Map<Formula, Integer> ids, final String op) {
-    for (final Formula operand : formula)
-      if (!ids.containsKey(operand))
-        generateDotString(operand, sb, ids);
-    final int id = ids.size();
-    ids.put(formula, id);
-    sb.append("  id").append(id).append(" [label=\"").append(op).append("\"];\n");
-    for (final Formula operand : formula)
-      sb.append("  id").append(id).append(" -> id").append(ids.get(operand)).append(";\n");
+  private static void writeEdge(final Writer writer, int from, final Integer to, final String end) throws IOException {
+    writer.append("  id").append(String.valueOf(from)).append(" -> id").append(String.valueOf(to)).append(end);
   }
 
   @Override
@@ -0,0 +1,200 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.predicates;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.BinaryOperator;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaPredicate;
+import org.logicng.formulas.Not;
+import org.logicng.util.Pair;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Evaluates formulas with a given assignment.  In contrast to {@link Formula#evaluate(Assignment)} the formula is
+ * traversed as a DAG: the value of each sub-formula is memoized by identity, so every distinct node is evaluated at
+ * most once, no matter how many parents share it.  The result is the same as the one of
+ * {@link Formula#evaluate(Assignment)}.
+ * <p>
+ * With {@link #test(Collection)} many formulas can be evaluated with one memo, so sub-formulas shared between them
+ * are evaluated only once, too.
+ * <p>
+ * This predicate cannot be cached since it is dependent on the assignment.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class EvaluationPredicate implements FormulaPredicate {
+
+  private final Assignment assignment;
+
+  /**
+   * Constructs a new evaluation predicate for a given assignment.
+   * @param assignment the assignment
+   */
+  public EvaluationPredicate(final Assignment assignment) {
+    this.assignment = assignment;
+  }
+
+  @Override
+  public boolean test(final Formula formula, boolean cache) {
+    return this.evaluate(formula, new IdentityHashMap<Formula, Boolean>());
+  }
+
+  /**
+   * Evaluates the given formulas.  The memo is shared between the formulas.
+   * @param formulas the formulas
+   * @return the values of the formulas in the order of the input formulas
+   */
+  public boolean[] test(final Collection<? extends Formula> formulas) {
+    final Map<Formula, Boolean> memo = new IdentityHashMap<>();
+    final boolean[] result = new boolean[formulas.size()];
+    int i = 0;
+    for (final Formula formula : formulas)
+      result[i++] = this.evaluate(formula, memo);
+    return result;
+  }
+
+  /**
+   * Evaluates a formula.  The operators are processed in post-order on an explicit stack, so deep formulas do not
+   * overflow the call stack.  The remaining operands of a conjunction or disjunction are skipped as soon as its value
+   * is determined.
+   * @param formula the formula
+   * @param memo    the values of the evaluated operators and pseudo-Boolean constraints
+   * @return the value of the formula
+   */
+  private boolean evaluate(final Formula formula, final Map<Formula, Boolean> memo) {
+    if (!isOperator(formula) || memo.containsKey(formula))
+      return this.evaluated(formula, memo);
+    final Deque<Pair<Formula, Iterator<Formula>>> stack = new ArrayDeque<>();
+    stack.push(new Pair<>(formula, formula.iterator()));
+    Boolean last = null;
+    while (!stack.isEmpty()) {
+      final Pair<Formula, Iterator<Formula>> top = stack.peek();
+      final FType type = top.first().type();
+      if (last != null && (type == FType.AND && !last || type == FType.OR && last)) {
+        stack.pop();
+        memo.put(top.first(), last);
+      } else if (top.second().hasNext()) {
+        final Formula operand = top.second().next();
+        if (!isOperator(operand))
+          last = this.evaluated(operand, memo);
+        else if ((last = memo.get(operand)) == null)
+          stack.push(new Pair<>(operand, operand.iterator()));
+      } else {
+        stack.pop();
+        last = this.evaluateOperator(top.first(), memo);
+        memo.put(top.first(), last);
+      }
+    }
+    return last;
+  }
+
+  /**
+   * Evaluates an operator whose operands are already evaluated.  A conjunction or disjunction reaches this point only
+   * if none of its operands determined its value.
+   * @param formula the operator
+   * @param memo    the values of the evaluated operators and pseudo-Boolean constraints
+   * @return the value of the operator
+   */
+  private boolean evaluateOperator(final Formula formula, final Map<Formula, Boolean> memo) {
+    switch (formula.type()) {
+      case NOT:
+        return !this.evaluated(((Not) formula).operand(), memo);
+      case IMPL:
+        return !this.evaluated(((BinaryOperator) formula).left(), memo)
+                || this.evaluated(((BinaryOperator) formula).right(), memo);
+      case EQUIV:
+        return this.evaluated(((BinaryOperator) formula).left(), memo)
+                == this.evaluated(((BinaryOperator) formula).right(), memo);
+      case AND:
+        return true;
+      case OR:
+        return false;
+      default:
+        throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+    }
+  }
+
+  /**
+   * Returns the value of an atomic formula or of an operator which was already evaluated.
+   * @param formula the formula
+   * @param memo    the values of the evaluated operators and pseudo-Boolean constraints
+   * @return the value of the formula
+   */
+  private boolean evaluated(final Formula formula, final Map<Formula, Boolean> memo) {
+    switch (formula.type()) {
+      case TRUE:
+        return true;
+      case FALSE:
+        return false;
+      case LITERAL:
+        return formula.evaluate(this.assignment);
+      case PBC:
+        Boolean result = memo.get(formula);
+        if (result == null) {
+          result = formula.evaluate(this.assignment);
+          memo.put(formula, result);
+        }
+        return result;
+      default:
+        return memo.get(formula);
+    }
+  }
+
+  /**
+   * Returns whether the given formula is a Boolean operator with sub-formulas.
+   * @param formula the formula
+   * @return {@code true} if the formula is a Boolean operator
+   */
+  private static boolean isOperator(final Formula formula) {
+    switch (formula.type()) {
+      case NOT:
+      case IMPL:
+      case EQUIV:
+      case AND:
+      case OR:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s{assignment=%s}", this.getClass().getSimpleName(), this.assignment);
+  }
+}
@@ -0,0 +1,177 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.pseudobooleans;
+
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * An encoder for pseudo-Boolean constraints in CNF based on networks of binary adders.
+ * <p>
+ * The sum {@code c_1 * lit_1 + ... + c_n * lit_n} is computed as a binary number by full and half adders: each literal
+ * is added to the bit positions of the binary representation of its coefficient and the bits of each position are
+ * reduced by adders whose carries are added to the next position.  The resulting binary number is then compared with
+ * the right-hand side.  The size of the encoding is linear in the number of bits of the coefficients, but unit
+ * propagation on the encoding is weaker than for the other encodings.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PBAdder extends PBEncoder {
+
+  private final List<Formula> result;
+
+  /**
+   * Constructs a new adder network encoder.
+   * @param f the formula factory
+   */
+  public PBAdder(final FormulaFactory f) {
+    super(f);
+    this.result = new LinkedList<>();
+  }
+
+  @Override
+  public ImmutableFormulaList build(final Literal[] lits, final int[] coeffs, int rhs) {
+    this.result.clear();
+    if (rhs < 0)
+      return new ImmutableFormulaList(FType.AND, this.f.falsum());
+    final List<LinkedList<Literal>> buckets = new ArrayList<>();
+    for (int i = 0; i < lits.length; i++) {
+      if (coeffs[i] > rhs) {
+        this.result.add(lits[i].negate());
+        continue;
+      }
+      for (int bit = 0; coeffs[i] >>> bit != 0; bit++)
+        if ((coeffs[i] >>> bit & 1) != 0) {
+          while (buckets.size() <= bit)
+            buckets.add(new LinkedList<Literal>());
+          buckets.get(bit).add(lits[i]);
+        }
+    }
+    final List<Literal> outputs = new ArrayList<>(buckets.size());
+    for (int bit = 0; bit < buckets.size(); bit++) {
+      final LinkedList<Literal> bucket = buckets.get(bit);
+      while (bucket.size() >= 2) {
+        final Literal carry = this.f.newPBVariable();
+        final Literal sum = this.f.newPBVariable();
+        if (bucket.size() == 2)
+          this.halfAdder(bucket.poll(), bucket.poll(), sum, carry);
+        else
+          this.fullAdder(bucket.poll(), bucket.poll(), bucket.poll(), sum, carry);
+        bucket.add(sum);
+        if (buckets.size() <= bit + 1)
+          buckets.add(new LinkedList<Literal>());
+        buckets.get(bit + 1).add(carry);
+      }
+      outputs.add(bucket.poll());
+    }
+    this.lessOrEqual(outputs, rhs);
+    return new ImmutableFormulaList(FType.AND, this.result);
+  }
+
+  /**
+   * Encodes a half adder {@code a + b = 2 * carry + sum}.
+   * @param a     the first input
+   * @param b     the second input
+   * @param sum   the sum output
+   * @param carry the carry output
+   */
+  private void halfAdder(final Literal a, final Literal b, final Literal sum, final Literal carry) {
+    this.result.add(this.f.clause(a.negate(), b.negate(), carry));
+    this.result.add(this.f.clause(a, carry.negate()));
+    this.result.add(this.f.clause(b, carry.negate()));
+    this.result.add(this.f.clause(a.negate(), b, sum));
+    this.result.add(this.f.clause(a, b.negate(), sum));
+    this.result.add(this.f.clause(a, b, sum.negate()));
+    this.result.add(this.f.clause(a.negate(), b.negate(), sum.negate()));
+  }
+
+  /**
+   * Encodes a full adder {@code a + b + c = 2 * carry + sum}.
+   * @param a     the first input
+   * @param b     the second input
+   * @param c     the third input
+   * @param sum   the sum output
+   * @param carry the carry output
+   */
+  private void fullAdder(final Literal a, final Literal b, final Literal c, final Literal sum, final Literal carry) {
+    this.result.add(this.f.clause(a.negate(), b.negate(), carry));
+    this.result.add(this.f.clause(a.negate(), c.negate(), carry));
+    this.result.add(this.f.clause(b.negate(), c.negate(), carry));
+    this.result.add(this.f.clause(a, b, carry.negate()));
+    this.result.add(this.f.clause(a, c, carry.negate()));
+    this.result.add(this.f.clause(b, c, carry.negate()));
+    this.result.add(this.f.clause(a.negate(), b.negate(), c.negate(), sum));
+    this.result.add(this.f.clause(a.negate(), b, c, sum));
+    this.result.add(this.f.clause(a, b.negate(), c, sum));
+    this.result.add(this.f.clause(a, b, c.negate(), sum));
+    this.result.add(this.f.clause(a, b, c, sum.negate()));
+    this.result.add(this.f.clause(a, b.negate(), c.negate(), sum.negate()));
+    this.result.add(this.f.clause(a.negate(), b, c.negate(), sum.negate()));
+    this.result.add(this.f.clause(a.negate(), b.negate(), c, sum.negate()));
+  }
+
+  /**
+   * Encodes that the binary number given by the output bits is less or equal to the right-hand side.  For each bit
+   * position {@code i} which is 0 in the right-hand side, the output bit {@code i} must be 0 if all higher output bits
+   * which are 1 in the right-hand side are 1.
+   * @param outputs the output bits (least significant bit first, {@code null} for a constant 0)
+   * @param rhs     the right-hand side
+   */
+  private void lessOrEqual(final List<Literal> outputs, int rhs) {
+    for (int i = 0; i < outputs.size(); i++) {
+      if (outputs.get(i) == null || (rhs >>> i & 1) != 0)
+        continue;
+      final List<Literal> clause = new ArrayList<>();
+      clause.add(outputs.get(i).negate());
+      boolean satisfied = false;
+      for (int j = i + 1; j < 32 && !satisfied; j++)
+        if ((rhs >>> j & 1) != 0) {
+          if (j >= outputs.size() || outputs.get(j) == null)
+            satisfied = true;
+          else
+            clause.add(outputs.get(j).negate());
+        }
+      if (!satisfied)
+        this.result.add(this.f.clause(clause));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,170 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.pseudobooleans;
+
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A BDD-based encoder for pseudo-Boolean constraints in CNF.
+ * <p>
+ * The constraint {@code c_1 * lit_1 + ... + c_n * lit_n <= k} is translated to a reduced ordered BDD over the literals
+ * sorted by descending coefficients.  Each BDD node represents a constraint {@code c_i * lit_i + ... + c_n * lit_n <= K}
+ * for a whole interval of values {@code K} (Abío et al., "A New Look at BDDs for Pseudo-Boolean Constraints", 2012),
+ * therefore nodes are shared between all right-hand sides with the same set of solutions.  Each inner node is encoded
+ * by a new variable and two clauses.  Unit propagation on the encoding is arc-consistent.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PBBDD extends PBEncoder {
+
+  private List<Formula> result;
+  private Literal[] lits;
+  private int[] coeffs;
+  private long[] suffixSums;
+  private List<TreeMap<Long, Node>> memo;
+
+  /**
+   * Constructs a new BDD-based encoder.
+   * @param f the formula factory
+   */
+  public PBBDD(final FormulaFactory f) {
+    super(f);
+    this.result = new LinkedList<>();
+  }
+
+  @Override
+  public ImmutableFormulaList build(final Literal[] ls, final int[] cfs, int rhs) {
+    this.result.clear();
+    final List<Integer> indices = new ArrayList<>(ls.length);
+    for (int i = 0; i < ls.length; i++) {
+      if (cfs[i] > rhs)
+        this.result.add(ls[i].negate());
+      else
+        indices.add(i);
+    }
+    Collections.sort(indices, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer i1, final Integer i2) {
+        return Integer.compare(cfs[i2], cfs[i1]);
+      }
+    });
+    final int n = indices.size();
+    this.lits = new Literal[n];
+    this.coeffs = new int[n];
+    for (int i = 0; i < n; i++) {
+      this.lits[i] = ls[indices.get(i)];
+      this.coeffs[i] = cfs[indices.get(i)];
+    }
+    this.suffixSums = new long[n + 1];
+    for (int i = n - 1; i >= 0; i--)
+      this.suffixSums[i] = this.suffixSums[i + 1] + this.coeffs[i];
+    this.memo = new ArrayList<>(n);
+    for (int i = 0; i < n; i++)
+      this.memo.add(new TreeMap<Long, Node>());
+    final Node root = this.buildNode(0, rhs);
+    if (root.formula.type() != FType.TRUE)
+      this.result.add(root.formula);
+    final ImmutableFormulaList encoding = new ImmutableFormulaList(FType.AND, this.result);
+    this.lits = null;
+    this.coeffs = null;
+    this.suffixSums = null;
+    this.memo = null;
+    return encoding;
+  }
+
+  /**
+   * Builds the BDD node for the constraint {@code c_i * lit_i + ... + c_n * lit_n <= k}.
+   * @param i the index of the first literal
+   * @param k the right-hand side
+   * @return the node with its interval of right-hand sides
+   */
+  private Node buildNode(int i, long k) {
+    if (k < 0)
+      return new Node(Long.MIN_VALUE, -1, this.f.falsum());
+    if (k >= this.suffixSums[i])
+      return new Node(this.suffixSums[i], Long.MAX_VALUE, this.f.verum());
+    final TreeMap<Long, Node> nodes = this.memo.get(i);
+    final Map.Entry<Long, Node> entry = nodes.floorEntry(k);
+    if (entry != null && entry.getValue().max >= k)
+      return entry.getValue();
+    final Node low = this.buildNode(i + 1, k);
+    final Node high = this.buildNode(i + 1, k - this.coeffs[i]);
+    final long min = Math.max(low.min, high.min == Long.MIN_VALUE ? Long.MIN_VALUE : high.min + this.coeffs[i]);
+    final long max = Math.min(low.max, high.max == Long.MAX_VALUE ? Long.MAX_VALUE : high.max + this.coeffs[i]);
+    final Formula formula;
+    if (low.formula == high.formula)
+      formula = low.formula;
+    else {
+      final Literal var = this.f.newPBVariable();
+      if (low.formula.type() != FType.TRUE)
+        this.result.add(this.f.clause(var.negate(), (Literal) low.formula));
+      if (high.formula.type() == FType.FALSE)
+        this.result.add(this.f.clause(var.negate(), this.lits[i].negate()));
+      else if (high.formula.type() != FType.TRUE)
+        this.result.add(this.f.clause(var.negate(), this.lits[i].negate(), (Literal) high.formula));
+      formula = var;
+    }
+    final Node node = new Node(min, max, formula);
+    nodes.put(min, node);
+    return node;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+
+  /**
+   * A BDD node together with the interval of right-hand sides it represents.
+   */
+  private static final class Node {
+    private final long min;
+    private final long max;
+    private final Formula formula;
+
+    private Node(long min, long max, final Formula formula) {
+      this.min = min;
+      this.max = max;
+      this.formula = formula;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.pseudobooleans;
+
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+
+/**
+ * The configuration for the encoding of pseudo-Boolean constraints.
+ * <p>
+ * The configuration is activated by putting it into the formula factory with
+ * {@link org.logicng.formulas.FormulaFactory#putConfiguration(Configuration)}.  It is used for all pseudo-Boolean
+ * constraints which are encoded afterwards, already computed encodings are not changed.  Cardinality constraints are
+ * always encoded by the cardinality constraint encoders, which are configured by
+ * {@link org.logicng.cardinalityconstraints.CCConfig}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PBConfig extends Configuration {
+
+  /**
+   * The encodings for pseudo-Boolean constraints.
+   * {@code SWC} - the sequential weight counter encoding {@link PBSWC}
+   * {@code BDD} - the BDD-based encoding {@link PBBDD}
+   * {@code ADDER} - the adder network encoding {@link PBAdder}
+   * {@code SORTER} - the sorting network encoding {@link PBSorter}
+   * {@code BEST} - the encoding with the smallest estimated size is chosen for each constraint (cf. {@link PBSelector})
+   */
+  public enum PBEncoding {
+    SWC, BDD, ADDER, SORTER, BEST
+  }
+
+  final PBEncoding pbEncoding;
+
+  /**
+   * The builder for a pseudo-Boolean encoder configuration.
+   */
+  public static class Builder {
+    private PBEncoding pbEncoding = PBEncoding.BEST;
+
+    /**
+     * Sets the encoding for pseudo-Boolean constraints.  The default value is {@code BEST}.
+     * @param pbEncoding the encoding
+     * @return the builder
+     */
+    public Builder pbEncoding(final PBEncoding pbEncoding) {
+      this.pbEncoding = pbEncoding;
+      return this;
+    }
+
+    /**
+     * Builds the pseudo-Boolean encoder configuration.
+     * @return the configuration
+     */
+    public PBConfig build() {
+      return new PBConfig(this);
+    }
+  }
+
+  /**
+   * Constructs a new pseudo-Boolean encoder configuration from a given builder.
+   * @param builder the builder
+   */
+  private PBConfig(final Builder builder) {
+    super(ConfigurationType.PB_ENCODER);
+    this.pbEncoding = builder.pbEncoding;
+  }
+
+  /**
+   * Returns the encoding for pseudo-Boolean constraints.
+   * @return the encoding
+   */
+  public PBEncoding pbEncoding() {
+    return this.pbEncoding;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("PBConfig{\n");
+    sb.append("pbEncoding=").append(this.pbEncoding).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+}
@@ -28,22 +28,13 @@
 
 package org.logicng.pseudobooleans;
 
-import org.logicng.cardinalityconstraints.CCALKTotalizer;
-import org.logicng.cardinalityconstraints.CCAMKTotalizer;
-import org.logicng.cardinalityconstraints.CCAMOProduct;
-import org.logicng.cardinalityconstraints.CCAtLeastK;
-import org.logicng.cardinalityconstraints.CCAtMostK;
-import org.logicng.cardinalityconstraints.CCAtMostOne;
-import org.logicng.cardinalityconstraints.CCEXOProduct;
-import org.logicng.cardinalityconstraints.CCExactlyOne;
+import org.logicng.cardinalityconstraints.CCEncoder;
 import org.logicng.collections.ImmutableFormulaList;
-import org.logicng.formulas.CType;
 import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.PBConstraint;
-import org.logicng.formulas.Variable;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -57,10 +48,7 @@ import java.util.List;
 public abstract class PBEncoder {
 
   protected final FormulaFactory f;
-  private final CCAtLeastK alk;
-  private final CCAtMostK amk;
-  private final CCAtMostOne amo;
-  private final CCExactlyOne exo;
+  private final CCEncoder ccEncoder;
 
   /**
    * Constructs a new pseudo-Boolean encoder.
@@ -68,10 +56,7 @@ public abstract class PBEncoder {
    */
   public PBEncoder(final FormulaFactory f) {
     this.f = f;
-    this.alk = new CCALKTotalizer(f);
-    this.amk = new CCAMKTotalizer(f);
-    this.amo = new CCAMOProduct(f);
-    this.exo = new CCEXOProduct(f);
+    this.ccEncoder = new CCEncoder(f);
   }
 
 
@@ -84,7 +69,7 @@ public abstract class PBEncoder {
    */
   public ImmutableFormulaList build(final PBConstraint constraint) {
     if (constraint.isCC())
-      return this.buildCC(constraint);
+      return this.ccEncoder.encode(constraint);
     final Formula normalized = constraint.normalize();
     switch (normalized.type()) {
       case TRUE:
@@ -94,7 +79,7 @@ public abstract class PBEncoder {
       case PBC:
         final PBConstraint pbc = (PBConstraint) normalized;
         if (pbc.isCC())
-          return this.buildCC(pbc);
+          return this.ccEncoder.encode(pbc);
         return this.build(pbc.operands(), pbc.coefficients(), pbc.rhs());
       case AND:
         final List<Formula> list = new LinkedList<>();
@@ -115,63 +100,6 @@ public abstract class PBEncoder {
     }
   }
 
-  /**
-   * Builds the CNF translation of a given cardinality constraint.
-   * @param constraint the cardinality constraint
-   * @return the CNF encoding of the pseudo Boolean constraint
-   */
-  private ImmutableFormulaList buildCC(final PBConstraint constraint) {
-    assert constraint.isCC();
-    final Variable[] ops = litsAsVars(constraint.operands());
-    switch (constraint.comparator()) {
-      case LE:
-        if (constraint.rhs() == 1)
-          return this.amo.build(ops);
-        else
-          return this.amk.build(ops, constraint.rhs());
-      case LT:
-        if (constraint.rhs() == 2)
-          return this.amo.build(ops);
-        else
-          return this.amk.build(ops, constraint.rhs() - 1);
-      case GE:
-        return this.alk.build(ops, constraint.rhs());
-      case GT:
-        return this.alk.build(ops, constraint.rhs() + 1);
-      case EQ:
-        if (constraint.rhs() == 1)
-          return this.exo.build(ops);
-        else {
-          Formula le = this.f.cc(CType.LE, constraint.rhs(), ops).normalize();
-          Formula ge = this.f.cc(CType.GE, constraint.rhs(), ops).normalize();
-          if (le.type() == FType.FALSE || ge.type() == FType.FALSE)
-            return new ImmutableFormulaList(FType.AND, this.f.falsum());
-          List<Formula> list = new LinkedList<>();
-          if (le.type() != FType.TRUE)
-            list.addAll(this.build((PBConstraint) le).toList());
-          if (ge.type() != FType.TRUE)
-            list.addAll(this.build((PBConstraint) ge).toList());
-          return new ImmutableFormulaList(FType.AND, list);
-        }
-      default:
-        throw new IllegalArgumentException("Unknown pseudo-Boolean comparator: " + constraint.comparator());
-    }
-  }
-
-  /**
-   * Converts a literal array to a variable array
-   * <p>
-   * ATTENTION: this only works if because the {@code isCC} method checks, that there are only positive literals.
-   * @param lits the literals
-   * @return the variables
-   */
-  private static Variable[] litsAsVars(final Literal[] lits) {
-    final Variable[] vars = new Variable[lits.length];
-    for (int i = 0; i < vars.length; i++)
-      vars[i] = lits[i].variable();
-    return vars;
-  }
-
   /**
    * Builds a pseudo Boolean constraint of the form {@code c_1 * lit_1 + c_2 * lit_2 + ... + c_n * lit_n >= k}.
    * @param lits   the literals {@code lit_1 ... lit_n}
@@ -106,11 +106,7 @@ public final class PBSWC extends PBEncoder {
       } else
         this.result.add(simpLits.get(i).negate());
     }
-    if (lits.size() == 1) {
-      this.result.add(lits.get(0).negate());
-      return new ImmutableFormulaList(FType.AND, this.result);
-    }
-    if (lits.size() == 0)
+    if (lits.size() <= 1)
       return new ImmutableFormulaList(FType.AND, this.result);
     if (rhs == 0) {
       for (int i = 0; i < lits.size(); i++)
@@ -0,0 +1,181 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.pseudobooleans;
+
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.configurations.ConfigurationType;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+
+/**
+ * An encoder for pseudo-Boolean constraints which delegates each constraint to the encoder configured in the
+ * {@link PBConfig} of the formula factory.  If no configuration is present, the default configuration is used.
+ * <p>
+ * For the encoding {@code BEST} the encoder is chosen per constraint by the estimated number of clauses:
+ * <ul>
+ * <li>the BDD encoding has at most {@code min(k + 1, 2^i)} nodes on level {@code i} and two clauses per node,</li>
+ * <li>the sorting network grows with the sum of the coefficients {@code s} by {@code s * log^2(s)},</li>
+ * <li>the adder network grows with the number of 1-bits in the binary representations of the coefficients.</li>
+ * </ul>
+ * Since unit propagation on the adder encoding is weak, its estimation is weighted with a penalty factor.  The
+ * sequential weight counter is never chosen, since its size {@code 3 * n * k} exceeds the BDD estimation.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PBSelector extends PBEncoder {
+
+  private static final PBConfig DEFAULT_CONFIG = new PBConfig.Builder().build();
+  private static final int ADDER_PENALTY = 16;
+
+  private PBSWC swc;
+  private PBBDD bdd;
+  private PBAdder adder;
+  private PBSorter sorter;
+
+  /**
+   * Constructs a new pseudo-Boolean encoder selector.
+   * @param f the formula factory
+   */
+  public PBSelector(final FormulaFactory f) {
+    super(f);
+  }
+
+  @Override
+  public ImmutableFormulaList build(final Literal[] lits, final int[] coeffs, int rhs) {
+    return this.encoderFor(lits, coeffs, rhs).build(lits, coeffs, rhs);
+  }
+
+  /**
+   * Returns the encoder for a pseudo-Boolean constraint {@code c_1 * lit_1 + ... + c_n * lit_n <= k} with respect to
+   * the configuration of the formula factory.
+   * @param lits   the literals {@code lit_1 ... lit_n}
+   * @param coeffs the coefficients {@code c_1 ... c_n}
+   * @param rhs    the right hand side {@code k} of the constraint
+   * @return the encoder
+   */
+  public PBEncoder encoderFor(final Literal[] lits, final int[] coeffs, int rhs) {
+    final PBConfig.PBEncoding encoding = this.config().pbEncoding();
+    switch (encoding) {
+      case SWC:
+        return this.swc();
+      case BDD:
+        return this.bdd();
+      case ADDER:
+        return this.adder();
+      case SORTER:
+        return this.sorter();
+      case BEST:
+        return this.best(coeffs, rhs);
+      default:
+        throw new IllegalStateException("Unknown pseudo-Boolean encoding: " + encoding);
+    }
+  }
+
+  /**
+   * Returns the encoder with the smallest estimated encoding for the given constraint.
+   * @param coeffs the coefficients
+   * @param rhs    the right hand side
+   * @return the encoder
+   */
+  private PBEncoder best(final int[] coeffs, int rhs) {
+    long bddSize = 0;
+    long sum = 0;
+    long bits = 0;
+    int level = 0;
+    for (final int coeff : coeffs) {
+      if (coeff > rhs)
+        continue;
+      bddSize += 2 * (level < 62 ? Math.min(rhs + 1L, 1L << level) : rhs + 1L);
+      sum += coeff;
+      bits += Integer.bitCount(coeff);
+      level++;
+    }
+    final long log = 64 - Long.numberOfLeadingZeros(sum);
+    final long sorterSize = 3 * sum * log * (log + 1) / 4;
+    final long adderSize = ADDER_PENALTY * 7 * bits;
+    if (bddSize <= sorterSize && bddSize <= adderSize)
+      return this.bdd();
+    return sorterSize <= adderSize ? this.sorter() : this.adder();
+  }
+
+  /**
+   * Returns the pseudo-Boolean encoder configuration of the formula factory or the default configuration.
+   * @return the configuration
+   */
+  private PBConfig config() {
+    final PBConfig config = (PBConfig) this.f.configurationFor(ConfigurationType.PB_ENCODER);
+    return config == null ? DEFAULT_CONFIG : config;
+  }
+
+  /**
+   * Returns the sequential weight counter encoder.  The encoder is created on the first call.
+   * @return the sequential weight counter encoder
+   */
+  private PBEncoder swc() {
+    if (this.swc == null)
+      this.swc = new PBSWC(this.f);
+    return this.swc;
+  }
+
+  /**
+   * Returns the BDD-based encoder.  The encoder is created on the first call.
+   * @return the BDD-based encoder
+   */
+  private PBEncoder bdd() {
+    if (this.bdd == null)
+      this.bdd = new PBBDD(this.f);
+    return this.bdd;
+  }
+
+  /**
+   * Returns the adder network encoder.  The encoder is created on the first call.
+   * @return the adder network encoder
+   */
+  private PBEncoder adder() {
+    if (this.adder == null)
+      this.adder = new PBAdder(this.f);
+    return this.adder;
+  }
+
+  /**
+   * Returns the sorting network encoder.  The encoder is created on the first call.
+   * @return the sorting network encoder
+   */
+  private PBEncoder sorter() {
+    if (this.sorter == null)
+      this.sorter = new PBSorter(this.f);
+    return this.sorter;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,188 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.pseudobooleans;
+
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An encoder for pseudo-Boolean constraints in CNF based on sorting networks.
+ * <p>
+ * Each literal {@code lit_i} is fed {@code c_i} times into an odd-even merge sorting network (Batcher).  The
+ * constraint {@code c_1 * lit_1 + ... + c_n * lit_n <= k} holds iff the {@code (k+1)}-th output of the network is
+ * false.  Since only an upper bound is required, each comparator is encoded by three clauses in one direction and
+ * only the comparators the {@code (k+1)}-th output depends on are encoded.  The size of the encoding grows with the
+ * sum of the coefficients, therefore this encoding is best suited for small coefficients.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PBSorter extends PBEncoder {
+
+  private final List<Formula> result;
+  private Literal[] wires;
+  private Map<Variable, Literal[]> maxima;
+  private Map<Variable, Literal[]> minima;
+
+  /**
+   * Constructs a new sorting network encoder.
+   * @param f the formula factory
+   */
+  public PBSorter(final FormulaFactory f) {
+    super(f);
+    this.result = new LinkedList<>();
+  }
+
+  @Override
+  public ImmutableFormulaList build(final Literal[] lits, final int[] coeffs, int rhs) {
+    this.result.clear();
+    if (rhs < 0)
+      return new ImmutableFormulaList(FType.AND, this.f.falsum());
+    final List<Literal> inputs = new ArrayList<>();
+    for (int i = 0; i < lits.length; i++) {
+      if (coeffs[i] > rhs)
+        this.result.add(lits[i].negate());
+      else
+        for (int j = 0; j < coeffs[i]; j++)
+          inputs.add(lits[i]);
+    }
+    if (inputs.size() <= rhs)
+      return new ImmutableFormulaList(FType.AND, this.result);
+    int size = 1;
+    while (size < inputs.size())
+      size <<= 1;
+    this.wires = new Literal[size];
+    for (int i = 0; i < inputs.size(); i++)
+      this.wires[i] = inputs.get(i);
+    this.maxima = new HashMap<>();
+    this.minima = new HashMap<>();
+    this.sort(0, size);
+    this.encode(this.wires[rhs]);
+    this.result.add(this.wires[rhs].negate());
+    this.wires = null;
+    this.maxima = null;
+    this.minima = null;
+    return new ImmutableFormulaList(FType.AND, this.result);
+  }
+
+  /**
+   * Sorts the wires {@code lo ... lo + n - 1} in descending order.
+   * @param lo the first wire
+   * @param n  the number of wires (a power of two)
+   */
+  private void sort(int lo, int n) {
+    if (n > 1) {
+      final int m = n / 2;
+      this.sort(lo, m);
+      this.sort(lo + m, m);
+      this.merge(lo, n, 1);
+    }
+  }
+
+  /**
+   * Merges the wires {@code lo ... lo + n - 1} with a distance {@code r}.
+   * @param lo the first wire
+   * @param n  the number of wires (a power of two)
+   * @param r  the distance of the wires to merge
+   */
+  private void merge(int lo, int n, int r) {
+    final int step = r * 2;
+    if (step < n) {
+      this.merge(lo, n, step);
+      this.merge(lo + r, n, step);
+      for (int i = lo + r; i + r < lo + n; i += step)
+        this.compare(i, i + r);
+    } else
+      this.compare(lo, lo + r);
+  }
+
+  /**
+   * Adds a comparator between two wires.  Afterwards the first wire holds the maximum and the second the minimum.
+   * Wires which are constantly false ({@code null}) are not compared.
+   * @param i the first wire
+   * @param j the second wire
+   */
+  private void compare(int i, int j) {
+    final Literal a = this.wires[i];
+    final Literal b = this.wires[j];
+    if (b == null)
+      return;
+    if (a == null) {
+      this.wires[i] = b;
+      this.wires[j] = null;
+      return;
+    }
+    final Variable max = this.f.newPBVariable();
+    final Variable min = this.f.newPBVariable();
+    this.maxima.put(max, new Literal[]{a, b});
+    this.minima.put(min, new Literal[]{a, b});
+    this.wires[i] = max;
+    this.wires[j] = min;
+  }
+
+  /**
+   * Encodes the comparators a given output depends on.  The maximum of two wires {@code a} and {@code b} is encoded
+   * by {@code a => max} and {@code b => max}, the minimum by {@code a & b => min}.
+   * @param output the output
+   */
+  private void encode(final Literal output) {
+    final LinkedList<Literal> stack = new LinkedList<>();
+    stack.push(output);
+    while (!stack.isEmpty()) {
+      final Literal lit = stack.pop();
+      Literal[] inputs = this.maxima.remove(lit.variable());
+      if (inputs != null) {
+        this.result.add(this.f.clause(inputs[0].negate(), lit));
+        this.result.add(this.f.clause(inputs[1].negate(), lit));
+      } else {
+        inputs = this.minima.remove(lit.variable());
+        if (inputs == null)
+          continue;
+        this.result.add(this.f.clause(inputs[0].negate(), inputs[1].negate(), lit));
+      }
+      stack.push(inputs[0]);
+      stack.push(inputs[1]);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
@@ -29,25 +29,33 @@
 package org.logicng.solvers;
 
 import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.BitSetAssignment;
 import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.Variable;
 import org.logicng.handlers.ModelEnumerationHandler;
 import org.logicng.handlers.SATHandler;
+import org.logicng.propositions.Proposition;
+import org.logicng.solvers.sat.CNFMethod;
 import org.logicng.solvers.sat.CleaneLingConfig;
 import org.logicng.solvers.sat.CleaneLingMinimalisticSolver;
 import org.logicng.solvers.sat.CleaneLingSolver;
 import org.logicng.solvers.sat.CleaneLingStyleSolver;
+import org.logicng.solvers.sat.SolverCNFEncoder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
+import static org.logicng.datastructures.Tristate.FALSE;
 import static org.logicng.datastructures.Tristate.TRUE;
 import static org.logicng.datastructures.Tristate.UNDEF;
 
@@ -66,8 +74,15 @@ public final class CleaneLing extends SATSolver {
   private SolverStyle solverStyle;
   private boolean plain;
   private final CleaneLingStyleSolver solver;
-  private SortedMap<Variable, Integer> var2index;
-  private SortedMap<Integer, Variable> index2var;
+  private final VariableIndexTable varIndices;
+  private int numVars;
+  private final SolverCNFEncoder cnfEncoder;
+  private boolean assumptionsUsed;
+  private final boolean unsatCoreGeneration;
+  private LNGIntVector selectors;
+  private LNGVector<Proposition> propositions;
+  private LNGIntVector selectorPositions;
+  private LNGIntVector lastAssumptions;
 
   /**
    * Constructs a new SAT solver instance.
@@ -92,8 +107,21 @@ public final class CleaneLing extends SATSolver {
     this.result = UNDEF;
     this.solverStyle = solverStyle;
     this.plain = config.plain();
-    this.var2index = new TreeMap<>();
-    this.index2var = new TreeMap<>();
+    this.varIndices = new VariableIndexTable();
+    this.numVars = 0;
+    this.cnfEncoder = config.cnfMethod() == CNFMethod.FACTORY_CNF ? null : new CNFEncoder(config.cnfMethod());
+    this.unsatCoreGeneration = config.unsatCoreGeneration();
+    this.initializeSelectors();
+  }
+
+  /**
+   * Initializes the selector variables for the unsat core generation.
+   */
+  private void initializeSelectors() {
+    this.selectors = new LNGIntVector();
+    this.propositions = new LNGVector<>();
+    this.selectorPositions = new LNGIntVector();
+    this.lastAssumptions = new LNGIntVector();
   }
 
   /**
@@ -134,43 +162,175 @@ public final class CleaneLing extends SATSolver {
     return new CleaneLing(f, SolverStyle.FULL, config);
   }
 
+  @Override
+  public void add(final Formula formula) {
+    if (this.cnfEncoder != null && formula.type() != FType.PBC) {
+      this.result = UNDEF;
+      this.cnfEncoder.add(formula);
+    } else
+      super.add(formula);
+  }
+
+  /**
+   * Adds a proposition to the solver.  The formulas of the proposition are first converted to CNF or encoded directly
+   * on the solver, depending on the configured CNF method.
+   * <p>
+   * If the unsat core generation is activated in the solver configuration, the clauses of the proposition are guarded
+   * by a new selector variable which is assumed in each subsequent call of {@code sat}.  The selector variable is
+   * frozen, internal to the solver and never appears in a model.
+   * @param proposition the proposition
+   */
+  @Override
+  public void add(final Proposition proposition) {
+    if (!this.unsatCoreGeneration) {
+      super.add(proposition);
+      return;
+    }
+    this.result = UNDEF;
+    final int selector = ++this.numVars;
+    this.solver.freeze(selector);
+    this.selectorPositions.growTo(selector + 1, -1);
+    this.selectorPositions.set(selector, this.selectors.size());
+    this.selectors.push(selector);
+    this.propositions.push(proposition);
+    for (final Formula formula : proposition.formulas())
+      if (this.cnfEncoder != null && formula.type() != FType.PBC)
+        this.cnfEncoder.add(formula, (selector * 2) ^ 1);
+      else
+        this.addGuardedClauseSet(formula.cnf(), selector);
+  }
+
+  /**
+   * Adds a formula which is already in CNF to the solver.  Each clause is guarded by a given selector variable.
+   * @param formula  the formula in CNF
+   * @param selector the index of the selector variable
+   */
+  private void addGuardedClauseSet(final Formula formula, int selector) {
+    switch (formula.type()) {
+      case TRUE:
+        break;
+      case FALSE:
+      case LITERAL:
+      case OR:
+        for (final Literal lit : formula.literals())
+          this.solver.addlit(this.solverLiteral(lit));
+        this.solver.addlit(-selector);
+        this.solver.addlit(CLAUSE_TERMINATOR);
+        break;
+      case AND:
+        for (final Formula op : formula)
+          this.addGuardedClauseSet(op, selector);
+        break;
+      default:
+        throw new IllegalArgumentException("Input formula ist not a valid CNF: " + formula);
+    }
+  }
+
   @Override
   protected void addClause(final Formula formula) {
     this.result = UNDEF;
     for (Literal lit : formula.literals()) {
-      Integer index = this.var2index.get(lit.variable());
-      if (index == null) {
-        index = this.var2index.size() + 1;
-        this.var2index.put(lit.variable(), index);
-        this.index2var.put(index, lit.variable());
-      }
+      final int index = this.index(lit.variable());
       this.solver.addlit(lit.phase() ? index : -index);
     }
     this.solver.addlit(CLAUSE_TERMINATOR);
   }
 
+  /**
+   * Returns the solver index of a given variable.  If the variable is not yet known, a new index is created.
+   * @param var the variable
+   * @return the solver index
+   */
+  private int index(final Variable var) {
+    int index = this.varIndices.index(var);
+    if (index == -1) {
+      index = ++this.numVars;
+      this.varIndices.put(var, index);
+    }
+    return index;
+  }
+
   @Override
   public Tristate sat(final SATHandler handler) {
-    if (this.result != UNDEF)
+    if (this.result != UNDEF && !this.assumptionsUsed)
       return this.result;
-    this.result = this.solver.solve(handler);
+    this.result = this.unsatCoreGeneration ? this.solve(handler, new LNGIntVector()) : this.solver.solve(handler);
+    this.assumptionsUsed = false;
     return result;
   }
 
   @Override
   public Tristate sat(final SATHandler handler, final Literal literal) {
-    throw new UnsupportedOperationException("CleaneLing does not support assumed literal solving.");
+    final LNGIntVector assumptions = new LNGIntVector(1);
+    assumptions.push(this.solverLiteral(literal));
+    return this.solve(handler, assumptions);
   }
 
   @Override
   public Tristate sat(final SATHandler handler, final Collection<? extends Literal> assumptions) {
-    throw new UnsupportedOperationException("CleaneLing does not support solving with assumptions.");
+    final LNGIntVector assumptionVec = new LNGIntVector(assumptions.size());
+    for (final Literal lit : assumptions)
+      assumptionVec.push(this.solverLiteral(lit));
+    return this.solve(handler, assumptionVec);
+  }
+
+  /**
+   * Solves the formula under the given assumptions.  The result is not cached for later calls of {@code sat} without
+   * assumptions.  If the unsat core generation is activated, the selector variables of all propositions are assumed
+   * additionally.
+   * @param handler     the SAT handler
+   * @param assumptions the assumptions as signed solver literals
+   * @return the result of the solver
+   */
+  private Tristate solve(final SATHandler handler, final LNGIntVector assumptions) {
+    if (this.unsatCoreGeneration) {
+      this.lastAssumptions = assumptions;
+      final LNGIntVector assumptionVec = new LNGIntVector(assumptions.size() + this.selectors.size());
+      for (int i = 0; i < assumptions.size(); i++)
+        assumptionVec.unsafePush(assumptions.get(i));
+      for (int i = 0; i < this.selectors.size(); i++)
+        assumptionVec.unsafePush(this.selectors.get(i));
+      this.result = this.solver.solve(handler, assumptionVec);
+    } else
+      this.result = this.solver.solve(handler, assumptions);
+    this.assumptionsUsed = true;
+    return this.result;
+  }
+
+  /**
+   * Returns the signed solver literal of a given literal.
+   * @param lit the literal
+   * @return the solver literal
+   */
+  private int solverLiteral(final Literal lit) {
+    final int index = this.index(lit.variable());
+    return lit.phase() ? index : -index;
+  }
+
+  /**
+   * Freezes the given variables in the underlying solver.  Frozen variables are never removed by a simplification,
+   * hence clauses over these variables, e.g. the blocking clauses of a model enumeration, can be added after solving
+   * without rebuilding the solver.
+   * @param variables the variables or {@code null} if all known variables should be frozen
+   */
+  void freeze(final Collection<Variable> variables) {
+    if (variables == null) {
+      for (int i = 1; i <= this.numVars; i++)
+        if (this.varIndices.variable(i) != null)
+          this.solver.freeze(i);
+    } else
+      for (final Variable var : variables)
+        this.solver.freeze(this.index(var));
   }
 
   @Override
   public void reset() {
     this.solver.reset();
     this.result = UNDEF;
+    this.assumptionsUsed = false;
+    this.initializeSelectors();
+    if (this.cnfEncoder != null)
+      this.cnfEncoder.clear();
   }
 
   @Override
@@ -188,24 +348,28 @@ public final class CleaneLing extends SATSolver {
    * @return the assignment
    */
   private Assignment createAssignment(final LNGBooleanVector vec, final Collection<Variable> variables) {
-    final Assignment model = new Assignment();
-    if (!vec.empty()) {
-      for (int i = 1; i < vec.size(); i++) {
-        final Variable var = this.index2var.get(i);
-        if (vec.get(i)) {
-          if (variables == null || variables.contains(var))
-            model.addLiteral(var);
-        } else if (variables == null || variables.contains(var))
-          model.addLiteral(var.negate());
+    final Assignment model = new BitSetAssignment(this.f);
+    if (vec.empty())
+      return model;
+    final LNGBooleanVector relevant = new LNGBooleanVector(vec.size(), variables == null);
+    if (variables != null)
+      for (final Variable var : variables) {
+        final int index = this.varIndices.index(var);
+        if (index != -1 && index < vec.size())
+          relevant.set(index, true);
       }
+    for (int i = 1; i < vec.size(); i++) {
+      final Variable var = this.varIndices.variable(i);
+      if (var != null && relevant.get(i))
+        model.addLiteral(vec.get(i) ? var : var.negate());
     }
     return model;
   }
 
   @Override
   public List<Assignment> enumerateAllModels(final Collection<Variable> variables) {
-    if (this.solverStyle == SolverStyle.FULL && !this.plain)
-      throw new UnsupportedOperationException("Model enumeration is not available if simplifications are turned on");
+    if (this.simplifies())
+      this.freeze(variables);
     List<Assignment> models = new LinkedList<>();
     while (this.sat((SATHandler) null) == TRUE) {
       final Assignment model = this.model(variables);
@@ -218,8 +382,8 @@ public final class CleaneLing extends SATSolver {
 
   @Override
   public List<Assignment> enumerateAllModels(final Collection<Variable> literals, final ModelEnumerationHandler handler) {
-    if (this.solverStyle == SolverStyle.FULL && !this.plain)
-      throw new UnsupportedOperationException("Model enumeration is not available if simplifications are turned on");
+    if (this.simplifies())
+      this.freeze(literals);
     List<Assignment> models = new LinkedList<>();
     boolean proceed = true;
     while (proceed && this.sat((SATHandler) null) == TRUE) {
@@ -232,18 +396,169 @@ public final class CleaneLing extends SATSolver {
     return models;
   }
 
+  @Override
+  public List<Proposition> unsatCore(boolean minimize) {
+    if (!this.unsatCoreGeneration)
+      throw new IllegalStateException("Cannot compute an unsat core if the unsat core generation is not activated.");
+    if (this.result != FALSE)
+      throw new IllegalStateException("Cannot compute an unsat core as long as the formula is not proven unsatisfiable.");
+    LNGIntVector core = this.coreFromConflict();
+    if (minimize)
+      core = this.minimizeCore(core);
+    final List<Proposition> propositions = new ArrayList<>(core.size());
+    for (int i = 0; i < core.size(); i++)
+      propositions.add(this.propositions.get(core.get(i)));
+    return propositions;
+  }
+
+  /**
+   * Extracts the positions of the propositions whose selector variables are among the failed assumptions of the
+   * underlying solver.
+   * @return the positions of the propositions in the conflict in the order they were added to the solver
+   */
+  private LNGIntVector coreFromConflict() {
+    final LNGIntVector failed = this.solver.failedAssumptions();
+    final LNGIntVector core = new LNGIntVector(failed.size());
+    for (int i = 0; i < failed.size(); i++) {
+      final int index = Math.abs(failed.get(i));
+      if (index < this.selectorPositions.size() && this.selectorPositions.get(index) != -1)
+        core.push(this.selectorPositions.get(index));
+    }
+    core.sort();
+    return core;
+  }
+
+  /**
+   * Performs a deletion-based minimization of a given unsat core.  Each proposition of the core is removed
+   * tentatively.  If the remaining propositions are still unsatisfiable, the core is refined with the new failed
+   * assumptions, otherwise the proposition is necessary and kept.
+   * @param core the positions of the propositions of the unsat core
+   * @return the positions of the propositions of a minimal unsat core
+   */
+  private LNGIntVector minimizeCore(final LNGIntVector core) {
+    final LNGBooleanVector inCore = new LNGBooleanVector(this.selectors.size(), false);
+    for (int i = 0; i < core.size(); i++)
+      inCore.set(core.get(i), true);
+    Tristate lastResult = FALSE;
+    for (int i = 0; i < core.size(); i++) {
+      final int candidate = core.get(i);
+      if (!inCore.get(candidate))
+        continue;
+      inCore.set(candidate, false);
+      lastResult = this.solver.solve(null, this.coreAssumptions(core, inCore));
+      if (lastResult == FALSE) {
+        final LNGIntVector refined = this.coreFromConflict();
+        for (int j = 0; j < core.size(); j++)
+          inCore.set(core.get(j), false);
+        for (int j = 0; j < refined.size(); j++)
+          inCore.set(refined.get(j), true);
+      } else
+        inCore.set(candidate, true);
+    }
+    if (lastResult != FALSE)
+      this.solver.solve(null, this.coreAssumptions(core, inCore));
+    return this.coreFromConflict();
+  }
+
+  /**
+   * Returns the assumptions of the last call of {@code sat} together with the selector variables of the propositions
+   * which are still marked as part of the core.
+   * @param core   the positions of the propositions of the core
+   * @param inCore the marks for the propositions which are still part of the core
+   * @return the assumptions
+   */
+  private LNGIntVector coreAssumptions(final LNGIntVector core, final LNGBooleanVector inCore) {
+    final LNGIntVector assumptionVec = new LNGIntVector(this.lastAssumptions);
+    for (int i = 0; i < core.size(); i++)
+      if (inCore.get(core.get(i)))
+        assumptionVec.push(this.selectors.get(core.get(i)));
+    return assumptionVec;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The state consists of the state of the underlying solver and the number of variables.
+   */
   @Override
   public SolverState saveState() {
-    throw new UnsupportedOperationException("The CleaneLing solver does not support state loading/saving");
+    final int[] solverState = this.solver.saveState();
+    final int[] state = Arrays.copyOf(solverState, solverState.length + 1);
+    state[solverState.length] = this.numVars;
+    return new SolverState(state);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The learnt clauses of the state are kept.  Only if the solver performed a simplification since the state was saved
+   * or a clause over a variable removed by a simplification was added, it is rebuilt from the original clauses of the
+   * state.
+   */
   @Override
-  public void loadState(SolverState state) {
-    throw new UnsupportedOperationException("The CleaneLing solver does not support state loading/saving");
+  public void loadState(final SolverState state) {
+    final int[] stateArray = state.state();
+    this.solver.loadState(Arrays.copyOf(stateArray, stateArray.length - 1));
+    this.result = UNDEF;
+    this.assumptionsUsed = false;
+    if (this.cnfEncoder != null)
+      this.cnfEncoder.clear();
+    final int newNumVars = stateArray[stateArray.length - 1];
+    if (this.numVars > newNumVars) {
+      this.varIndices.shrinkTo(newNumVars + 1);
+      this.numVars = newNumVars;
+    }
+    int numSelectors = this.selectors.size();
+    while (numSelectors > 0 && this.selectors.get(numSelectors - 1) > this.numVars)
+      numSelectors--;
+    this.selectors.shrinkTo(numSelectors);
+    this.propositions.shrinkTo(numSelectors);
+    this.selectorPositions.shrinkTo(Math.min(this.selectorPositions.size(), this.numVars + 1));
+  }
+
+  /**
+   * Returns whether the solver performs simplifications which may remove variables.  Clauses over such variables
+   * which are added after solving, e.g. blocking clauses for the model enumeration, require a rebuild of the solver
+   * unless the variables were frozen before.
+   * @return {@code true} if the solver performs such simplifications, {@code false} otherwise
+   */
+  boolean simplifies() {
+    return this.solverStyle == SolverStyle.FULL && !this.plain;
   }
 
   @Override
   public String toString() {
-    return String.format("CleaneLing{result=%s, index2var=%s}", this.result, this.index2var);
+    return String.format("CleaneLing{result=%s, index2var=%s}", this.result, this.varIndices);
+  }
+
+  /**
+   * The encoder for adding formulas directly to the underlying solver.  The encoder works on MiniSat-style literals
+   * which are translated to the signed literals of CleaneLing.
+   */
+  private final class CNFEncoder extends SolverCNFEncoder {
+
+    private CNFEncoder(final CNFMethod method) {
+      super(method);
+    }
+
+    @Override
+    protected int solverLiteral(final Literal lit) {
+      final int index = CleaneLing.this.index(lit.variable());
+      return lit.phase() ? index * 2 : (index * 2) ^ 1;
+    }
+
+    @Override
+    protected int newAuxVariable() {
+      return ++CleaneLing.this.numVars;
+    }
+
+    @Override
+    protected void addClause(final LNGIntVector clause) {
+      for (int i = 0; i < clause.size(); i++) {
+        final int lit = clause.get(i);
+        CleaneLing.this.solver.addlit((lit & 1) == 1 ? -(lit >> 1) : lit >> 1);
+      }
+      CleaneLing.this.solver.addlit(CLAUSE_TERMINATOR);
+    }
   }
 }
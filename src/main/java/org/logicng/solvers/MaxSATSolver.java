@@ -30,7 +30,9 @@ package org.logicng.solvers;
 
 import org.logicng.collections.LNGBooleanVector;
 import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.BitSetAssignment;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.Variable;
@@ -41,11 +43,13 @@ import org.logicng.solvers.maxsat.algorithms.LinearUS;
 import org.logicng.solvers.maxsat.algorithms.MSU3;
 import org.logicng.solvers.maxsat.algorithms.MaxSAT;
 import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
+import org.logicng.solvers.maxsat.algorithms.OLL;
 import org.logicng.solvers.maxsat.algorithms.WBO;
 import org.logicng.solvers.maxsat.algorithms.WMSU3;
 
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.OPTIMUM;
 import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.UNDEF;
@@ -53,20 +57,27 @@ import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.UNSATISF
 
 /**
  * A wrapper for the OpenWBO solver.
+ * <p>
+ * Hard and soft formulas can be added after the formula was solved.  Incremental algorithms (currently OLL) keep their
+ * SAT solver, encodings, and bounds between two calls to {@code solve} and start from the previous model.  For all
+ * other algorithms the added clauses are recorded and the algorithm is rebuilt from them before the next call.
  * @author Christoph Zengler
  * @version 1.0
  * @since 1.0
  */
 public final class MaxSATSolver {
 
-  private enum Algorithm {WBO, INC_WBO, LINEAR_SU, LINEAR_US, MSU3, WMSU3}
+  private enum Algorithm {WBO, INC_WBO, LINEAR_SU, LINEAR_US, MSU3, WMSU3, OLL}
 
   private MaxSAT.MaxSATResult result;
   private MaxSAT solver;
-  private SortedMap<Variable, Integer> var2index;
-  private SortedMap<Integer, Variable> index2var;
+  private VariableIndexTable varIndices;
   private MaxSATConfig configuration;
   private Algorithm algorithm;
+  private LNGVector<LNGIntVector> clauses;
+  private LNGIntVector weights;
+  private boolean searched;
+  private boolean conditional;
 
   /**
    * Constructs a new MaxSAT solver with a given configuration.
@@ -86,32 +97,54 @@ public final class MaxSATSolver {
    */
   public void reset() {
     this.result = UNDEF;
-    this.var2index = new TreeMap<>();
-    this.index2var = new TreeMap<>();
+    this.varIndices = new VariableIndexTable();
+    this.clauses = new LNGVector<>();
+    this.weights = new LNGIntVector();
+    this.searched = false;
+    this.conditional = false;
+    this.solver = this.newAlgorithm();
+  }
+
+  /**
+   * Creates a new instance of the algorithm of this solver.
+   * @return the new instance
+   * @throws IllegalArgumentException if the algorithm was unknown
+   */
+  private MaxSAT newAlgorithm() {
     switch (this.algorithm) {
       case WBO:
-        this.solver = new WBO(this.configuration);
-        break;
+        return new WBO(this.configuration);
       case INC_WBO:
-        this.solver = new IncWBO(this.configuration);
-        break;
+        return new IncWBO(this.configuration);
       case LINEAR_SU:
-        this.solver = new LinearSU(this.configuration);
-        break;
+        return new LinearSU(this.configuration);
       case LINEAR_US:
-        this.solver = new LinearUS(this.configuration);
-        break;
+        return new LinearUS(this.configuration);
       case MSU3:
-        this.solver = new MSU3(this.configuration);
-        break;
+        return new MSU3(this.configuration);
       case WMSU3:
-        this.solver = new WMSU3(this.configuration);
-        break;
+        return new WMSU3(this.configuration);
+      case OLL:
+        return new OLL(this.configuration);
       default:
         throw new IllegalArgumentException("Unknown MaxSAT algorithm: " + this.algorithm);
     }
   }
 
+  /**
+   * Rebuilds a non-incremental algorithm from the recorded clauses if it was already searched.
+   */
+  private void prepareModification() {
+    if (!this.searched || this.solver.incremental())
+      return;
+    this.solver = this.newAlgorithm();
+    for (int i = 0; i < this.varIndices.size(); i++)
+      this.solver.newLiteral(false);
+    for (int i = 0; i < this.clauses.size(); i++)
+      this.addToAlgorithm(this.clauses.get(i), this.weights.get(i));
+    this.searched = false;
+  }
+
   /**
    * Returns a new MaxSAT solver using incremental WBO as algorithm with the default configuration.
    * @return the MaxSAT solver
@@ -214,14 +247,28 @@ public final class MaxSATSolver {
     return new MaxSATSolver(config, Algorithm.WMSU3);
   }
 
+  /**
+   * Returns a new MaxSAT solver using OLL as algorithm with the default configuration.
+   * @return the MaxSAT solver
+   */
+  public static MaxSATSolver oll() {
+    return new MaxSATSolver(new MaxSATConfig.Builder().build(), Algorithm.OLL);
+  }
+
+  /**
+   * Returns a new MaxSAT solver using OLL as algorithm with the given configuration.
+   * @param config the configuration
+   * @return the MaxSAT solver
+   */
+  public static MaxSATSolver oll(final MaxSATConfig config) {
+    return new MaxSATSolver(config, Algorithm.OLL);
+  }
+
   /**
    * Adds a new hard formula to the solver.  Hard formulas must always be true.
    * @param formula the formula
-   * @throws IllegalStateException if a formula is added to a solver which is already solved.
    */
   public void addHardFormula(final Formula formula) {
-    if (this.result != UNDEF)
-      throw new IllegalStateException("The MaxSAT solver does currently not support an incremental interface.  Reset the solver.");
     this.addCNF(formula.cnf(), -1);
   }
 
@@ -229,12 +276,9 @@ public final class MaxSATSolver {
    * Adds a new soft formula to the solver.
    * @param formula the formula
    * @param weight  the weight
-   * @throws IllegalStateException    if a formula is added to a solver which is already solved.
    * @throws IllegalArgumentException if the weight is &lt;1
    */
   public void addSoftFormula(final Formula formula, int weight) {
-    if (this.result != UNDEF)
-      throw new IllegalStateException("The MaxSAT solver does currently not support an incremental interface.  Reset the solver.");
     if (weight < 1)
       throw new IllegalArgumentException("The weight of a formula must be > 0");
     this.addCNF(formula.cnf(), weight);
@@ -269,18 +313,38 @@ public final class MaxSATSolver {
    * @param weight  the weight of the clause (or -1 for a hard clause)
    */
   private void addClause(final Formula formula, int weight) {
+    this.prepareModification();
     this.result = UNDEF;
     final LNGIntVector clauseVec = new LNGIntVector((int) formula.numberOfAtoms());
-    for (Literal lit : formula.literals()) {
-      Integer index = this.var2index.get(lit.variable());
-      if (index == null) {
-        index = this.solver.newLiteral(false) >> 1;
-        this.var2index.put(lit.variable(), index);
-        this.index2var.put(index, lit.variable());
-      }
-      int litNum = lit.phase() ? index * 2 : (index * 2) ^ 1;
-      clauseVec.push(litNum);
+    for (Literal lit : formula.literals())
+      clauseVec.push(this.solverLiteral(lit));
+    if (!this.solver.incremental()) {
+      this.clauses.push(clauseVec);
+      this.weights.push(weight);
+    }
+    this.addToAlgorithm(clauseVec, weight);
+  }
+
+  /**
+   * Returns the solver literal for a given literal.  If the variable is not yet known, a new variable is created.
+   * @param lit the literal
+   * @return the solver literal
+   */
+  private int solverLiteral(final Literal lit) {
+    int index = this.varIndices.index(lit.variable());
+    if (index == -1) {
+      index = this.solver.newLiteral(false) >> 1;
+      this.varIndices.put(lit.variable(), index);
     }
+    return lit.phase() ? index * 2 : (index * 2) ^ 1;
+  }
+
+  /**
+   * Adds a clause to the algorithm.
+   * @param clauseVec the clause
+   * @param weight    the weight of the clause (or -1 for a hard clause)
+   */
+  private void addToAlgorithm(final LNGIntVector clauseVec, int weight) {
     if (weight == -1) {
       this.solver.addHardClause(clauseVec);
     } else {
@@ -295,7 +359,7 @@ public final class MaxSATSolver {
    * @return the result (SAT, UNSAT, Optimum found)
    */
   public MaxSAT.MaxSATResult solve() {
-    return solve(null);
+    return this.solve(null, null);
   }
 
   /**
@@ -304,13 +368,51 @@ public final class MaxSATSolver {
    * @return the result (SAT, UNSAT, Optimum found, or UNDEF if canceled by the handler)
    */
   public MaxSAT.MaxSATResult solve(final MaxSATHandler handler) {
-    if (this.result != UNDEF)
+    return this.solve(handler, null);
+  }
+
+  /**
+   * Solves the formula under the given assumptions and returns the result.  The assumptions are only considered for
+   * this call.
+   * @param assumptions the assumptions
+   * @return the result (SAT, UNSAT, Optimum found)
+   */
+  public MaxSAT.MaxSATResult solve(final Collection<? extends Literal> assumptions) {
+    return this.solve(null, assumptions);
+  }
+
+  /**
+   * Solves the formula under the given assumptions and returns the result.  The assumptions are only considered for
+   * this call.  Incremental algorithms use the assumptions directly, all other algorithms are rebuilt with the
+   * assumptions as additional unit clauses.
+   * @param handler     a MaxSAT handler
+   * @param assumptions the assumptions (may be {@code null})
+   * @return the result (SAT, UNSAT, Optimum found, or UNDEF if canceled by the handler)
+   */
+  public MaxSAT.MaxSATResult solve(final MaxSATHandler handler, final Collection<? extends Literal> assumptions) {
+    final boolean hasAssumptions = assumptions != null && !assumptions.isEmpty();
+    if (this.result != UNDEF && !this.conditional && !hasAssumptions)
       return this.result;
+    this.prepareModification();
+    final LNGIntVector assumptionVec = new LNGIntVector();
+    if (hasAssumptions)
+      for (final Literal lit : assumptions)
+        assumptionVec.push(this.solverLiteral(lit));
+    if (!this.solver.incremental()) {
+      for (int i = 0; i < assumptionVec.size(); i++) {
+        final LNGIntVector unit = new LNGIntVector(1);
+        unit.push(assumptionVec.get(i));
+        this.solver.addHardClause(unit);
+      }
+      assumptionVec.clear();
+    }
     if (this.solver.currentWeight() == 1)
       this.solver.setProblemType(MaxSAT.ProblemType.UNWEIGHTED);
     else
       this.solver.setProblemType(MaxSAT.ProblemType.WEIGHTED);
-    this.result = this.solver.search(handler);
+    this.searched = true;
+    this.conditional = hasAssumptions;
+    this.result = this.solver.search(handler, assumptionVec);
     return this.result;
   }
 
@@ -343,17 +445,17 @@ public final class MaxSATSolver {
    * @return the assignment
    */
   private Assignment createAssignment(final LNGBooleanVector vec) {
-    final Assignment model = new Assignment();
+    final List<Literal> literals = new ArrayList<>(this.varIndices.size());
     for (int i = 0; i < vec.size(); i++) {
-      final Literal lit = this.index2var.get(i);
+      final Literal lit = this.varIndices.variable(i);
       if (lit != null) {
         if (vec.get(i))
-          model.addLiteral(lit);
+          literals.add(lit);
         else
-          model.addLiteral(lit.negate());
+          literals.add(lit.negate());
       }
     }
-    return model;
+    return literals.isEmpty() ? new Assignment() : new BitSetAssignment(literals.get(0).factory(), literals);
   }
 
   /**
@@ -366,6 +468,6 @@ public final class MaxSATSolver {
 
   @Override
   public String toString() {
-    return String.format("MaxSATSolver{result=%s, var2index=%s}", this.result, this.var2index);
+    return String.format("MaxSATSolver{result=%s, var2index=%s}", this.result, this.varIndices);
   }
 }
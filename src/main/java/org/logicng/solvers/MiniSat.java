@@ -30,7 +30,9 @@ package org.logicng.solvers;
 
 import org.logicng.collections.LNGBooleanVector;
 import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.BitSetAssignment;
 import org.logicng.datastructures.Tristate;
 import org.logicng.formulas.CType;
 import org.logicng.formulas.FType;
@@ -39,22 +41,35 @@ import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.PBConstraint;
 import org.logicng.formulas.Variable;
+import org.logicng.handlers.ModelBatchHandler;
 import org.logicng.handlers.ModelEnumerationHandler;
 import org.logicng.handlers.SATHandler;
+import org.logicng.propositions.Proposition;
+import org.logicng.solvers.sat.CNFMethod;
 import org.logicng.solvers.sat.GlucoseConfig;
 import org.logicng.solvers.sat.GlucoseSyrup;
 import org.logicng.solvers.sat.MiniCard;
+import org.logicng.solvers.sat.MiniPB;
 import org.logicng.solvers.sat.MiniSat2Solver;
 import org.logicng.solvers.sat.MiniSatConfig;
 import org.logicng.solvers.sat.MiniSatStyleSolver;
+import org.logicng.solvers.sat.SolverCNFEncoder;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+import static org.logicng.datastructures.Tristate.FALSE;
 import static org.logicng.datastructures.Tristate.TRUE;
 import static org.logicng.datastructures.Tristate.UNDEF;
 
@@ -66,12 +81,22 @@ import static org.logicng.datastructures.Tristate.UNDEF;
  */
 public final class MiniSat extends SATSolver {
 
-  private enum SolverStyle {MINISAT, GLUCOSE, MINICARD}
+  private enum SolverStyle {MINISAT, GLUCOSE, MINICARD, MINIPB}
+
+  private static final int PARALLEL_THRESHOLD = 16;
 
   private final MiniSatStyleSolver solver;
   private final SolverStyle style;
+  private VariableIndexTable varIndices;
   private boolean incremental;
   private boolean initialPhase;
+  private final boolean unsatCoreGeneration;
+  private LNGIntVector selectors;
+  private LNGVector<Proposition> propositions;
+  private LNGIntVector selectorPositions;
+  private LNGIntVector lastAssumptions;
+  private boolean assumptionsUsed;
+  private final SolverCNFEncoder cnfEncoder;
 
   /**
    * Constructs a new SAT solver instance.
@@ -94,11 +119,28 @@ public final class MiniSat extends SATSolver {
       case MINICARD:
         this.solver = new MiniCard(miniSatConfig);
         break;
+      case MINIPB:
+        this.solver = new MiniPB(miniSatConfig);
+        break;
       default:
         throw new IllegalArgumentException("Unknown solver style: " + solverStyle);
     }
     this.result = UNDEF;
     this.incremental = miniSatConfig.incremental();
+    this.unsatCoreGeneration = miniSatConfig.unsatCoreGeneration();
+    this.cnfEncoder = miniSatConfig.cnfMethod() == CNFMethod.FACTORY_CNF ? null : new CNFEncoder(miniSatConfig.cnfMethod());
+    this.varIndices = new VariableIndexTable();
+    this.initializeSelectors();
+  }
+
+  /**
+   * Initializes the selector variables for the unsat core generation.
+   */
+  private void initializeSelectors() {
+    this.selectors = new LNGIntVector();
+    this.propositions = new LNGVector<>();
+    this.selectorPositions = new LNGIntVector();
+    this.lastAssumptions = new LNGIntVector();
   }
 
   /**
@@ -135,6 +177,7 @@ public final class MiniSat extends SATSolver {
    * @param miniSatConfig the MiniSat configuration
    * @param glucoseConfig the Glucose configuration
    * @return the solver
+   * @throws IllegalArgumentException if the MiniSat configuration activates the clause arena
    */
   public static MiniSat glucose(final FormulaFactory f, final MiniSatConfig miniSatConfig,
                                 final GlucoseConfig glucoseConfig) {
@@ -155,11 +198,34 @@ public final class MiniSat extends SATSolver {
    * @param f      the formula factory
    * @param config the configuration
    * @return the solver
+   * @throws IllegalArgumentException if the MiniSat configuration activates the clause arena
    */
   public static MiniSat miniCard(final FormulaFactory f, final MiniSatConfig config) {
     return new MiniSat(f, SolverStyle.MINICARD, config, null);
   }
 
+  /**
+   * Returns a new MiniPB solver.  Pseudo-Boolean constraints and cardinality constraints are not encoded as clauses
+   * but propagated natively by this solver.
+   * @param f the formula factory
+   * @return the solver
+   */
+  public static MiniSat miniPB(final FormulaFactory f) {
+    return new MiniSat(f, SolverStyle.MINIPB, new MiniSatConfig.Builder().build(), null);
+  }
+
+  /**
+   * Returns a new MiniPB solver with a given configuration.  Pseudo-Boolean constraints and cardinality constraints
+   * are not encoded as clauses but propagated natively by this solver.
+   * @param f      the formula factory
+   * @param config the configuration
+   * @return the solver
+   * @throws IllegalArgumentException if the MiniSat configuration activates the clause arena
+   */
+  public static MiniSat miniPB(final FormulaFactory f, final MiniSatConfig config) {
+    return new MiniSat(f, SolverStyle.MINIPB, config, null);
+  }
+
   @Override
   public void add(final Formula formula) {
     if (formula.type() == FType.PBC) {
@@ -175,12 +241,179 @@ public final class MiniSat extends SATSolver {
           this.solver.addClause(generateClauseVector(Arrays.asList(constraint.operands())));
         } else
           super.add(constraint);
-      } else
+      } else if (this.style == SolverStyle.MINIPB)
+        this.addPBConstraint(constraint);
+      else
         super.add(constraint);
+    } else if (this.cnfEncoder != null) {
+      this.result = UNDEF;
+      this.cnfEncoder.add(formula);
     } else
       this.addClauseSet(formula.cnf());
   }
 
+  /**
+   * Adds a pseudo-Boolean constraint natively to the MiniPB solver.  Each comparator is translated to one or two
+   * constraints of the form {@code a_1 * l_1 + ... + a_n * l_n >= d}.
+   * @param constraint the pseudo-Boolean constraint
+   */
+  private void addPBConstraint(final PBConstraint constraint) {
+    final MiniPB pbSolver = (MiniPB) this.solver;
+    final LNGIntVector lits = generateClauseVector(Arrays.asList(constraint.operands()));
+    final int[] coefficients = constraint.coefficients();
+    final long rhs = constraint.rhs();
+    switch (constraint.comparator()) {
+      case GE:
+        pbSolver.addAtLeast(lits, new LNGIntVector(coefficients), rhs);
+        break;
+      case GT:
+        pbSolver.addAtLeast(lits, new LNGIntVector(coefficients), rhs + 1);
+        break;
+      case LE:
+        pbSolver.addAtLeast(lits, negate(coefficients), -rhs);
+        break;
+      case LT:
+        pbSolver.addAtLeast(lits, negate(coefficients), -rhs + 1);
+        break;
+      case EQ:
+        pbSolver.addAtLeast(lits, new LNGIntVector(coefficients), rhs);
+        pbSolver.addAtLeast(lits, negate(coefficients), -rhs);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown pseudo-Boolean comparator: " + constraint.comparator());
+    }
+  }
+
+  /**
+   * Returns a vector with the negated coefficients.
+   * @param coefficients the coefficients
+   * @return the vector of negated coefficients
+   */
+  private static LNGIntVector negate(final int[] coefficients) {
+    final LNGIntVector negated = new LNGIntVector(coefficients.length);
+    for (final int coefficient : coefficients)
+      negated.push(-coefficient);
+    return negated;
+  }
+
+  /**
+   * Adds a collection of independent formulas to the solver.  The formulas are converted to CNF and their clauses are
+   * translated to clause vectors over formula-local variable numbers in parallel on the given pool.  Afterwards the
+   * calling thread maps the local variables to solver variables and adds the clauses in the order of the formulas, so
+   * the solver ends up in the same state as after {@link #add(Collection)}.
+   * <p>
+   * The formulas are added sequentially if the formula factory is not concurrent or if the solver encodes formulas
+   * directly (i.e. its {@link CNFMethod} is not {@code FACTORY_CNF}).  Pseudo-Boolean constraints which are handled
+   * natively by MiniCard or MiniPB are always added by the calling thread.
+   * @param formulas the collection of formulas
+   * @param pool     the fork-join pool
+   */
+  @Override
+  public void addParallel(final Collection<? extends Formula> formulas, final ForkJoinPool pool) {
+    if (!this.f.isConcurrent() || this.cnfEncoder != null || formulas.size() < 2) {
+      this.add(formulas);
+      return;
+    }
+    final Formula[] input = formulas.toArray(new Formula[formulas.size()]);
+    final ClauseBlock[] blocks = new ClauseBlock[input.length];
+    pool.invoke(new ClauseBlockTask(input, blocks, 0, input.length));
+    for (int i = 0; i < input.length; i++) {
+      if (blocks[i] == null)
+        this.add(input[i]);
+      else
+        this.addClauseBlock(blocks[i]);
+      blocks[i] = null;
+    }
+  }
+
+  /**
+   * Returns {@code true} if a given formula is added natively to the underlying solver instead of its CNF.
+   * @param formula the formula
+   * @return {@code true} if the formula is added natively
+   */
+  private boolean addedNatively(final Formula formula) {
+    return formula.type() == FType.PBC
+            && (this.style == SolverStyle.MINIPB || this.style == SolverStyle.MINICARD && ((PBConstraint) formula).isCC());
+  }
+
+  /**
+   * Adds the clauses of a clause block to the underlying solver.  New solver variables are created in the order of the
+   * first occurrence of the variables in the clauses.
+   * @param block the clause block
+   */
+  private void addClauseBlock(final ClauseBlock block) {
+    if (block.clauseEnds.empty())
+      return;
+    this.result = UNDEF;
+    final int[] solverLits = new int[block.variables.size()];
+    for (int i = 0; i < solverLits.length; i++)
+      solverLits[i] = this.solverIndex(block.variables.get(i), !this.initialPhase) * 2;
+    int start = 0;
+    for (int c = 0; c < block.clauseEnds.size(); c++) {
+      final int end = block.clauseEnds.get(c);
+      final LNGIntVector clauseVec = new LNGIntVector(end - start);
+      for (int i = start; i < end; i++) {
+        final int lit = block.literals.get(i);
+        clauseVec.push(solverLits[lit >> 1] ^ (lit & 1));
+      }
+      this.solver.addClause(clauseVec);
+      start = end;
+    }
+  }
+
+  /**
+   * Adds a proposition to the solver.  The formulas of the proposition are first converted to CNF or encoded directly
+   * on the solver, depending on the configured CNF method.
+   * <p>
+   * If the unsat core generation is activated in the solver configuration, the clauses of the proposition are guarded
+   * by a new selector variable which is assumed in each subsequent call of {@code sat}.  The selector variable is
+   * internal to the solver and never appears in a model.
+   * @param proposition the proposition
+   */
+  @Override
+  public void add(final Proposition proposition) {
+    if (!this.unsatCoreGeneration) {
+      super.add(proposition);
+      return;
+    }
+    this.result = UNDEF;
+    final int selector = this.solver.newVar(!initialPhase, false);
+    this.selectorPositions.growTo(selector + 1, -1);
+    this.selectorPositions.set(selector, this.selectors.size());
+    this.selectors.push(selector);
+    this.propositions.push(proposition);
+    for (final Formula formula : proposition.formulas())
+      if (this.cnfEncoder != null)
+        this.cnfEncoder.add(formula, MiniSatStyleSolver.mkLit(selector, true));
+      else
+        this.addGuardedClauseSet(formula.cnf(), selector);
+  }
+
+  /**
+   * Adds a formula which is already in CNF to the solver.  Each clause is guarded by a given selector variable.
+   * @param formula  the formula in CNF
+   * @param selector the index of the selector variable
+   */
+  private void addGuardedClauseSet(final Formula formula, int selector) {
+    switch (formula.type()) {
+      case TRUE:
+        break;
+      case FALSE:
+      case LITERAL:
+      case OR:
+        final LNGIntVector clauseVec = generateClauseVector(formula.literals());
+        clauseVec.push(MiniSatStyleSolver.mkLit(selector, true));
+        this.solver.addClause(clauseVec);
+        break;
+      case AND:
+        for (final Formula op : formula)
+          this.addGuardedClauseSet(op, selector);
+        break;
+      default:
+        throw new IllegalArgumentException("Input formula ist not a valid CNF: " + formula);
+    }
+  }
+
   @Override
   protected void addClause(final Formula formula) {
     this.result = UNDEF;
@@ -194,37 +427,87 @@ public final class MiniSat extends SATSolver {
    */
   private LNGIntVector generateClauseVector(final Collection<Literal> literals) {
     final LNGIntVector clauseVec = new LNGIntVector(literals.size());
-    for (Literal lit : literals) {
-      int index = this.solver.idxForName(lit.name());
-      if (index == -1) {
-        index = this.solver.newVar(!initialPhase, true);
-        this.solver.addName(lit.name(), index);
-      }
-      int litNum = lit.phase() ? index * 2 : (index * 2) ^ 1;
-      clauseVec.push(litNum);
-    }
+    for (Literal lit : literals)
+      clauseVec.push(this.solverLiteral(lit));
     return clauseVec;
   }
 
+  /**
+   * Returns the solver literal for a given literal.  If the variable is not yet known, a new variable is created.
+   * @param lit the literal
+   * @return the solver literal
+   */
+  private int solverLiteral(final Literal lit) {
+    final int index = this.solverIndex(lit.variable(), !this.initialPhase);
+    return lit.phase() ? index * 2 : (index * 2) ^ 1;
+  }
+
+  /**
+   * Returns the solver index for a given variable.  If the variable is not yet known, a new variable is created.
+   * @param var  the variable
+   * @param sign the initial polarity of a new variable
+   * @return the solver index
+   */
+  private int solverIndex(final Variable var, boolean sign) {
+    int index = this.idxForVariable(var);
+    if (index == -1) {
+      index = this.solver.newVar(sign, true);
+      this.solver.addName(var.name(), index);
+      this.varIndices.put(var, index);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the solver index for a given variable.  Known variables are looked up by their id, variables which were
+   * only named on the underlying solver are looked up by their name.
+   * @param var the variable
+   * @return the solver index or -1 if the variable is unknown to the solver
+   */
+  private int idxForVariable(final Variable var) {
+    int index = this.varIndices.index(var);
+    if (index == -1) {
+      index = this.solver.idxForName(var.name());
+      if (index != -1)
+        this.varIndices.put(var, index);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the variable for a given solver index.
+   * @param index the solver index
+   * @return the variable or {@code null} if the index belongs to an auxiliary variable
+   */
+  private Variable variableForIdx(int index) {
+    Variable var = this.varIndices.variable(index);
+    if (var == null) {
+      final String name = this.solver.nameForIdx(index);
+      if (name == null)
+        return null;
+      var = this.f.variable(name);
+      this.varIndices.put(var, index);
+    }
+    return var;
+  }
+
   @Override
   public Tristate sat(final SATHandler handler) {
-    if (this.result != UNDEF)
+    if (this.result != UNDEF && !this.assumptionsUsed)
       return this.result;
-    this.result = this.solver.solve(handler);
+    this.result = this.unsatCoreGeneration ? this.solve(handler, new LNGIntVector()) : this.solver.solve(handler);
+    this.assumptionsUsed = false;
     return result;
   }
 
   @Override
   public Tristate sat(final SATHandler handler, final Literal literal) {
     final LNGIntVector clauseVec = new LNGIntVector(1);
-    int index = this.solver.idxForName(literal.name());
-    if (index == -1) {
-      index = this.solver.newVar(true, true);
-      this.solver.addName(literal.name(), index);
-    }
+    int index = this.solverIndex(literal.variable(), true);
     int litNum = literal.phase() ? index * 2 : (index * 2) ^ 1;
     clauseVec.push(litNum);
-    this.result = this.solver.solve(handler, clauseVec);
+    this.result = this.solve(handler, clauseVec);
+    this.assumptionsUsed = true;
     return this.result;
   }
 
@@ -233,22 +516,122 @@ public final class MiniSat extends SATSolver {
     final Set<Literal> assumptionSet = new LinkedHashSet<>(assumptions);
     final LNGIntVector assumptionVec = new LNGIntVector(assumptionSet.size());
     for (final Literal literal : assumptionSet) {
-      int index = this.solver.idxForName(literal.name());
-      if (index == -1) {
-        index = this.solver.newVar(true, true);
-        this.solver.addName(literal.name(), index);
-      }
+      int index = this.solverIndex(literal.variable(), true);
       int litNum = literal.phase() ? index * 2 : (index * 2) ^ 1;
       assumptionVec.push(litNum);
     }
-    this.result = this.solver.solve(handler, assumptionVec);
+    this.result = this.solve(handler, assumptionVec);
+    this.assumptionsUsed = true;
     return this.result;
   }
 
+  /**
+   * Solves the formula on the underlying solver with a given vector of assumptions.  If the unsat core generation is
+   * activated, the selector variables of all propositions are assumed additionally.
+   * @param handler     the SAT handler
+   * @param assumptions the assumptions
+   * @return the result of the solver
+   */
+  private Tristate solve(final SATHandler handler, final LNGIntVector assumptions) {
+    if (!this.unsatCoreGeneration)
+      return this.solver.solve(handler, assumptions);
+    this.lastAssumptions = assumptions;
+    final LNGIntVector assumptionVec = new LNGIntVector(assumptions.size() + this.selectors.size());
+    for (int i = 0; i < assumptions.size(); i++)
+      assumptionVec.unsafePush(assumptions.get(i));
+    for (int i = 0; i < this.selectors.size(); i++)
+      assumptionVec.unsafePush(MiniSatStyleSolver.mkLit(this.selectors.get(i), false));
+    return this.solver.solve(handler, assumptionVec);
+  }
+
+  @Override
+  public List<Proposition> unsatCore(boolean minimize) {
+    if (!this.unsatCoreGeneration)
+      throw new IllegalStateException("Cannot compute an unsat core if the unsat core generation is not activated.");
+    if (this.result != FALSE)
+      throw new IllegalStateException("Cannot compute an unsat core as long as the formula is not proven unsatisfiable.");
+    LNGIntVector core = this.coreFromConflict();
+    if (minimize)
+      core = this.minimizeCore(core);
+    final List<Proposition> propositions = new ArrayList<>(core.size());
+    for (int i = 0; i < core.size(); i++)
+      propositions.add(this.propositions.get(core.get(i)));
+    return propositions;
+  }
+
+  /**
+   * Extracts the positions of the propositions whose selector variables appear in the current conflict of the
+   * underlying solver.
+   * @return the positions of the propositions in the conflict in the order they were added to the solver
+   */
+  private LNGIntVector coreFromConflict() {
+    final LNGIntVector conflict = this.solver.conflict();
+    final LNGIntVector core = new LNGIntVector(conflict.size());
+    for (int i = 0; i < conflict.size(); i++) {
+      final int var = MiniSatStyleSolver.var(conflict.get(i));
+      if (var < this.selectorPositions.size() && this.selectorPositions.get(var) != -1)
+        core.push(this.selectorPositions.get(var));
+    }
+    core.sort();
+    return core;
+  }
+
+  /**
+   * Performs a deletion-based minimization of a given unsat core.  Each proposition of the core is removed
+   * tentatively.  If the remaining propositions are still unsatisfiable, the core is refined with the new conflict,
+   * otherwise the proposition is necessary and kept.  Since the underlying solver is not rebuilt, all learnt clauses
+   * are reused between the iterations.
+   * @param core the positions of the propositions of the unsat core
+   * @return the positions of the propositions of a minimal unsat core
+   */
+  private LNGIntVector minimizeCore(final LNGIntVector core) {
+    final LNGBooleanVector inCore = new LNGBooleanVector(this.selectors.size(), false);
+    for (int i = 0; i < core.size(); i++)
+      inCore.set(core.get(i), true);
+    Tristate lastResult = FALSE;
+    for (int i = 0; i < core.size(); i++) {
+      final int candidate = core.get(i);
+      if (!inCore.get(candidate))
+        continue;
+      inCore.set(candidate, false);
+      lastResult = this.solver.solve(null, this.coreAssumptions(core, inCore));
+      if (lastResult == FALSE) {
+        final LNGIntVector refined = this.coreFromConflict();
+        for (int j = 0; j < core.size(); j++)
+          inCore.set(core.get(j), false);
+        for (int j = 0; j < refined.size(); j++)
+          inCore.set(refined.get(j), true);
+      } else
+        inCore.set(candidate, true);
+    }
+    if (lastResult != FALSE)
+      this.solver.solve(null, this.coreAssumptions(core, inCore));
+    return this.coreFromConflict();
+  }
+
+  /**
+   * Returns the assumptions of the last call of {@code sat} together with the selector variables of the propositions
+   * which are still marked as part of the core.
+   * @param core   the positions of the propositions of the core
+   * @param inCore the marks for the propositions which are still part of the core
+   * @return the assumptions
+   */
+  private LNGIntVector coreAssumptions(final LNGIntVector core, final LNGBooleanVector inCore) {
+    final LNGIntVector assumptionVec = new LNGIntVector(this.lastAssumptions);
+    for (int i = 0; i < core.size(); i++)
+      if (inCore.get(core.get(i)))
+        assumptionVec.push(MiniSatStyleSolver.mkLit(this.selectors.get(core.get(i)), false));
+    return assumptionVec;
+  }
+
   @Override
   public void reset() {
     this.solver.reset();
     this.result = UNDEF;
+    this.varIndices = new VariableIndexTable();
+    this.initializeSelectors();
+    if (this.cnfEncoder != null)
+      this.cnfEncoder.clear();
   }
 
   @Override
@@ -264,12 +647,9 @@ public final class MiniSat extends SATSolver {
     SolverState stateBeforeEnumeration = null;
     if (this.style == SolverStyle.MINISAT && incremental)
       stateBeforeEnumeration = this.saveState();
-    while (this.sat((SATHandler) null) == TRUE) {
-      final Assignment model = this.model(variables);
-      assert model != null;
+    Assignment model;
+    while ((model = this.nextModel(variables)) != null)
       models.add(model);
-      this.add(model.blockingClause(this.f, variables));
-    }
     if (this.style == SolverStyle.MINISAT && incremental)
       this.loadState(stateBeforeEnumeration);
     return models;
@@ -282,18 +662,143 @@ public final class MiniSat extends SATSolver {
     if (this.style == SolverStyle.MINISAT && incremental)
       stateBeforeEnumeration = this.saveState();
     boolean proceed = true;
-    while (proceed && this.sat((SATHandler) null) == TRUE) {
-      final Assignment model = this.model(literals);
-      assert model != null;
+    Assignment model;
+    while (proceed && (model = this.nextModel(literals)) != null) {
       models.add(model);
       proceed = handler.foundModel(model);
-      this.add(model.blockingClause(this.f, literals));
     }
     if (this.style == SolverStyle.MINISAT && incremental)
       this.loadState(stateBeforeEnumeration);
     return models;
   }
 
+  /**
+   * Enumerates all models of the current formula wrt. a given set of variables and passes them in batches to a
+   * model batch handler.  If the set is {@code null}, all variables are considered relevant.  In contrast to
+   * {@link #enumerateAllModels(Collection, ModelEnumerationHandler)} the models are not collected, therefore only one
+   * batch of models is held in memory at a time.
+   * @param variables the set of variables
+   * @param batchSize the maximal number of models in a batch
+   * @param handler   the model batch handler
+   * @throws IllegalArgumentException if the batch size is &lt;= 0
+   */
+  public void enumerateAllModels(final Collection<Variable> variables, int batchSize, final ModelBatchHandler handler) {
+    if (batchSize <= 0)
+      throw new IllegalArgumentException("The batch size must be at least 1.");
+    SolverState stateBeforeEnumeration = null;
+    if (this.style == SolverStyle.MINISAT && incremental)
+      stateBeforeEnumeration = this.saveState();
+    boolean proceed = true;
+    List<Assignment> batch = new ArrayList<>(batchSize);
+    Assignment model;
+    while (proceed && (model = this.nextModel(variables)) != null) {
+      batch.add(model);
+      if (batch.size() == batchSize) {
+        proceed = handler.foundModels(batch);
+        batch = new ArrayList<>(batchSize);
+      }
+    }
+    if (proceed && !batch.isEmpty())
+      handler.foundModels(batch);
+    if (this.style == SolverStyle.MINISAT && incremental)
+      this.loadState(stateBeforeEnumeration);
+  }
+
+  /**
+   * Returns a lazy iterator over all models of the current formula wrt. a given set of variables.  If the set is
+   * {@code null}, all variables are considered relevant.  A new model is only computed when it is requested by the
+   * iterator.
+   * <p>
+   * ATTENTION: the blocking clauses of the enumerated models remain on the solver.  If the solver is in incremental
+   * mode, you can save the solver state before the enumeration and load it afterwards to remove them.
+   * @param variables the set of variables
+   * @return the iterator over all models
+   */
+  public Iterator<Assignment> modelIterator(final Collection<Variable> variables) {
+    return new Iterator<Assignment>() {
+      private Assignment next;
+      private boolean exhausted;
+
+      @Override
+      public boolean hasNext() {
+        if (this.next == null && !this.exhausted) {
+          this.next = nextModel(variables);
+          this.exhausted = this.next == null;
+        }
+        return this.next != null;
+      }
+
+      @Override
+      public Assignment next() {
+        if (!this.hasNext())
+          throw new NoSuchElementException();
+        final Assignment model = this.next;
+        this.next = null;
+        return model;
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Computes the next model of the current formula wrt. a given set of variables and adds its blocking clause
+   * directly to the underlying solver.  The blocking clause only contains the given variables.
+   * @param variables the set of variables or {@code null} if all variables are relevant
+   * @return the model or {@code null} if there are no more models
+   */
+  private Assignment nextModel(final Collection<Variable> variables) {
+    if (this.sat((SATHandler) null) != TRUE)
+      return null;
+    final LNGBooleanVector vec = this.solver.model();
+    final LNGIntVector relevantIndices = this.relevantIndices(variables, vec.size());
+    final Assignment model = new BitSetAssignment(this.f);
+    final LNGIntVector blockingClause = new LNGIntVector(relevantIndices.size());
+    for (int i = 0; i < relevantIndices.size(); i++) {
+      final int index = relevantIndices.get(i);
+      final Variable var = this.variableForIdx(index);
+      model.addLiteral(vec.get(index) ? var : var.negate());
+      blockingClause.unsafePush(MiniSatStyleSolver.mkLit(index, vec.get(index)));
+    }
+    this.result = UNDEF;
+    this.solver.addClause(blockingClause);
+    return model;
+  }
+
+  /**
+   * Returns the sorted solver indices of a given set of variables.  Variables which are unknown to the solver are
+   * ignored.
+   * @param variables the set of variables or {@code null} if all named variables of the solver are relevant
+   * @param numVars   the number of variables in the current model
+   * @return the sorted solver indices of the variables
+   */
+  private LNGIntVector relevantIndices(final Collection<Variable> variables, int numVars) {
+    final LNGIntVector indices;
+    if (variables == null) {
+      indices = new LNGIntVector(numVars);
+      for (int i = 0; i < numVars; i++)
+        if (this.variableForIdx(i) != null)
+          indices.unsafePush(i);
+      return indices;
+    }
+    indices = new LNGIntVector(variables.size());
+    for (final Variable var : variables) {
+      final int index = this.idxForVariable(var);
+      if (index != -1 && index < numVars)
+        indices.unsafePush(index);
+    }
+    indices.sort();
+    int j = 0;
+    for (int i = 0; i < indices.size(); i++)
+      if (j == 0 || indices.get(j - 1) != indices.get(i))
+        indices.set(j++, indices.get(i));
+    indices.shrinkTo(j);
+    return indices;
+  }
+
   /**
    * Creates an assignment from a Boolean vector of the solver.
    * @param vec       the vector of the solver
@@ -302,14 +807,12 @@ public final class MiniSat extends SATSolver {
    * @return the assignment
    */
   private Assignment createAssignment(final LNGBooleanVector vec, final Collection<Variable> variables) {
-    final Assignment model = new Assignment();
-    for (int i = 0; i < vec.size(); i++) {
-      final Variable var = this.f.variable(this.solver.nameForIdx(i));
-      if (vec.get(i)) {
-        if (variables == null || variables.contains(var))
-          model.addLiteral(var);
-      } else if (variables == null || variables.contains(var))
-        model.addLiteral(var.negate());
+    final LNGIntVector relevantIndices = this.relevantIndices(variables, vec.size());
+    final Assignment model = new BitSetAssignment(this.f);
+    for (int i = 0; i < relevantIndices.size(); i++) {
+      final int index = relevantIndices.get(i);
+      final Variable var = this.variableForIdx(index);
+      model.addLiteral(vec.get(index) ? var : var.negate());
     }
     return model;
   }
@@ -322,7 +825,16 @@ public final class MiniSat extends SATSolver {
   @Override
   public void loadState(final SolverState state) {
     this.solver.loadState(state.state());
+    this.varIndices.shrinkTo(this.solver.nVars());
     this.result = UNDEF;
+    if (this.cnfEncoder != null)
+      this.cnfEncoder.clear();
+    int numSelectors = this.selectors.size();
+    while (numSelectors > 0 && this.selectors.get(numSelectors - 1) >= this.solver.nVars())
+      numSelectors--;
+    this.selectors.shrinkTo(numSelectors);
+    this.propositions.shrinkTo(numSelectors);
+    this.selectorPositions.shrinkTo(Math.min(this.selectorPositions.size(), this.solver.nVars()));
   }
 
   /**
@@ -340,4 +852,123 @@ public final class MiniSat extends SATSolver {
   public String toString() {
     return String.format("MiniSat{result=%s, incremental=%s}", this.result, this.incremental);
   }
+
+  /**
+   * The clauses of the CNF of a single formula over formula-local variable numbers.  The local literal {@code 2 * v}
+   * is the positive, {@code 2 * v + 1} the negative literal of the local variable {@code v}.
+   */
+  private static final class ClauseBlock {
+    private final LNGVector<Variable> variables;
+    private final LNGIntVector literals;
+    private final LNGIntVector clauseEnds;
+
+    /**
+     * Constructs the clause block of a formula in CNF.
+     * @param cnf the formula in CNF
+     * @throws IllegalArgumentException if the formula is not in CNF
+     */
+    private ClauseBlock(final Formula cnf) {
+      this.variables = new LNGVector<>();
+      this.literals = new LNGIntVector();
+      this.clauseEnds = new LNGIntVector();
+      final Map<Variable, Integer> localIndices = new HashMap<>();
+      switch (cnf.type()) {
+        case TRUE:
+          break;
+        case FALSE:
+        case LITERAL:
+        case OR:
+          this.addClause(cnf, localIndices);
+          break;
+        case AND:
+          for (final Formula op : cnf)
+            this.addClause(op, localIndices);
+          break;
+        default:
+          throw new IllegalArgumentException("Input formula ist not a valid CNF: " + cnf);
+      }
+    }
+
+    /**
+     * Adds a clause to this block.
+     * @param clause       the clause
+     * @param localIndices the mapping from variables to their local numbers
+     */
+    private void addClause(final Formula clause, final Map<Variable, Integer> localIndices) {
+      for (final Literal lit : clause.literals()) {
+        final Variable var = lit.variable();
+        Integer index = localIndices.get(var);
+        if (index == null) {
+          index = this.variables.size();
+          localIndices.put(var, index);
+          this.variables.push(var);
+        }
+        this.literals.push(lit.phase() ? index * 2 : index * 2 + 1);
+      }
+      this.clauseEnds.push(this.literals.size());
+    }
+  }
+
+  /**
+   * A task which computes the clause blocks for a range of formulas.  Ranges above a threshold are split in halves.
+   * Formulas which are added natively to the solver get no clause block.
+   */
+  private final class ClauseBlockTask extends RecursiveAction {
+    private final Formula[] formulas;
+    private final ClauseBlock[] blocks;
+    private final int from;
+    private final int to;
+
+    /**
+     * Constructs a new task.
+     * @param formulas the formulas
+     * @param blocks   the array for the resulting clause blocks
+     * @param from     the first index of the range (inclusive)
+     * @param to       the last index of the range (exclusive)
+     */
+    private ClauseBlockTask(final Formula[] formulas, final ClauseBlock[] blocks, int from, int to) {
+      this.formulas = formulas;
+      this.blocks = blocks;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= PARALLEL_THRESHOLD) {
+        for (int i = this.from; i < this.to; i++)
+          if (!MiniSat.this.addedNatively(this.formulas[i]))
+            this.blocks[i] = new ClauseBlock(this.formulas[i].cnf());
+      } else {
+        final int mid = (this.from + this.to) >>> 1;
+        invokeAll(new ClauseBlockTask(this.formulas, this.blocks, this.from, mid),
+                new ClauseBlockTask(this.formulas, this.blocks, mid, this.to));
+      }
+    }
+  }
+
+  /**
+   * The encoder for adding formulas directly to the underlying solver.
+   */
+  private final class CNFEncoder extends SolverCNFEncoder {
+
+    private CNFEncoder(final CNFMethod method) {
+      super(method);
+    }
+
+    @Override
+    protected int solverLiteral(final Literal lit) {
+      return MiniSat.this.solverLiteral(lit);
+    }
+
+    @Override
+    protected int newAuxVariable() {
+      return MiniSat.this.solver.newVar(!MiniSat.this.initialPhase, true);
+    }
+
+    @Override
+    protected void addClause(final LNGIntVector clause) {
+      MiniSat.this.solver.addClause(clause);
+    }
+  }
 }
@@ -0,0 +1,254 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers;
+
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+import org.logicng.solvers.sat.CleaneLingConfig;
+import org.logicng.solvers.sat.GlucoseConfig;
+import org.logicng.solvers.sat.MiniSatConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The configuration object for the portfolio SAT solver.
+ * <p>
+ * The configuration holds the list of solvers which are run in parallel.  Each solver can be configured individually,
+ * e.g. several MiniSat instances with different restart strategies.  If no solver is added to the configuration, the
+ * portfolio consists of MiniSat, Glucose and CleaneLing with their default configurations.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PortfolioConfig extends Configuration {
+
+  /**
+   * The different solver types of the portfolio.
+   */
+  public enum SolverType {
+    MINISAT, GLUCOSE, MINICARD, CLEANELING
+  }
+
+  final List<Worker> workers;
+  final boolean shareUnits;
+  final int exchangeCapacity;
+
+  /**
+   * The builder for a portfolio configuration.
+   */
+  public static class Builder {
+    private final List<Worker> workers = new ArrayList<>();
+    private boolean shareUnits = false;
+    private int exchangeCapacity = 1 << 16;
+
+    /**
+     * Adds a MiniSat solver with a given configuration to the portfolio.
+     * @param config the MiniSat configuration
+     * @return the builder
+     */
+    public Builder miniSat(final MiniSatConfig config) {
+      this.workers.add(new Worker(SolverType.MINISAT, config, null, null));
+      return this;
+    }
+
+    /**
+     * Adds a Glucose solver with a given configuration to the portfolio.
+     * @param miniSatConfig the MiniSat configuration
+     * @param glucoseConfig the Glucose configuration
+     * @return the builder
+     */
+    public Builder glucose(final MiniSatConfig miniSatConfig, final GlucoseConfig glucoseConfig) {
+      this.workers.add(new Worker(SolverType.GLUCOSE, miniSatConfig, glucoseConfig, null));
+      return this;
+    }
+
+    /**
+     * Adds a MiniCard solver with a given configuration to the portfolio.
+     * @param config the MiniSat configuration
+     * @return the builder
+     */
+    public Builder miniCard(final MiniSatConfig config) {
+      this.workers.add(new Worker(SolverType.MINICARD, config, null, null));
+      return this;
+    }
+
+    /**
+     * Adds a full CleaneLing solver with a given configuration to the portfolio.
+     * @param config the CleaneLing configuration
+     * @return the builder
+     */
+    public Builder cleaneLing(final CleaneLingConfig config) {
+      this.workers.add(new Worker(SolverType.CLEANELING, null, null, config));
+      return this;
+    }
+
+    /**
+     * Turns the exchange of learnt unit clauses between the MiniSAT-style solvers of the portfolio on and off.  The
+     * default value is {@code false}.
+     * @param shareUnits {@code true} if learnt units should be shared, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder shareUnits(boolean shareUnits) {
+      this.shareUnits = shareUnits;
+      return this;
+    }
+
+    /**
+     * Sets the maximal number of units which are exchanged in a single call of the solver.  The default value is 65536.
+     * @param exchangeCapacity the capacity (should be at least 1)
+     * @return the builder
+     */
+    public Builder exchangeCapacity(int exchangeCapacity) {
+      this.exchangeCapacity = exchangeCapacity;
+      return this;
+    }
+
+    /**
+     * Builds the portfolio configuration.
+     * @return the configuration
+     */
+    public PortfolioConfig build() {
+      if (this.workers.isEmpty()) {
+        this.miniSat(new MiniSatConfig.Builder().build());
+        this.glucose(new MiniSatConfig.Builder().build(), new GlucoseConfig.Builder().build());
+        this.cleaneLing(new CleaneLingConfig.Builder().build());
+      }
+      return new PortfolioConfig(this);
+    }
+  }
+
+  /**
+   * Constructs a new portfolio configuration from a given builder.
+   * @param builder the builder
+   */
+  private PortfolioConfig(final Builder builder) {
+    super(ConfigurationType.PORTFOLIO);
+    this.workers = Collections.unmodifiableList(new ArrayList<>(builder.workers));
+    this.shareUnits = builder.shareUnits;
+    this.exchangeCapacity = builder.exchangeCapacity;
+  }
+
+  /**
+   * Returns the solvers of the portfolio.
+   * @return the solvers of the portfolio
+   */
+  public List<Worker> workers() {
+    return this.workers;
+  }
+
+  /**
+   * Returns whether learnt units are shared between the solvers.
+   * @return {@code true} if learnt units are shared, {@code false} otherwise
+   */
+  public boolean shareUnits() {
+    return this.shareUnits;
+  }
+
+  /**
+   * Returns the maximal number of exchanged units in a single call of the solver.
+   * @return the maximal number of exchanged units
+   */
+  public int exchangeCapacity() {
+    return this.exchangeCapacity;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("PortfolioConfig{\n");
+    sb.append("workers=").append(this.workers).append("\n");
+    sb.append("shareUnits=").append(this.shareUnits).append("\n");
+    sb.append("exchangeCapacity=").append(this.exchangeCapacity).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  /**
+   * The configuration of a single solver of the portfolio.
+   */
+  public static final class Worker {
+    private final SolverType type;
+    private final MiniSatConfig miniSatConfig;
+    private final GlucoseConfig glucoseConfig;
+    private final CleaneLingConfig cleaneLingConfig;
+
+    /**
+     * Constructs a new solver configuration.
+     * @param type             the solver type
+     * @param miniSatConfig    the MiniSat configuration or {@code null}
+     * @param glucoseConfig    the Glucose configuration or {@code null}
+     * @param cleaneLingConfig the CleaneLing configuration or {@code null}
+     */
+    private Worker(final SolverType type, final MiniSatConfig miniSatConfig, final GlucoseConfig glucoseConfig,
+                   final CleaneLingConfig cleaneLingConfig) {
+      this.type = type;
+      this.miniSatConfig = miniSatConfig;
+      this.glucoseConfig = glucoseConfig;
+      this.cleaneLingConfig = cleaneLingConfig;
+    }
+
+    /**
+     * Returns the solver type.
+     * @return the solver type
+     */
+    public SolverType type() {
+      return this.type;
+    }
+
+    /**
+     * Returns the MiniSat configuration or {@code null} for CleaneLing solvers.
+     * @return the MiniSat configuration
+     */
+    public MiniSatConfig miniSatConfig() {
+      return this.miniSatConfig;
+    }
+
+    /**
+     * Returns the Glucose configuration or {@code null} for all but Glucose solvers.
+     * @return the Glucose configuration
+     */
+    public GlucoseConfig glucoseConfig() {
+      return this.glucoseConfig;
+    }
+
+    /**
+     * Returns the CleaneLing configuration or {@code null} for MiniSAT-style solvers.
+     * @return the CleaneLing configuration
+     */
+    public CleaneLingConfig cleaneLingConfig() {
+      return this.cleaneLingConfig;
+    }
+
+    @Override
+    public String toString() {
+      return this.type.toString();
+    }
+  }
+}
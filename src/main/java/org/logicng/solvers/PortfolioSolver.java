@@ -0,0 +1,554 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.ModelEnumerationHandler;
+import org.logicng.handlers.SATHandler;
+import org.logicng.propositions.Proposition;
+import org.logicng.solvers.sat.MiniSatConfig;
+import org.logicng.solvers.sat.UnitExchange;
+import org.logicng.util.Pair;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+
+/**
+ * A portfolio SAT solver which runs several differently configured solvers in parallel on the same formula.
+ * <p>
+ * All formulas are added to each solver of the portfolio.  A call of {@code sat} starts all solvers on their own
+ * thread, returns the first answer, and cancels the other solvers.  The canceled solvers stop at their next conflict,
+ * each further call on the portfolio waits until they have stopped.  Models and unsat cores are taken from the solver
+ * which found the answer.  Optionally, the MiniSAT-style solvers of the portfolio exchange their learnt units during
+ * a call of {@code sat}.  Units are only exchanged between solvers with the same incremental mode and unsat core
+ * configuration.
+ * <p>
+ * Unsat cores are computed by the solver which found the answer, hence the unsat core generation must be activated
+ * either for all solvers of the portfolio or for none of them.  Saving and loading states is not supported by Glucose
+ * and by non-incremental MiniSAT-style solvers.  These solvers are removed from the portfolio on
+ * the first call of {@code saveState} until the portfolio is reset.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PortfolioSolver extends SATSolver {
+
+  private final PortfolioConfig config;
+  private final boolean unsatCoreGeneration;
+  private final List<PortfolioConfig.Worker> workers;
+  private final List<SATSolver> solvers;
+  private final List<Future<Tristate>> running;
+  private final ThreadPoolExecutor executor;
+  private SATSolver winner;
+  private Collection<? extends Literal> lastAssumptions;
+
+  /**
+   * Constructs a new portfolio solver.
+   * @param f      the formula factory
+   * @param config the portfolio configuration
+   * @throws IllegalArgumentException if the unsat core generation is only activated for some solvers of the portfolio
+   */
+  private PortfolioSolver(final FormulaFactory f, final PortfolioConfig config) {
+    super(f);
+    this.config = config;
+    this.unsatCoreGeneration = unsatCoreGeneration(config.workers.get(0));
+    for (final PortfolioConfig.Worker worker : config.workers)
+      if (unsatCoreGeneration(worker) != this.unsatCoreGeneration)
+        throw new IllegalArgumentException("The unsat core generation must be activated for all solvers of the " +
+                "portfolio or for none of them");
+    this.workers = new ArrayList<>(config.workers);
+    this.solvers = new ArrayList<>(config.workers.size());
+    for (final PortfolioConfig.Worker worker : config.workers)
+      this.solvers.add(createSolver(f, worker));
+    this.running = new ArrayList<>();
+    final int numThreads = this.solvers.size();
+    this.executor = new ThreadPoolExecutor(numThreads, numThreads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, "LogicNG-Portfolio");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    this.executor.allowCoreThreadTimeOut(true);
+    this.result = UNDEF;
+  }
+
+  /**
+   * Returns a new portfolio solver with MiniSat, Glucose and CleaneLing in their default configurations.
+   * @param f the formula factory
+   * @return the portfolio solver
+   */
+  public static PortfolioSolver portfolio(final FormulaFactory f) {
+    return new PortfolioSolver(f, new PortfolioConfig.Builder().build());
+  }
+
+  /**
+   * Returns a new portfolio solver with a given configuration.
+   * @param f      the formula factory
+   * @param config the configuration
+   * @return the portfolio solver
+   */
+  public static PortfolioSolver portfolio(final FormulaFactory f, final PortfolioConfig config) {
+    return new PortfolioSolver(f, config);
+  }
+
+  /**
+   * Creates a solver of the portfolio.
+   * @param f      the formula factory
+   * @param worker the configuration of the solver
+   * @return the solver
+   */
+  private static SATSolver createSolver(final FormulaFactory f, final PortfolioConfig.Worker worker) {
+    switch (worker.type()) {
+      case MINISAT:
+        return MiniSat.miniSat(f, worker.miniSatConfig());
+      case GLUCOSE:
+        return MiniSat.glucose(f, worker.miniSatConfig(), worker.glucoseConfig());
+      case MINICARD:
+        return MiniSat.miniCard(f, worker.miniSatConfig());
+      case CLEANELING:
+        return CleaneLing.full(f, worker.cleaneLingConfig());
+      default:
+        throw new IllegalArgumentException("Unknown solver type: " + worker.type());
+    }
+  }
+
+  /**
+   * Returns whether a solver of the portfolio generates unsat cores.
+   * @param worker the configuration of the solver
+   * @return {@code true} if the solver generates unsat cores, {@code false} otherwise
+   */
+  private static boolean unsatCoreGeneration(final PortfolioConfig.Worker worker) {
+    return worker.type() == PortfolioConfig.SolverType.CLEANELING
+            ? worker.cleaneLingConfig().unsatCoreGeneration()
+            : worker.miniSatConfig().unsatCoreGeneration();
+  }
+
+  /**
+   * Returns whether a solver of the portfolio supports saving and loading states.
+   * @param worker the configuration of the solver
+   * @return {@code true} if the solver supports states, {@code false} otherwise
+   */
+  private static boolean supportsStates(final PortfolioConfig.Worker worker) {
+    switch (worker.type()) {
+      case MINISAT:
+      case MINICARD:
+        return worker.miniSatConfig().incremental();
+      case CLEANELING:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public void add(final Formula formula) {
+    this.awaitWorkers();
+    this.clearResult();
+    for (final SATSolver solver : this.solvers)
+      solver.add(formula);
+  }
+
+  @Override
+  public void add(final Proposition proposition) {
+    this.awaitWorkers();
+    this.clearResult();
+    for (final SATSolver solver : this.solvers)
+      solver.add(proposition);
+  }
+
+  @Override
+  protected void addClause(final Formula formula) {
+    this.awaitWorkers();
+    this.clearResult();
+    for (final SATSolver solver : this.solvers)
+      solver.addClause(formula);
+  }
+
+  @Override
+  public Tristate sat(final SATHandler handler) {
+    if (this.result != UNDEF && this.lastAssumptions == null)
+      return this.result;
+    return this.solve(handler, null);
+  }
+
+  @Override
+  public Tristate sat(final SATHandler handler, final Literal literal) {
+    return this.solve(handler, Collections.singletonList(literal));
+  }
+
+  @Override
+  public Tristate sat(final SATHandler handler, final Collection<? extends Literal> assumptions) {
+    return this.solve(handler, assumptions);
+  }
+
+  /**
+   * Runs the solvers of the portfolio in parallel and returns the first answer.  The other solvers are canceled, but
+   * not awaited.
+   * @param handler     the SAT handler
+   * @param assumptions the assumptions or {@code null} if there are no assumptions
+   * @return the result of the first solver which finished
+   */
+  private Tristate solve(final SATHandler handler, final Collection<? extends Literal> assumptions) {
+    this.awaitWorkers();
+    this.clearResult();
+    this.lastAssumptions = assumptions;
+    if (handler != null)
+      handler.startedSolving();
+    final AtomicBoolean finished = new AtomicBoolean(false);
+    if (this.config.shareUnits)
+      this.connectUnitExchanges();
+    final CompletionService<Tristate> completionService = new ExecutorCompletionService<>(this.executor);
+    final Map<Future<Tristate>, SATSolver> futures = new HashMap<>();
+    for (final SATSolver solver : this.solvers) {
+      solver.result = UNDEF; // the cached result of a solver might stem from a call with assumptions
+      final WorkerHandler workerHandler = new WorkerHandler(finished, handler);
+      final Future<Tristate> future = completionService.submit(new Callable<Tristate>() {
+        @Override
+        public Tristate call() {
+          return assumptions == null ? solver.sat(workerHandler) : solver.sat(workerHandler, assumptions);
+        }
+      });
+      futures.put(future, solver);
+      this.running.add(future);
+    }
+    RuntimeException exception = null;
+    boolean interrupted = false;
+    for (int i = 0; i < futures.size() && this.winner == null; i++) {
+      Future<Tristate> future = null;
+      while (future == null) {
+        try {
+          future = completionService.take();
+        } catch (final InterruptedException e) {
+          interrupted = true;
+          finished.set(true);
+        }
+      }
+      try {
+        final Tristate solverResult = future.get();
+        if (solverResult != UNDEF) {
+          this.winner = futures.get(future);
+          this.result = solverResult;
+        }
+      } catch (final InterruptedException | ExecutionException e) {
+        finished.set(true);
+        if (exception == null)
+          exception = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e);
+      }
+    }
+    finished.set(true);
+    if (interrupted)
+      Thread.currentThread().interrupt();
+    if (handler != null)
+      handler.finishedSolving();
+    if (exception != null && this.winner == null) {
+      this.awaitWorkers();
+      throw exception;
+    }
+    return this.result;
+  }
+
+  /**
+   * Connects the MiniSAT-style solvers of the portfolio to unit exchanges.  Solvers share an exchange if they have
+   * the same incremental mode and unsat core configuration.
+   */
+  private void connectUnitExchanges() {
+    final Map<Pair<Boolean, Boolean>, UnitExchange> exchanges = new HashMap<>();
+    for (int i = 0; i < this.solvers.size(); i++) {
+      if (!(this.solvers.get(i) instanceof MiniSat))
+        continue;
+      final MiniSatConfig miniSatConfig = this.workers.get(i).miniSatConfig();
+      final Pair<Boolean, Boolean> key = new Pair<>(miniSatConfig.incremental(), miniSatConfig.unsatCoreGeneration());
+      UnitExchange exchange = exchanges.get(key);
+      if (exchange == null) {
+        exchange = new UnitExchange(this.config.exchangeCapacity);
+        exchanges.put(key, exchange);
+      }
+      ((MiniSat) this.solvers.get(i)).underlyingSolver().setUnitExchange(exchange);
+    }
+  }
+
+  /**
+   * Waits until the solvers which were canceled by the last call of {@code sat} have stopped and disconnects the
+   * solvers from their unit exchanges.
+   */
+  private void awaitWorkers() {
+    if (this.running.isEmpty())
+      return;
+    boolean interrupted = false;
+    for (final Future<Tristate> future : this.running) {
+      boolean done = false;
+      while (!done) {
+        try {
+          future.get();
+          done = true;
+        } catch (final InterruptedException e) {
+          interrupted = true;
+        } catch (final ExecutionException | CancellationException e) {
+          done = true; // the result of the portfolio is already determined
+        }
+      }
+    }
+    this.running.clear();
+    for (final SATSolver solver : this.solvers)
+      if (solver instanceof MiniSat)
+        ((MiniSat) solver).underlyingSolver().setUnitExchange(null);
+    if (interrupted)
+      Thread.currentThread().interrupt();
+  }
+
+  /**
+   * Clears the current result of the portfolio.
+   */
+  private void clearResult() {
+    this.result = UNDEF;
+    this.winner = null;
+  }
+
+  @Override
+  public void reset() {
+    this.awaitWorkers();
+    if (this.solvers.size() < this.config.workers.size()) {
+      this.workers.clear();
+      this.workers.addAll(this.config.workers);
+      this.solvers.clear();
+      for (final PortfolioConfig.Worker worker : this.config.workers)
+        this.solvers.add(createSolver(this.f, worker));
+    } else
+      for (final SATSolver solver : this.solvers)
+        solver.reset();
+    this.clearResult();
+    this.lastAssumptions = null;
+  }
+
+  @Override
+  public Assignment model(final Collection<Variable> variables) {
+    if (this.result == UNDEF)
+      throw new IllegalStateException("Cannot get a model as long as the formula is not solved.  Call 'sat' first.");
+    return this.result == TRUE ? this.winner.model(variables) : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The models are enumerated by the whole portfolio.  If all solvers of the portfolio support states, the blocking
+   * clauses are removed after the enumeration, otherwise they remain in all solvers.
+   */
+  @Override
+  public List<Assignment> enumerateAllModels(final Collection<Variable> variables) {
+    return this.enumerateAllModels(variables, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The models are enumerated by the whole portfolio.  If all solvers of the portfolio support states, the blocking
+   * clauses are removed after the enumeration, otherwise they remain in all solvers.
+   */
+  @Override
+  public List<Assignment> enumerateAllModels(final Collection<Variable> variables, final ModelEnumerationHandler handler) {
+    this.awaitWorkers();
+    boolean statesSupported = true;
+    for (final PortfolioConfig.Worker worker : this.workers)
+      statesSupported &= supportsStates(worker);
+    final SolverState stateBeforeEnumeration = statesSupported ? this.saveStates() : null;
+    for (final SATSolver solver : this.solvers)
+      if (solver instanceof CleaneLing && ((CleaneLing) solver).simplifies())
+        ((CleaneLing) solver).freeze(variables);
+    final List<Assignment> models = new LinkedList<>();
+    boolean proceed = true;
+    while (proceed && this.sat((SATHandler) null) == TRUE) {
+      final Assignment model = this.model(variables);
+      assert model != null;
+      models.add(model);
+      proceed = handler == null || handler.foundModel(model);
+      this.add(model.blockingClause(this.f, variables));
+    }
+    if (stateBeforeEnumeration != null)
+      this.loadState(stateBeforeEnumeration);
+    return models;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The unsat core is computed by the solver which found the result.
+   */
+  @Override
+  public List<Proposition> unsatCore(boolean minimize) {
+    if (!this.unsatCoreGeneration)
+      throw new IllegalStateException("Cannot compute an unsat core if the unsat core generation is not activated.");
+    if (this.result != FALSE)
+      throw new IllegalStateException("An unsat core can only be generated if the formula is solved and is UNSAT");
+    this.awaitWorkers();
+    return this.winner.unsatCore(minimize);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The state of the portfolio consists of the states of all its solvers.  Solvers which do not support states are
+   * removed from the portfolio until it is reset.
+   * @throws UnsupportedOperationException if no solver of the portfolio supports states
+   */
+  @Override
+  public SolverState saveState() {
+    this.awaitWorkers();
+    boolean statesSupported = false;
+    for (final PortfolioConfig.Worker worker : this.workers)
+      statesSupported |= supportsStates(worker);
+    if (!statesSupported)
+      throw new UnsupportedOperationException("No solver of the portfolio supports saving and loading states, " +
+              "Glucose and non-incremental MiniSAT-style solvers do not support states");
+    for (int i = this.solvers.size() - 1; i >= 0; i--) {
+      if (!supportsStates(this.workers.get(i))) {
+        this.workers.remove(i);
+        this.solvers.remove(i);
+      }
+    }
+    return this.saveStates();
+  }
+
+  /**
+   * Saves the states of all solvers of the portfolio.
+   * @return the state of the portfolio
+   */
+  private SolverState saveStates() {
+    final List<int[]> states = new ArrayList<>(this.solvers.size());
+    int size = 1;
+    for (final SATSolver solver : this.solvers) {
+      final int[] state = solver.saveState().state();
+      states.add(state);
+      size += state.length + 1;
+    }
+    final int[] state = new int[size];
+    state[0] = states.size();
+    int pos = 1;
+    for (final int[] solverState : states) {
+      state[pos++] = solverState.length;
+      System.arraycopy(solverState, 0, state, pos, solverState.length);
+      pos += solverState.length;
+    }
+    return new SolverState(state);
+  }
+
+  @Override
+  public void loadState(final SolverState state) {
+    this.awaitWorkers();
+    final int[] portfolioState = state.state();
+    if (portfolioState.length == 0 || portfolioState[0] != this.solvers.size())
+      throw new IllegalArgumentException("The state was not saved by this portfolio solver.");
+    int pos = 1;
+    for (final SATSolver solver : this.solvers) {
+      final int length = portfolioState[pos++];
+      final int[] solverState = new int[length];
+      System.arraycopy(portfolioState, pos, solverState, 0, length);
+      pos += length;
+      solver.loadState(new SolverState(solverState));
+    }
+    this.clearResult();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("PortfolioSolver{result=%s, solvers=%s, shareUnits=%s}", this.result, this.workers,
+            this.config.shareUnits);
+  }
+
+  /**
+   * The SAT handler of a single solver of the portfolio.  It cancels the solver as soon as another solver has
+   * finished or the SAT handler of the portfolio cancels the solving process.
+   */
+  private static final class WorkerHandler implements SATHandler {
+    private final AtomicBoolean finished;
+    private final SATHandler handler;
+
+    /**
+     * Constructs a new handler.
+     * @param finished the flag which indicates that the solving process of the portfolio is finished
+     * @param handler  the SAT handler of the portfolio or {@code null}
+     */
+    private WorkerHandler(final AtomicBoolean finished, final SATHandler handler) {
+      this.finished = finished;
+      this.handler = handler;
+    }
+
+    @Override
+    public boolean detectedConflict() {
+      if (this.finished.get())
+        return false;
+      if (this.handler == null)
+        return true;
+      synchronized (this.handler) {
+        if (!this.handler.detectedConflict()) {
+          this.finished.set(true);
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void startedSolving() {
+      // the portfolio handler is started by the portfolio
+    }
+
+    @Override
+    public void finishedSolving() {
+      // the portfolio handler is finished by the portfolio
+    }
+  }
+}
@@ -28,22 +28,29 @@
 
 package org.logicng.solvers;
 
+import org.logicng.cardinalityconstraints.CCConfig;
+import org.logicng.cardinalityconstraints.CCEncoder;
+import org.logicng.cardinalityconstraints.CCIncrementalData;
 import org.logicng.collections.ImmutableFormulaList;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
+import org.logicng.formulas.PBConstraint;
 import org.logicng.formulas.Variable;
 import org.logicng.handlers.ModelEnumerationHandler;
 import org.logicng.handlers.SATHandler;
 import org.logicng.propositions.Proposition;
 import org.logicng.pseudobooleans.PBEncoder;
-import org.logicng.pseudobooleans.PBSWC;
+import org.logicng.pseudobooleans.PBSelector;
+import org.logicng.util.Pair;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A generic interface for LogicNG's SAT solvers.
@@ -55,6 +62,7 @@ public abstract class SATSolver {
 
   protected final FormulaFactory f;
   protected final PBEncoder pbEncoder;
+  protected final CCEncoder ccEncoder;
   protected Tristate result;
 
   /**
@@ -63,7 +71,8 @@ public abstract class SATSolver {
    */
   protected SATSolver(final FormulaFactory f) {
     this.f = f;
-    this.pbEncoder = new PBSWC(f);
+    this.pbEncoder = new PBSelector(f);
+    this.ccEncoder = new CCEncoder(f);
   }
 
   /**
@@ -101,6 +110,72 @@ public abstract class SATSolver {
       this.add(formula);
   }
 
+  /**
+   * Adds a collection of independent formulas to the solver and uses a new fork-join pool for their preprocessing.
+   * @param formulas the collection of formulas
+   * @see #addParallel(Collection, ForkJoinPool)
+   */
+  public void addParallel(final Collection<? extends Formula> formulas) {
+    final ForkJoinPool pool = new ForkJoinPool();
+    try {
+      this.addParallel(formulas, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Adds a collection of independent formulas to the solver.  The result is the same as for
+   * {@link #add(Collection)}, but solvers may preprocess the formulas, e.g. convert them to CNF, in parallel on the
+   * given pool.  This requires a concurrent formula factory, otherwise the formulas are added sequentially.  The
+   * default implementation always adds the formulas sequentially.
+   * @param formulas the collection of formulas
+   * @param pool     the fork-join pool
+   */
+  public void addParallel(final Collection<? extends Formula> formulas, final ForkJoinPool pool) {
+    this.add(formulas);
+  }
+
+  /**
+   * Adds an at-most-k cardinality constraint to the solver whose bound can be tightened afterwards.
+   * <p>
+   * The constraint is encoded only once with the at-most-k encoding of the {@link CCConfig} of the formula factory.
+   * The bound can then be tightened permanently by adding {@link CCIncrementalData#newUpperBound(int)} to the solver
+   * or temporarily by solving under the assumption {@link #upperBoundAssumption(CCIncrementalData, int)}.  This avoids
+   * a new encoding for each bound, e.g. in an optimization loop with decreasing bounds.
+   * @param cc the cardinality constraint with comparator {@code <=} or {@code <}
+   * @return the incremental data of the constraint
+   * @throws IllegalArgumentException if the constraint is no at-most-k cardinality constraint
+   */
+  public CCIncrementalData addIncrementalCC(final PBConstraint cc) {
+    final Pair<ImmutableFormulaList, CCIncrementalData> encoding = this.ccEncoder.encodeIncremental(cc);
+    this.add(encoding.first());
+    return encoding.second();
+  }
+
+  /**
+   * Returns a literal which enforces a given upper bound of an incremental cardinality constraint if it is used as an
+   * assumption.  The current right hand side of the constraint is not changed.  If the bound cannot be expressed by a
+   * single literal of the encoding, a new selector variable is generated and the clauses of the bound are added to the
+   * solver guarded by this selector.
+   * @param data the incremental data of the constraint
+   * @param rhs  the upper bound
+   * @return the literal for the assumption
+   * @throws IllegalArgumentException if the bound is negative or larger than the current right hand side
+   */
+  public Literal upperBoundAssumption(final CCIncrementalData data, int rhs) {
+    final Formula bound = data.upperBound(rhs);
+    if (bound.type() == FType.LITERAL)
+      return (Literal) bound;
+    final Variable selector = this.f.newCCVariable();
+    if (bound.type() == FType.AND)
+      for (final Formula clause : bound)
+        this.add(this.f.or(selector.negate(), clause));
+    else
+      this.add(this.f.or(selector.negate(), bound));
+    return selector;
+  }
+
   /**
    * Adds a formula which is already in CNF to the solver.
    * @param formula the formula in CNF
@@ -277,6 +352,31 @@ public abstract class SATSolver {
    */
   public abstract List<Assignment> enumerateAllModels(final Collection<Variable> variables, final ModelEnumerationHandler handler);
 
+  /**
+   * Returns an unsatisfiable core of the propositions added to the solver.  The formula in the solver has to be
+   * solved first and must be unsatisfiable.  Formulas which were not added as a proposition are treated as hard and
+   * are never part of the core.
+   * @return the propositions of the unsatisfiable core
+   * @throws UnsupportedOperationException if the solver does not support the computation of unsatisfiable cores
+   * @throws IllegalStateException         if the unsat core generation is not activated or the formula is not yet
+   *                                       proven unsatisfiable
+   */
+  public List<Proposition> unsatCore() {
+    return this.unsatCore(false);
+  }
+
+  /**
+   * Returns an unsatisfiable core of the propositions added to the solver.  If {@code minimize} is set, a
+   * deletion-based minimization is performed and the resulting core is minimal, i.e. removing any proposition of the
+   * core makes the formula satisfiable.
+   * @param minimize {@code true} if the core should be minimized, {@code false} otherwise
+   * @return the propositions of the unsatisfiable core
+   * @throws UnsupportedOperationException if the solver does not support the computation of unsatisfiable cores
+   * @throws IllegalStateException         if the unsat core generation is not activated or the formula is not yet
+   *                                       proven unsatisfiable
+   */
+  public abstract List<Proposition> unsatCore(boolean minimize);
+
   /**
    * Saves the current solver state.
    * @return the current solver state
@@ -0,0 +1,168 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.formulas.Variable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A bidirectional mapping between variables and solver indices for the solver wrappers.
+ * <p>
+ * Variables are mapped by their factory id in a plain integer array and solver indices are mapped back to the
+ * variables in a vector.  Hence looking up a known variable and extracting a model are both constant time per
+ * variable.  Only if a variable is not found by its id, e.g. because it stems from another formula factory, it is
+ * looked up by its name.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+final class VariableIndexTable {
+
+  private final LNGIntVector id2idx;
+  private final LNGVector<Variable> idx2var;
+  private final Map<String, Integer> name2idx;
+  private int size;
+
+  /**
+   * Constructs a new empty table.
+   */
+  VariableIndexTable() {
+    this.id2idx = new LNGIntVector();
+    this.idx2var = new LNGVector<>();
+    this.name2idx = new HashMap<>();
+    this.size = 0;
+  }
+
+  /**
+   * Returns the solver index of a given variable.
+   * @param var the variable
+   * @return the solver index or -1 if the variable is unknown
+   */
+  int index(final Variable var) {
+    final int id = var.id();
+    if (id < this.id2idx.size()) {
+      final int index = this.id2idx.get(id);
+      if (index != -1 && index < this.idx2var.size() && this.idx2var.get(index) == var)
+        return index;
+    }
+    final Integer index = this.name2idx.get(var.name());
+    if (index == null)
+      return -1;
+    this.mapId(var, index);
+    return index;
+  }
+
+  /**
+   * Returns the variable for a given solver index.
+   * @param index the solver index
+   * @return the variable or {@code null} if there is no variable for this index
+   */
+  Variable variable(int index) {
+    return index < this.idx2var.size() ? this.idx2var.get(index) : null;
+  }
+
+  /**
+   * Maps a variable to a given solver index.
+   * @param var   the variable
+   * @param index the solver index
+   */
+  void put(final Variable var, int index) {
+    if (index >= this.idx2var.size())
+      this.idx2var.growTo(index + 1, null);
+    if (this.idx2var.get(index) == null)
+      this.size++;
+    this.idx2var.set(index, var);
+    this.name2idx.put(var.name(), index);
+    this.mapId(var, index);
+  }
+
+  /**
+   * Maps the id of a given variable to a given solver index.
+   * @param var   the variable
+   * @param index the solver index
+   */
+  private void mapId(final Variable var, int index) {
+    final int id = var.id();
+    if (id >= this.id2idx.size())
+      this.id2idx.growTo(id + 1, -1);
+    this.id2idx.set(id, index);
+  }
+
+  /**
+   * Removes all variables with a solver index greater or equal than a given index.  Stale entries of the id table
+   * are detected on lookup, so only the index table has to be shrunk.
+   * @param numIndices the number of solver indices to keep
+   */
+  void shrinkTo(int numIndices) {
+    for (int i = this.idx2var.size() - 1; i >= numIndices; i--) {
+      final Variable var = this.idx2var.get(i);
+      if (var != null) {
+        this.name2idx.remove(var.name());
+        this.size--;
+      }
+    }
+    this.idx2var.shrinkTo(numIndices);
+  }
+
+  /**
+   * Returns the number of mapped variables.
+   * @return the number of mapped variables
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the number of solver indices covered by this table, i.e. the largest mapped index plus one.
+   * @return the number of solver indices
+   */
+  int numIndices() {
+    return this.idx2var.size();
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("{");
+    boolean first = true;
+    for (int i = 0; i < this.idx2var.size(); i++) {
+      final Variable var = this.idx2var.get(i);
+      if (var == null)
+        continue;
+      if (!first)
+        sb.append(", ");
+      sb.append(var).append("=").append(i);
+      first = false;
+    }
+    return sb.append("}").toString();
+  }
+}
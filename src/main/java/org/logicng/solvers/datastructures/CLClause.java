@@ -88,6 +88,7 @@ public final class CLClause {
   private boolean dumped;
   private boolean satisfied;
   private long activity;
+  private int stamp;
   private LNGIntVector lits;
 
   /**
@@ -202,6 +203,22 @@ public final class CLClause {
     this.activity = activity;
   }
 
+  /**
+   * Returns the stamp of this clause, i.e. the number of clauses which were created before it by the solver.
+   * @return the stamp of this clause
+   */
+  public int stamp() {
+    return this.stamp;
+  }
+
+  /**
+   * Sets the stamp of this clause.
+   * @param stamp the stamp
+   */
+  public void setStamp(int stamp) {
+    this.stamp = stamp;
+  }
+
   /**
    * Returns {@code true} if this clause is redundant, i.e. learnt, {@code false} otherwise.
    * @return {@code true} if this clause is redundant
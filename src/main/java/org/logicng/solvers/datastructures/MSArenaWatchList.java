@@ -0,0 +1,224 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+/******************************************************************************************
+ * MiniSat -- Copyright (c) 2003-2006, Niklas Een, Niklas Sorensson
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************************/
+
+
+package org.logicng.solvers.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A watch list for clauses stored in a {@link MSClauseArena}.
+ * <p>
+ * The watchers are stored in one integer array which holds the reference of the watched clause and the blocking
+ * literal of each watcher next to each other.  A watch list is dirty if it may still contain watchers of deleted
+ * clauses.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MSArenaWatchList {
+  private int[] watchers;
+  private int size;
+  private boolean dirty;
+
+  /**
+   * Constructs a new watch list with an initial capacity of 4 watchers.
+   */
+  public MSArenaWatchList() {
+    this(4);
+  }
+
+  /**
+   * Constructs a new watch list with a given capacity.
+   * @param capacity the capacity of the watch list
+   */
+  public MSArenaWatchList(int capacity) {
+    this.watchers = new int[2 * capacity];
+  }
+
+  /**
+   * Returns the number of watchers in this watch list.
+   * @return the number of watchers in this watch list
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns whether this watch list is empty or not.
+   * @return {@code true} if this watch list is empty, {@code false} otherwise
+   */
+  public boolean empty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Returns the reference of the watched clause of the watcher at a given position.
+   * @param position the position
+   * @return the reference of the watched clause
+   */
+  public int ref(int position) {
+    return this.watchers[2 * position];
+  }
+
+  /**
+   * Returns the blocking literal of the watcher at a given position.
+   * @param position the position
+   * @return the blocking literal of the watcher at the position
+   */
+  public int blocker(int position) {
+    return this.watchers[2 * position + 1];
+  }
+
+  /**
+   * Pushes a new watcher at the end of this watch list.
+   * @param ref     the reference of the watched clause
+   * @param blocker the blocking literal
+   */
+  public void push(int ref, int blocker) {
+    if (2 * this.size == this.watchers.length)
+      this.watchers = Arrays.copyOf(this.watchers, Math.max(8, 4 * this.size));
+    this.watchers[2 * this.size] = ref;
+    this.watchers[2 * this.size++ + 1] = blocker;
+  }
+
+  /**
+   * Sets the watcher at a given position.
+   * @param position the position
+   * @param ref      the reference of the watched clause
+   * @param blocker  the blocking literal
+   */
+  public void set(int position, int ref, int blocker) {
+    this.watchers[2 * position] = ref;
+    this.watchers[2 * position + 1] = blocker;
+  }
+
+  /**
+   * Copies the watcher at position {@code from} to position {@code to}.
+   * @param from the source position
+   * @param to   the target position
+   */
+  public void move(int from, int to) {
+    this.watchers[2 * to] = this.watchers[2 * from];
+    this.watchers[2 * to + 1] = this.watchers[2 * from + 1];
+  }
+
+  /**
+   * Removes a given number of watchers from the end of this watch list.
+   * @param num the number of watchers to remove
+   */
+  public void removeElements(int num) {
+    this.size -= num;
+  }
+
+  /**
+   * Removes all watchers of clauses with a reference greater or equal than a given reference.
+   * @param ref the clause reference
+   */
+  public void removeFrom(int ref) {
+    int j = 0;
+    for (int i = 0; i < this.size; i++)
+      if (this.watchers[2 * i] < ref)
+        this.move(i, j++);
+    this.size = j;
+  }
+
+  /**
+   * Returns {@code true} if this watch list may contain watchers of deleted clauses, {@code false} otherwise.
+   * @return {@code true} if this watch list is dirty
+   */
+  public boolean dirty() {
+    return this.dirty;
+  }
+
+  /**
+   * Marks this watch list as dirty.
+   */
+  public void setDirty() {
+    this.dirty = true;
+  }
+
+  /**
+   * Removes all watchers of deleted clauses and marks this watch list as clean.
+   * @param arena the clause arena of the watched clauses
+   */
+  public void clean(final MSClauseArena arena) {
+    int j = 0;
+    for (int i = 0; i < this.size; i++)
+      if (!arena.deleted(this.watchers[2 * i]))
+        this.move(i, j++);
+    this.size = j;
+    this.dirty = false;
+  }
+
+  /**
+   * Relocates the watched clauses of this watch list to a new arena.
+   * @param from the current arena of the watched clauses
+   * @param to   the new arena
+   */
+  public void relocate(final MSClauseArena from, final MSClauseArena to) {
+    for (int i = 0; i < this.size; i++)
+      this.watchers[2 * i] = from.relocate(this.watchers[2 * i], to);
+  }
+
+  /**
+   * Clears this watch list.
+   */
+  public void clear() {
+    this.size = 0;
+    this.dirty = false;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("MSArenaWatchList{size=").append(this.size).append(", watchers=[");
+    for (int i = 0; i < this.size; i++) {
+      sb.append("(").append(this.blocker(i)).append(", ").append(this.ref(i)).append(")");
+      if (i != this.size - 1)
+        sb.append(", ");
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+}
@@ -50,6 +50,9 @@ import java.util.Comparator;
 
 /**
  * A clause of the SAT solver for MiniSAT-style solvers.
+ * <p>
+ * The literals are stored inline in a plain integer array and the Boolean properties of the clause are packed in a
+ * single flag byte in order to keep the memory footprint of large clause databases small.
  * @author Christoph Zengler
  * @version 1.0
  * @since 1.0
@@ -86,15 +89,19 @@ public class MSClause {
     }
   };
 
-  private LNGIntVector data;
+  private static final byte LEARNT = 0x01;
+  private static final byte SEEN = 0x02;
+  private static final byte CAN_BE_DEL = 0x04;
+  private static final byte ONE_WATCHED = 0x08;
+  private static final byte AT_MOST = 0x10;
+  private static final byte PB = 0x20;
+
+  private final int[] lits;
+  private int size;
   private double activity;
-  private boolean learnt;
+  private byte flags;
   private int szWithoutSelectors;
-  private boolean seen;
-  private long lbd;
-  private boolean canBeDel;
-  private boolean oneWatched;
-  private boolean isAtMost;
+  private int lbd;
   private int atMostWatchers;
 
   /**
@@ -113,25 +120,35 @@ public class MSClause {
    * @param isAtMost {@code true} if it is an at-most clause, {@code false} otherwise
    */
   public MSClause(final LNGIntVector ps, boolean learnt, boolean isAtMost) {
-    this.data = new LNGIntVector(ps.size());
-    for (int i = 0; i < ps.size(); i++)
-      this.data.unsafePush(ps.get(i));
-    this.learnt = learnt;
+    this.size = ps.size();
+    this.lits = new int[this.size];
+    for (int i = 0; i < this.size; i++)
+      this.lits[i] = ps.get(i);
+    this.flags = CAN_BE_DEL;
+    if (learnt)
+      this.flags |= LEARNT;
+    if (isAtMost)
+      this.flags |= AT_MOST;
     this.szWithoutSelectors = 0;
-    this.seen = false;
     this.lbd = 0;
-    this.canBeDel = true;
-    this.oneWatched = false;
-    this.isAtMost = isAtMost;
     this.atMostWatchers = -1;
   }
 
+  /**
+   * Constructs a new pseudo-Boolean constraint.  Only used by {@link MSPBConstraint}.
+   * @param ps the vector of literals
+   */
+  protected MSClause(final LNGIntVector ps) {
+    this(ps, false, false);
+    this.flags |= PB;
+  }
+
   /**
    * Returns the size (number of literals) of this clause.
    * @return the size
    */
   public int size() {
-    return this.data.size();
+    return this.size;
   }
 
   /**
@@ -140,7 +157,7 @@ public class MSClause {
    * @return the literal at index {@code i}
    */
   public int get(int i) {
-    return this.data.get(i);
+    return this.lits[i];
   }
 
   /**
@@ -149,7 +166,7 @@ public class MSClause {
    * @param lit the literal
    */
   public void set(int i, int lit) {
-    this.data.set(i, lit);
+    this.lits[i] = lit;
   }
 
   /**
@@ -180,7 +197,7 @@ public class MSClause {
    * @return {@code true} if this clause is learnt
    */
   public boolean learnt() {
-    return this.learnt;
+    return (this.flags & LEARNT) != 0;
   }
 
   /**
@@ -204,7 +221,7 @@ public class MSClause {
    * @return {@code true} if this clause is marked 'seen'
    */
   public boolean seen() {
-    return this.seen;
+    return (this.flags & SEEN) != 0;
   }
 
   /**
@@ -212,7 +229,7 @@ public class MSClause {
    * @param seen the 'seen' flag
    */
   public void setSeen(boolean seen) {
-    this.seen = seen;
+    this.setFlag(SEEN, seen);
   }
 
   /**
@@ -228,7 +245,7 @@ public class MSClause {
    * @param lbd the LBD of this clause
    */
   public void setLBD(long lbd) {
-    this.lbd = lbd;
+    this.lbd = (int) lbd;
   }
 
   /**
@@ -236,7 +253,7 @@ public class MSClause {
    * @return {@code true} if this clause can be deleted
    */
   public boolean canBeDel() {
-    return this.canBeDel;
+    return (this.flags & CAN_BE_DEL) != 0;
   }
 
   /**
@@ -244,7 +261,7 @@ public class MSClause {
    * @param canBeDel {@code true} if it can be deleted, {@code false} otherwise
    */
   public void setCanBeDel(boolean canBeDel) {
-    this.canBeDel = canBeDel;
+    this.setFlag(CAN_BE_DEL, canBeDel);
   }
 
   /**
@@ -252,7 +269,7 @@ public class MSClause {
    * @return {@code true} if this clause is a one literal watched clause
    */
   public boolean oneWatched() {
-    return this.oneWatched;
+    return (this.flags & ONE_WATCHED) != 0;
   }
 
   /**
@@ -260,7 +277,7 @@ public class MSClause {
    * @param oneWatched {@code true} if it is a one literal watched clause, {@code false} otherwise
    */
   public void setOneWatched(boolean oneWatched) {
-    this.oneWatched = oneWatched;
+    this.setFlag(ONE_WATCHED, oneWatched);
   }
 
   /**
@@ -268,7 +285,15 @@ public class MSClause {
    * @return {@code true} if this is an at-most clause
    */
   public boolean isAtMost() {
-    return this.isAtMost;
+    return (this.flags & AT_MOST) != 0;
+  }
+
+  /**
+   * Returns {@code true} if this is a pseudo-Boolean constraint, {@code false} otherwise.
+   * @return {@code true} if this is a pseudo-Boolean constraint
+   */
+  public boolean isPB() {
+    return (this.flags & PB) != 0;
   }
 
   /**
@@ -276,7 +301,7 @@ public class MSClause {
    * @return the number of watchers
    */
   public int atMostWatchers() {
-    assert this.isAtMost;
+    assert this.isAtMost();
     return this.atMostWatchers;
   }
 
@@ -285,38 +310,48 @@ public class MSClause {
    * @param atMostWatchers the number of watchers
    */
   public void setAtMostWatchers(int atMostWatchers) {
-    assert this.isAtMost;
+    assert this.isAtMost();
     this.atMostWatchers = atMostWatchers;
   }
 
+  /**
+   * Sets or clears a given flag of this clause.
+   * @param flag  the flag
+   * @param value {@code true} if the flag should be set, {@code false} if it should be cleared
+   */
+  private void setFlag(byte flag, boolean value) {
+    if (value)
+      this.flags |= flag;
+    else
+      this.flags &= ~flag;
+  }
+
   /**
    * Pops (removes) the last literal of this clause.
    */
   public void pop() {
-    this.data.pop();
+    this.size--;
   }
 
   @Override
   public int hashCode() {
-    return this.data.hashCode();
+    int result = 1;
+    for (int i = 0; i < this.size; i++)
+      result = 31 * result + this.lits[i];
+    return result;
   }
 
   @Override
   public boolean equals(Object o) {
-    return this == o || o instanceof MSClause && dataEquals(this.data, ((MSClause) o).data);
-  }
-
-  /**
-   * Compares two integer vector for equality.
-   * @param v1 the first integer vector
-   * @param v2 the second integer vector
-   * @return {@code true} if the two vectors are equal, {@code false} otherwise
-   */
-  private static boolean dataEquals(final LNGIntVector v1, final LNGIntVector v2) {
-    if (v1.size() != v2.size())
+    if (this == o)
+      return true;
+    if (!(o instanceof MSClause))
+      return false;
+    final MSClause other = (MSClause) o;
+    if (this.size != other.size)
       return false;
-    for (int i = 0; i < v1.size(); i++)
-      if (v1.get(i) != v2.get(i))
+    for (int i = 0; i < this.size; i++)
+      if (this.lits[i] != other.lits[i])
         return false;
     return true;
   }
@@ -325,19 +360,19 @@ public class MSClause {
   public String toString() {
     final StringBuilder sb = new StringBuilder("MSClause{");
     sb.append("activity=").append(this.activity).append(", ");
-    sb.append("learnt=").append(this.learnt).append(", ");
+    sb.append("learnt=").append(this.learnt()).append(", ");
     sb.append("szWithoutSelectors=").append(this.szWithoutSelectors).append(", ");
-    sb.append("seen=").append(this.seen).append(", ");
+    sb.append("seen=").append(this.seen()).append(", ");
     sb.append("lbd=").append(this.lbd).append(", ");
-    sb.append("canBeDel=").append(this.canBeDel).append(", ");
-    sb.append("oneWatched=").append(this.oneWatched).append(", ");
-    sb.append("isAtMost=").append(this.isAtMost).append(", ");
+    sb.append("canBeDel=").append(this.canBeDel()).append(", ");
+    sb.append("oneWatched=").append(this.oneWatched()).append(", ");
+    sb.append("isAtMost=").append(this.isAtMost()).append(", ");
     sb.append("atMostWatchers=").append(this.atMostWatchers).append(", ");
     sb.append("lits=[");
-    for (int i = 0; i < this.data.size(); i++) {
-      int lit = this.data.get(i);
+    for (int i = 0; i < this.size; i++) {
+      int lit = this.lits[i];
       sb.append((lit & 1) == 1 ? "-" : "").append(lit >> 1);
-      if (i != this.data.size() - 1)
+      if (i != this.size - 1)
         sb.append(", ");
     }
     sb.append("]}");
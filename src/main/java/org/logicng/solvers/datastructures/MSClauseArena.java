@@ -0,0 +1,325 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+/******************************************************************************************
+ * MiniSat -- Copyright (c) 2003-2006, Niklas Een, Niklas Sorensson
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************************/
+
+
+package org.logicng.solvers.datastructures;
+
+import org.logicng.collections.LNGIntVector;
+
+import java.util.Arrays;
+
+/**
+ * A clause database for MiniSAT-style solvers which stores all clauses in one growable integer array.
+ * <p>
+ * A clause is addressed by its offset in the array (its clause reference).  The first integer of a clause is a header
+ * with the size of the clause, its LBD, and the flags for learnt, deleted, and relocated clauses, followed by the
+ * literals of the clause.  The header reserves 21 bits for the size and 8 bits for the LBD, hence clauses can have at
+ * most {@link #MAX_SIZE} literals and larger LBDs are stored as {@link #MAX_LBD}.  Learnt clauses additionally store
+ * their activity after the literals.  Deleted clauses are only marked
+ * as deleted, their memory is reclaimed by relocating all remaining clauses to a new arena.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MSClauseArena {
+
+  /**
+   * The undefined clause reference.
+   */
+  public static final int CREF_UNDEF = -1;
+
+  /**
+   * The maximal LBD which can be stored in a clause header.
+   */
+  public static final int MAX_LBD = 0xFF;
+
+  /**
+   * The maximal number of literals of a clause.
+   */
+  public static final int MAX_SIZE = (1 << 21) - 1;
+
+  private static final int LEARNT = 0x01;
+  private static final int DELETED = 0x02;
+  private static final int RELOCED = 0x04;
+  private static final int LBD_SHIFT = 3;
+  private static final int LBD_MASK = MAX_LBD << LBD_SHIFT;
+  private static final int SIZE_SHIFT = 11;
+
+  private int[] data;
+  private int size;
+  private int wasted;
+
+  /**
+   * Constructs a new clause arena with an initial capacity of 1024 integers.
+   */
+  public MSClauseArena() {
+    this(1024);
+  }
+
+  /**
+   * Constructs a new clause arena with a given initial capacity.
+   * @param capacity the initial capacity in integers
+   */
+  public MSClauseArena(int capacity) {
+    this.data = new int[Math.max(16, capacity)];
+  }
+
+  /**
+   * Allocates a new clause in this arena.
+   * @param lits   the literals of the clause
+   * @param learnt {@code true} if the clause is learnt, {@code false} otherwise
+   * @return the reference of the new clause
+   * @throws IllegalArgumentException if the clause has more than {@link #MAX_SIZE} literals
+   */
+  public int alloc(final LNGIntVector lits, boolean learnt) {
+    if (lits.size() > MAX_SIZE)
+      throw new IllegalArgumentException("A clause of the clause arena cannot have more than " + MAX_SIZE + " literals");
+    final int ref = this.reserve(1 + lits.size() + (learnt ? 1 : 0));
+    this.data[ref] = (lits.size() << SIZE_SHIFT) | (learnt ? LEARNT : 0);
+    for (int i = 0; i < lits.size(); i++)
+      this.data[ref + 1 + i] = lits.get(i);
+    if (learnt)
+      this.data[ref + 1 + lits.size()] = Float.floatToIntBits(0);
+    return ref;
+  }
+
+  /**
+   * Reserves a given number of integers at the end of this arena.
+   * @param words the number of integers
+   * @return the offset of the reserved integers
+   */
+  private int reserve(int words) {
+    if (this.size + words > this.data.length) {
+      long newCapacity = this.data.length;
+      while (newCapacity < (long) this.size + words)
+        newCapacity += (newCapacity >> 1) + 8;
+      if (newCapacity > Integer.MAX_VALUE)
+        throw new IllegalStateException("The clause arena cannot grow beyond " + Integer.MAX_VALUE + " integers");
+      this.data = Arrays.copyOf(this.data, (int) newCapacity);
+    }
+    final int ref = this.size;
+    this.size += words;
+    return ref;
+  }
+
+  /**
+   * Returns the number of integers used by this arena, including the integers of deleted clauses.
+   * @return the number of integers used by this arena
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the number of integers used by deleted clauses and removed literals.
+   * @return the number of wasted integers
+   */
+  public int wasted() {
+    return this.wasted;
+  }
+
+  /**
+   * Returns the number of literals of a given clause.
+   * @param ref the clause reference
+   * @return the number of literals of the clause
+   */
+  public int size(int ref) {
+    return this.data[ref] >>> SIZE_SHIFT;
+  }
+
+  /**
+   * Returns the literal at a given position of a given clause.
+   * @param ref the clause reference
+   * @param pos the position
+   * @return the literal at the position
+   */
+  public int lit(int ref, int pos) {
+    return this.data[ref + 1 + pos];
+  }
+
+  /**
+   * Sets the literal at a given position of a given clause.
+   * @param ref the clause reference
+   * @param pos the position
+   * @param lit the literal
+   */
+  public void setLit(int ref, int pos, int lit) {
+    this.data[ref + 1 + pos] = lit;
+  }
+
+  /**
+   * Returns the literals of a given clause.
+   * @param ref the clause reference
+   * @return the literals of the clause
+   */
+  public LNGIntVector lits(int ref) {
+    final int size = this.size(ref);
+    final LNGIntVector lits = new LNGIntVector(size);
+    for (int i = 0; i < size; i++)
+      lits.unsafePush(this.data[ref + 1 + i]);
+    return lits;
+  }
+
+  /**
+   * Removes the last literal of a given clause.
+   * @param ref the clause reference
+   */
+  public void pop(int ref) {
+    final int size = this.size(ref);
+    assert size > 2;
+    if (this.learnt(ref))
+      this.data[ref + size] = this.data[ref + 1 + size];
+    this.data[ref] -= 1 << SIZE_SHIFT;
+    this.wasted++;
+  }
+
+  /**
+   * Returns {@code true} if a given clause is learnt, {@code false} otherwise.
+   * @param ref the clause reference
+   * @return {@code true} if the clause is learnt
+   */
+  public boolean learnt(int ref) {
+    return (this.data[ref] & LEARNT) != 0;
+  }
+
+  /**
+   * Returns the LBD of a given clause.
+   * @param ref the clause reference
+   * @return the LBD of the clause
+   */
+  public int lbd(int ref) {
+    return (this.data[ref] & LBD_MASK) >>> LBD_SHIFT;
+  }
+
+  /**
+   * Sets the LBD of a given clause.  LBDs larger than {@link #MAX_LBD} are stored as {@link #MAX_LBD}.
+   * @param ref the clause reference
+   * @param lbd the LBD
+   */
+  public void setLbd(int ref, int lbd) {
+    this.data[ref] = (this.data[ref] & ~LBD_MASK) | (Math.min(lbd, MAX_LBD) << LBD_SHIFT);
+  }
+
+  /**
+   * Returns the activity of a given learnt clause.
+   * @param ref the clause reference
+   * @return the activity of the clause
+   */
+  public double activity(int ref) {
+    assert this.learnt(ref);
+    return Float.intBitsToFloat(this.data[ref + 1 + this.size(ref)]);
+  }
+
+  /**
+   * Sets the activity of a given learnt clause.
+   * @param ref      the clause reference
+   * @param activity the activity
+   */
+  public void setActivity(int ref, double activity) {
+    assert this.learnt(ref);
+    this.data[ref + 1 + this.size(ref)] = Float.floatToIntBits((float) activity);
+  }
+
+  /**
+   * Marks a given clause as deleted.  Its memory is reclaimed when the clauses are relocated.
+   * @param ref the clause reference
+   */
+  public void free(int ref) {
+    assert !this.deleted(ref);
+    this.data[ref] |= DELETED;
+    this.wasted += this.words(ref);
+  }
+
+  /**
+   * Returns {@code true} if a given clause is deleted, {@code false} otherwise.
+   * @param ref the clause reference
+   * @return {@code true} if the clause is deleted
+   */
+  public boolean deleted(int ref) {
+    return (this.data[ref] & DELETED) != 0;
+  }
+
+  /**
+   * Relocates a given clause to another arena.  The new reference is stored in this arena, hence a clause which is
+   * relocated more than once is only copied the first time.
+   * @param ref the clause reference in this arena
+   * @param to  the arena to relocate the clause to
+   * @return the reference of the clause in the other arena
+   */
+  public int relocate(int ref, final MSClauseArena to) {
+    if ((this.data[ref] & RELOCED) != 0)
+      return this.data[ref + 1];
+    assert !this.deleted(ref);
+    final int words = this.words(ref);
+    final int newRef = to.reserve(words);
+    System.arraycopy(this.data, ref, to.data, newRef, words);
+    this.data[ref] |= RELOCED;
+    this.data[ref + 1] = newRef;
+    return newRef;
+  }
+
+  /**
+   * Removes all clauses with a reference greater or equal than a given reference.  This is only allowed as long as no
+   * clause of this arena was deleted or shrunk, and the removed clauses must not be referenced anymore.
+   * @param ref the clause reference
+   */
+  public void shrinkTo(int ref) {
+    assert ref <= this.size && this.wasted == 0;
+    this.size = ref;
+  }
+
+  /**
+   * Returns the number of integers of a given clause.
+   * @param ref the clause reference
+   * @return the number of integers of the clause
+   */
+  private int words(int ref) {
+    return 1 + this.size(ref) + (this.learnt(ref) ? 1 : 0);
+  }
+
+  @Override
+  public String toString() {
+    return "MSClauseArena{size=" + this.size + ", wasted=" + this.wasted + "}";
+  }
+}
@@ -0,0 +1,152 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.datastructures;
+
+import org.logicng.collections.LNGIntVector;
+
+/**
+ * A pseudo-Boolean constraint {@code a_1 * l_1 + ... + a_n * l_n >= d} of the SAT solver for MiniSAT-style solvers.
+ * <p>
+ * The constraint is normalized: all coefficients are positive and at most the degree {@code d}.  The literals
+ * are stored in the clause part of the constraint, the coefficients in a parallel array.  The first
+ * {@link #watched()} literals of the constraint are the watched literals.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MSPBConstraint extends MSClause {
+
+  private final int[] coefficients;
+  private final long degree;
+  private final long sum;
+  private final int maxCoefficient;
+  private int watched;
+
+  /**
+   * Constructs a new pseudo-Boolean constraint.
+   * @param ps     the vector of literals
+   * @param coeffs the vector of (positive) coefficients
+   * @param degree the (positive) degree
+   */
+  public MSPBConstraint(final LNGIntVector ps, final LNGIntVector coeffs, long degree) {
+    super(ps);
+    assert ps.size() == coeffs.size();
+    this.coefficients = new int[coeffs.size()];
+    long s = 0;
+    int max = 0;
+    for (int i = 0; i < coeffs.size(); i++) {
+      this.coefficients[i] = coeffs.get(i);
+      s += coeffs.get(i);
+      max = Math.max(max, coeffs.get(i));
+    }
+    this.degree = degree;
+    this.sum = s;
+    this.maxCoefficient = max;
+    this.watched = 0;
+  }
+
+  /**
+   * Returns the coefficient of the literal at index {@code i}.
+   * @param i the index
+   * @return the coefficient of the literal at index {@code i}
+   */
+  public int coefficient(int i) {
+    return this.coefficients[i];
+  }
+
+  /**
+   * Returns the degree (right-hand side) of this constraint.
+   * @return the degree of this constraint
+   */
+  public long degree() {
+    return this.degree;
+  }
+
+  /**
+   * Returns the sum of all coefficients of this constraint.
+   * @return the sum of all coefficients
+   */
+  public long sum() {
+    return this.sum;
+  }
+
+  /**
+   * Returns the maximal coefficient of this constraint.
+   * @return the maximal coefficient
+   */
+  public int maxCoefficient() {
+    return this.maxCoefficient;
+  }
+
+  /**
+   * Returns the number of watched literals.  The watched literals are the first literals of this constraint.
+   * @return the number of watched literals
+   */
+  public int watched() {
+    return this.watched;
+  }
+
+  /**
+   * Sets the number of watched literals.
+   * @param watched the number of watched literals
+   */
+  public void setWatched(int watched) {
+    this.watched = watched;
+  }
+
+  /**
+   * Swaps the literals (and their coefficients) at the indices {@code i} and {@code j}.
+   * @param i the first index
+   * @param j the second index
+   */
+  public void swap(int i, int j) {
+    final int lit = this.get(i);
+    this.set(i, this.get(j));
+    this.set(j, lit);
+    final int coeff = this.coefficients[i];
+    this.coefficients[i] = this.coefficients[j];
+    this.coefficients[j] = coeff;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("MSPBConstraint{");
+    sb.append("degree=").append(this.degree).append(", ");
+    sb.append("watched=").append(this.watched).append(", ");
+    sb.append("lits=[");
+    for (int i = 0; i < this.size(); i++) {
+      int lit = this.get(i);
+      sb.append(this.coefficients[i]).append("*").append((lit & 1) == 1 ? "-" : "").append(lit >> 1);
+      if (i != this.size() - 1)
+        sb.append(", ");
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+}
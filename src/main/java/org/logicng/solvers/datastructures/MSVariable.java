@@ -58,6 +58,7 @@ public class MSVariable {
   private Tristate assignment;
   private int level;
   private MSClause reason;
+  private int reasonRef;
   private double activity;
   private boolean polarity;
   private boolean decision;
@@ -70,6 +71,7 @@ public class MSVariable {
     this.assignment = Tristate.UNDEF;
     this.level = -1;
     this.reason = null;
+    this.reasonRef = MSClauseArena.CREF_UNDEF;
     this.activity = 0;
     this.polarity = polarity;
     this.decision = false;
@@ -107,6 +109,23 @@ public class MSVariable {
     return this.reason;
   }
 
+  /**
+   * Sets the reference of the reason clause for this variable if the clauses are stored in a {@link MSClauseArena}.
+   * @param reasonRef the reference of the reason clause or {@link MSClauseArena#CREF_UNDEF} if there is none
+   */
+  public void setReasonRef(int reasonRef) {
+    this.reasonRef = reasonRef;
+  }
+
+  /**
+   * Returns the reference of the reason clause for this variable if the clauses are stored in a
+   * {@link MSClauseArena}.
+   * @return the reference of the reason clause or {@link MSClauseArena#CREF_UNDEF} if there is none
+   */
+  public int reasonRef() {
+    return this.reasonRef;
+  }
+
   /**
    * Assigns this variable to a given lifted Boolean.
    * @param assignment the lifted Boolean
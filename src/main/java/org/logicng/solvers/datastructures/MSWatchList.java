@@ -0,0 +1,193 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+/******************************************************************************************
+ * MiniSat -- Copyright (c) 2003-2006, Niklas Een, Niklas Sorensson
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************************/
+
+package org.logicng.solvers.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A watch list for clauses for MiniSAT-style solvers.
+ * <p>
+ * The watchers are not stored as objects but in two parallel arrays holding the watched clauses and their blocking
+ * literals.  Therefore moving, adding, and removing watchers during unit propagation does not allocate any objects.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MSWatchList {
+  private MSClause[] clauses;
+  private int[] blockers;
+  private int size;
+
+  /**
+   * Constructs a new watch list with an initial capacity of 4 watchers.
+   */
+  public MSWatchList() {
+    this(4);
+  }
+
+  /**
+   * Constructs a new watch list with a given capacity.
+   * @param capacity the capacity of the watch list
+   */
+  public MSWatchList(int capacity) {
+    this.clauses = new MSClause[capacity];
+    this.blockers = new int[capacity];
+  }
+
+  /**
+   * Returns the number of watchers in this watch list.
+   * @return the number of watchers in this watch list
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns whether this watch list is empty or not.
+   * @return {@code true} if this watch list is empty, {@code false} otherwise
+   */
+  public boolean empty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Returns the watched clause of the watcher at a given position.
+   * @param position the position
+   * @return the watched clause of the watcher at the position
+   */
+  public MSClause clause(int position) {
+    return this.clauses[position];
+  }
+
+  /**
+   * Returns the blocking literal of the watcher at a given position.
+   * @param position the position
+   * @return the blocking literal of the watcher at the position
+   */
+  public int blocker(int position) {
+    return this.blockers[position];
+  }
+
+  /**
+   * Pushes a new watcher at the end of this watch list.
+   * @param clause  the watched clause
+   * @param blocker the blocking literal
+   */
+  public void push(final MSClause clause, int blocker) {
+    if (this.size == this.clauses.length) {
+      final int newCapacity = Math.max(4, this.size * 2);
+      this.clauses = Arrays.copyOf(this.clauses, newCapacity);
+      this.blockers = Arrays.copyOf(this.blockers, newCapacity);
+    }
+    this.clauses[this.size] = clause;
+    this.blockers[this.size++] = blocker;
+  }
+
+  /**
+   * Sets the watcher at a given position.
+   * @param position the position
+   * @param clause   the watched clause
+   * @param blocker  the blocking literal
+   */
+  public void set(int position, final MSClause clause, int blocker) {
+    this.clauses[position] = clause;
+    this.blockers[position] = blocker;
+  }
+
+  /**
+   * Copies the watcher at position {@code from} to position {@code to}.
+   * @param from the source position
+   * @param to   the target position
+   */
+  public void move(int from, int to) {
+    this.clauses[to] = this.clauses[from];
+    this.blockers[to] = this.blockers[from];
+  }
+
+  /**
+   * Removes the first watcher of a given clause from this watch list.  The clause is compared by identity.
+   * @param clause the watched clause
+   * @return {@code true} if a watcher was removed, {@code false} if the clause is not watched in this list
+   */
+  public boolean remove(final MSClause clause) {
+    for (int i = 0; i < this.size; i++)
+      if (this.clauses[i] == clause) {
+        System.arraycopy(this.clauses, i + 1, this.clauses, i, this.size - (i + 1));
+        System.arraycopy(this.blockers, i + 1, this.blockers, i, this.size - (i + 1));
+        this.clauses[--this.size] = null;
+        return true;
+      }
+    return false;
+  }
+
+  /**
+   * Removes a given number of watchers from the end of this watch list.
+   * @param num the number of watchers to remove
+   */
+  public void removeElements(int num) {
+    for (int i = 0; i < num; i++)
+      this.clauses[--this.size] = null;
+  }
+
+  /**
+   * Clears this watch list and releases the references to the watched clauses.
+   */
+  public void clear() {
+    Arrays.fill(this.clauses, 0, this.size, null);
+    this.size = 0;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("MSWatchList{size=").append(this.size).append(", watchers=[");
+    for (int i = 0; i < this.size; i++) {
+      sb.append("(").append(this.blockers[i]).append(", ").append(this.clauses[i]).append(")");
+      if (i != this.size - 1)
+        sb.append(", ");
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+}
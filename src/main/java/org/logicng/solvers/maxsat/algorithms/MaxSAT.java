@@ -120,6 +120,7 @@ public abstract class MaxSAT {
   protected SolverType solverType;
 
   protected MaxSATHandler handler;
+  protected LNGIntVector assumptions;
 
   protected MaxSAT(final MaxSATConfig config) {
     this.hardWeight = 0;
@@ -142,6 +143,7 @@ public abstract class MaxSAT {
     this.orderWeights = new LNGIntVector();
     this.solverType = config.solverType;
     this.handler = null;
+    this.assumptions = null;
   }
 
   /**
@@ -151,16 +153,40 @@ public abstract class MaxSAT {
    * @throws IllegalArgumentException if the configuration was not valid
    */
   public final MaxSATResult search(final MaxSATHandler handler) {
+    return this.search(handler, null);
+  }
+
+  /**
+   * The main MaxSAT solving method with additional assumptions.  The assumptions are hard for this search only.
+   * @param handler     a MaxSAT handler
+   * @param assumptions the assumptions (may be {@code null})
+   * @return the result of the solving process
+   * @throws UnsupportedOperationException if assumptions are given but the algorithm is not incremental
+   */
+  public final MaxSATResult search(final MaxSATHandler handler, final LNGIntVector assumptions) {
+    if (assumptions != null && assumptions.size() != 0 && !this.incremental())
+      throw new UnsupportedOperationException("Algorithm " + this + " does not support assumptions");
     this.handler = handler;
+    this.assumptions = assumptions;
     if (handler != null)
       handler.startedSolving();
     final MaxSATResult result = search();
     if (handler != null)
       handler.finishedSolving();
     this.handler = null;
+    this.assumptions = null;
     return result;
   }
 
+  /**
+   * Returns whether this algorithm is incremental.  An incremental algorithm can be searched again after clauses
+   * were added and supports assumptions.  A non-incremental algorithm must only be searched once.
+   * @return {@code true} if the algorithm is incremental, {@code false} otherwise
+   */
+  public boolean incremental() {
+    return false;
+  }
+
   /**
    * The main MaxSAT solving method.
    * @return the result of the solving process
@@ -192,6 +218,22 @@ public abstract class MaxSAT {
     return this.nbHard;
   }
 
+  /**
+   * Returns the hard clauses of the working MaxSAT formula.  The clauses must not be changed.
+   * @return the hard clauses of the working MaxSAT formula
+   */
+  public LNGVector<MSHardClause> hardClauses() {
+    return this.hardClauses;
+  }
+
+  /**
+   * Returns the soft clauses of the working MaxSAT formula.  The clauses must not be changed.
+   * @return the soft clauses of the working MaxSAT formula
+   */
+  public LNGVector<MSSoftClause> softClauses() {
+    return this.softClauses;
+  }
+
   /**
    * Increases the number of variables in the working MaxSAT formula.
    */
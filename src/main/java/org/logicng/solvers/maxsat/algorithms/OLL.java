@@ -0,0 +1,409 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.maxsat.algorithms;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.datastructures.MSSoftClause;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.Verbosity;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.sign;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
+
+/**
+ * Core-guided OLL solver with weight stratification.
+ * <p>
+ * In contrast to the other core-guided algorithms, this solver keeps a single incremental SAT solver for the whole
+ * search.  Each extracted core is relaxed by an incremental totalizer over the violated literals of the core whose
+ * outputs are only built up to the bound currently needed.  If a sum assumption appears in a later core, its
+ * totalizer is extended by one more output.
+ * <p>
+ * The solver is incremental: hard and soft clauses can be added after a search and a new search continues with the
+ * SAT solver, the totalizers and the lower bound of the previous one.  If the previous model still satisfies the new
+ * hard clauses and the assumptions, it is used as initial upper bound.  Cores which depend on assumptions are only
+ * used for the search with these assumptions.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class OLL extends MaxSAT {
+
+  private MiniSatStyleSolver solver;
+  private SortedMap<Integer, Integer> weights;
+  private Map<Integer, Sum> sums;
+  private int nbSyncedHard;
+  private int nbSyncedSoft;
+  private PrintStream output;
+
+  /**
+   * Constructs a new solver with default values.
+   */
+  public OLL() {
+    this(new MaxSATConfig.Builder().build());
+  }
+
+  /**
+   * Constructs a new solver with a given configuration.
+   * @param config the configuration
+   */
+  public OLL(final MaxSATConfig config) {
+    super(config);
+    this.solver = null;
+    this.verbosity = config.verbosity;
+    this.weights = new TreeMap<>();
+    this.sums = new HashMap<>();
+    this.nbSyncedHard = 0;
+    this.nbSyncedSoft = 0;
+    this.output = config.output;
+  }
+
+  @Override
+  public boolean incremental() {
+    return true;
+  }
+
+  @Override
+  public MaxSATResult search() {
+    if (this.solver == null)
+      this.solver = newSATSolver();
+    nbInitialVariables = nVars();
+    while (this.solver.nVars() < nVars())
+      newSATVariable(this.solver);
+    final boolean warmStart = this.warmStart();
+    if (!this.syncClauses())
+      return MaxSATResult.UNSATISFIABLE;
+    if (this.assumptions == null || this.assumptions.size() == 0)
+      return this.oll(warmStart, false);
+    final SortedMap<Integer, Integer> savedWeights = new TreeMap<>(this.weights);
+    final Map<Integer, Sum> savedSums = new HashMap<>(this.sums);
+    final int savedLbCost = lbCost;
+    try {
+      return this.oll(warmStart, true);
+    } finally {
+      this.weights = savedWeights;
+      this.sums = savedSums;
+      lbCost = savedLbCost;
+    }
+  }
+
+  private MaxSATResult oll(boolean warmStart, boolean conditional) {
+    boolean hasModel = warmStart;
+    int threshold = this.nextThreshold(Integer.MAX_VALUE);
+    if (hasModel && (threshold == 0 || lbCost == ubCost))
+      return MaxSATResult.OPTIMUM;
+    final LNGIntVector satAssumptions = new LNGIntVector();
+    final LNGIntVector core = new LNGIntVector();
+    while (true) {
+      satAssumptions.clear();
+      if (conditional)
+        for (int i = 0; i < this.assumptions.size(); i++)
+          satAssumptions.push(this.assumptions.get(i));
+      for (final Map.Entry<Integer, Integer> entry : this.weights.entrySet())
+        if (entry.getValue() >= threshold)
+          satAssumptions.push(entry.getKey());
+      final Tristate res = searchSATSolver(this.solver, satHandler(), satAssumptions);
+      if (res == Tristate.UNDEF)
+        return MaxSATResult.UNDEF;
+      else if (res == Tristate.TRUE) {
+        nbSatisfiable++;
+        final int newCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        if (!hasModel || newCost <= ubCost) {
+          saveModel(this.solver.model());
+          hasModel = true;
+          ubCost = newCost;
+          if (verbosity != Verbosity.NONE)
+            this.output.println("o " + newCost);
+          if (!foundUpperBound(ubCost, null))
+            return MaxSATResult.UNDEF;
+        }
+        threshold = this.nextThreshold(threshold);
+        if (threshold == 0 || lbCost == ubCost) {
+          if (verbosity != Verbosity.NONE && lbCost == ubCost)
+            this.output.println("c LB = UB");
+          return MaxSATResult.OPTIMUM;
+        }
+        if (verbosity != Verbosity.NONE)
+          this.output.println("c Stratification level " + threshold);
+      } else {
+        final LNGIntVector conflict = this.solver.conflict();
+        core.clear();
+        for (int i = 0; i < conflict.size(); i++)
+          if (this.weights.containsKey(not(conflict.get(i))))
+            core.push(conflict.get(i));
+        if (core.size() == 0)
+          return MaxSATResult.UNSATISFIABLE;
+        nbCores++;
+        sumSizeCores += core.size();
+        if (!this.relaxCore(core, core.size() != conflict.size()))
+          return MaxSATResult.UNSATISFIABLE;
+        if (verbosity != Verbosity.NONE)
+          this.output.println("c LB : " + lbCost);
+        if (hasModel && lbCost == ubCost) {
+          if (verbosity != Verbosity.NONE)
+            this.output.println("c LB = UB");
+          return MaxSATResult.OPTIMUM;
+        }
+        if (!foundLowerBound(lbCost, null))
+          return MaxSATResult.UNDEF;
+      }
+    }
+  }
+
+  /**
+   * Tests whether the model of the previous search is still a model of the hard clauses and the assumptions.  If so,
+   * its cost is used as initial upper bound.  Otherwise the model is discarded.
+   * @return {@code true} if the previous model can be used, {@code false} otherwise
+   */
+  private boolean warmStart() {
+    boolean valid = model.size() != 0;
+    for (int i = this.nbSyncedHard; valid && i < nHard(); i++)
+      valid = this.satisfied(hardClauses.get(i).clause());
+    for (int i = 0; valid && this.assumptions != null && i < this.assumptions.size(); i++)
+      valid = var(this.assumptions.get(i)) < model.size() && model.get(var(this.assumptions.get(i))) != sign(this.assumptions.get(i));
+    for (int i = this.nbSyncedSoft; valid && i < nSoft(); i++)
+      for (int j = 0; valid && j < softClauses.get(i).clause().size(); j++)
+        valid = var(softClauses.get(i).clause().get(j)) < model.size();
+    if (valid)
+      ubCost = computeCostModel(model, Integer.MAX_VALUE);
+    else
+      model.clear();
+    return valid;
+  }
+
+  private boolean satisfied(final LNGIntVector clause) {
+    for (int i = 0; i < clause.size(); i++) {
+      final int lit = clause.get(i);
+      if (var(lit) < model.size() && model.get(var(lit)) != sign(lit))
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Adds the hard and soft clauses which were added since the last search to the SAT solver.  Each new soft clause
+   * gets a fresh relaxation literal.
+   * @return {@code false} if the hard clauses became unsatisfiable, {@code true} otherwise
+   */
+  private boolean syncClauses() {
+    boolean ok = true;
+    for (; this.nbSyncedHard < nHard(); this.nbSyncedHard++)
+      ok &= this.solver.addClause(hardClauses.get(this.nbSyncedHard).clause());
+    for (; this.nbSyncedSoft < nSoft(); this.nbSyncedSoft++) {
+      final MSSoftClause softClause = softClauses.get(this.nbSyncedSoft);
+      final int l = this.newSolverLiteral();
+      softClause.relaxationVars().push(l);
+      softClause.setAssumptionVar(l);
+      this.weights.put(not(l), softClause.weight());
+      final LNGIntVector clause = new LNGIntVector(softClause.clause());
+      clause.push(l);
+      ok &= this.solver.addClause(clause);
+    }
+    return ok;
+  }
+
+  /**
+   * Creates a new literal in the MaxSAT formula and the SAT solver.  Keeping both in sync allows new variables of
+   * the formula to be added after a search.
+   * @return the new literal
+   */
+  private int newSolverLiteral() {
+    final int lit = newLiteral(false);
+    newSATVariable(this.solver);
+    return lit;
+  }
+
+  /**
+   * Relaxes a core.  The lower bound is increased by the minimal weight of the core, the weights of all core
+   * assumptions are reduced accordingly and a new totalizer over the core is added to the solver.
+   * @param core        the core, i.e. the negated core assumptions
+   * @param conditional whether the core depends on the assumptions of the current search
+   * @return {@code false} if the hard clauses became unsatisfiable, {@code true} otherwise
+   */
+  private boolean relaxCore(final LNGIntVector core, boolean conditional) {
+    int minWeight = Integer.MAX_VALUE;
+    for (int i = 0; i < core.size(); i++)
+      minWeight = Math.min(minWeight, this.weights.get(not(core.get(i))));
+    lbCost += minWeight;
+    for (int i = 0; i < core.size(); i++) {
+      final int assumption = not(core.get(i));
+      final int newWeight = this.weights.get(assumption) - minWeight;
+      if (newWeight == 0)
+        this.weights.remove(assumption);
+      else
+        this.weights.put(assumption, newWeight);
+      final Sum sum = this.sums.get(assumption);
+      if (sum != null && sum.bound < sum.totalizer.size) {
+        this.extend(sum.totalizer, sum.bound + 1);
+        this.addSumAssumption(sum.totalizer, sum.bound + 1, minWeight);
+      }
+    }
+    if (core.size() == 1) {
+      if (conditional)
+        return true;
+      final LNGIntVector unit = new LNGIntVector(1);
+      unit.push(core.get(0));
+      return this.solver.addClause(unit);
+    }
+    final List<Totalizer> leafs = new ArrayList<>(core.size());
+    for (int i = 0; i < core.size(); i++)
+      leafs.add(new Totalizer(core.get(i)));
+    final Totalizer totalizer = this.build(leafs, 0, leafs.size());
+    this.extend(totalizer, 2);
+    this.addSumAssumption(totalizer, 2, minWeight);
+    return true;
+  }
+
+  /**
+   * Adds the assumption that the sum of a totalizer is smaller than a given bound.
+   * @param totalizer the totalizer
+   * @param bound     the bound
+   * @param weight    the weight of the new assumption
+   */
+  private void addSumAssumption(final Totalizer totalizer, int bound, int weight) {
+    final int assumption = not(totalizer.outputs.get(bound - 1));
+    final Integer oldWeight = this.weights.get(assumption);
+    this.weights.put(assumption, oldWeight == null ? weight : oldWeight + weight);
+    if (!this.sums.containsKey(assumption))
+      this.sums.put(assumption, new Sum(totalizer, bound));
+  }
+
+  /**
+   * Builds a balanced totalizer tree over a range of leafs.  No clauses are generated yet.
+   * @param leafs the leafs
+   * @param from  the first leaf (inclusive)
+   * @param to    the last leaf (exclusive)
+   * @return the root of the tree
+   */
+  private Totalizer build(final List<Totalizer> leafs, int from, int to) {
+    if (to - from == 1)
+      return leafs.get(from);
+    final int mid = from + (to - from) / 2;
+    return new Totalizer(this.build(leafs, from, mid), this.build(leafs, mid, to));
+  }
+
+  /**
+   * Extends a totalizer such that its outputs cover sums up to the given bound.  Only the clauses for the newly
+   * covered sums are added to the solver.
+   * @param node  the totalizer node
+   * @param bound the new bound
+   */
+  private void extend(final Totalizer node, int bound) {
+    final int newBound = Math.min(bound, node.size);
+    final int oldBound = node.outputs.size();
+    if (node.left == null || newBound <= oldBound)
+      return;
+    this.extend(node.left, newBound);
+    this.extend(node.right, newBound);
+    for (int k = oldBound; k < newBound; k++)
+      node.outputs.push(this.newSolverLiteral());
+    final LNGIntVector leftOut = node.left.outputs;
+    final LNGIntVector rightOut = node.right.outputs;
+    for (int i = 0; i <= leftOut.size(); i++) {
+      for (int j = 0; j <= rightOut.size(); j++) {
+        final int sum = i + j;
+        if (sum <= oldBound || sum > newBound)
+          continue;
+        final LNGIntVector clause = new LNGIntVector(3);
+        if (i > 0)
+          clause.push(not(leftOut.get(i - 1)));
+        if (j > 0)
+          clause.push(not(rightOut.get(j - 1)));
+        clause.push(node.outputs.get(sum - 1));
+        this.solver.addClause(clause);
+      }
+    }
+  }
+
+  /**
+   * Returns the next stratification level, i.e. the largest weight of an assumption below the given threshold.
+   * @param threshold the current threshold
+   * @return the next threshold or 0 if there is no smaller weight
+   */
+  private int nextThreshold(int threshold) {
+    int next = 0;
+    for (final int weight : this.weights.values())
+      if (weight < threshold && weight > next)
+        next = weight;
+    return next;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+
+  /**
+   * A node of an incremental totalizer.  The output {@code outputs[k-1]} is implied if at least {@code k} inputs
+   * below this node are true.
+   */
+  private static final class Totalizer {
+    private final Totalizer left;
+    private final Totalizer right;
+    private final int size;
+    private final LNGIntVector outputs;
+
+    private Totalizer(int input) {
+      this.left = null;
+      this.right = null;
+      this.size = 1;
+      this.outputs = new LNGIntVector(1);
+      this.outputs.push(input);
+    }
+
+    private Totalizer(final Totalizer left, final Totalizer right) {
+      this.left = left;
+      this.right = right;
+      this.size = left.size + right.size;
+      this.outputs = new LNGIntVector();
+    }
+  }
+
+  /**
+   * A sum assumption: the output for the given bound of a totalizer is assumed to be false.
+   */
+  private static final class Sum {
+    private final Totalizer totalizer;
+    private final int bound;
+
+    private Sum(final Totalizer totalizer, int bound) {
+      this.totalizer = totalizer;
+      this.bound = bound;
+    }
+  }
+}
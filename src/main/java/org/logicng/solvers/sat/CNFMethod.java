@@ -0,0 +1,42 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+/**
+ * The different methods for adding arbitrary formulas to a SAT solver.
+ * {@code FACTORY_CNF} - the formula is converted by its {@code cnf()} method in the formula factory
+ * {@code TSEITIN} - the formula is encoded directly on the solver by a Tseitin encoding
+ * {@code PLAISTED_GREENBAUM} - the formula is encoded directly on the solver by a Plaisted &amp; Greenbaum encoding
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public enum CNFMethod {
+  FACTORY_CNF, TSEITIN, PLAISTED_GREENBAUM
+}
@@ -82,6 +82,8 @@ public final class CleaneLingConfig extends Configuration {
   final boolean searchfirst;
   final int scincfact;
   final int stepslim;
+  final boolean unsatCoreGeneration;
+  final CNFMethod cnfMethod;
 
   /**
    * The builder for a MiniSAT configuration.
@@ -119,6 +121,8 @@ public final class CleaneLingConfig extends Configuration {
     private boolean searchFirst = false;
     private int scoreIncrementFactor = 1050;
     private int stepsLim = 100000000;
+    private boolean unsatCoreGeneration = false;
+    private CNFMethod cnfMethod = CNFMethod.FACTORY_CNF;
 
     /**
      * If turned on, blocked clause elimination (BCE) will be performed.  The default value is {@code true}.
@@ -441,6 +445,30 @@ public final class CleaneLingConfig extends Configuration {
       return this;
     }
 
+    /**
+     * Turns the generation of unsatisfiable cores on and off.  If turned on, each proposition added to the solver is
+     * guarded by a frozen selector variable which is assumed during solving.  This allows to compute unsatisfiable
+     * cores of propositions, but slightly slows down the solver.  The default value is {@code false}.
+     * @param unsatCoreGeneration {@code true} if unsatisfiable cores should be generated, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder unsatCoreGeneration(boolean unsatCoreGeneration) {
+      this.unsatCoreGeneration = unsatCoreGeneration;
+      return this;
+    }
+
+    /**
+     * Sets the method for adding formulas which are not in CNF.  {@code FACTORY_CNF} uses the {@code cnf()} method of
+     * the formula, {@code TSEITIN} and {@code PLAISTED_GREENBAUM} encode the formula directly on the solver without
+     * constructing any new formulas.  The default value is {@code FACTORY_CNF}.
+     * @param cnfMethod the CNF method
+     * @return the builder
+     */
+    public Builder cnfMethod(final CNFMethod cnfMethod) {
+      this.cnfMethod = cnfMethod;
+      return this;
+    }
+
     /**
      * Builds the CleaneLing configuration.
      * @return the configuration
@@ -489,6 +517,8 @@ public final class CleaneLingConfig extends Configuration {
     this.searchfirst = builder.searchFirst;
     this.scincfact = builder.scoreIncrementFactor;
     this.stepslim = builder.stepsLim;
+    this.unsatCoreGeneration = builder.unsatCoreGeneration;
+    this.cnfMethod = builder.cnfMethod;
   }
 
   /**
@@ -499,6 +529,22 @@ public final class CleaneLingConfig extends Configuration {
     return this.plain;
   }
 
+  /**
+   * Returns whether unsatisfiable cores are generated or not.
+   * @return {@code true} if unsatisfiable cores are generated, {@code false} otherwise
+   */
+  public boolean unsatCoreGeneration() {
+    return this.unsatCoreGeneration;
+  }
+
+  /**
+   * Returns the method for adding formulas which are not in CNF.
+   * @return the CNF method
+   */
+  public CNFMethod cnfMethod() {
+    return this.cnfMethod;
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("CleaneLingConfig{\n");
@@ -534,6 +580,8 @@ public final class CleaneLingConfig extends Configuration {
     sb.append("searchFirst=").append(this.searchfirst).append("\n");
     sb.append("scoreIncrementFactor=").append(this.scincfact).append("\n");
     sb.append("stepsLim=").append(this.stepslim).append("\n");
+    sb.append("unsatCoreGeneration=").append(this.unsatCoreGeneration).append("\n");
+    sb.append("cnfMethod=").append(this.cnfMethod).append("\n");
     sb.append("}\n");
     return sb.toString();
   }
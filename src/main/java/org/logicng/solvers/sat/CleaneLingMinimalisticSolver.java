@@ -110,6 +110,7 @@ public final class CleaneLingMinimalisticSolver extends CleaneLingStyleSolver {
     if (this.handler != null)
       this.handler.startedSolving();
     model.clear();
+    importAssumptions();
     initLimits();
     Tristate res;
     while (true)
@@ -169,6 +170,7 @@ public final class CleaneLingMinimalisticSolver extends CleaneLingStyleSolver {
   @Override
   protected CLClause newClause(boolean redundant, int glue) {
     CLClause c = new CLClause();
+    stamp(c);
     c.setRedundant(redundant);
     for (int i = 0; i < addedlits.size(); i++)
       c.lits().push(addedlits.get(i));
@@ -394,7 +396,7 @@ public final class CleaneLingMinimalisticSolver extends CleaneLingStyleSolver {
       else if (restarting())
         restart();
       else if (!decide())
-        res = TRUE;
+        res = assumptionConflict ? FALSE : TRUE;
     return res;
   }
 
@@ -50,6 +50,8 @@
 
 package org.logicng.solvers.sat;
 
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGByteVector;
 import org.logicng.collections.LNGIntVector;
 import org.logicng.collections.LNGLongPriorityQueue;
 import org.logicng.collections.LNGVector;
@@ -79,7 +81,6 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
   private boolean dense;
   private boolean schedule;
   private int touched;
-  private LNGIntVector original;
   private LNGVector<CLClause> clauses;
   private LNGVector<CLOccs[]> occs;
   private LNGLongPriorityQueue candsElim;
@@ -88,6 +89,8 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
   private int distilled;
   private LNGIntVector extension;
   private Simplifier simplifier;
+  private LNGBooleanVector witnesses;
+  private boolean rebuildNeeded;
 
   /**
    * Constructs a new CleaneLing solver with a given configuration.
@@ -106,7 +109,6 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
     this.schedule = false;
     this.touched = 0;
     this.distilled = 0;
-    this.original = new LNGIntVector();
     this.clauses = new LNGVector<>();
     this.occs = new LNGVector<>();
     this.candsElim = new LNGLongPriorityQueue();
@@ -114,27 +116,106 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
     this.tostrengthen = new LNGVector<>();
     this.extension = new LNGIntVector();
     this.simplifier = Simplifier.NOSIMP;
+    this.witnesses = new LNGBooleanVector();
+    this.rebuildNeeded = false;
   }
 
+  /**
+   * Adds a literal to the solver.  If the literal contains a variable which was eliminated or used as blocking literal
+   * by a former simplification, the extension of a model could violate the new clause.  In this case the clause is
+   * only recorded and the solver is rebuilt from its original clauses before the next solving step.
+   * @param lit the literal
+   */
   @Override
   public void addlit(int lit) {
-    original.push(lit);
-    if (lit != 0) {
-      importLit(lit);
-      addedlits.push(lit);
-    } else {
-      if (!trivialClause())
-        newPushConnectClause();
-      addedlits.clear();
+    if (lit != 0 && witness(lit))
+      rebuildNeeded = true;
+    if (!rebuildNeeded)
+      super.addlit(lit);
+    else {
+      original.push(lit);
+      if (lit == 0)
+        addedlits.clear();
     }
   }
 
+  @Override
+  public void freeze(int lit) {
+    super.freeze(lit);
+    if (witness(lit))
+      rebuildNeeded = true;
+  }
+
+  /**
+   * Returns {@code true} if the variable of a given literal is a witness on the extension stack, {@code false} otherwise.
+   * The value of a witness variable may be flipped when a model is extended.
+   * @param lit the literal
+   * @return {@code true} if the variable of the literal is a witness
+   */
+  private boolean witness(int lit) {
+    final int idx = Math.abs(lit);
+    return idx < witnesses.size() && witnesses.get(idx);
+  }
+
+  /**
+   * Marks the variable of a given literal as witness on the extension stack.
+   * @param lit the literal
+   */
+  private void markWitness(int lit) {
+    final int idx = Math.abs(lit);
+    if (idx >= witnesses.size())
+      witnesses.growTo(idx + 1, false);
+    witnesses.set(idx, true);
+  }
+
   @Override
   public void reset() {
     super.reset();
     this.initializeOriginalSolver();
   }
 
+  @Override
+  protected boolean requiresRebuild() {
+    return rebuildNeeded;
+  }
+
+  @Override
+  protected void truncate(int numLits, int numClauses, int numFixed) {
+    super.truncate(numLits, numClauses, numFixed);
+    int j = 0;
+    int i;
+    for (i = 0; i < clauses.size(); i++) {
+      final CLClause c = clauses.get(i);
+      if (i == distilled)
+        distilled = j;
+      if (c.stamp() < numClauses)
+        clauses.set(j++, c);
+      else {
+        if (c.redundant() && c.important() && !c.satisfied()) {
+          assert limits.reduceImportant > 0;
+          limits.reduceImportant--;
+        }
+        deleteClause(c);
+      }
+    }
+    if (i == distilled)
+      distilled = j;
+    clauses.shrinkTo(j);
+    touched = Math.min(touched, trail.size());
+  }
+
+  @Override
+  protected void unassignFixed(int lit) {
+    final CLClause reason = var(lit).reason();
+    if (reason != null && reason.redundant() && !reason.important()) {
+      assert limits.reduceForcing > 0;
+      limits.reduceForcing--;
+    }
+    assert stats.varsFixed > 0;
+    stats.varsFixed--;
+    super.unassignFixed(lit);
+  }
+
   @Override
   protected void initLimits() {
     newRestartLimit();
@@ -194,6 +275,9 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
     if (this.handler != null)
       this.handler.startedSolving();
     model.clear();
+    if (rebuildNeeded)
+      rebuild(original.size());
+    importAssumptions();
     initLimits();
     biasPhases();
     Tristate res;
@@ -203,18 +287,13 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
       else if ((res = simplify()) != UNDEF || this.canceledByHandler)
         break;
       else updateLimits();
-    switch (res) {
-      case TRUE:
-        extend();
-        break;
-      case FALSE:
-        break;
-      default:
-        break;
-    }
-    if (res == TRUE)
+    if (res == TRUE) {
+      final LNGByteVector searchVals = new LNGByteVector(this.vals);
+      extend();
       for (int i = 0; i < this.vals.size(); i++)
         model.push(this.vals.get(i) == VALUE_TRUE);
+      this.vals = searchVals;
+    }
     if (this.handler != null)
       this.handler.finishedSolving();
     this.handler = null;
@@ -428,6 +507,7 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
   @Override
   protected CLClause newClause(boolean redundant, int glue) {
     CLClause c = new CLClause();
+    stamp(c);
     assert glue == 0 || redundant;
     assert eachVariableOccursOnlyOnce();
     if (config.gluered)
@@ -1138,6 +1218,7 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
    * @param blit the blocking literal
    */
   private void pushExtension(CLClause c, int blit) {
+    markWitness(blit);
     pushExtension(0);
     for (int i = 0; i < c.lits().size(); i++) {
       final int lit = c.lits().get(i);
@@ -1182,6 +1263,7 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
       stats.steps++;
       pushExtension(c, extend);
     }
+    markWitness(extend);
     pushExtension(0);
     pushExtension(-extend);
     while (!p.clauses().empty()) {
@@ -1260,6 +1342,8 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
    */
   private boolean donotelim(int cand) {
     int sign;
+    if (frozen(cand))
+      return true;
     if (occs(cand).count() > config.elmpocclim1)
       return true;
     if (occs(-cand).count() > config.elmpocclim1)
@@ -1380,7 +1464,7 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
       int cand = candsBlock.top();
       long priority = candsBlock.priority(cand);
       candsBlock.pop(cand);
-      if (priority == 0 || !var(cand).free())
+      if (priority == 0 || !var(cand).free() || frozen(cand))
         continue;
       blockLit(cand);
       blockLit(-cand);
@@ -1526,24 +1610,26 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
       else if (restarting())
         restart();
       else if (!decide())
-        res = TRUE;
+        res = assumptionConflict ? FALSE : TRUE;
     return res;
   }
 
   /**
-   * Extends a partial to a full assignment.
+   * Extends a partial to a full assignment.  The extension is kept, since it is required again for later calls of the
+   * solver.
    */
   private void extend() {
-    while (!extension.empty()) {
-      int lit = extension.back();
+    int i = extension.size() - 1;
+    while (i >= 0) {
+      final int lit = extension.get(i);
       int other;
       boolean satisfied = false;
-      while ((other = extension.back()) != 0) {
-        extension.pop();
+      while ((other = extension.get(i)) != 0) {
+        i--;
         if (val(other) == VALUE_TRUE)
           satisfied = true;
       }
-      extension.pop();
+      i--;
       if (!satisfied)
         vals.set(Math.abs(lit), sign(lit));
     }
@@ -96,6 +96,13 @@ public abstract class CleaneLingStyleSolver {
   protected CLLimits limits;
   protected CLClause empty;
   protected LNGBooleanVector model;
+  protected LNGIntVector original;
+  protected LNGIntVector assumptions;
+  protected boolean assumptionConflict;
+  protected LNGIntVector failedAssumptions;
+  protected LNGBooleanVector frozen;
+  protected int createdClauses;
+  protected int generation;
 
   // SAT handler
   protected SATHandler handler;
@@ -132,6 +139,12 @@ public abstract class CleaneLingStyleSolver {
     this.stats = new CLStats();
     this.limits = new CLLimits();
     this.model = new LNGBooleanVector();
+    this.original = new LNGIntVector();
+    this.assumptions = new LNGIntVector();
+    this.assumptionConflict = false;
+    this.failedAssumptions = new LNGIntVector();
+    this.frozen = new LNGBooleanVector();
+    this.createdClauses = 0;
     control.push(new CLFrame());
   }
 
@@ -170,6 +183,7 @@ public abstract class CleaneLingStyleSolver {
    * @param lit the literal
    */
   public void addlit(int lit) {
+    original.push(lit);
     if (lit != 0) {
       importLit(lit);
       addedlits.push(lit);
@@ -190,6 +204,179 @@ public abstract class CleaneLingStyleSolver {
    */
   public abstract Tristate solve(final SATHandler handler);
 
+  /**
+   * Solves the formula currently stored in the solver under a given set of assumptions.  The assumptions are
+   * literals which are assumed to be true for this call only, they are not added as clauses.  The variables of the
+   * assumptions are frozen, i.e. they are never eliminated by a simplification of the solver.
+   * @param handler     a sat handler
+   * @param assumptions the assumptions as signed literals
+   * @return {@link Tristate#TRUE} if the formula is satisfiable under the assumptions, {@link Tristate#FALSE} if the
+   * formula is not satisfiable under the assumptions, or {@link Tristate#UNDEF} if the computation was canceled.
+   */
+  public Tristate solve(final SATHandler handler, final LNGIntVector assumptions) {
+    for (int i = 0; i < assumptions.size(); i++)
+      this.freeze(assumptions.get(i));
+    this.assumptions = assumptions;
+    this.failedAssumptions = new LNGIntVector();
+    try {
+      return this.solve(handler);
+    } finally {
+      this.assumptions = new LNGIntVector();
+      this.assumptionConflict = false;
+    }
+  }
+
+  /**
+   * Returns the assumptions of the last call of {@code solve} which are responsible for the unsatisfiability.  The
+   * vector is empty if the last call was not unsatisfiable because of its assumptions.
+   * @return the failed assumptions as signed literals
+   */
+  public LNGIntVector failedAssumptions() {
+    return this.failedAssumptions;
+  }
+
+  /**
+   * Imports the variables of the current assumptions.
+   */
+  protected void importAssumptions() {
+    for (int i = 0; i < assumptions.size(); i++)
+      importLit(assumptions.get(i));
+  }
+
+  /**
+   * Freezes the variable of a given literal.  A frozen variable is never removed by a simplification of the solver,
+   * hence it can be used in assumptions and in clauses which are added after solving without restrictions.  Once frozen,
+   * a variable stays frozen until the solver is reset.
+   * @param lit the literal
+   */
+  public void freeze(int lit) {
+    final int idx = Math.abs(lit);
+    if (idx >= frozen.size())
+      frozen.growTo(idx + 1, false);
+    frozen.set(idx, true);
+  }
+
+  /**
+   * Returns {@code true} if the variable of a given literal is frozen, {@code false} otherwise.
+   * @param lit the literal
+   * @return {@code true} if the variable of the literal is frozen
+   */
+  protected boolean frozen(int lit) {
+    final int idx = Math.abs(lit);
+    return idx < frozen.size() && frozen.get(idx);
+  }
+
+  /**
+   * Saves the current solver state.  The state consists of the number of literals of the original clauses added
+   * so far, the number of rebuilds of the solver, the number of clauses created so far, the number of literals assigned
+   * on decision level 0 and the number of simplifications performed so far.
+   * @return the current solver state
+   */
+  public int[] saveState() {
+    final int fixed = control.size() > 1 ? control.get(1).trail() : trail.size();
+    return new int[]{original.size(), generation, createdClauses, fixed, stats.simplifications};
+  }
+
+  /**
+   * Loads a given state in the solver.  All clauses added after the state was saved are removed.  If the solver was
+   * neither rebuilt nor simplified in the meantime and no rebuild is pending, the clauses (original and learnt) and
+   * the assignments on decision level 0 created after the state was saved are removed and all older learnt clauses
+   * are kept.  Otherwise the simplifications may have changed the clauses arbitrarily, hence the solver is rebuilt
+   * from the original clauses of the state.  Frozen variables remain frozen.
+   * <p>
+   * ATTENTION: You can only load a state which was created by this instance of the solver before the current state.
+   * @param state the solver state to load
+   */
+  public void loadState(final int[] state) {
+    final int numLits = Math.min(state[0], original.size());
+    if (state[1] != generation || state[4] != stats.simplifications || requiresRebuild())
+      rebuild(numLits);
+    else
+      truncate(numLits, state[2], state[3]);
+  }
+
+  /**
+   * Returns {@code true} if the solver has to be rebuilt from its original clauses when a state is loaded,
+   * {@code false} if it can be truncated.
+   * @return {@code true} if the solver has to be rebuilt
+   */
+  protected boolean requiresRebuild() {
+    return false;
+  }
+
+  /**
+   * Resets the solver and adds the first literals of the original clauses again.
+   * @param numLits the number of original literals to add
+   */
+  protected void rebuild(int numLits) {
+    final LNGIntVector lits = this.original;
+    final LNGBooleanVector frozenVars = this.frozen;
+    final LNGIntVector currentAssumptions = this.assumptions;
+    reset();
+    this.frozen = frozenVars;
+    this.assumptions = currentAssumptions;
+    for (int i = 0; i < numLits; i++)
+      addlit(lits.get(i));
+  }
+
+  /**
+   * Truncates the solver to a former state without simplifications in between.  All clauses created after the state
+   * are removed and the assignments on decision level 0 after the state are undone.  Since only a suffix of the
+   * assignments on decision level 0 is undone, the remaining literals are propagated again.
+   * @param numLits    the number of original literals of the state
+   * @param numClauses the number of clauses created before the state
+   * @param numFixed   the number of literals assigned on decision level 0 of the state
+   */
+  protected void truncate(int numLits, int numClauses, int numFixed) {
+    backtrack();
+    original.shrinkTo(numLits);
+    addedlits.clear();
+    for (int idx = 1; idx <= maxvar(); idx++)
+      for (int sign = -1; sign <= 1; sign += 2) {
+        final LNGVector<CLWatch> ws = watches(sign * idx);
+        final LNGVector<CLWatch> newWs = new LNGVector<>(ws.size());
+        for (final CLWatch w : ws)
+          if (w.clause().stamp() < numClauses)
+            newWs.push(w);
+        ws.replaceInplace(newWs);
+      }
+    while (trail.size() > numFixed) {
+      final int lit = trail.back();
+      trail.pop();
+      unassignFixed(lit);
+    }
+    next = 0;
+    if (empty != null && empty.stamp() >= numClauses)
+      empty = null;
+  }
+
+  /**
+   * Unassigns a given literal on decision level 0.
+   * @param lit the literal
+   */
+  protected void unassignFixed(int lit) {
+    final CLVar v = var(lit);
+    final int idx = Math.abs(lit);
+    assert level == 0 && v.level() == 0;
+    vals.set(idx, VALUE_UNASSIGNED);
+    v.setLevel(Integer.MAX_VALUE);
+    v.setState(CLVar.State.FREE);
+    if (v.reason() != null) {
+      v.reason().setForcing(false);
+      v.setReason(null);
+    }
+    if (!decisions.contains(idx))
+      decisions.push(idx);
+  }
+
+  /**
+   * Stamps a new clause with the number of clauses created before it.
+   * @param c the clause
+   */
+  protected void stamp(final CLClause c) {
+    c.setStamp(createdClauses++);
+  }
+
   /**
    * Returns the current model of the solver.
    * @return the current model of the solver
@@ -203,6 +390,7 @@ public abstract class CleaneLingStyleSolver {
    */
   public void reset() {
     this.initialize();
+    this.generation++;
   }
 
   /**
@@ -564,11 +752,57 @@ public abstract class CleaneLingStyleSolver {
   }
 
   /**
-   * Checks if there are unassigned literals left.
-   * @return {@code false} if all literals are assigned, {@code true} otherwise
+   * Computes the assumptions which imply the negation of a given assumption.  Since the assumptions are always decided
+   * first, every decision on the trail is an assumption.
+   * @param lit the violated assumption
+   */
+  protected void analyzeFinal(int lit) {
+    failedAssumptions.clear();
+    failedAssumptions.push(lit);
+    if (var(lit).level() == 0)
+      return;
+    final LNGBooleanVector marked = new LNGBooleanVector(vars.size(), false);
+    marked.set(Math.abs(lit), true);
+    for (int i = trail.size() - 1; i >= 0; i--) {
+      final int tlit = trail.get(i);
+      final int idx = Math.abs(tlit);
+      if (!marked.get(idx))
+        continue;
+      final CLVar v = var(tlit);
+      if (v.reason() == null) {
+        if (v.level() > 0)
+          failedAssumptions.push(tlit);
+      } else
+        for (int p = 0; p < v.reason().lits().size(); p++) {
+          final int other = v.reason().lits().get(p);
+          if (var(other).level() > 0)
+            marked.set(Math.abs(other), true);
+        }
+    }
+  }
+
+  /**
+   * Checks if there are unassigned literals left.  The assumptions are always decided first.  If an assumption is
+   * already false, the assumption conflict flag is set and the failed assumptions are computed.
+   * @return {@code false} if all literals are assigned or an assumption is violated, {@code true} otherwise
    */
   protected boolean decide() {
     assert propagated();
+    for (int i = 0; i < assumptions.size(); i++) {
+      final int lit = assumptions.get(i);
+      final byte value = val(lit);
+      if (value == VALUE_FALSE) {
+        analyzeFinal(lit);
+        assumptionConflict = true;
+        return false;
+      }
+      if (value == VALUE_UNASSIGNED) {
+        stats.decisions++;
+        stats.levels += level;
+        assume(lit);
+        return true;
+      }
+    }
     int decision = 0;
     while (decision == 0 && !decisions.empty()) {
       int lit = decisions.top();
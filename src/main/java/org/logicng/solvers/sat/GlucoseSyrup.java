@@ -86,7 +86,7 @@ import org.logicng.solvers.datastructures.LNGBoundedIntQueue;
 import org.logicng.solvers.datastructures.LNGBoundedLongQueue;
 import org.logicng.solvers.datastructures.MSClause;
 import org.logicng.solvers.datastructures.MSVariable;
-import org.logicng.solvers.datastructures.MSWatcher;
+import org.logicng.solvers.datastructures.MSWatchList;
 
 /**
  * Glucose 4.0 solver.
@@ -110,7 +110,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   private final GlucoseConfig glucoseConfig;
 
   // internal solver state
-  private LNGVector<LNGVector<MSWatcher>> watchesBin;
+  private LNGVector<MSWatchList> watchesBin;
   private LNGIntVector permDiff;
   private LNGIntVector lastDecisionLevel;
   private LNGBoundedLongQueue lbdQueue;
@@ -152,9 +152,12 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
    * Constructs a new Glucose solver with a given solver configuration.
    * @param config        the MiniSat configuration
    * @param glucoseConfig the Glucose configuration
+   * @throws IllegalArgumentException if the MiniSat configuration activates the clause arena
    */
   public GlucoseSyrup(final MiniSatConfig config, final GlucoseConfig glucoseConfig) {
     super(config);
+    if (this.clauseArena)
+      throw new IllegalArgumentException("The Glucose solver does not support a clause arena");
     this.glucoseConfig = glucoseConfig;
     this.initializeGlucose();
   }
@@ -206,10 +209,10 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   public int newVar(boolean sign, boolean dvar) {
     int v = nVars();
     MSVariable newVar = new MSVariable(sign);
-    watches.push(new LNGVector<MSWatcher>());
-    watches.push(new LNGVector<MSWatcher>());
-    watchesBin.push(new LNGVector<MSWatcher>());
-    watchesBin.push(new LNGVector<MSWatcher>());
+    watches.push(new MSWatchList());
+    watches.push(new MSWatchList());
+    watchesBin.push(new MSWatchList());
+    watchesBin.push(new MSWatchList());
     vars.push(newVar);
     seen.push(false);
     permDiff.push(0);
@@ -265,11 +268,11 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   protected void attachClause(final MSClause c) {
     assert c.size() > 1;
     if (c.size() == 2) {
-      watchesBin.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-      watchesBin.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+      watchesBin.get(not(c.get(0))).push(c, c.get(1));
+      watchesBin.get(not(c.get(1))).push(c, c.get(0));
     } else {
-      watches.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-      watches.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+      watches.get(not(c.get(0))).push(c, c.get(1));
+      watches.get(not(c.get(1))).push(c, c.get(0));
     }
     if (c.learnt())
       learntsLiterals += c.size();
@@ -281,11 +284,11 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   protected void detachClause(final MSClause c) {
     assert c.size() > 1;
     if (c.size() == 2) {
-      watchesBin.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-      watchesBin.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+      watchesBin.get(not(c.get(0))).remove(c);
+      watchesBin.get(not(c.get(1))).remove(c);
     } else {
-      watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-      watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+      watches.get(not(c.get(0))).remove(c);
+      watches.get(not(c.get(1))).remove(c);
     }
     if (c.learnt())
       learntsLiterals -= c.size();
@@ -401,8 +404,9 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
       for (int i = 1; i < outLearnt.size(); i++)
         permDiff.set(var(outLearnt.get(i)), myflag);
       int nb = 0;
-      for (final MSWatcher wbin : watchesBin.get(p)) {
-        int imp = wbin.blocker();
+      final MSWatchList wbin = watchesBin.get(p);
+      for (int k = 0; k < wbin.size(); k++) {
+        int imp = wbin.blocker(k);
         if (permDiff.get(var(imp)) == myflag && value(imp) == Tristate.TRUE) {
           nb++;
           permDiff.set(var(imp), myflag - 1);
@@ -461,6 +465,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
         cancelUntil(analyzeBtLevel);
         if (learntClause.size() == 1) {
           uncheckedEnqueue(learntClause.get(0), null);
+          exportUnit(learntClause.get(0));
         } else {
           final MSClause cr = new MSClause(learntClause, true);
           cr.setLBD(analyzeLBD);
@@ -482,6 +487,12 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
           cancelUntil(bt);
           return Tristate.UNDEF;
         }
+        if (this.unitExchange != null && decisionLevel() == 0) {
+          if (!importUnits(null))
+            return Tristate.FALSE;
+          if (qhead < trail.size())
+            continue;
+        }
         if (decisionLevel() == 0 && !simplify())
           return Tristate.FALSE;
         if (conflicts >= (curRestart * nbclausesbeforereduce) && learnts.size() > 0) {
@@ -519,29 +530,27 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     int numProps = 0;
     while (qhead < trail.size()) {
       int p = trail.get(qhead++);
-      LNGVector<MSWatcher> ws = watches.get(p);
+      MSWatchList ws = watches.get(p);
       int iInd = 0;
       int jInd = 0;
       numProps++;
-      LNGVector<MSWatcher> wbin = watchesBin.get(p);
+      MSWatchList wbin = watchesBin.get(p);
       for (int k = 0; k < wbin.size(); k++) {
-        int imp = wbin.get(k).blocker();
+        int imp = wbin.blocker(k);
         if (value(imp) == Tristate.FALSE) {
-          return wbin.get(k).clause();
+          return wbin.clause(k);
         }
         if (value(imp) == Tristate.UNDEF) {
-          uncheckedEnqueue(imp, wbin.get(k).clause());
+          uncheckedEnqueue(imp, wbin.clause(k));
         }
       }
       while (iInd < ws.size()) {
-        MSWatcher i = ws.get(iInd);
-        int blocker = i.blocker();
+        int blocker = ws.blocker(iInd);
         if (value(blocker) == Tristate.TRUE) {
-          ws.set(jInd++, i);
-          iInd++;
+          ws.move(iInd++, jInd++);
           continue;
         }
-        MSClause c = i.clause();
+        MSClause c = ws.clause(iInd);
         assert !c.oneWatched();
         int falseLit = not(p);
         if (c.get(0) == falseLit) {
@@ -551,9 +560,8 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
         assert c.get(1) == falseLit;
         iInd++;
         int first = c.get(0);
-        MSWatcher w = new MSWatcher(c, first);
         if (first != blocker && value(first) == Tristate.TRUE) {
-          ws.set(jInd++, w);
+          ws.set(jInd++, c, first);
           continue;
         }
         boolean foundWatch = false;
@@ -574,7 +582,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
           if (choosenPos != -1) {
             c.set(1, c.get(choosenPos));
             c.set(choosenPos, falseLit);
-            watches.get(not(c.get(1))).push(w);
+            watches.get(not(c.get(1))).push(c, first);
             foundWatch = true;
           }
         } else {
@@ -582,23 +590,24 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
             if (value(c.get(k)) != Tristate.FALSE) {
               c.set(1, c.get(k));
               c.set(k, falseLit);
-              watches.get(not(c.get(1))).push(w);
+              watches.get(not(c.get(1))).push(c, first);
               foundWatch = true;
             }
         }
         if (!foundWatch) {
-          ws.set(jInd++, w);
+          ws.set(jInd++, c, first);
           if (value(first) == Tristate.FALSE) {
             confl = c;
             qhead = trail.size();
             while (iInd < ws.size())
-              ws.set(jInd++, ws.get(iInd++));
+              ws.move(iInd++, jInd++);
           } else
             uncheckedEnqueue(first, c);
         }
       }
       ws.removeElements(iInd - jInd);
     }
+    propagations += numProps;
     simpDBProps -= numProps;
     return confl;
   }
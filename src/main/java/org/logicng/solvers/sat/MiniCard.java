@@ -57,7 +57,7 @@ import org.logicng.datastructures.Tristate;
 import org.logicng.handlers.SATHandler;
 import org.logicng.solvers.datastructures.MSClause;
 import org.logicng.solvers.datastructures.MSVariable;
-import org.logicng.solvers.datastructures.MSWatcher;
+import org.logicng.solvers.datastructures.MSWatchList;
 
 /**
  * A cardinality solver based on MiniCard.
@@ -87,9 +87,12 @@ public final class MiniCard extends MiniSatStyleSolver {
   /**
    * Constructs a new MiniSAT 2 solver with a given solver configuration.
    * @param config the solver configuration
+   * @throws IllegalArgumentException if the configuration activates the clause arena
    */
   public MiniCard(final MiniSatConfig config) {
     super(config);
+    if (this.clauseArena)
+      throw new IllegalArgumentException("The MiniCard solver does not support a clause arena");
     this.initializeMiniSAT();
   }
 
@@ -110,8 +113,8 @@ public final class MiniCard extends MiniSatStyleSolver {
     int v = vars.size();
     MSVariable newVar = new MSVariable(sign);
     vars.push(newVar);
-    watches.push(new LNGVector<MSWatcher>());
-    watches.push(new LNGVector<MSWatcher>());
+    watches.push(new MSWatchList());
+    watches.push(new MSWatchList());
     seen.push(false);
     newVar.setDecision(dvar);
     insertVarOrder(v);
@@ -216,13 +219,13 @@ public final class MiniCard extends MiniSatStyleSolver {
     if (c.isAtMost()) {
       for (int i = 0; i < c.atMostWatchers(); i++) {
         final int l = c.get(i);
-        watches.get(l).push(new MSWatcher(c, LIT_UNDEF));
+        watches.get(l).push(c, LIT_UNDEF);
       }
       clausesLiterals += c.size();
     } else {
       assert c.size() > 1;
-      watches.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-      watches.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+      watches.get(not(c.get(0))).push(c, c.get(1));
+      watches.get(not(c.get(1))).push(c, c.get(0));
       if (c.learnt())
         learntsLiterals += c.size();
       else
@@ -234,8 +237,8 @@ public final class MiniCard extends MiniSatStyleSolver {
   protected void detachClause(final MSClause c) {
     assert !c.isAtMost();
     assert c.size() > 1;
-    watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+    watches.get(not(c.get(0))).remove(c);
+    watches.get(not(c.get(1))).remove(c);
     if (c.learnt())
       learntsLiterals -= c.size();
     else
@@ -248,7 +251,7 @@ public final class MiniCard extends MiniSatStyleSolver {
    */
   private void detachAtMost(final MSClause c) {
     for (int i = 0; i < c.atMostWatchers(); i++)
-      watches.get(c.get(i)).remove(new MSWatcher(c, c.get(i)));
+      watches.get(c.get(i)).remove(c);
     clausesLiterals -= c.size();
   }
 
@@ -292,6 +295,7 @@ public final class MiniCard extends MiniSatStyleSolver {
         if (learntClause.size() == 1) {
           uncheckedEnqueue(learntClause.get(0), null);
           this.unitClauses.push(learntClause.get(0));
+          exportUnit(learntClause.get(0));
         } else {
           final MSClause cr = new MSClause(learntClause, true);
           learnts.push(cr);
@@ -313,6 +317,12 @@ public final class MiniCard extends MiniSatStyleSolver {
           cancelUntil(0);
           return Tristate.UNDEF;
         }
+        if (this.unitExchange != null && decisionLevel() == 0) {
+          if (!importUnits(this.unitClauses))
+            return Tristate.FALSE;
+          if (qhead < trail.size())
+            continue;
+        }
         if (!incremental) {
           if (decisionLevel() == 0 && !simplify())
             return Tristate.FALSE;
@@ -349,19 +359,17 @@ public final class MiniCard extends MiniSatStyleSolver {
     int numProps = 0;
     while (qhead < trail.size()) {
       int p = trail.get(qhead++);
-      LNGVector<MSWatcher> ws = watches.get(p);
+      MSWatchList ws = watches.get(p);
       int iInd = 0;
       int jInd = 0;
       numProps++;
       while (iInd < ws.size()) {
-        MSWatcher i = ws.get(iInd);
-        int blocker = i.blocker();
+        int blocker = ws.blocker(iInd);
         if (blocker != LIT_UNDEF && value(blocker) == Tristate.TRUE) {
-          ws.set(jInd++, i);
-          iInd++;
+          ws.move(iInd++, jInd++);
           continue;
         }
-        MSClause c = i.clause();
+        MSClause c = ws.clause(iInd);
 
         if (c.isAtMost()) {
           int newWatch = findNewWatch(c, p);
@@ -372,18 +380,17 @@ public final class MiniCard extends MiniSatStyleSolver {
                 uncheckedEnqueue(not(c.get(k)), c);
               }
             }
-            ws.set(jInd++, ws.get(iInd++));
+            ws.move(iInd++, jInd++);
           } else if (newWatch == LIT_ERROR) {
             confl = c;
             qhead = trail.size();
             while (iInd < ws.size())
-              ws.set(jInd++, ws.get(iInd++));
+              ws.move(iInd++, jInd++);
           } else if (newWatch == p)
-            ws.set(jInd++, ws.get(iInd++));
+            ws.move(iInd++, jInd++);
           else {
             iInd++;
-            MSWatcher w = new MSWatcher(c, LIT_UNDEF);
-            watches.get(newWatch).push(w);
+            watches.get(newWatch).push(c, LIT_UNDEF);
           }
         } else {
           int falseLit = not(p);
@@ -394,9 +401,8 @@ public final class MiniCard extends MiniSatStyleSolver {
           assert c.get(1) == falseLit;
           iInd++;
           int first = c.get(0);
-          MSWatcher w = new MSWatcher(c, first);
           if (first != blocker && value(first) == Tristate.TRUE) {
-            ws.set(jInd++, w);
+            ws.set(jInd++, c, first);
             continue;
           }
           boolean foundWatch = false;
@@ -404,16 +410,16 @@ public final class MiniCard extends MiniSatStyleSolver {
             if (value(c.get(k)) != Tristate.FALSE) {
               c.set(1, c.get(k));
               c.set(k, falseLit);
-              watches.get(not(c.get(1))).push(w);
+              watches.get(not(c.get(1))).push(c, first);
               foundWatch = true;
             }
           if (!foundWatch) {
-            ws.set(jInd++, w);
+            ws.set(jInd++, c, first);
             if (value(first) == Tristate.FALSE) {
               confl = c;
               qhead = trail.size();
               while (iInd < ws.size())
-                ws.set(jInd++, ws.get(iInd++));
+                ws.move(iInd++, jInd++);
             } else
               uncheckedEnqueue(first, c);
           }
@@ -421,6 +427,7 @@ public final class MiniCard extends MiniSatStyleSolver {
       }
       ws.removeElements(iInd - jInd);
     }
+    propagations += numProps;
     simpDBProps -= numProps;
     return confl;
   }
@@ -806,8 +813,11 @@ public final class MiniCard extends MiniSatStyleSolver {
     completeBacktrack();
     this.ok = state[0] == 1;
     int newVarsSize = Math.min(state[1], vars.size());
-    for (i = this.vars.size() - 1; i >= newVarsSize; i--)
-      this.orderHeap.remove(this.name2idx.remove(this.idx2name.remove(i)));
+    for (i = this.vars.size() - 1; i >= newVarsSize; i--) {
+      if (this.orderHeap.inHeap(i))
+        this.orderHeap.remove(i);
+    }
+    this.removeNames(newVarsSize);
     vars.shrinkTo(newVarsSize);
     int newClausesSize = Math.min(state[2], this.clauses.size());
     for (i = this.clauses.size() - 1; i >= newClausesSize; i--)
@@ -848,10 +858,10 @@ public final class MiniCard extends MiniSatStyleSolver {
   private void simpleRemoveClause(final MSClause c) {
     if (c.isAtMost())
       for (int i = 0; i < c.atMostWatchers(); i++)
-        watches.get(c.get(i)).remove(new MSWatcher(c, c.get(i)));
+        watches.get(c.get(i)).remove(c);
     else {
-      watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-      watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+      watches.get(not(c.get(0))).remove(c);
+      watches.get(not(c.get(1))).remove(c);
     }
   }
 }
@@ -0,0 +1,949 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+/******************************************************************************************
+ * MiniSat -- Copyright (c) 2003-2006, Niklas Een, Niklas Sorensson
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************************/
+
+package org.logicng.solvers.sat;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.handlers.SATHandler;
+import org.logicng.solvers.datastructures.MSClause;
+import org.logicng.solvers.datastructures.MSPBConstraint;
+import org.logicng.solvers.datastructures.MSVariable;
+import org.logicng.solvers.datastructures.MSWatchList;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A pseudo-Boolean solver based on MiniSAT 2.2.0.
+ * <p>
+ * In addition to clauses, this solver handles linear pseudo-Boolean constraints {@code a_1 * l_1 + ... + a_n * l_n >= d}
+ * natively.  A pseudo-Boolean constraint watches a subset of its literals whose coefficients sum up to at least
+ * {@code d + max(a_i)}.  As long as such a subset of non-false literals exists, the constraint can neither propagate
+ * nor be conflicting.  Otherwise all non-false literals are watched and each unassigned literal with a coefficient
+ * greater than the slack of the constraint is propagated.  Reasons and conflicts of pseudo-Boolean constraints are
+ * explained by clauses, therefore conflict analysis and learning are the same as in MiniSAT.  A pseudo-Boolean
+ * constraint is stored as the reason of the literals it propagates, the explaining clause of such a literal is only
+ * built when the reason is used in the conflict analysis.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MiniPB extends MiniSatStyleSolver {
+
+  private LNGIntVector unitClauses;
+  private LNGIntVector trailPositions;
+  private double learntsizeAdjustConfl;
+  private int learntsizeAdjustCnt;
+  private int learntsizeAdjustStartConfl;
+  private double learntsizeAdjustInc;
+  private double maxLearnts;
+
+  /**
+   * Constructs a new MiniPB solver with the default values for solver configuration.  By default, incremental mode
+   * is activated.
+   */
+  public MiniPB() {
+    this(new MiniSatConfig.Builder().build());
+  }
+
+  /**
+   * Constructs a new MiniPB solver with a given solver configuration.
+   * @param config the solver configuration
+   * @throws IllegalArgumentException if the configuration activates the clause arena
+   */
+  public MiniPB(final MiniSatConfig config) {
+    super(config);
+    if (this.clauseArena)
+      throw new IllegalArgumentException("The MiniPB solver does not support a clause arena");
+    this.initializeMiniSAT();
+  }
+
+  /**
+   * Initializes the additional parameters.
+   */
+  private void initializeMiniSAT() {
+    unitClauses = new LNGIntVector();
+    this.trailPositions = new LNGIntVector();
+    this.learntsizeAdjustConfl = 0;
+    this.learntsizeAdjustCnt = 0;
+    this.learntsizeAdjustStartConfl = 100;
+    this.learntsizeAdjustInc = 1.5;
+    this.maxLearnts = 0;
+  }
+
+  @Override
+  public int newVar(boolean sign, boolean dvar) {
+    int v = vars.size();
+    MSVariable newVar = new MSVariable(sign);
+    vars.push(newVar);
+    watches.push(new MSWatchList());
+    watches.push(new MSWatchList());
+    seen.push(false);
+    this.trailPositions.push(0);
+    newVar.setDecision(dvar);
+    insertVarOrder(v);
+    return v;
+  }
+
+  @Override
+  public boolean addClause(final LNGIntVector ps) {
+    assert decisionLevel() == 0;
+    if (!ok)
+      return false;
+    ps.sort();
+    int p;
+    int i;
+    int j;
+    for (i = 0, j = 0, p = LIT_UNDEF; i < ps.size(); i++)
+      if (value(ps.get(i)) == Tristate.TRUE || ps.get(i) == not(p))
+        return true;
+      else if (value(ps.get(i)) != Tristate.FALSE && ps.get(i) != p) {
+        p = ps.get(i);
+        ps.set(j++, p);
+      }
+    ps.removeElements(i - j);
+    if (ps.empty()) {
+      ok = false;
+      return false;
+    } else if (ps.size() == 1) {
+      uncheckedEnqueue(ps.get(0), null);
+      ok = propagate() == null;
+      if (incremental)
+        unitClauses.push(ps.get(0));
+      return ok;
+    } else {
+      final MSClause c = new MSClause(ps, false);
+      clauses.push(c);
+      attachClause(c);
+    }
+    return true;
+  }
+
+  /**
+   * Adds a pseudo-Boolean constraint {@code a_1 * l_1 + ... + a_n * l_n >= degree}.  The coefficients may be negative
+   * and a variable may occur more than once, the constraint is normalized before it is added.
+   * @param ps     the literals of the constraint
+   * @param coeffs the coefficients of the literals
+   * @param degree the degree (right-hand side) of the constraint
+   * @return {@code true} if the constraint was added, {@code false} if the solver became unsatisfiable
+   * @throws IllegalArgumentException if the number of literals and coefficients differ or a normalized coefficient
+   *                                  exceeds the integer range
+   */
+  public boolean addAtLeast(final LNGIntVector ps, final LNGIntVector coeffs, long degree) {
+    assert decisionLevel() == 0;
+    if (ps.size() != coeffs.size())
+      throw new IllegalArgumentException("The number of literals and coefficients must be equal");
+    if (!ok)
+      return false;
+    final Map<Integer, Long> varCoeffs = new TreeMap<>();
+    long d = degree;
+    for (int i = 0; i < ps.size(); i++) {
+      final int lit = ps.get(i);
+      long coeff = coeffs.get(i);
+      if (sign(lit)) {
+        d -= coeff;
+        coeff = -coeff;
+      }
+      final Long old = varCoeffs.get(var(lit));
+      varCoeffs.put(var(lit), old == null ? coeff : old + coeff);
+    }
+    final LNGIntVector lits = new LNGIntVector(varCoeffs.size());
+    final LNGIntVector cs = new LNGIntVector(varCoeffs.size());
+    final long[] normalized = new long[varCoeffs.size()];
+    for (final Map.Entry<Integer, Long> entry : varCoeffs.entrySet()) {
+      long coeff = entry.getValue();
+      if (coeff == 0)
+        continue;
+      int lit = mkLit(entry.getKey(), false);
+      if (coeff < 0) {
+        lit = not(lit);
+        coeff = -coeff;
+        d += coeff;
+      }
+      if (value(lit) == Tristate.TRUE)
+        d -= coeff;
+      else if (value(lit) == Tristate.UNDEF) {
+        normalized[lits.size()] = coeff;
+        lits.push(lit);
+      }
+    }
+    if (d <= 0)
+      return true;
+    long sum = 0;
+    boolean isClause = true;
+    for (int i = 0; i < lits.size(); i++) {
+      final long coeff = Math.min(normalized[i], d);
+      if (coeff > Integer.MAX_VALUE)
+        throw new IllegalArgumentException("Coefficient exceeds the integer range: " + coeff);
+      sum += coeff;
+      isClause &= coeff == d;
+      cs.push((int) coeff);
+    }
+    if (sum < d) {
+      ok = false;
+      return false;
+    }
+    if (isClause)
+      return addClause(lits);
+    final MSPBConstraint c = createPBConstraint(lits, cs, d);
+    clauses.push(c);
+    attachClause(c);
+    for (int i = 0; i < c.size(); i++)
+      if (c.coefficient(i) > sum - d && value(c.get(i)) == Tristate.UNDEF) {
+        uncheckedEnqueue(c.get(i), null);
+        if (incremental)
+          unitClauses.push(c.get(i));
+      }
+    ok = propagate() == null;
+    return ok;
+  }
+
+  /**
+   * Creates a new pseudo-Boolean constraint whose literals are sorted by descending coefficients.
+   * @param lits   the literals
+   * @param coeffs the coefficients
+   * @param degree the degree
+   * @return the pseudo-Boolean constraint
+   */
+  private static MSPBConstraint createPBConstraint(final LNGIntVector lits, final LNGIntVector coeffs, long degree) {
+    final Integer[] indices = new Integer[lits.size()];
+    for (int i = 0; i < indices.length; i++)
+      indices[i] = i;
+    Arrays.sort(indices, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer i1, final Integer i2) {
+        return Integer.compare(coeffs.get(i2), coeffs.get(i1));
+      }
+    });
+    final LNGIntVector sortedLits = new LNGIntVector(indices.length);
+    final LNGIntVector sortedCoeffs = new LNGIntVector(indices.length);
+    for (final Integer index : indices) {
+      sortedLits.push(lits.get(index));
+      sortedCoeffs.push(coeffs.get(index));
+    }
+    return new MSPBConstraint(sortedLits, sortedCoeffs, degree);
+  }
+
+  @Override
+  protected void uncheckedEnqueue(int lit, MSClause reason) {
+    assert value(lit) == Tristate.UNDEF;
+    final MSVariable var = v(lit);
+    var.assign(Tristate.fromBool(!sign(lit)));
+    var.setReason(reason);
+    var.setLevel(decisionLevel());
+    this.trailPositions.set(var(lit), trail.size());
+    trail.push(lit);
+  }
+
+  @Override
+  protected void attachClause(final MSClause c) {
+    if (c.isPB()) {
+      final MSPBConstraint pb = (MSPBConstraint) c;
+      final long threshold = pb.degree() + pb.maxCoefficient();
+      long watchSum = 0;
+      int i;
+      for (i = 0; i < pb.size() && watchSum < threshold; i++) {
+        watches.get(not(pb.get(i))).push(pb, LIT_UNDEF);
+        watchSum += pb.coefficient(i);
+      }
+      pb.setWatched(i);
+      clausesLiterals += pb.size();
+      return;
+    }
+    assert c.size() > 1;
+    watches.get(not(c.get(0))).push(c, c.get(1));
+    watches.get(not(c.get(1))).push(c, c.get(0));
+    if (c.learnt())
+      learntsLiterals += c.size();
+    else
+      clausesLiterals += c.size();
+  }
+
+  @Override
+  protected void detachClause(final MSClause c) {
+    if (c.isPB()) {
+      final MSPBConstraint pb = (MSPBConstraint) c;
+      for (int i = 0; i < pb.watched(); i++)
+        watches.get(not(pb.get(i))).remove(pb);
+      clausesLiterals -= pb.size();
+      return;
+    }
+    assert c.size() > 1;
+    watches.get(not(c.get(0))).remove(c);
+    watches.get(not(c.get(1))).remove(c);
+    if (c.learnt())
+      learntsLiterals -= c.size();
+    else
+      clausesLiterals -= c.size();
+  }
+
+  @Override
+  protected void removeClause(final MSClause c) {
+    detachClause(c);
+    if (!c.isPB() && locked(c))
+      v(c.get(0)).setReason(null);
+  }
+
+  /**
+   * The main search procedure of the CDCL algorithm.
+   * @param nofConflicts the number of conflicts till the next restart
+   * @return a {@link Tristate} representing the result.  {@code FALSE} if the formula is UNSAT, {@code TRUE} if the
+   * formula is SAT, and {@code UNDEF} if the state is not known yet (restart) or the handler canceled the computation
+   */
+  private Tristate search(int nofConflicts) {
+    if (!ok)
+      return Tristate.FALSE;
+    int conflictC = 0;
+    while (true) {
+      MSClause confl = propagate();
+      if (confl != null) {
+        if (handler != null && !handler.detectedConflict()) {
+          canceledByHandler = true;
+          return Tristate.UNDEF;
+        }
+        conflictC++;
+        if (decisionLevel() == 0)
+          return Tristate.FALSE;
+        LNGIntVector learntClause = new LNGIntVector();
+        analyze(confl, learntClause);
+        cancelUntil(analyzeBtLevel);
+        if (learntClause.size() == 1) {
+          uncheckedEnqueue(learntClause.get(0), null);
+          this.unitClauses.push(learntClause.get(0));
+          exportUnit(learntClause.get(0));
+        } else {
+          final MSClause cr = new MSClause(learntClause, true);
+          learnts.push(cr);
+          attachClause(cr);
+          if (!incremental)
+            claBumpActivity(cr);
+          uncheckedEnqueue(learntClause.get(0), cr);
+        }
+        varDecayActivity();
+        if (!incremental)
+          claDecayActivity();
+        if (--learntsizeAdjustCnt == 0) {
+          learntsizeAdjustConfl *= learntsizeAdjustInc;
+          learntsizeAdjustCnt = (int) learntsizeAdjustConfl;
+          maxLearnts *= learntsizeInc;
+        }
+      } else {
+        if (nofConflicts >= 0 && conflictC >= nofConflicts) {
+          cancelUntil(0);
+          return Tristate.UNDEF;
+        }
+        if (this.unitExchange != null && decisionLevel() == 0) {
+          if (!importUnits(this.unitClauses))
+            return Tristate.FALSE;
+          if (qhead < trail.size())
+            continue;
+        }
+        if (!incremental) {
+          if (decisionLevel() == 0 && !simplify())
+            return Tristate.FALSE;
+          if (learnts.size() - nAssigns() >= maxLearnts)
+            reduceDB();
+        }
+        int next = LIT_UNDEF;
+        while (decisionLevel() < assumptions.size()) {
+          int p = assumptions.get(decisionLevel());
+          if (value(p) == Tristate.TRUE) {
+            trailLim.push(trail.size());
+          } else if (value(p) == Tristate.FALSE) {
+            analyzeFinal(not(p), conflict);
+            return Tristate.FALSE;
+          } else {
+            next = p;
+            break;
+          }
+        }
+        if (next == LIT_UNDEF) {
+          next = pickBranchLit();
+          if (next == LIT_UNDEF)
+            return Tristate.TRUE;
+        }
+        trailLim.push(trail.size());
+        uncheckedEnqueue(next, null);
+      }
+    }
+  }
+
+  @Override
+  protected MSClause propagate() {
+    MSClause confl = null;
+    int numProps = 0;
+    while (qhead < trail.size()) {
+      int p = trail.get(qhead++);
+      MSWatchList ws = watches.get(p);
+      int iInd = 0;
+      int jInd = 0;
+      numProps++;
+      while (iInd < ws.size()) {
+        int blocker = ws.blocker(iInd);
+        if (blocker != LIT_UNDEF && value(blocker) == Tristate.TRUE) {
+          ws.move(iInd++, jInd++);
+          continue;
+        }
+        MSClause c = ws.clause(iInd);
+        int falseLit = not(p);
+        if (c.isPB()) {
+          final MSPBConstraint pb = (MSPBConstraint) c;
+          iInd++;
+          final long watchSum = updatePBWatches(pb, falseLit);
+          if (watchSum >= pb.degree() + pb.maxCoefficient()) {
+            unwatch(pb, falseLit);
+            continue;
+          }
+          ws.set(jInd++, c, LIT_UNDEF);
+          final MSClause pbConfl = propagatePB(pb, watchSum - pb.degree());
+          if (pbConfl != null) {
+            confl = pbConfl;
+            qhead = trail.size();
+            while (iInd < ws.size())
+              ws.move(iInd++, jInd++);
+          }
+          continue;
+        }
+        if (c.get(0) == falseLit) {
+          c.set(0, c.get(1));
+          c.set(1, falseLit);
+        }
+        assert c.get(1) == falseLit;
+        iInd++;
+        int first = c.get(0);
+        if (first != blocker && value(first) == Tristate.TRUE) {
+          ws.set(jInd++, c, first);
+          continue;
+        }
+        boolean foundWatch = false;
+        for (int k = 2; k < c.size() && !foundWatch; k++)
+          if (value(c.get(k)) != Tristate.FALSE) {
+            c.set(1, c.get(k));
+            c.set(k, falseLit);
+            watches.get(not(c.get(1))).push(c, first);
+            foundWatch = true;
+          }
+        if (!foundWatch) {
+          ws.set(jInd++, c, first);
+          if (value(first) == Tristate.FALSE) {
+            confl = c;
+            qhead = trail.size();
+            while (iInd < ws.size())
+              ws.move(iInd++, jInd++);
+          } else
+            uncheckedEnqueue(first, c);
+        }
+      }
+      ws.removeElements(iInd - jInd);
+    }
+    propagations += numProps;
+    simpDBProps -= numProps;
+    return confl;
+  }
+
+  /**
+   * Updates the watched literals of a pseudo-Boolean constraint after a watched literal became false.  Non-false
+   * unwatched literals are watched until the sum of the coefficients of the non-false watched literals reaches
+   * {@code degree + maxCoefficient} or there is no such literal left.
+   * @param pb       the pseudo-Boolean constraint
+   * @param falseLit the watched literal which became false
+   * @return the sum of the coefficients of the non-false watched literals
+   */
+  private long updatePBWatches(final MSPBConstraint pb, int falseLit) {
+    final long threshold = pb.degree() + pb.maxCoefficient();
+    long watchSum = 0;
+    for (int i = 0; i < pb.watched(); i++)
+      if (value(pb.get(i)) != Tristate.FALSE)
+        watchSum += pb.coefficient(i);
+    for (int k = pb.watched(); k < pb.size() && watchSum < threshold; k++)
+      if (value(pb.get(k)) != Tristate.FALSE) {
+        final int w = pb.watched();
+        pb.swap(k, w);
+        pb.setWatched(w + 1);
+        watches.get(not(pb.get(w))).push(pb, LIT_UNDEF);
+        watchSum += pb.coefficient(w);
+      }
+    assert value(falseLit) == Tristate.FALSE;
+    return watchSum;
+  }
+
+  /**
+   * Removes a given literal from the watched literals of a pseudo-Boolean constraint.  The watcher itself has to be
+   * removed from the watch list by the caller.
+   * @param pb  the pseudo-Boolean constraint
+   * @param lit the watched literal
+   */
+  private void unwatch(final MSPBConstraint pb, int lit) {
+    final int last = pb.watched() - 1;
+    for (int i = 0; i <= last; i++)
+      if (pb.get(i) == lit) {
+        pb.swap(i, last);
+        pb.setWatched(last);
+        return;
+      }
+    assert false : "literal is not watched";
+  }
+
+  /**
+   * Propagates a pseudo-Boolean constraint whose non-false literals are all watched.  Each unassigned literal with a
+   * coefficient greater than the slack of the constraint is assigned with the constraint as reason.
+   * @param pb    the pseudo-Boolean constraint
+   * @param slack the slack of the constraint, i.e. the sum of the coefficients of the non-false literals minus the
+   *              degree
+   * @return the conflict clause if the constraint is violated, {@code null} otherwise
+   */
+  private MSClause propagatePB(final MSPBConstraint pb, long slack) {
+    if (slack < 0)
+      return explainPB(pb, -1);
+    if (slack >= pb.maxCoefficient())
+      return null;
+    for (int i = 0; i < pb.watched(); i++) {
+      final int lit = pb.get(i);
+      if (pb.coefficient(i) > slack && value(lit) == Tristate.UNDEF)
+        uncheckedEnqueue(lit, pb);
+    }
+    return null;
+  }
+
+  /**
+   * Returns the reason of a given assigned variable as a clause whose first literal is the true literal of the
+   * variable.  If the variable was propagated by a pseudo-Boolean constraint, the explaining clause is built.
+   * @param var the variable
+   * @return the reason clause or {@code null} if the variable was not propagated
+   */
+  private MSClause reason(int var) {
+    final MSClause reason = this.vars.get(var).reason();
+    return reason == null || !reason.isPB() ? reason : explainPB((MSPBConstraint) reason, var);
+  }
+
+  /**
+   * Explains a propagation or a conflict of a pseudo-Boolean constraint by a clause.  The clause consists of the
+   * propagated literal (if any) at the first position and enough literals of the constraint which were false before
+   * the propagation such that the remaining literals cannot satisfy the constraint.
+   * @param pb  the pseudo-Boolean constraint
+   * @param var the variable of the propagated literal or -1 for a conflict
+   * @return the explaining clause
+   */
+  private MSClause explainPB(final MSPBConstraint pb, int var) {
+    final LNGIntVector ps = new LNGIntVector();
+    int weight = 0;
+    int position = trail.size();
+    if (var != -1) {
+      for (int i = 0; i < pb.size(); i++)
+        if (var(pb.get(i)) == var) {
+          ps.push(pb.get(i));
+          weight = pb.coefficient(i);
+          break;
+        }
+      assert !ps.empty();
+      position = this.trailPositions.get(var);
+    }
+    final long bound = pb.sum() - pb.degree() - weight;
+    long falseSum = 0;
+    for (int i = 0; i < pb.size() && falseSum <= bound; i++) {
+      final int lit = pb.get(i);
+      if (value(lit) == Tristate.FALSE && this.trailPositions.get(var(lit)) < position) {
+        ps.push(lit);
+        falseSum += pb.coefficient(i);
+      }
+    }
+    assert falseSum > bound;
+    return new MSClause(ps, false);
+  }
+
+  /**
+   * Analyzes a given conflict clause wrt. the current solver state.  A 1-UIP clause is created during this procedure
+   * and the new backtracking level is stored in the solver state.
+   * @param conflictClause the conflict clause to start the resolution analysis with
+   * @param outLearnt      the vector where the new learnt 1-UIP clause is stored
+   */
+  private void analyze(final MSClause conflictClause, final LNGIntVector outLearnt) {
+    MSClause c = conflictClause;
+    int pathC = 0;
+    int p = LIT_UNDEF;
+    outLearnt.push(-1);
+    int index = trail.size() - 1;
+    do {
+      assert c != null;
+      if (!incremental && c.learnt())
+        claBumpActivity(c);
+      for (int j = (p == LIT_UNDEF) ? 0 : 1; j < c.size(); j++) {
+        int q = c.get(j);
+        if (!seen.get(var(q)) && v(q).level() > 0) {
+          varBumpActivity(var(q));
+          seen.set(var(q), true);
+          if (v(q).level() >= decisionLevel())
+            pathC++;
+          else
+            outLearnt.push(q);
+        }
+      }
+      while (!seen.get(var(trail.get(index--)))) ;
+      p = trail.get(index + 1);
+      c = reason(var(p));
+      seen.set(var(p), false);
+      pathC--;
+    } while (pathC > 0);
+    outLearnt.set(0, not(p));
+    simplifyClause(outLearnt);
+  }
+
+  /**
+   * Minimizes a given learnt clause depending on the minimization method of the solver configuration.
+   * @param outLearnt the learnt clause which should be minimized
+   */
+  private void simplifyClause(final LNGIntVector outLearnt) {
+    int i;
+    int j;
+    this.analyzeToClear = new LNGIntVector(outLearnt);
+    if (ccminMode == MiniSatConfig.ClauseMinimization.DEEP) {
+      int abstractLevel = 0;
+      for (i = 1; i < outLearnt.size(); i++)
+        abstractLevel |= abstractLevel(var(outLearnt.get(i)));
+      for (i = j = 1; i < outLearnt.size(); i++)
+        if (v(outLearnt.get(i)).reason() == null || !litRedundant(outLearnt.get(i), abstractLevel))
+          outLearnt.set(j++, outLearnt.get(i));
+    } else if (ccminMode == MiniSatConfig.ClauseMinimization.BASIC) {
+      for (i = j = 1; i < outLearnt.size(); i++) {
+        if (v(outLearnt.get(i)).reason() == null)
+          outLearnt.set(j++, outLearnt.get(i));
+        else {
+          MSClause c = reason(var(outLearnt.get(i)));
+          for (int k = 1; k < c.size(); k++)
+            if (!seen.get(var(c.get(k))) && v(c.get(k)).level() > 0) {
+              outLearnt.set(j++, outLearnt.get(i));
+              break;
+            }
+        }
+      }
+    } else
+      i = j = outLearnt.size();
+    outLearnt.removeElements(i - j);
+    analyzeBtLevel = 0;
+    if (outLearnt.size() > 1) {
+      int max = 1;
+      for (int k = 2; k < outLearnt.size(); k++)
+        if (v(outLearnt.get(k)).level() > v(outLearnt.get(max)).level())
+          max = k;
+      int p = outLearnt.get(max);
+      outLearnt.set(max, outLearnt.get(1));
+      outLearnt.set(1, p);
+      analyzeBtLevel = v(p).level();
+    }
+    for (int l = 0; l < analyzeToClear.size(); l++)
+      seen.set(var(analyzeToClear.get(l)), false);
+  }
+
+  @Override
+  protected boolean litRedundant(int p, int abstractLevels) {
+    analyzeStack.clear();
+    analyzeStack.push(p);
+    int top = analyzeToClear.size();
+    while (analyzeStack.size() > 0) {
+      assert v(analyzeStack.back()).reason() != null;
+      MSClause c = reason(var(analyzeStack.back()));
+      analyzeStack.pop();
+      for (int i = 1; i < c.size(); i++) {
+        final int q = c.get(i);
+        if (!seen.get(var(q)) && v(q).level() > 0) {
+          if (v(q).reason() != null && (abstractLevel(var(q)) & abstractLevels) != 0) {
+            seen.set(var(q), true);
+            analyzeStack.push(q);
+            analyzeToClear.push(q);
+          } else {
+            for (int j = top; j < analyzeToClear.size(); j++)
+              seen.set(var(analyzeToClear.get(j)), false);
+            analyzeToClear.removeElements(analyzeToClear.size() - top);
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected void analyzeFinal(int p, final LNGIntVector outConflict) {
+    outConflict.clear();
+    outConflict.push(p);
+    if (decisionLevel() == 0)
+      return;
+    seen.set(var(p), true);
+    int x;
+    MSVariable v;
+    for (int i = trail.size() - 1; i >= trailLim.get(0); i--) {
+      x = var(trail.get(i));
+      if (seen.get(x)) {
+        v = this.vars.get(x);
+        if (v.reason() == null) {
+          assert v.level() > 0;
+          outConflict.push(not(trail.get(i)));
+        } else {
+          final MSClause c = reason(x);
+          for (int j = 1; j < c.size(); j++)
+            if (v(c.get(j)).level() > 0)
+              seen.set(var(c.get(j)), true);
+        }
+        seen.set(x, false);
+      }
+    }
+    seen.set(var(p), false);
+  }
+
+  @Override
+  protected void cancelUntil(int level) {
+    if (decisionLevel() > level) {
+      for (int c = trail.size() - 1; c >= trailLim.get(level); c--) {
+        int x = var(trail.get(c));
+        MSVariable v = this.vars.get(x);
+        v.assign(Tristate.UNDEF);
+        v.setPolarity(sign(trail.get(c)));
+        insertVarOrder(x);
+      }
+      qhead = trailLim.get(level);
+      trail.removeElements(trail.size() - trailLim.get(level));
+      trailLim.removeElements(trailLim.size() - level);
+    }
+  }
+
+  @Override
+  protected void reduceDB() {
+    int i;
+    int j;
+    double extraLim = claInc / learnts.size();
+    learnts.manualSort(MSClause.minisatComparator);
+    for (i = j = 0; i < learnts.size(); i++) {
+      final MSClause c = learnts.get(i);
+      if (c.size() > 2 && !locked(c) && (i < learnts.size() / 2 || c.activity() < extraLim))
+        removeClause(learnts.get(i));
+      else
+        learnts.set(j++, learnts.get(i));
+    }
+    learnts.removeElements(i - j);
+  }
+
+  @Override
+  protected void removeSatisfied(final LNGVector<MSClause> cs) {
+    int i;
+    int j;
+    for (i = j = 0; i < cs.size(); i++) {
+      final MSClause c = cs.get(i);
+      if (satisfied(c))
+        removeClause(cs.get(i));
+      else if (c.isPB())
+        cs.set(j++, cs.get(i));
+      else {
+        assert value(c.get(0)) == Tristate.UNDEF && value(c.get(1)) == Tristate.UNDEF;
+        for (int k = 2; k < c.size(); k++)
+          if (value(c.get(k)) == Tristate.FALSE) {
+            c.set(k--, c.get(c.size() - 1));
+            c.pop();
+          }
+        cs.set(j++, cs.get(i));
+      }
+    }
+    cs.removeElements(i - j);
+  }
+
+  @Override
+  protected boolean satisfied(final MSClause c) {
+    if (c.isPB()) {
+      final MSPBConstraint pb = (MSPBConstraint) c;
+      long trueSum = 0;
+      for (int i = 0; i < pb.size(); i++)
+        if (value(pb.get(i)) == Tristate.TRUE)
+          trueSum += pb.coefficient(i);
+      return trueSum >= pb.degree();
+    }
+    for (int i = 0; i < c.size(); i++)
+      if (value(c.get(i)) == Tristate.TRUE)
+        return true;
+    return false;
+  }
+
+  @Override
+  protected boolean simplify() {
+    assert decisionLevel() == 0;
+    if (!ok || propagate() != null) {
+      ok = false;
+      return false;
+    }
+    if (nAssigns() == simpDBAssigns || (simpDBProps > 0))
+      return true;
+    removeSatisfied(learnts);
+    if (removeSatisfied)
+      removeSatisfied(clauses);
+    rebuildOrderHeap();
+    simpDBAssigns = nAssigns();
+    simpDBProps = clausesLiterals + learntsLiterals;
+    return true;
+  }
+
+  @Override
+  public Tristate solve(final SATHandler handler) {
+    this.handler = handler;
+    if (this.handler != null)
+      this.handler.startedSolving();
+    model.clear();
+    conflict.clear();
+    if (!ok)
+      return Tristate.FALSE;
+    learntsizeAdjustConfl = learntsizeAdjustStartConfl;
+    learntsizeAdjustCnt = (int) learntsizeAdjustConfl;
+    maxLearnts = clauses.size() * learntsizeFactor;
+    Tristate status = Tristate.UNDEF;
+    int currRestarts = 0;
+    while (status == Tristate.UNDEF && !canceledByHandler) {
+      double restBase = luby(restartInc, currRestarts);
+      status = search((int) (restBase * restartFirst));
+      currRestarts++;
+    }
+    if (status == Tristate.TRUE) {
+      model = new LNGBooleanVector(vars.size());
+      for (final MSVariable v : this.vars)
+        model.push(v.assignment() == Tristate.TRUE);
+    } else if (status == Tristate.FALSE && conflict.empty())
+      ok = false;
+    if (this.handler != null)
+      this.handler.finishedSolving();
+    cancelUntil(0);
+    this.handler = null;
+    this.canceledByHandler = false;
+    return status;
+  }
+
+  @Override
+  public void reset() {
+    super.initialize();
+    this.initializeMiniSAT();
+  }
+
+  /**
+   * Saves and returns the solver state expressed as an integer array which stores the length of the internal data
+   * structures.  The array has length 5 and has the following layout:
+   * <p>
+   * {@code | current solver state | #vars | #clauses | #learnt clauses | #unit clauses |}
+   * @return the current solver state
+   */
+  @Override
+  public int[] saveState() {
+    if (!incremental)
+      throw new IllegalStateException("Cannot save a state when the incremental mode is deactivated");
+    int[] state;
+    state = new int[5];
+    state[0] = ok ? 1 : 0;
+    state[1] = vars.size();
+    state[2] = clauses.size();
+    state[3] = learnts.size();
+    state[4] = unitClauses.size();
+    return state;
+  }
+
+  @Override
+  public void loadState(int[] state) {
+    if (!incremental)
+      throw new IllegalStateException("Cannot save a state when the incremental mode is deactivated");
+    int i;
+    completeBacktrack();
+    this.ok = state[0] == 1;
+    int newVarsSize = Math.min(state[1], vars.size());
+    for (i = this.vars.size() - 1; i >= newVarsSize; i--) {
+      if (this.orderHeap.inHeap(i))
+        this.orderHeap.remove(i);
+    }
+    this.removeNames(newVarsSize);
+    vars.shrinkTo(newVarsSize);
+    this.trailPositions.shrinkTo(newVarsSize);
+    int newClausesSize = Math.min(state[2], this.clauses.size());
+    for (i = this.clauses.size() - 1; i >= newClausesSize; i--)
+      simpleRemoveClause(this.clauses.get(i));
+    this.clauses.shrinkTo(newClausesSize);
+    int newLearntsSize = Math.min(state[3], this.learnts.size());
+    for (i = this.learnts.size() - 1; i >= newLearntsSize; i--)
+      simpleRemoveClause(this.learnts.get(i));
+    this.learnts.shrinkTo(newLearntsSize);
+    this.watches.shrinkTo(newVarsSize * 2);
+    this.unitClauses.shrinkTo(state[4]);
+    for (i = 0; this.ok && i < this.unitClauses.size(); i++) {
+      uncheckedEnqueue(this.unitClauses.get(i), null);
+      this.ok = propagate() == null;
+    }
+  }
+
+  /**
+   * Performs an unconditional backtrack to level zero.
+   */
+  private void completeBacktrack() {
+    for (int v = 0; v < vars.size(); v++) {
+      MSVariable var = vars.get(v);
+      var.assign(Tristate.UNDEF);
+      var.setReason(null);
+      if (!orderHeap.inHeap(v) && var.decision())
+        orderHeap.insert(v);
+    }
+    trail.clear();
+    trailLim.clear();
+    qhead = 0;
+  }
+
+  /**
+   * Performs a simple removal of clauses used during the loading of an older state.
+   * @param c the clause to remove
+   */
+  private void simpleRemoveClause(final MSClause c) {
+    if (c.isPB()) {
+      final MSPBConstraint pb = (MSPBConstraint) c;
+      for (int i = 0; i < pb.watched(); i++)
+        watches.get(not(pb.get(i))).remove(pb);
+      return;
+    }
+    watches.get(not(c.get(0))).remove(c);
+    watches.get(not(c.get(1))).remove(c);
+  }
+}
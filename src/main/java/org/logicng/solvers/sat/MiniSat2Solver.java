@@ -49,9 +49,13 @@ import org.logicng.collections.LNGIntVector;
 import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Tristate;
 import org.logicng.handlers.SATHandler;
+import org.logicng.solvers.datastructures.MSArenaWatchList;
 import org.logicng.solvers.datastructures.MSClause;
+import org.logicng.solvers.datastructures.MSClauseArena;
 import org.logicng.solvers.datastructures.MSVariable;
-import org.logicng.solvers.datastructures.MSWatcher;
+import org.logicng.solvers.datastructures.MSWatchList;
+
+import java.util.Arrays;
 
 /**
  * A solver based on MiniSAT 2.2.0.  If the incremental mode is deactivated, this version should behave exactly
@@ -61,12 +65,20 @@ import org.logicng.solvers.datastructures.MSWatcher;
  * Therefore clause deletion and simplifications are deactivated in this mode.  This mode is most efficient on small
  * to mid-size industrial formulas (up to 50,000 variables, 100,000 clauses).  Whenever you have lots of small formulas
  * to solve or need the ability to add and delete formulas from the solver, we recommend to consider this mode.
+ * <p>
+ * If the clause arena is activated in the configuration, the clauses are not stored as {@link MSClause} objects but
+ * in a {@link MSClauseArena}.  The reasons of the variables and the watchers then refer to the clauses by their
+ * integer references.  Deleted clauses are removed lazily from the watch lists and the arena is compacted once the
+ * deleted clauses take up a fifth of it.  The methods of the super class which pass {@link MSClause} objects are not
+ * used in this mode.
  * @author Christoph Zengler
  * @version 1.0
  * @since 1.0
  */
 public final class MiniSat2Solver extends MiniSatStyleSolver {
 
+  private static final double GARBAGE_FRACTION = 0.2;
+
   private LNGIntVector unitClauses;
   private double learntsizeAdjustConfl;
   private int learntsizeAdjustCnt;
@@ -74,6 +86,13 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
   private double learntsizeAdjustInc;
   private double maxLearnts;
 
+  // clause arena
+  private MSClauseArena arena;
+  private LNGIntVector clauseRefs;
+  private LNGIntVector learntRefs;
+  private LNGVector<MSArenaWatchList> arenaWatches;
+  private LNGIntVector dirtyWatches;
+
   /**
    * Constructs a new MiniSAT 2 solver with the default values for solver configuration.  By default, incremental mode
    * is activated.
@@ -101,6 +120,13 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     this.learntsizeAdjustStartConfl = 100;
     this.learntsizeAdjustInc = 1.5;
     this.maxLearnts = 0;
+    if (clauseArena) {
+      this.arena = new MSClauseArena();
+      this.clauseRefs = new LNGIntVector();
+      this.learntRefs = new LNGIntVector();
+      this.arenaWatches = new LNGVector<>();
+      this.dirtyWatches = new LNGIntVector();
+    }
   }
 
   @Override
@@ -108,8 +134,13 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     int v = vars.size();
     MSVariable newVar = new MSVariable(sign);
     vars.push(newVar);
-    watches.push(new LNGVector<MSWatcher>());
-    watches.push(new LNGVector<MSWatcher>());
+    if (clauseArena) {
+      arenaWatches.push(new MSArenaWatchList());
+      arenaWatches.push(new MSArenaWatchList());
+    } else {
+      watches.push(new MSWatchList());
+      watches.push(new MSWatchList());
+    }
     seen.push(false);
     newVar.setDecision(dvar);
     insertVarOrder(v);
@@ -138,10 +169,14 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
       return false;
     } else if (ps.size() == 1) {
       uncheckedEnqueue(ps.get(0), null);
-      ok = propagate() == null;
+      ok = !propagateConflict();
       if (incremental)
         unitClauses.push(ps.get(0));
       return ok;
+    } else if (clauseArena) {
+      final int cr = arena.alloc(ps, false);
+      clauseRefs.push(cr);
+      attachClause(cr);
     } else {
       final MSClause c = new MSClause(ps, false);
       clauses.push(c);
@@ -156,6 +191,21 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     final MSVariable var = v(lit);
     var.assign(Tristate.fromBool(!sign(lit)));
     var.setReason(reason);
+    var.setReasonRef(MSClauseArena.CREF_UNDEF);
+    var.setLevel(decisionLevel());
+    trail.push(lit);
+  }
+
+  /**
+   * Assigns a literal with a reason clause of the clause arena.
+   * @param lit    the literal
+   * @param reason the reference of the reason clause
+   */
+  private void uncheckedEnqueue(int lit, int reason) {
+    assert value(lit) == Tristate.UNDEF;
+    final MSVariable var = v(lit);
+    var.assign(Tristate.fromBool(!sign(lit)));
+    var.setReasonRef(reason);
     var.setLevel(decisionLevel());
     trail.push(lit);
   }
@@ -163,8 +213,8 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
   @Override
   protected void attachClause(final MSClause c) {
     assert c.size() > 1;
-    watches.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+    watches.get(not(c.get(0))).push(c, c.get(1));
+    watches.get(not(c.get(1))).push(c, c.get(0));
     if (c.learnt())
       learntsLiterals += c.size();
     else
@@ -174,8 +224,8 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
   @Override
   protected void detachClause(final MSClause c) {
     assert c.size() > 1;
-    watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+    watches.get(not(c.get(0))).remove(c);
+    watches.get(not(c.get(1))).remove(c);
     if (c.learnt())
       learntsLiterals -= c.size();
     else
@@ -189,6 +239,146 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
       v(c.get(0)).setReason(null);
   }
 
+  /**
+   * Attaches a given clause of the clause arena to the solver.
+   * @param cr the clause reference
+   */
+  private void attachClause(int cr) {
+    final int size = arena.size(cr);
+    assert size > 1;
+    arenaWatches.get(not(arena.lit(cr, 0))).push(cr, arena.lit(cr, 1));
+    arenaWatches.get(not(arena.lit(cr, 1))).push(cr, arena.lit(cr, 0));
+    if (arena.learnt(cr))
+      learntsLiterals += size;
+    else
+      clausesLiterals += size;
+  }
+
+  /**
+   * Removes a given clause of the clause arena.  The watchers of the clause are not removed immediately, but their
+   * watch lists are marked as dirty and cleaned by {@link #cleanWatches()}.
+   * @param cr the clause reference
+   */
+  private void removeClause(int cr) {
+    markDirty(not(arena.lit(cr, 0)));
+    markDirty(not(arena.lit(cr, 1)));
+    if (arena.learnt(cr))
+      learntsLiterals -= arena.size(cr);
+    else
+      clausesLiterals -= arena.size(cr);
+    if (locked(cr))
+      v(arena.lit(cr, 0)).setReasonRef(MSClauseArena.CREF_UNDEF);
+    arena.free(cr);
+  }
+
+  /**
+   * Marks the watch list of a given literal as dirty.
+   * @param lit the literal
+   */
+  private void markDirty(int lit) {
+    final MSArenaWatchList ws = arenaWatches.get(lit);
+    if (!ws.dirty()) {
+      ws.setDirty();
+      dirtyWatches.push(lit);
+    }
+  }
+
+  /**
+   * Removes the watchers of deleted clauses from all dirty watch lists.
+   */
+  private void cleanWatches() {
+    for (int i = 0; i < dirtyWatches.size(); i++)
+      arenaWatches.get(dirtyWatches.get(i)).clean(arena);
+    dirtyWatches.clear();
+  }
+
+  /**
+   * Returns {@code true} if a given clause of the clause arena is locked and therefore cannot be removed,
+   * {@code false} otherwise.
+   * @param cr the clause reference
+   * @return {@code true} if the given clause is locked
+   */
+  private boolean locked(int cr) {
+    final int first = arena.lit(cr, 0);
+    return value(first) == Tristate.TRUE && v(first).reasonRef() == cr;
+  }
+
+  /**
+   * Bumps the activity of a given learnt clause of the clause arena.
+   * @param cr the clause reference
+   */
+  private void claBumpActivity(int cr) {
+    arena.setActivity(cr, arena.activity(cr) + claInc);
+    if (arena.activity(cr) > 1e20) {
+      for (int i = 0; i < learntRefs.size(); i++)
+        arena.setActivity(learntRefs.get(i), arena.activity(learntRefs.get(i)) * 1e-20);
+      claInc *= 1e-20;
+    }
+  }
+
+  /**
+   * Compacts the clause arena if the deleted clauses take up too much of it.
+   */
+  private void checkGarbage() {
+    if (arena.wasted() > arena.size() * GARBAGE_FRACTION)
+      garbageCollect();
+  }
+
+  /**
+   * Relocates all clauses to a new clause arena without the deleted clauses.  The watch lists, the reasons of the
+   * assigned variables, and the clause vectors are updated with the new clause references.
+   */
+  private void garbageCollect() {
+    cleanWatches();
+    final MSClauseArena to = new MSClauseArena(arena.size() - arena.wasted());
+    for (final MSArenaWatchList ws : arenaWatches)
+      ws.relocate(arena, to);
+    for (int i = 0; i < trail.size(); i++) {
+      final MSVariable var = v(trail.get(i));
+      final int reason = var.reasonRef();
+      if (reason != MSClauseArena.CREF_UNDEF)
+        var.setReasonRef(arena.deleted(reason) ? MSClauseArena.CREF_UNDEF : arena.relocate(reason, to));
+    }
+    for (int i = 0; i < learntRefs.size(); i++)
+      learntRefs.set(i, arena.relocate(learntRefs.get(i), to));
+    for (int i = 0; i < clauseRefs.size(); i++)
+      clauseRefs.set(i, arena.relocate(clauseRefs.get(i), to));
+    arena = to;
+  }
+
+  /**
+   * Returns the number of original clauses with more than one literal.
+   * @return the number of original clauses
+   */
+  private int nClauses() {
+    return clauseArena ? clauseRefs.size() : clauses.size();
+  }
+
+  /**
+   * Returns the number of learnt clauses with more than one literal.
+   * @return the number of learnt clauses
+   */
+  private int nLearnts() {
+    return clauseArena ? learntRefs.size() : learnts.size();
+  }
+
+  /**
+   * Returns {@code true} if the variable of a given literal has a reason clause, {@code false} otherwise.
+   * @param lit the literal
+   * @return {@code true} if the variable of the literal has a reason clause
+   */
+  private boolean hasReason(int lit) {
+    return clauseArena ? v(lit).reasonRef() != MSClauseArena.CREF_UNDEF : v(lit).reason() != null;
+  }
+
+  /**
+   * Performs unit propagation on the clauses of the current clause storage.
+   * @return {@code true} if a conflict arose during unit propagation, {@code false} otherwise
+   */
+  private boolean propagateConflict() {
+    return clauseArena ? propagateArena() != MSClauseArena.CREF_UNDEF : propagate() != null;
+  }
+
   /**
    * The main search procedure of the CDCL algorithm.
    * @param nofConflicts the number of conflicts till the next restart
@@ -200,8 +390,9 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
       return Tristate.FALSE;
     int conflictC = 0;
     while (true) {
-      MSClause confl = propagate();
-      if (confl != null) {
+      final MSClause confl = clauseArena ? null : propagate();
+      final int conflRef = clauseArena ? propagateArena() : MSClauseArena.CREF_UNDEF;
+      if (confl != null || conflRef != MSClauseArena.CREF_UNDEF) {
         if (handler != null && !handler.detectedConflict()) {
           canceledByHandler = true;
           return Tristate.UNDEF;
@@ -210,11 +401,22 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
         if (decisionLevel() == 0)
           return Tristate.FALSE;
         LNGIntVector learntClause = new LNGIntVector();
-        analyze(confl, learntClause);
+        if (clauseArena)
+          analyze(conflRef, learntClause);
+        else
+          analyze(confl, learntClause);
         cancelUntil(analyzeBtLevel);
         if (learntClause.size() == 1) {
           uncheckedEnqueue(learntClause.get(0), null);
           this.unitClauses.push(learntClause.get(0));
+          exportUnit(learntClause.get(0));
+        } else if (clauseArena) {
+          final int cr = arena.alloc(learntClause, true);
+          learntRefs.push(cr);
+          attachClause(cr);
+          if (!incremental)
+            claBumpActivity(cr);
+          uncheckedEnqueue(learntClause.get(0), cr);
         } else {
           final MSClause cr = new MSClause(learntClause, true);
           learnts.push(cr);
@@ -236,10 +438,16 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
           cancelUntil(0);
           return Tristate.UNDEF;
         }
+        if (this.unitExchange != null && decisionLevel() == 0) {
+          if (!importUnits(this.unitClauses))
+            return Tristate.FALSE;
+          if (qhead < trail.size())
+            continue;
+        }
         if (!incremental) {
           if (decisionLevel() == 0 && !simplify())
             return Tristate.FALSE;
-          if (learnts.size() - nAssigns() >= maxLearnts)
+          if (nLearnts() - nAssigns() >= maxLearnts)
             reduceDB();
         }
         int next = LIT_UNDEF;
@@ -272,19 +480,17 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     int numProps = 0;
     while (qhead < trail.size()) {
       int p = trail.get(qhead++);
-      LNGVector<MSWatcher> ws = watches.get(p);
+      MSWatchList ws = watches.get(p);
       int iInd = 0;
       int jInd = 0;
       numProps++;
       while (iInd < ws.size()) {
-        MSWatcher i = ws.get(iInd);
-        int blocker = i.blocker();
+        int blocker = ws.blocker(iInd);
         if (value(blocker) == Tristate.TRUE) {
-          ws.set(jInd++, i);
-          iInd++;
+          ws.move(iInd++, jInd++);
           continue;
         }
-        MSClause c = i.clause();
+        MSClause c = ws.clause(iInd);
         int falseLit = not(p);
         if (c.get(0) == falseLit) {
           c.set(0, c.get(1));
@@ -293,9 +499,8 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
         assert c.get(1) == falseLit;
         iInd++;
         int first = c.get(0);
-        MSWatcher w = new MSWatcher(c, first);
         if (first != blocker && value(first) == Tristate.TRUE) {
-          ws.set(jInd++, w);
+          ws.set(jInd++, c, first);
           continue;
         }
         boolean foundWatch = false;
@@ -303,22 +508,83 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
           if (value(c.get(k)) != Tristate.FALSE) {
             c.set(1, c.get(k));
             c.set(k, falseLit);
-            watches.get(not(c.get(1))).push(w);
+            watches.get(not(c.get(1))).push(c, first);
             foundWatch = true;
           }
         if (!foundWatch) {
-          ws.set(jInd++, w);
+          ws.set(jInd++, c, first);
           if (value(first) == Tristate.FALSE) {
             confl = c;
             qhead = trail.size();
             while (iInd < ws.size())
-              ws.set(jInd++, ws.get(iInd++));
+              ws.move(iInd++, jInd++);
           } else
             uncheckedEnqueue(first, c);
         }
       }
       ws.removeElements(iInd - jInd);
     }
+    propagations += numProps;
+    simpDBProps -= numProps;
+    return confl;
+  }
+
+  /**
+   * Performs unit propagation on the clauses of the clause arena.
+   * @return the reference of the conflicting clause if a conflict arose during unit propagation or
+   * {@link MSClauseArena#CREF_UNDEF} if there was none
+   */
+  private int propagateArena() {
+    int confl = MSClauseArena.CREF_UNDEF;
+    int numProps = 0;
+    while (qhead < trail.size()) {
+      int p = trail.get(qhead++);
+      MSArenaWatchList ws = arenaWatches.get(p);
+      int iInd = 0;
+      int jInd = 0;
+      numProps++;
+      while (iInd < ws.size()) {
+        int blocker = ws.blocker(iInd);
+        if (value(blocker) == Tristate.TRUE) {
+          ws.move(iInd++, jInd++);
+          continue;
+        }
+        int cr = ws.ref(iInd);
+        int falseLit = not(p);
+        if (arena.lit(cr, 0) == falseLit) {
+          arena.setLit(cr, 0, arena.lit(cr, 1));
+          arena.setLit(cr, 1, falseLit);
+        }
+        assert arena.lit(cr, 1) == falseLit;
+        iInd++;
+        int first = arena.lit(cr, 0);
+        if (first != blocker && value(first) == Tristate.TRUE) {
+          ws.set(jInd++, cr, first);
+          continue;
+        }
+        boolean foundWatch = false;
+        final int size = arena.size(cr);
+        for (int k = 2; k < size && !foundWatch; k++)
+          if (value(arena.lit(cr, k)) != Tristate.FALSE) {
+            arena.setLit(cr, 1, arena.lit(cr, k));
+            arena.setLit(cr, k, falseLit);
+            arenaWatches.get(not(arena.lit(cr, 1))).push(cr, first);
+            foundWatch = true;
+          }
+        if (!foundWatch) {
+          ws.set(jInd++, cr, first);
+          if (value(first) == Tristate.FALSE) {
+            confl = cr;
+            qhead = trail.size();
+            while (iInd < ws.size())
+              ws.move(iInd++, jInd++);
+          } else
+            uncheckedEnqueue(first, cr);
+        }
+      }
+      ws.removeElements(iInd - jInd);
+    }
+    propagations += numProps;
     simpDBProps -= numProps;
     return confl;
   }
@@ -360,6 +626,44 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     simplifyClause(outLearnt);
   }
 
+  /**
+   * Analyzes a given conflict clause of the clause arena wrt. the current solver state.  A 1-UIP clause is created
+   * during this procedure and the new backtracking level is stored in the solver state.
+   * @param conflictRef the reference of the conflict clause to start the resolution analysis with
+   * @param outLearnt   the vector where the new learnt 1-UIP clause is stored
+   */
+  private void analyze(final int conflictRef, final LNGIntVector outLearnt) {
+    int c = conflictRef;
+    int pathC = 0;
+    int p = LIT_UNDEF;
+    outLearnt.push(-1);
+    int index = trail.size() - 1;
+    do {
+      assert c != MSClauseArena.CREF_UNDEF;
+      if (!incremental && arena.learnt(c))
+        claBumpActivity(c);
+      final int size = arena.size(c);
+      for (int j = (p == LIT_UNDEF) ? 0 : 1; j < size; j++) {
+        int q = arena.lit(c, j);
+        if (!seen.get(var(q)) && v(q).level() > 0) {
+          varBumpActivity(var(q));
+          seen.set(var(q), true);
+          if (v(q).level() >= decisionLevel())
+            pathC++;
+          else
+            outLearnt.push(q);
+        }
+      }
+      while (!seen.get(var(trail.get(index--)))) ;
+      p = trail.get(index + 1);
+      c = v(p).reasonRef();
+      seen.set(var(p), false);
+      pathC--;
+    } while (pathC > 0);
+    outLearnt.set(0, not(p));
+    simplifyClause(outLearnt);
+  }
+
   /**
    * Minimizes a given learnt clause depending on the minimization method of the solver configuration.
    * @param outLearnt the learnt clause which should be minimized
@@ -373,13 +677,20 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
       for (i = 1; i < outLearnt.size(); i++)
         abstractLevel |= abstractLevel(var(outLearnt.get(i)));
       for (i = j = 1; i < outLearnt.size(); i++)
-        if (v(outLearnt.get(i)).reason() == null || !litRedundant(outLearnt.get(i), abstractLevel))
+        if (!hasReason(outLearnt.get(i)) || !litRedundant(outLearnt.get(i), abstractLevel))
           outLearnt.set(j++, outLearnt.get(i));
     } else if (ccminMode == MiniSatConfig.ClauseMinimization.BASIC) {
       for (i = j = 1; i < outLearnt.size(); i++) {
-        if (v(outLearnt.get(i)).reason() == null)
+        if (!hasReason(outLearnt.get(i)))
           outLearnt.set(j++, outLearnt.get(i));
-        else {
+        else if (clauseArena) {
+          final int cr = v(outLearnt.get(i)).reasonRef();
+          for (int k = 1; k < arena.size(cr); k++)
+            if (!seen.get(var(arena.lit(cr, k))) && v(arena.lit(cr, k)).level() > 0) {
+              outLearnt.set(j++, outLearnt.get(i));
+              break;
+            }
+        } else {
           MSClause c = v(outLearnt.get(i)).reason();
           for (int k = 1; k < c.size(); k++)
             if (!seen.get(var(c.get(k))) && v(c.get(k)).level() > 0) {
@@ -408,6 +719,8 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
 
   @Override
   protected boolean litRedundant(int p, int abstractLevels) {
+    if (clauseArena)
+      return litRedundantArena(p, abstractLevels);
     analyzeStack.clear();
     analyzeStack.push(p);
     int top = analyzeToClear.size();
@@ -434,6 +747,41 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     return true;
   }
 
+  /**
+   * Returns {@code true} if a given literal is redundant in the current conflict analysis with the clauses of the
+   * clause arena, {@code false} otherwise.
+   * @param p              the literal
+   * @param abstractLevels an abstraction of levels
+   * @return {@code true} if a given literal is redundant in the current conflict analysis
+   */
+  private boolean litRedundantArena(int p, int abstractLevels) {
+    analyzeStack.clear();
+    analyzeStack.push(p);
+    int top = analyzeToClear.size();
+    while (analyzeStack.size() > 0) {
+      assert v(analyzeStack.back()).reasonRef() != MSClauseArena.CREF_UNDEF;
+      final int c = v(analyzeStack.back()).reasonRef();
+      analyzeStack.pop();
+      final int size = arena.size(c);
+      for (int i = 1; i < size; i++) {
+        final int q = arena.lit(c, i);
+        if (!seen.get(var(q)) && v(q).level() > 0) {
+          if (v(q).reasonRef() != MSClauseArena.CREF_UNDEF && (abstractLevel(var(q)) & abstractLevels) != 0) {
+            seen.set(var(q), true);
+            analyzeStack.push(q);
+            analyzeToClear.push(q);
+          } else {
+            for (int j = top; j < analyzeToClear.size(); j++)
+              seen.set(var(analyzeToClear.get(j)), false);
+            analyzeToClear.removeElements(analyzeToClear.size() - top);
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
   @Override
   protected void analyzeFinal(int p, final LNGIntVector outConflict) {
     outConflict.clear();
@@ -447,9 +795,14 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
       x = var(trail.get(i));
       if (seen.get(x)) {
         v = this.vars.get(x);
-        if (v.reason() == null) {
+        if (!hasReason(trail.get(i))) {
           assert v.level() > 0;
           outConflict.push(not(trail.get(i)));
+        } else if (clauseArena) {
+          final int c = v.reasonRef();
+          for (int j = 1; j < arena.size(c); j++)
+            if (v(arena.lit(c, j)).level() > 0)
+              seen.set(var(arena.lit(c, j)), true);
         } else {
           final MSClause c = v.reason();
           for (int j = 1; j < c.size(); j++)
@@ -480,6 +833,10 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
 
   @Override
   protected void reduceDB() {
+    if (clauseArena) {
+      reduceArenaDB();
+      return;
+    }
     int i;
     int j;
     double extraLim = claInc / learnts.size();
@@ -494,6 +851,47 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     learnts.removeElements(i - j);
   }
 
+  /**
+   * Reduces the database of learnt clauses of the clause arena.  Afterwards the watch lists are cleaned and the arena
+   * is compacted if necessary.
+   */
+  private void reduceArenaDB() {
+    int i;
+    int j;
+    double extraLim = claInc / learntRefs.size();
+    sortLearntRefs();
+    for (i = j = 0; i < learntRefs.size(); i++) {
+      final int cr = learntRefs.get(i);
+      if (arena.size(cr) > 2 && !locked(cr) && (i < learntRefs.size() / 2 || arena.activity(cr) < extraLim))
+        removeClause(cr);
+      else
+        learntRefs.set(j++, cr);
+    }
+    learntRefs.removeElements(i - j);
+    cleanWatches();
+    checkGarbage();
+  }
+
+  /**
+   * Sorts the learnt clauses of the clause arena in the order of {@link MSClause#minisatComparator}, i.e. the clauses
+   * with more than two literals by ascending activity followed by the binary clauses.  The sort keys combine the
+   * binary flag, the (non-negative) activity, and the current position of a clause in one long value.
+   */
+  private void sortLearntRefs() {
+    final long[] keys = new long[learntRefs.size()];
+    for (int i = 0; i < keys.length; i++) {
+      final int cr = learntRefs.get(i);
+      final long binary = arena.size(cr) == 2 ? 1 : 0;
+      final long activity = Float.floatToIntBits((float) arena.activity(cr));
+      keys[i] = (binary << 62) | (activity << 31) | i;
+    }
+    Arrays.sort(keys);
+    final LNGIntVector sorted = new LNGIntVector(keys.length);
+    for (final long key : keys)
+      sorted.unsafePush(learntRefs.get((int) (key & Integer.MAX_VALUE)));
+    learntRefs = sorted;
+  }
+
   @Override
   protected void removeSatisfied(final LNGVector<MSClause> cs) {
     int i;
@@ -515,6 +913,43 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     cs.removeElements(i - j);
   }
 
+  /**
+   * Removes all clauses which are satisfied under the current assignment of a set of clauses of the clause arena.
+   * @param refs the references of the clauses
+   */
+  private void removeSatisfied(final LNGIntVector refs) {
+    int i;
+    int j;
+    for (i = j = 0; i < refs.size(); i++) {
+      final int cr = refs.get(i);
+      if (satisfied(cr))
+        removeClause(cr);
+      else {
+        assert value(arena.lit(cr, 0)) == Tristate.UNDEF && value(arena.lit(cr, 1)) == Tristate.UNDEF;
+        for (int k = 2; k < arena.size(cr); k++)
+          if (value(arena.lit(cr, k)) == Tristate.FALSE) {
+            arena.setLit(cr, k--, arena.lit(cr, arena.size(cr) - 1));
+            arena.pop(cr);
+          }
+        refs.set(j++, cr);
+      }
+    }
+    refs.removeElements(i - j);
+  }
+
+  /**
+   * Returns {@code true} if a given clause of the clause arena is satisfied under the current assignment,
+   * {@code false} otherwise.
+   * @param cr the clause reference
+   * @return {@code true} if a given clause is satisfied under the current assignment
+   */
+  private boolean satisfied(int cr) {
+    for (int i = 0; i < arena.size(cr); i++)
+      if (value(arena.lit(cr, i)) == Tristate.TRUE)
+        return true;
+    return false;
+  }
+
   @Override
   protected boolean satisfied(final MSClause c) {
     for (int i = 0; i < c.size(); i++)
@@ -526,15 +961,23 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
   @Override
   protected boolean simplify() {
     assert decisionLevel() == 0;
-    if (!ok || propagate() != null) {
+    if (!ok || propagateConflict()) {
       ok = false;
       return false;
     }
     if (nAssigns() == simpDBAssigns || (simpDBProps > 0))
       return true;
-    removeSatisfied(learnts);
-    if (removeSatisfied)
-      removeSatisfied(clauses);
+    if (clauseArena) {
+      removeSatisfied(learntRefs);
+      if (removeSatisfied)
+        removeSatisfied(clauseRefs);
+      cleanWatches();
+      checkGarbage();
+    } else {
+      removeSatisfied(learnts);
+      if (removeSatisfied)
+        removeSatisfied(clauses);
+    }
     rebuildOrderHeap();
     simpDBAssigns = nAssigns();
     simpDBProps = clausesLiterals + learntsLiterals;
@@ -552,7 +995,7 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
       return Tristate.FALSE;
     learntsizeAdjustConfl = learntsizeAdjustStartConfl;
     learntsizeAdjustCnt = (int) learntsizeAdjustConfl;
-    maxLearnts = clauses.size() * learntsizeFactor;
+    maxLearnts = nClauses() * learntsizeFactor;
     Tristate status = Tristate.UNDEF;
     int currRestarts = 0;
     while (status == Tristate.UNDEF && !canceledByHandler) {
@@ -595,8 +1038,8 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     state = new int[5];
     state[0] = ok ? 1 : 0;
     state[1] = vars.size();
-    state[2] = clauses.size();
-    state[3] = learnts.size();
+    state[2] = nClauses();
+    state[3] = nLearnts();
     state[4] = unitClauses.size();
     return state;
   }
@@ -609,22 +1052,30 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     completeBacktrack();
     this.ok = state[0] == 1;
     int newVarsSize = Math.min(state[1], vars.size());
-    for (i = this.vars.size() - 1; i >= newVarsSize; i--)
-      this.orderHeap.remove(this.name2idx.remove(this.idx2name.remove(i)));
+    for (i = this.vars.size() - 1; i >= newVarsSize; i--) {
+      if (this.orderHeap.inHeap(i))
+        this.orderHeap.remove(i);
+    }
+    this.removeNames(newVarsSize);
     vars.shrinkTo(newVarsSize);
-    int newClausesSize = Math.min(state[2], this.clauses.size());
-    for (i = this.clauses.size() - 1; i >= newClausesSize; i--)
-      simpleRemoveClause(this.clauses.get(i));
-    this.clauses.shrinkTo(newClausesSize);
-    int newLearntsSize = Math.min(state[3], this.learnts.size());
-    for (i = this.learnts.size() - 1; i >= newLearntsSize; i--)
-      simpleRemoveClause(this.learnts.get(i));
-    this.learnts.shrinkTo(newLearntsSize);
-    this.watches.shrinkTo(newVarsSize * 2);
+    int newClausesSize = Math.min(state[2], nClauses());
+    int newLearntsSize = Math.min(state[3], nLearnts());
+    if (clauseArena) {
+      this.arenaWatches.shrinkTo(newVarsSize * 2);
+      shrinkArena(newClausesSize, newLearntsSize);
+    } else {
+      for (i = this.clauses.size() - 1; i >= newClausesSize; i--)
+        simpleRemoveClause(this.clauses.get(i));
+      this.clauses.shrinkTo(newClausesSize);
+      for (i = this.learnts.size() - 1; i >= newLearntsSize; i--)
+        simpleRemoveClause(this.learnts.get(i));
+      this.learnts.shrinkTo(newLearntsSize);
+      this.watches.shrinkTo(newVarsSize * 2);
+    }
     this.unitClauses.shrinkTo(state[4]);
     for (i = 0; this.ok && i < this.unitClauses.size(); i++) {
       uncheckedEnqueue(this.unitClauses.get(i), null);
-      this.ok = propagate() == null;
+      this.ok = !propagateConflict();
     }
   }
 
@@ -636,6 +1087,7 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
       MSVariable var = vars.get(v);
       var.assign(Tristate.UNDEF);
       var.setReason(null);
+      var.setReasonRef(MSClauseArena.CREF_UNDEF);
       if (!orderHeap.inHeap(v) && var.decision())
         orderHeap.insert(v);
     }
@@ -649,7 +1101,55 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
    * @param c the clause to remove
    */
   private void simpleRemoveClause(final MSClause c) {
-    watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+    watches.get(not(c.get(0))).remove(c);
+    watches.get(not(c.get(1))).remove(c);
+  }
+
+  /**
+   * Removes the original and learnt clauses beyond given numbers from the clause arena during the loading of an older
+   * state.  Since no clauses are deleted in the incremental mode, the clauses created after the older state are
+   * exactly the clauses at the end of the arena.
+   * @param newClausesSize the number of original clauses to keep
+   * @param newLearntsSize the number of learnt clauses to keep
+   */
+  private void shrinkArena(int newClausesSize, int newLearntsSize) {
+    int end = arena.size();
+    if (newClausesSize < clauseRefs.size())
+      end = Math.min(end, clauseRefs.get(newClausesSize));
+    if (newLearntsSize < learntRefs.size())
+      end = Math.min(end, learntRefs.get(newLearntsSize));
+    clauseRefs.shrinkTo(newClausesSize);
+    learntRefs.shrinkTo(newLearntsSize);
+    if (end < arena.size()) {
+      for (final MSArenaWatchList ws : arenaWatches)
+        ws.removeFrom(end);
+      arena.shrinkTo(end);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * If the clauses are stored in a clause arena, the returned clauses are copies of the clauses of the arena.
+   */
+  @Override
+  public LNGVector<MSClause> clauses() {
+    if (!clauseArena)
+      return super.clauses();
+    final LNGVector<MSClause> result = new LNGVector<>(clauseRefs.size());
+    for (int i = 0; i < clauseRefs.size(); i++)
+      result.push(new MSClause(arena.lits(clauseRefs.get(i)), false));
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    if (!clauseArena)
+      return super.toString();
+    final StringBuilder sb = new StringBuilder(super.toString());
+    sb.append("#clause refs  ").append(clauseRefs.size()).append("\n");
+    sb.append("#learnt refs  ").append(learntRefs.size()).append("\n");
+    sb.append("arena         ").append(arena).append("\n");
+    return sb.toString();
   }
 }
@@ -62,6 +62,9 @@ public final class MiniSatConfig extends Configuration {
   final double learntsizeInc;
   final boolean incremental;
   final boolean initialPhase;
+  final boolean unsatCoreGeneration;
+  final boolean clauseArena;
+  final CNFMethod cnfMethod;
 
   /**
    * The builder for a MiniSAT configuration.
@@ -78,6 +81,9 @@ public final class MiniSatConfig extends Configuration {
     private double learntsizeInc = 1.1;
     private boolean incremental = true;
     private boolean initialPhase = false;
+    private boolean unsatCoreGeneration = false;
+    private boolean clauseArena = false;
+    private CNFMethod cnfMethod = CNFMethod.FACTORY_CNF;
 
     /**
      * Sets the variable activity decay factor to a given value. The default value is 0.95.
@@ -193,6 +199,43 @@ public final class MiniSatConfig extends Configuration {
       return this;
     }
 
+    /**
+     * Turns the generation of unsatisfiable cores on and off.  If turned on, each proposition added to the solver is
+     * guarded by a selector variable which is assumed during solving.  This allows to compute unsatisfiable cores of
+     * propositions, but slightly slows down the solver.  The default value is {@code false}.
+     * @param unsatCoreGeneration {@code true} if unsatisfiable cores should be generated, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder unsatCoreGeneration(boolean unsatCoreGeneration) {
+      this.unsatCoreGeneration = unsatCoreGeneration;
+      return this;
+    }
+
+    /**
+     * Turns the clause arena on and off.  If turned on, the clauses are not stored as objects but in one integer array
+     * which is compacted after clauses were deleted.  This reduces the memory consumption and improves the cache
+     * locality on large formulas.  Only the MiniSAT 2 solver supports a clause arena, the other MiniSAT-style solvers
+     * throw an {@link IllegalArgumentException} if it is turned on.  The default value is {@code false}.
+     * @param clauseArena {@code true} if the clauses should be stored in a clause arena, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder clauseArena(boolean clauseArena) {
+      this.clauseArena = clauseArena;
+      return this;
+    }
+
+    /**
+     * Sets the method for adding formulas which are not in CNF.  {@code FACTORY_CNF} uses the {@code cnf()} method of
+     * the formula, {@code TSEITIN} and {@code PLAISTED_GREENBAUM} encode the formula directly on the solver without
+     * constructing any new formulas.  The default value is {@code FACTORY_CNF}.
+     * @param cnfMethod the CNF method
+     * @return the builder
+     */
+    public Builder cnfMethod(final CNFMethod cnfMethod) {
+      this.cnfMethod = cnfMethod;
+      return this;
+    }
+
     /**
      * Builds the MiniSAT configuration.
      * @return the configuration
@@ -219,6 +262,9 @@ public final class MiniSatConfig extends Configuration {
     this.learntsizeInc = builder.learntsizeInc;
     this.incremental = builder.incremental;
     this.initialPhase = builder.initialPhase;
+    this.unsatCoreGeneration = builder.unsatCoreGeneration;
+    this.clauseArena = builder.clauseArena;
+    this.cnfMethod = builder.cnfMethod;
   }
 
   /**
@@ -237,6 +283,30 @@ public final class MiniSatConfig extends Configuration {
     return this.initialPhase;
   }
 
+  /**
+   * Returns whether unsatisfiable cores are generated or not.
+   * @return {@code true} if unsatisfiable cores are generated, {@code false} otherwise
+   */
+  public boolean unsatCoreGeneration() {
+    return this.unsatCoreGeneration;
+  }
+
+  /**
+   * Returns whether the clauses are stored in a clause arena or not.
+   * @return {@code true} if the clauses are stored in a clause arena, {@code false} otherwise
+   */
+  public boolean clauseArena() {
+    return this.clauseArena;
+  }
+
+  /**
+   * Returns the method for adding formulas which are not in CNF.
+   * @return the CNF method
+   */
+  public CNFMethod cnfMethod() {
+    return this.cnfMethod;
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("MiniSatConfig{\n");
@@ -251,6 +321,9 @@ public final class MiniSatConfig extends Configuration {
     sb.append("learntsizeInc=").append(this.learntsizeInc).append("\n");
     sb.append("incremental=").append(this.incremental).append("\n");
     sb.append("initialPhase=").append(this.initialPhase).append("\n");
+    sb.append("unsatCoreGeneration=").append(this.unsatCoreGeneration).append("\n");
+    sb.append("clauseArena=").append(this.clauseArena).append("\n");
+    sb.append("cnfMethod=").append(this.cnfMethod).append("\n");
     sb.append("}\n");
     return sb.toString();
   }
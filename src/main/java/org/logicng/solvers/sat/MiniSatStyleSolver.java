@@ -52,10 +52,10 @@ import org.logicng.handlers.SATHandler;
 import org.logicng.solvers.datastructures.LNGHeap;
 import org.logicng.solvers.datastructures.MSClause;
 import org.logicng.solvers.datastructures.MSVariable;
-import org.logicng.solvers.datastructures.MSWatcher;
+import org.logicng.solvers.datastructures.MSWatchList;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * The super class for all MiniSAT-style solvers.
@@ -78,7 +78,7 @@ public abstract class MiniSatStyleSolver {
   protected int qhead;
   protected LNGVector<MSClause> clauses;
   protected LNGVector<MSClause> learnts;
-  protected LNGVector<LNGVector<MSWatcher>> watches;
+  protected LNGVector<MSWatchList> watches;
   protected LNGVector<MSVariable> vars;
   protected LNGHeap orderHeap;
   protected LNGIntVector trail;
@@ -95,6 +95,7 @@ public abstract class MiniSatStyleSolver {
   protected int simpDBProps;
   protected int clausesLiterals;
   protected int learntsLiterals;
+  protected long propagations;
 
   // solver configuration
   protected double varDecay;
@@ -107,15 +108,20 @@ public abstract class MiniSatStyleSolver {
   protected double learntsizeFactor;
   protected double learntsizeInc;
   protected boolean incremental;
+  protected boolean clauseArena;
 
   // mapping of variable names to variable indices
   protected Map<String, Integer> name2idx;
-  protected Map<Integer, String> idx2name;
+  protected LNGVector<String> idx2name;
 
   // SAT handler
   protected SATHandler handler;
   protected boolean canceledByHandler;
 
+  // exchange of learnt units with other solvers
+  protected UnitExchange unitExchange;
+  protected int unitExchangePos;
+
   /**
    * Constructs a new MiniSAT-style solver with a given configuration.
    * @param config the configuration
@@ -151,8 +157,9 @@ public abstract class MiniSatStyleSolver {
     this.simpDBProps = 0;
     this.clausesLiterals = 0;
     this.learntsLiterals = 0;
-    this.name2idx = new TreeMap<>();
-    this.idx2name = new TreeMap<>();
+    this.propagations = 0;
+    this.name2idx = new HashMap<>();
+    this.idx2name = new LNGVector<>();
     this.canceledByHandler = false;
   }
 
@@ -170,6 +177,7 @@ public abstract class MiniSatStyleSolver {
     this.learntsizeFactor = this.config.learntsizeFactor;
     this.learntsizeInc = this.config.learntsizeInc;
     this.incremental = this.config.incremental;
+    this.clauseArena = this.config.clauseArena;
   }
 
   /**
@@ -253,7 +261,7 @@ public abstract class MiniSatStyleSolver {
    * @return the name for the index
    */
   public String nameForIdx(int var) {
-    return this.idx2name.get(var);
+    return var < this.idx2name.size() ? this.idx2name.get(var) : null;
   }
 
   /**
@@ -263,7 +271,22 @@ public abstract class MiniSatStyleSolver {
    */
   public void addName(final String name, int id) {
     this.name2idx.put(name, id);
-    this.idx2name.put(id, name);
+    if (id >= this.idx2name.size())
+      this.idx2name.growTo(id + 1, null);
+    this.idx2name.set(id, name);
+  }
+
+  /**
+   * Removes the names of all variables with an index greater or equal than a given index.
+   * @param newVarsSize the number of variables which are kept
+   */
+  protected void removeNames(int newVarsSize) {
+    for (int i = this.idx2name.size() - 1; i >= newVarsSize; i--) {
+      final String name = this.idx2name.get(i);
+      if (name != null)
+        this.name2idx.remove(name);
+    }
+    this.idx2name.shrinkTo(newVarsSize);
   }
 
   /**
@@ -371,6 +394,106 @@ public abstract class MiniSatStyleSolver {
     return this.vars.size();
   }
 
+  /**
+   * Returns {@code false} if the clauses of the solver are already known to be unsatisfiable without a search,
+   * {@code true} otherwise.
+   * @return {@code false} if the clauses are known to be unsatisfiable
+   */
+  public boolean ok() {
+    return this.ok;
+  }
+
+  /**
+   * Returns the original (not learnt) clauses of the solver.  Satisfied clauses may already be removed and clauses of
+   * size one are not stored as clauses but as assignments on decision level 0 (cf. {@link #levelZeroLiterals()}).
+   * The clauses must not be changed.
+   * @return the original clauses of the solver
+   */
+  public LNGVector<MSClause> clauses() {
+    return this.clauses;
+  }
+
+  /**
+   * Returns the literals which are assigned on decision level 0, i.e. the unit clauses of the solver and the literals
+   * implied by them.
+   * @return the literals assigned on decision level 0
+   */
+  public LNGIntVector levelZeroLiterals() {
+    final int end = this.trailLim.empty() ? this.trail.size() : this.trailLim.get(0);
+    final LNGIntVector literals = new LNGIntVector(end);
+    for (int i = 0; i < end; i++)
+      literals.unsafePush(this.trail.get(i));
+    return literals;
+  }
+
+  /**
+   * Sets the unit exchange of this solver.  Learnt units of the solver are published in the exchange and units of
+   * other solvers are imported from the exchange on decision level 0.  A value of {@code null} turns the exchange off.
+   * <p>
+   * All solvers connected to the same exchange must contain the same formula, since an imported unit is treated as
+   * implied by the formula of the solver.  Only units learnt on decision level 0 in a call without assumptions are
+   * published, hence no published unit depends on assumptions or on the selector variables which are assumed by the
+   * unsat core generation.
+   * @param unitExchange the unit exchange or {@code null}
+   */
+  public void setUnitExchange(final UnitExchange unitExchange) {
+    this.unitExchange = unitExchange;
+    this.unitExchangePos = 0;
+  }
+
+  /**
+   * Publishes a learnt unit in the unit exchange if there is one.  The unit is only published if it is learnt on
+   * decision level 0 and the current call of the solver has no assumptions.
+   * @param lit the literal of the unit
+   */
+  protected void exportUnit(int lit) {
+    if (this.unitExchange == null || decisionLevel() != 0 || !this.assumptions.empty())
+      return;
+    final String name = this.nameForIdx(var(lit));
+    if (name != null)
+      this.unitExchange.publish(this, name, !sign(lit));
+  }
+
+  /**
+   * Imports the units published by other solvers since the last import and enqueues them.  This method must only be
+   * called on decision level 0.
+   * @param units a vector to store the imported units or {@code null}
+   * @return {@code false} if an imported unit is in conflict with the current assignment, {@code true} otherwise.  In
+   * case of a conflict the formula of the solver is unsatisfiable, since the units are implied by the formula alone.
+   */
+  protected boolean importUnits(final LNGIntVector units) {
+    assert decisionLevel() == 0;
+    UnitExchange.Unit unit;
+    while ((unit = this.unitExchange.get(this.unitExchangePos)) != null) {
+      this.unitExchangePos++;
+      if (unit.source == this)
+        continue;
+      final Integer index = this.name2idx.get(unit.name);
+      if (index == null)
+        continue;
+      final int lit = mkLit(index, !unit.phase);
+      final Tristate value = value(lit);
+      if (value == Tristate.FALSE) {
+        this.ok = false;
+        return false;
+      }
+      if (value == Tristate.UNDEF) {
+        uncheckedEnqueue(lit, null);
+        if (units != null)
+          units.push(lit);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of propagated literals since the solver was created or reset.
+   * @return the number of propagated literals
+   */
+  public long propagations() {
+    return this.propagations;
+  }
+
   /**
    * Returns the number of assigned variables.
    * @return the number of assigned variables
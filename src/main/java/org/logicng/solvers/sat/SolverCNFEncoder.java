@@ -0,0 +1,283 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.BinaryOperator;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Not;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
+
+/**
+ * An encoder which adds arbitrary formulas directly to a SAT solver.
+ * <p>
+ * The encoder walks the formula DAG once and emits the clauses of a Tseitin or Plaisted &amp; Greenbaum encoding as
+ * integer clauses.  Auxiliary variables are allocated in the solver and the formula factory is never touched.  The
+ * auxiliary variable of each sub-formula is cached together with the polarities for which its definition was already
+ * emitted, so sub-formulas shared between several added formulas are encoded only once.
+ * <p>
+ * The encoder works on literals in the MiniSat encoding ({@code 2 * var + sign}).  Pseudo-Boolean constraints inside a
+ * formula are replaced by their encoding like in the factory transformations.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public abstract class SolverCNFEncoder {
+
+  private static final byte POS = 1;
+  private static final byte NEG = 2;
+
+  private final boolean tseitin;
+  private final Map<Formula, Integer> auxLiterals;
+  private final Map<Formula, Byte> polarities;
+
+  /**
+   * Constructs a new encoder.
+   * @param method the CNF method, either {@code TSEITIN} or {@code PLAISTED_GREENBAUM}
+   * @throws IllegalArgumentException if the method is not a direct encoding
+   */
+  protected SolverCNFEncoder(final CNFMethod method) {
+    if (method != CNFMethod.TSEITIN && method != CNFMethod.PLAISTED_GREENBAUM)
+      throw new IllegalArgumentException("No direct encoding for CNF method " + method);
+    this.tseitin = method == CNFMethod.TSEITIN;
+    this.auxLiterals = new HashMap<>();
+    this.polarities = new HashMap<>();
+  }
+
+  /**
+   * Returns the solver literal for a given literal.  If the variable is not yet known, a new variable is created.
+   * @param lit the literal
+   * @return the solver literal
+   */
+  protected abstract int solverLiteral(final Literal lit);
+
+  /**
+   * Creates a new auxiliary variable in the solver.
+   * @return the index of the new variable
+   */
+  protected abstract int newAuxVariable();
+
+  /**
+   * Adds a clause to the solver.
+   * @param clause the clause
+   */
+  protected abstract void addClause(final LNGIntVector clause);
+
+  /**
+   * Adds a formula to the solver.
+   * @param formula the formula
+   */
+  public void add(final Formula formula) {
+    this.add(formula, -1);
+  }
+
+  /**
+   * Adds a formula to the solver.  Each top-level clause is extended by the given guard literal (if it is not -1).
+   * Definitions of auxiliary variables are not guarded.
+   * @param formula the formula
+   * @param guard   the guard literal or -1
+   */
+  public void add(final Formula formula, int guard) {
+    switch (formula.type()) {
+      case TRUE:
+        break;
+      case FALSE:
+        this.addGuarded(new LNGIntVector(1), guard);
+        break;
+      case LITERAL:
+        this.addGuarded(this.clause(this.solverLiteral((Literal) formula)), guard);
+        break;
+      case AND:
+        for (final Formula op : formula)
+          this.add(op, guard);
+        break;
+      case OR:
+        final LNGIntVector clause = new LNGIntVector(formula.numberOfOperands() + 1);
+        for (final Formula op : formula)
+          clause.push(this.literal(op, POS));
+        this.addGuarded(clause, guard);
+        break;
+      case PBC:
+        this.add(formula.nnf(), guard);
+        break;
+      default:
+        this.addGuarded(this.clause(this.literal(formula, POS)), guard);
+    }
+  }
+
+  /**
+   * Clears the cached auxiliary variables.  This must be called whenever clauses were removed from the solver, e.g.
+   * after loading an earlier solver state.
+   */
+  public void clear() {
+    this.auxLiterals.clear();
+    this.polarities.clear();
+  }
+
+  private void addGuarded(final LNGIntVector clause, int guard) {
+    if (guard != -1)
+      clause.push(guard);
+    this.addClause(clause);
+  }
+
+  /**
+   * Returns the solver literal representing a formula and emits its definition for the required polarities.
+   * @param formula  the formula
+   * @param polarity the required polarities: {@code POS} if the literal must imply the formula, {@code NEG} if the
+   *                 formula must imply the literal
+   * @return the solver literal
+   */
+  private int literal(final Formula formula, byte polarity) {
+    switch (formula.type()) {
+      case LITERAL:
+        return this.solverLiteral((Literal) formula);
+      case NOT:
+        return not(this.literal(((Not) formula).operand(), flip(polarity)));
+      case PBC:
+        return this.literal(formula.nnf(), polarity);
+      default:
+        break;
+    }
+    final byte required = this.tseitin ? (byte) (POS | NEG) : polarity;
+    Integer aux = this.auxLiterals.get(formula);
+    if (aux == null) {
+      aux = MiniSatStyleSolver.mkLit(this.newAuxVariable(), false);
+      this.auxLiterals.put(formula, aux);
+    }
+    final Byte done = this.polarities.get(formula);
+    final byte missing = (byte) (required & ~(done == null ? 0 : done));
+    if (missing == 0)
+      return aux;
+    this.polarities.put(formula, (byte) (required | (done == null ? 0 : done)));
+    if ((missing & POS) != 0)
+      this.encodePos(formula, aux);
+    if ((missing & NEG) != 0)
+      this.encodeNeg(formula, aux);
+    return aux;
+  }
+
+  /**
+   * Emits the clauses for {@code aux => formula}.
+   * @param formula the formula
+   * @param aux     the auxiliary literal
+   */
+  private void encodePos(final Formula formula, int aux) {
+    switch (formula.type()) {
+      case TRUE:
+        break;
+      case FALSE:
+        this.addClause(this.clause(not(aux)));
+        break;
+      case AND:
+        for (final Formula op : formula)
+          this.addClause(this.clause(not(aux), this.literal(op, POS)));
+        break;
+      case OR:
+        final LNGIntVector clause = new LNGIntVector(formula.numberOfOperands() + 1);
+        clause.push(not(aux));
+        for (final Formula op : formula)
+          clause.push(this.literal(op, POS));
+        this.addClause(clause);
+        break;
+      case IMPL:
+        this.addClause(this.clause(not(aux), not(this.literal(left(formula), NEG)), this.literal(right(formula), POS)));
+        break;
+      case EQUIV:
+        final int left = this.literal(left(formula), (byte) (POS | NEG));
+        final int right = this.literal(right(formula), (byte) (POS | NEG));
+        this.addClause(this.clause(not(aux), not(left), right));
+        this.addClause(this.clause(not(aux), left, not(right)));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+    }
+  }
+
+  /**
+   * Emits the clauses for {@code formula => aux}.
+   * @param formula the formula
+   * @param aux     the auxiliary literal
+   */
+  private void encodeNeg(final Formula formula, int aux) {
+    switch (formula.type()) {
+      case TRUE:
+        this.addClause(this.clause(aux));
+        break;
+      case FALSE:
+        break;
+      case AND:
+        final LNGIntVector clause = new LNGIntVector(formula.numberOfOperands() + 1);
+        clause.push(aux);
+        for (final Formula op : formula)
+          clause.push(not(this.literal(op, NEG)));
+        this.addClause(clause);
+        break;
+      case OR:
+        for (final Formula op : formula)
+          this.addClause(this.clause(aux, not(this.literal(op, NEG))));
+        break;
+      case IMPL:
+        this.addClause(this.clause(aux, this.literal(left(formula), POS)));
+        this.addClause(this.clause(aux, not(this.literal(right(formula), NEG))));
+        break;
+      case EQUIV:
+        final int left = this.literal(left(formula), (byte) (POS | NEG));
+        final int right = this.literal(right(formula), (byte) (POS | NEG));
+        this.addClause(this.clause(aux, left, right));
+        this.addClause(this.clause(aux, not(left), not(right)));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+    }
+  }
+
+  private static Formula left(final Formula binaryOperator) {
+    return ((BinaryOperator) binaryOperator).left();
+  }
+
+  private static Formula right(final Formula binaryOperator) {
+    return ((BinaryOperator) binaryOperator).right();
+  }
+
+  private static byte flip(byte polarity) {
+    return (byte) (((polarity & POS) != 0 ? NEG : 0) | ((polarity & NEG) != 0 ? POS : 0));
+  }
+
+  private LNGIntVector clause(int... lits) {
+    final LNGIntVector clause = new LNGIntVector(lits.length);
+    for (final int lit : lits)
+      clause.push(lit);
+    return clause;
+  }
+}
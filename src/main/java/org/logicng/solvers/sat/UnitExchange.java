@@ -0,0 +1,122 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free exchange buffer for learnt unit clauses between MiniSAT-style solvers running in parallel on the same
+ * formula.
+ * <p>
+ * The buffer is an append-only array of fixed capacity.  Each solver publishes its learnt units and reads the units
+ * of the other solvers from its own position in the buffer.  Since the variable indices of the solvers may differ,
+ * the units are exchanged by variable names.  Units on variables without a name are not exchanged.  If the buffer is
+ * full, further units are dropped.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class UnitExchange {
+
+  private final AtomicReferenceArray<Unit> units;
+  private final AtomicInteger size;
+
+  /**
+   * Constructs a new unit exchange with a given capacity.
+   * @param capacity the maximal number of units in the exchange
+   * @throws IllegalArgumentException if the capacity is &lt;= 0
+   */
+  public UnitExchange(int capacity) {
+    if (capacity <= 0)
+      throw new IllegalArgumentException("The capacity of a unit exchange must be positive: " + capacity);
+    this.units = new AtomicReferenceArray<>(capacity);
+    this.size = new AtomicInteger();
+  }
+
+  /**
+   * Publishes a unit.
+   * @param source the publishing solver
+   * @param name   the variable name of the unit
+   * @param phase  the phase of the unit
+   * @return {@code true} if the unit was published, {@code false} if the exchange is full
+   */
+  boolean publish(final MiniSatStyleSolver source, final String name, boolean phase) {
+    if (this.size.get() >= this.units.length())
+      return false;
+    final int pos = this.size.getAndIncrement();
+    if (pos >= this.units.length())
+      return false;
+    this.units.set(pos, new Unit(source, name, phase));
+    return true;
+  }
+
+  /**
+   * Returns the unit at a given position or {@code null} if the unit at this position is not yet published.
+   * @param pos the position
+   * @return the unit at the position
+   */
+  Unit get(int pos) {
+    return pos < this.units.length() ? this.units.get(pos) : null;
+  }
+
+  /**
+   * Returns the number of published units.
+   * @return the number of published units
+   */
+  public int size() {
+    return Math.min(this.size.get(), this.units.length());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("UnitExchange{size=%d, capacity=%d}", this.size(), this.units.length());
+  }
+
+  /**
+   * A published unit.
+   */
+  static final class Unit {
+    final MiniSatStyleSolver source;
+    final String name;
+    final boolean phase;
+
+    /**
+     * Constructs a new unit.
+     * @param source the publishing solver
+     * @param name   the variable name
+     * @param phase  the phase
+     */
+    private Unit(final MiniSatStyleSolver source, final String name, boolean phase) {
+      this.source = source;
+      this.name = name;
+      this.phase = phase;
+    }
+  }
+}
@@ -0,0 +1,192 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.transformations;
+
+import org.logicng.datastructures.Substitution;
+import org.logicng.formulas.BinaryOperator;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaTransformation;
+import org.logicng.formulas.Not;
+import org.logicng.util.Pair;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies a substitution to formulas.  In contrast to {@link Formula#substitute(Substitution)} the formula is
+ * traversed as a DAG: the substitution of each sub-formula is memoized by identity during one call, so every distinct
+ * node is processed only once, no matter how many parents share it.  The result is the same as the one of
+ * {@link Formula#substitute(Substitution)}.
+ * <p>
+ * With {@link #apply(Collection)} many formulas can be processed with one memo, so sub-formulas shared between them
+ * are processed only once, too.
+ * <p>
+ * This transformation cannot be cached since it is dependent on the substitution.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public final class SubstitutionTransformation implements FormulaTransformation {
+
+  private final Substitution substitution;
+
+  /**
+   * Constructs a new substitution transformation for a given substitution.
+   * @param substitution the substitution
+   */
+  public SubstitutionTransformation(final Substitution substitution) {
+    this.substitution = substitution;
+  }
+
+  @Override
+  public Formula apply(final Formula formula, boolean cache) {
+    return this.substitute(formula, new IdentityHashMap<Formula, Formula>());
+  }
+
+  /**
+   * Applies the substitution to the given formulas.  The memo is shared between the formulas.
+   * @param formulas the formulas
+   * @return the substituted formulas in the order of the input formulas
+   */
+  public List<Formula> apply(final Collection<? extends Formula> formulas) {
+    final Map<Formula, Formula> memo = new IdentityHashMap<>();
+    final List<Formula> result = new ArrayList<>(formulas.size());
+    for (final Formula formula : formulas)
+      result.add(this.substitute(formula, memo));
+    return result;
+  }
+
+  /**
+   * Applies the substitution to a formula.  The operators are processed in post-order on an explicit stack, so deep
+   * formulas do not overflow the call stack.
+   * @param formula the formula
+   * @param memo    the substituted operators and pseudo-Boolean constraints
+   * @return the substituted formula
+   */
+  private Formula substitute(final Formula formula, final Map<Formula, Formula> memo) {
+    if (!isOperator(formula) || memo.containsKey(formula))
+      return this.substituted(formula, memo);
+    final Deque<Pair<Formula, Iterator<Formula>>> stack = new ArrayDeque<>();
+    stack.push(new Pair<>(formula, formula.iterator()));
+    while (!stack.isEmpty()) {
+      final Pair<Formula, Iterator<Formula>> top = stack.peek();
+      if (top.second().hasNext()) {
+        final Formula operand = top.second().next();
+        if (isOperator(operand) && !memo.containsKey(operand))
+          stack.push(new Pair<>(operand, operand.iterator()));
+      } else {
+        stack.pop();
+        memo.put(top.first(), this.substituteOperator(top.first(), memo));
+      }
+    }
+    return memo.get(formula);
+  }
+
+  /**
+   * Applies the substitution to an operator whose operands are already substituted.
+   * @param formula the operator
+   * @param memo    the substituted operators and pseudo-Boolean constraints
+   * @return the substituted operator
+   */
+  private Formula substituteOperator(final Formula formula, final Map<Formula, Formula> memo) {
+    final FormulaFactory f = formula.factory();
+    switch (formula.type()) {
+      case NOT:
+        return f.not(this.substituted(((Not) formula).operand(), memo));
+      case IMPL:
+      case EQUIV:
+        return f.binaryOperator(formula.type(), this.substituted(((BinaryOperator) formula).left(), memo),
+                this.substituted(((BinaryOperator) formula).right(), memo));
+      case AND:
+      case OR:
+        final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
+        for (final Formula op : formula)
+          nops.add(this.substituted(op, memo));
+        return f.naryOperator(formula.type(), nops);
+      default:
+        throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+    }
+  }
+
+  /**
+   * Returns the substitution of an atomic formula or of an operator which was already substituted.
+   * @param formula the formula
+   * @param memo    the substituted operators and pseudo-Boolean constraints
+   * @return the substituted formula
+   */
+  private Formula substituted(final Formula formula, final Map<Formula, Formula> memo) {
+    switch (formula.type()) {
+      case TRUE:
+      case FALSE:
+        return formula;
+      case LITERAL:
+        return formula.substitute(this.substitution);
+      case PBC:
+        Formula result = memo.get(formula);
+        if (result == null) {
+          result = formula.substitute(this.substitution);
+          memo.put(formula, result);
+        }
+        return result;
+      default:
+        return memo.get(formula);
+    }
+  }
+
+  /**
+   * Returns whether the given formula is a Boolean operator with sub-formulas.
+   * @param formula the formula
+   * @return {@code true} if the formula is a Boolean operator
+   */
+  private static boolean isOperator(final Formula formula) {
+    switch (formula.type()) {
+      case NOT:
+      case IMPL:
+      case EQUIV:
+      case AND:
+      case OR:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s{substitution=%s}", this.getClass().getSimpleName(), this.substitution);
+  }
+}
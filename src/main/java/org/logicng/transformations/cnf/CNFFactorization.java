@@ -28,6 +28,7 @@
 
 package org.logicng.transformations.cnf;
 
+import org.logicng.datastructures.Tristate;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.FormulaTransformation;
@@ -38,6 +39,7 @@ import java.util.LinkedHashSet;
 
 import static org.logicng.formulas.FType.AND;
 import static org.logicng.formulas.FType.LITERAL;
+import static org.logicng.formulas.cache.PredicateCacheEntry.IS_CNF;
 import static org.logicng.formulas.cache.TransformationCacheEntry.FACTORIZED_CNF;
 
 /**
@@ -72,7 +74,7 @@ public final class CNFFactorization implements FormulaTransformation {
   public Formula apply(final Formula formula, boolean cache) {
     if (!this.proceed)
       return null;
-    if (formula.type().precedence() >= LITERAL.precedence())
+    if (formula.type().precedence() >= LITERAL.precedence() || formula.predicateCacheEntry(IS_CNF) == Tristate.TRUE)
       return formula;
     Formula cached = formula.transformationCacheEntry(FACTORIZED_CNF);
     if (cached != null)
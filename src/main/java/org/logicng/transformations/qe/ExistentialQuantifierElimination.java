@@ -33,6 +33,7 @@ import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.FormulaTransformation;
 import org.logicng.formulas.Variable;
+import org.logicng.transformations.RestrictionTransformation;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -72,7 +73,8 @@ public final class ExistentialQuantifierElimination implements FormulaTransforma
     Formula result = formula;
     final FormulaFactory f = formula.factory();
     for (final Variable var : elimination)
-      result = f.or(result.restrict(new Assignment(var)), result.restrict(new Assignment(var.negate())));
+      result = f.or(new RestrictionTransformation(new Assignment(var)).apply(result, false),
+              new RestrictionTransformation(new Assignment(var.negate())).apply(result, false));
     return result;
   }
 }
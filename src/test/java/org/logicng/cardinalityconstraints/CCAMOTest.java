@@ -54,6 +54,9 @@ public class CCAMOTest {
   private static final CCAtMostOne pure = new CCAMOPure(f);
   private static final CCAtMostOne ladder = new CCAMOLadder(f);
   private static final CCAtMostOne product = new CCAMOProduct(f);
+  private static final CCAtMostOne binary = new CCAMOBinary(f);
+  private static final CCAtMostOne commander = new CCAMOCommander(f);
+  private static final CCAtMostOne commander10 = new CCAMOCommander(f, 10);
 
 
   @Test
@@ -61,6 +64,8 @@ public class CCAMOTest {
     Assert.assertTrue(pure.build(new LinkedList<Variable>()).empty());
     Assert.assertTrue(ladder.build(new LinkedList<Variable>()).empty());
     Assert.assertTrue(product.build(new LinkedList<Variable>()).empty());
+    Assert.assertTrue(binary.build(new LinkedList<Variable>()).empty());
+    Assert.assertTrue(commander.build(new LinkedList<Variable>()).empty());
   }
 
   @Test
@@ -69,6 +74,8 @@ public class CCAMOTest {
     Assert.assertTrue(pure.build(vars).empty());
     Assert.assertTrue(ladder.build(vars).empty());
     Assert.assertTrue(product.build(vars).empty());
+    Assert.assertTrue(binary.build(vars).empty());
+    Assert.assertTrue(commander.build(vars).empty());
   }
 
   @Test
@@ -98,6 +105,29 @@ public class CCAMOTest {
     testCC(500, product);
   }
 
+  @Test
+  public void testBinary() {
+    testCC(2, binary);
+    testCC(10, binary);
+    testCC(100, binary);
+    testCC(250, binary);
+    testCC(500, binary);
+  }
+
+  @Test
+  public void testCommander() {
+    testCC(2, commander);
+    testCC(10, commander);
+    testCC(100, commander);
+    testCC(250, commander);
+    testCC(500, commander);
+    testCC(2, commander10);
+    testCC(10, commander10);
+    testCC(100, commander10);
+    testCC(250, commander10);
+    testCC(500, commander10);
+  }
+
   private void testCC(int numLits, final CCAtMostOne encoder) {
     final List<Variable> lits = new LinkedList<>();
     final Variable[] problemLits = new Variable[numLits];
@@ -0,0 +1,158 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.cardinalityconstraints;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link CCAMKCardinalityNetwork} and the {@link CCALKCardinalityNetwork}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class CCCardinalityNetworkTest {
+
+  private static final FormulaFactory f = new FormulaFactory();
+
+  @Test
+  public void testCC0() {
+    Assert.assertTrue(new CCALKCardinalityNetwork(f).build(new LinkedList<Variable>(), 0).empty());
+    Assert.assertTrue(new CCAMKCardinalityNetwork(f).build(new LinkedList<Variable>(), 0).empty());
+  }
+
+  @Test
+  public void testAMKs() {
+    final CCAtMostK network = new CCAMKCardinalityNetwork(f);
+    testAMK(10, 0, 1, network);
+    testAMK(10, 1, 11, network);
+    testAMK(10, 2, 56, network);
+    testAMK(10, 3, 176, network);
+    testAMK(10, 4, 386, network);
+    testAMK(10, 5, 638, network);
+    testAMK(10, 6, 848, network);
+    testAMK(10, 7, 968, network);
+    testAMK(10, 8, 1013, network);
+    testAMK(10, 9, 1023, network);
+    testAMK(10, 10, 1, network);
+    testAMK(10, 15, 1, network);
+    testAMK(13, 7, 5812, network);
+  }
+
+  @Test
+  public void testALKs() {
+    final CCAtLeastK network = new CCALKCardinalityNetwork(f);
+    testALK(10, 1, 1023, network);
+    testALK(10, 2, 1013, network);
+    testALK(10, 3, 968, network);
+    testALK(10, 4, 848, network);
+    testALK(10, 5, 638, network);
+    testALK(10, 6, 386, network);
+    testALK(10, 7, 176, network);
+    testALK(10, 8, 56, network);
+    testALK(10, 9, 11, network);
+    testALK(10, 10, 1, network);
+    testALK(10, 12, 0, network);
+    testALK(13, 7, 4096, network);
+  }
+
+  @Test
+  public void testLargeRHS() {
+    final int numLits = 300;
+    final int rhs = 200;
+    final Variable[] problemLits = new Variable[numLits];
+    for (int i = 0; i < numLits; i++)
+      problemLits[i] = f.variable("v" + i);
+    final SATSolver solver = MiniSat.miniSat(f);
+    solver.add(new CCAMKCardinalityNetwork(f).build(problemLits, rhs));
+    solver.add(new CCALKCardinalityNetwork(f).build(problemLits, rhs));
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    Assert.assertEquals(rhs, solver.model(problemLits).positiveLiterals().size());
+    for (int i = 0; i <= rhs; i++)
+      solver.add(problemLits[i]);
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+  }
+
+  private void testAMK(int numLits, int rhs, int expected, final CCAtMostK network) {
+    final Variable[] problemLits = new Variable[numLits];
+    for (int i = 0; i < numLits; i++)
+      problemLits[i] = f.variable("v" + i);
+    final ImmutableFormulaList clauses = network.build(problemLits, rhs);
+    final SATSolver solver = MiniSat.miniSat(f);
+    solver.add(clauses);
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    final List<Assignment> models = solver.enumerateAllModels(problemLits);
+    Assert.assertEquals(expected, models.size());
+    for (final Assignment model : models)
+      Assert.assertTrue(model.positiveLiterals().size() <= rhs);
+  }
+
+  private void testALK(int numLits, int rhs, int expected, final CCAtLeastK network) {
+    final Variable[] problemLits = new Variable[numLits];
+    for (int i = 0; i < numLits; i++)
+      problemLits[i] = f.variable("v" + i);
+    final ImmutableFormulaList clauses = network.build(problemLits, rhs);
+    final SATSolver solver = MiniSat.miniSat(f);
+    solver.add(clauses);
+    if (expected != 0)
+      Assert.assertEquals(Tristate.TRUE, solver.sat());
+    else
+      Assert.assertEquals(Tristate.FALSE, solver.sat());
+    final List<Assignment> models = solver.enumerateAllModels(problemLits);
+    Assert.assertEquals(expected, models.size());
+    for (final Assignment model : models)
+      Assert.assertTrue(model.positiveLiterals().size() >= rhs);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalAMK() {
+    final Variable[] problemLits = new Variable[10];
+    for (int i = 0; i < problemLits.length; i++)
+      problemLits[i] = f.variable("v" + i);
+    new CCAMKCardinalityNetwork(f).build(problemLits, -1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalALK() {
+    final Variable[] problemLits = new Variable[10];
+    for (int i = 0; i < problemLits.length; i++)
+      problemLits[i] = f.variable("v" + i);
+    new CCALKCardinalityNetwork(f).build(problemLits, -1);
+  }
+}
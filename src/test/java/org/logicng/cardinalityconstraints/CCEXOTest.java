@@ -53,6 +53,9 @@ public class CCEXOTest {
   private static final CCExactlyOne pure = new CCEXOPure(f);
   private static final CCExactlyOne ladder = new CCEXOLadder(f);
   private static final CCExactlyOne product = new CCEXOProduct(f);
+  private static final CCExactlyOne binary = new CCEXOBinary(f);
+  private static final CCExactlyOne commander = new CCEXOCommander(f);
+  private static final CCExactlyOne commander10 = new CCEXOCommander(f, 10);
 
 
   @Test
@@ -60,6 +63,8 @@ public class CCEXOTest {
     Assert.assertTrue(pure.build(new LinkedList<Variable>()).empty());
     Assert.assertTrue(ladder.build(new LinkedList<Variable>()).empty());
     Assert.assertTrue(product.build(new LinkedList<Variable>()).empty());
+    Assert.assertTrue(binary.build(new LinkedList<Variable>()).empty());
+    Assert.assertTrue(commander.build(new LinkedList<Variable>()).empty());
   }
 
   @Test
@@ -92,6 +97,32 @@ public class CCEXOTest {
     testCC(500, product);
   }
 
+  @Test
+  public void testBinary() {
+    testCC(1, binary);
+    testCC(2, binary);
+    testCC(10, binary);
+    testCC(100, binary);
+    testCC(250, binary);
+    testCC(500, binary);
+  }
+
+  @Test
+  public void testCommander() {
+    testCC(1, commander);
+    testCC(2, commander);
+    testCC(10, commander);
+    testCC(100, commander);
+    testCC(250, commander);
+    testCC(500, commander);
+    testCC(1, commander10);
+    testCC(2, commander10);
+    testCC(10, commander10);
+    testCC(100, commander10);
+    testCC(250, commander10);
+    testCC(500, commander10);
+  }
+
   private void testCC(int numLits, final CCExactlyOne encoder) {
     final List<Variable> lits = new LinkedList<>();
     final Variable[] problemLits = new Variable[numLits];
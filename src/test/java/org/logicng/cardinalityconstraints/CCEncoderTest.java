@@ -0,0 +1,190 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.cardinalityconstraints;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.util.Pair;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for the {@link CCEncoder} and the {@link CCConfig}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class CCEncoderTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+
+  @Test
+  public void testDefaultSelection() {
+    final CCEncoder encoder = new CCEncoder(this.f);
+    Assert.assertTrue(encoder.amoEncoder(5) instanceof CCAMOPure);
+    Assert.assertTrue(encoder.amoEncoder(10000) instanceof CCAMOProduct);
+    Assert.assertTrue(encoder.exoEncoder(5) instanceof CCEXOPure);
+    Assert.assertTrue(encoder.exoEncoder(10000) instanceof CCEXOProduct);
+    Assert.assertTrue(encoder.amkEncoder(1000, 5) instanceof CCAMKTotalizer);
+    Assert.assertTrue(encoder.amkEncoder(1000, 300) instanceof CCAMKCardinalityNetwork);
+    Assert.assertTrue(encoder.alkEncoder(1000, 5) instanceof CCALKTotalizer);
+    Assert.assertTrue(encoder.alkEncoder(1000, 300) instanceof CCALKCardinalityNetwork);
+  }
+
+  @Test
+  public void testConfiguredSelection() {
+    final FormulaFactory factory = new FormulaFactory();
+    factory.putConfiguration(new CCConfig.Builder()
+            .amoEncoding(CCConfig.AMOEncoding.COMMANDER)
+            .exoEncoding(CCConfig.AMOEncoding.BINARY)
+            .amkEncoding(CCConfig.AMKEncoding.MODULAR_TOTALIZER)
+            .alkEncoding(CCConfig.ALKEncoding.CARDINALITY_NETWORK)
+            .build());
+    final CCEncoder encoder = new CCEncoder(factory);
+    Assert.assertTrue(encoder.amoEncoder(5) instanceof CCAMOCommander);
+    Assert.assertTrue(encoder.exoEncoder(5) instanceof CCEXOBinary);
+    Assert.assertTrue(encoder.amkEncoder(1000, 300) instanceof CCAMKModularTotalizer);
+    Assert.assertTrue(encoder.alkEncoder(1000, 5) instanceof CCALKCardinalityNetwork);
+    factory.putConfiguration(new CCConfig.Builder().amoEncoding(CCConfig.AMOEncoding.LADDER).build());
+    Assert.assertTrue(encoder.amoEncoder(5) instanceof CCAMOLadder);
+    Assert.assertTrue(encoder.exoEncoder(5) instanceof CCEXOPure);
+  }
+
+  @Test
+  public void testConstraintsOnSolver() {
+    for (final CCConfig config : this.configs()) {
+      final FormulaFactory factory = new FormulaFactory();
+      factory.putConfiguration(config);
+      final Variable[] vars = new Variable[12];
+      for (int i = 0; i < vars.length; i++)
+        vars[i] = factory.variable("v" + i);
+      Assert.assertEquals(config.toString(), 13, this.countModels(factory, factory.cc(CType.LE, 1, vars), vars));
+      Assert.assertEquals(config.toString(), 12, this.countModels(factory, factory.cc(CType.EQ, 1, vars), vars));
+      Assert.assertEquals(config.toString(), 299, this.countModels(factory, factory.cc(CType.LT, 4, vars), vars));
+      Assert.assertEquals(config.toString(), 3302, this.countModels(factory, factory.cc(CType.GT, 4, vars), vars));
+      Assert.assertEquals(config.toString(), 792, this.countModels(factory, factory.cc(CType.EQ, 5, vars), vars));
+    }
+  }
+
+  @Test
+  public void testIncrementalTotalizer() {
+    final Variable[] vars = new Variable[10];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = this.f.variable("v" + i);
+    final Pair<ImmutableFormulaList, CCIncrementalData> encoding =
+            new CCEncoder(this.f).amkTotalizer().buildForIncremental(Arrays.asList(vars), 7);
+    final CCIncrementalData data = encoding.second();
+    final SATSolver solver = MiniSat.miniSat(this.f);
+    solver.add(encoding.first());
+    solver.add(this.f.cc(CType.GE, 4, vars));
+    Assert.assertEquals(7, data.currentRHS());
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    solver.add(data.newUpperBound(4));
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    Assert.assertEquals(4, solver.model(vars).positiveLiterals().size());
+    solver.add(data.newUpperBound(3));
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+    Assert.assertEquals(3, data.currentRHS());
+  }
+
+  @Test
+  public void testIncrementalTotalizerWithoutBound() {
+    final Variable[] vars = new Variable[5];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = this.f.variable("v" + i);
+    final Pair<ImmutableFormulaList, CCIncrementalData> encoding =
+            new CCAMKTotalizer(this.f).buildForIncremental(Arrays.asList(vars), 8);
+    final SATSolver solver = MiniSat.miniSat(this.f);
+    solver.add(encoding.first());
+    solver.add(this.f.and(vars));
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    Assert.assertEquals(this.f.verum(), encoding.second().newUpperBound(5));
+    solver.add(encoding.second().newUpperBound(4));
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalIncrementalBound() {
+    final Variable[] vars = new Variable[]{this.f.variable("a"), this.f.variable("b"), this.f.variable("c")};
+    new CCAMKTotalizer(this.f).buildForIncremental(Arrays.asList(vars), 1).second().newUpperBound(2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalConstraint() {
+    final PBConstraint pbc = this.f.pbc(CType.LE, 3, new Variable[]{this.f.variable("a"), this.f.variable("b")}, new int[]{2, 3});
+    new CCEncoder(this.f).encode(pbc);
+  }
+
+  @Test
+  public void testToString() {
+    final CCConfig config = new CCConfig.Builder().amkEncoding(CCConfig.AMKEncoding.CARDINALITY_NETWORK).build();
+    Assert.assertEquals("CCConfig{\namoEncoding=BEST\nexoEncoding=BEST\namkEncoding=CARDINALITY_NETWORK\nalkEncoding=BEST\n}\n", config.toString());
+    Assert.assertEquals("CCEncoder", new CCEncoder(this.f).toString());
+    Assert.assertEquals("CCAMOBinary", new CCAMOBinary(this.f).toString());
+    Assert.assertEquals("CCAMOCommander", new CCAMOCommander(this.f).toString());
+    Assert.assertEquals("CCAMKCardinalityNetwork", new CCAMKCardinalityNetwork(this.f).toString());
+    Assert.assertEquals("CCALKCardinalityNetwork", new CCALKCardinalityNetwork(this.f).toString());
+    Assert.assertEquals("CCCardinalityNetwork", new CCCardinalityNetwork(this.f).toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalGroupSize() {
+    new CCAMOCommander(this.f, 1);
+  }
+
+  private CCConfig[] configs() {
+    final CCConfig.AMOEncoding[] amos = CCConfig.AMOEncoding.values();
+    final CCConfig.AMKEncoding[] amks = CCConfig.AMKEncoding.values();
+    final CCConfig.ALKEncoding[] alks = CCConfig.ALKEncoding.values();
+    final CCConfig[] configs = new CCConfig[amos.length];
+    for (int i = 0; i < amos.length; i++)
+      configs[i] = new CCConfig.Builder()
+              .amoEncoding(amos[i])
+              .exoEncoding(amos[(i + 1) % amos.length])
+              .amkEncoding(amks[i % amks.length])
+              .alkEncoding(alks[i % alks.length])
+              .build();
+    return configs;
+  }
+
+  private int countModels(final FormulaFactory factory, final Formula constraint, final Variable[] vars) {
+    final SATSolver solver = MiniSat.miniSat(factory);
+    solver.add(constraint);
+    return solver.enumerateAllModels(vars).size();
+  }
+}
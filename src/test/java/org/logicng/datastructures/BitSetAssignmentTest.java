@@ -0,0 +1,124 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.datastructures;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.F;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.io.parsers.PseudoBooleanParser;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for the class {@link BitSetAssignment}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class BitSetAssignmentTest {
+
+  @Test
+  public void testLiterals() {
+    final BitSetAssignment ass = new BitSetAssignment(F.f, Arrays.asList(F.A, F.B, F.NX, F.NY));
+    Assert.assertEquals(F.f, ass.factory());
+    Assert.assertEquals(4, ass.size());
+    Assert.assertTrue(ass.fastEvaluable());
+    Assert.assertEquals(Arrays.asList(F.A, F.B), ass.positiveLiterals());
+    Assert.assertEquals(Arrays.asList(F.NX, F.NY), ass.negativeLiterals());
+    Assert.assertEquals(Arrays.asList(F.X, F.Y), ass.negativeVariables());
+    Assert.assertEquals(new Assignment(Arrays.asList(F.A, F.B, F.NX, F.NY)), ass);
+  }
+
+  @Test
+  public void testEvaluateLit() {
+    final BitSetAssignment ass = new BitSetAssignment(F.f, Arrays.asList(F.A, F.NX));
+    Assert.assertTrue(ass.evaluateLit(F.A));
+    Assert.assertTrue(ass.evaluateLit(F.NX));
+    Assert.assertTrue(ass.evaluateLit(F.NB));
+    Assert.assertFalse(ass.evaluateLit(F.NA));
+    Assert.assertFalse(ass.evaluateLit(F.X));
+    Assert.assertFalse(ass.evaluateLit(F.B));
+  }
+
+  @Test
+  public void testRestrictLit() {
+    final BitSetAssignment ass = new BitSetAssignment(F.f, Arrays.asList(F.A, F.NX));
+    Assert.assertEquals(F.TRUE, ass.restrictLit(F.A));
+    Assert.assertEquals(F.TRUE, ass.restrictLit(F.NX));
+    Assert.assertEquals(F.FALSE, ass.restrictLit(F.NA));
+    Assert.assertEquals(F.FALSE, ass.restrictLit(F.X));
+    Assert.assertNull(ass.restrictLit(F.B));
+    Assert.assertNull(ass.restrictLit(F.NB));
+  }
+
+  @Test
+  public void testOtherFactory() {
+    final FormulaFactory g = new FormulaFactory();
+    final Literal gb = g.literal("b", false);
+    final BitSetAssignment ass = new BitSetAssignment(F.f, Arrays.asList(F.A, g.variable("x")));
+    Assert.assertTrue(ass.evaluateLit(F.X));
+    Assert.assertTrue(ass.evaluateLit(g.variable("a")));
+    Assert.assertTrue(ass.evaluateLit(gb));
+    Assert.assertFalse(ass.evaluateLit(F.NX));
+    Assert.assertEquals(F.FALSE, ass.restrictLit(F.NX));
+    Assert.assertEquals(g.verum(), ass.restrictLit(g.variable("a")));
+  }
+
+  @Test
+  public void testFormulaEvaluationAndRestriction() throws ParserException {
+    final PseudoBooleanParser p = new PseudoBooleanParser(F.f);
+    final Formula formula = p.parse("(a | ~b) & (x => y) & (2 * a + 3 * x + 1 * c <= 4)");
+    final BitSetAssignment ass = new BitSetAssignment(F.f, Arrays.asList(F.A, F.NB, F.X, F.NY));
+    final Assignment plain = new Assignment(Arrays.asList(F.A, F.NB, F.X, F.NY));
+    Assert.assertEquals(formula.evaluate(plain), formula.evaluate(ass));
+    Assert.assertEquals(formula.restrict(plain), formula.restrict(ass));
+    final BitSetAssignment partial = new BitSetAssignment(F.f, Arrays.asList(F.A, F.X));
+    Assert.assertEquals(formula.restrict(new Assignment(Arrays.asList(F.A, F.X))), formula.restrict(partial));
+  }
+
+  @Test
+  public void testSolverModels() throws ParserException {
+    final SATSolver solver = MiniSat.miniSat(F.f);
+    solver.add(new PropositionalParser(F.f).parse("(a | b) & ~x & (y <=> a)"));
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    final Assignment model = solver.model();
+    Assert.assertTrue(model instanceof BitSetAssignment);
+    Assert.assertTrue(model.evaluateLit(F.NX));
+    Assert.assertEquals(model.evaluateLit(F.A), model.evaluateLit(F.Y));
+    final Assignment projected = solver.model(Arrays.asList(F.X, F.C, F.X));
+    Assert.assertEquals(new Assignment(F.NX), projected);
+  }
+}
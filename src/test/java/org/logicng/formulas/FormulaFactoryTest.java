@@ -32,10 +32,20 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.logicng.configurations.Configuration;
 import org.logicng.configurations.ConfigurationType;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.cache.PredicateCacheEntry;
 import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
 import org.logicng.solvers.sat.GlucoseConfig;
 import org.logicng.solvers.sat.MiniSatConfig;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Test some basic formula factory functionality.
  * @author Christoph Zengler
@@ -117,4 +127,45 @@ public class FormulaFactoryTest {
     Assert.assertEquals("@RESERVED_PB_f_0", pbVar.name());
     Assert.assertEquals("@RESERVED_CNF_f_0", cnfVar.name());
   }
+
+  @Test
+  public void testConcurrentFactory() throws Exception {
+    final FormulaFactory f = new FormulaFactory("c", true);
+    Assert.assertTrue(f.isConcurrent());
+    Assert.assertFalse(new FormulaFactory().isConcurrent());
+    final int numThreads = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    final List<Future<List<Formula>>> futures = new ArrayList<>();
+    for (int t = 0; t < numThreads; t++)
+      futures.add(executor.submit(new Callable<List<Formula>>() {
+        @Override
+        public List<Formula> call() {
+          final List<Formula> formulas = new ArrayList<>();
+          for (int i = 0; i < 500; i++) {
+            final Variable a = f.variable("a" + i);
+            final Literal b = f.literal("b" + i, false);
+            final Formula and = f.and(a, b, f.variable("c" + i % 10));
+            final Formula or = f.or(and, f.not(f.or(a, b)), f.implication(a, b));
+            formulas.add(f.equivalence(or, f.and(b, a)));
+            formulas.add(f.newCCVariable());
+          }
+          return formulas;
+        }
+      }));
+    final List<List<Formula>> results = new ArrayList<>();
+    for (final Future<List<Formula>> future : futures)
+      results.add(future.get());
+    executor.shutdown();
+    for (int i = 0; i < 1000; i += 2)
+      for (final List<Formula> result : results)
+        Assert.assertSame(results.get(0).get(i), result.get(i));
+    final List<Formula> generated = new ArrayList<>();
+    for (final List<Formula> result : results)
+      for (int i = 1; i < 1000; i += 2)
+        generated.add(result.get(i));
+    Assert.assertEquals(numThreads * 500, new HashSet<>(generated).size());
+    final Formula and = f.and(f.variable("a0"), f.literal("b0", false), f.variable("c0"));
+    Assert.assertEquals(Tristate.TRUE, and.predicateCacheEntry(PredicateCacheEntry.IS_CNF));
+    Assert.assertSame(and, f.and(f.variable("c0"), f.and(f.variable("a0"), f.literal("b0", false))));
+  }
 }
@@ -33,8 +33,10 @@ import org.junit.Test;
 import org.logicng.datastructures.Tristate;
 import org.logicng.formulas.cache.CacheEntry;
 
+import static org.logicng.formulas.cache.FunctionCacheEntry.SUBFORMULAS;
 import static org.logicng.formulas.cache.PredicateCacheEntry.IS_CNF;
 import static org.logicng.formulas.cache.PredicateCacheEntry.IS_DNF;
+import static org.logicng.formulas.cache.PredicateCacheEntry.IS_TAUTOLOGY;
 import static org.logicng.formulas.cache.TransformationCacheEntry.FACTORIZED_CNF;
 
 /**
@@ -84,6 +86,62 @@ public class FormulaTest {
     Assert.assertEquals("key2", formula.functionCacheEntry(MyOwnCacheKey.MYKEY2));
   }
 
+  @Test
+  public void testMixedCacheEntries() {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula formula = f.not(f.and(f.variable("a"), f.variable("b")));
+    Assert.assertNull(formula.transformationCacheEntry(FACTORIZED_CNF));
+    Assert.assertNull(formula.functionCacheEntry(SUBFORMULAS));
+    Assert.assertEquals(Tristate.UNDEF, formula.predicateCacheEntry(IS_TAUTOLOGY));
+    formula.setPredicateCacheEntry(IS_CNF, true);
+    formula.setPredicateCacheEntry(IS_TAUTOLOGY, false);
+    formula.setPredicateCacheEntry(MyOwnCacheKey.MYKEY1, Tristate.TRUE);
+    formula.setFunctionCacheEntry(SUBFORMULAS, "sub");
+    formula.setFunctionCacheEntry(MyOwnCacheKey.MYKEY1, "key1");
+    formula.setTransformationCacheEntry(MyOwnCacheKey.MYKEY1, f.verum());
+    Assert.assertEquals(Tristate.TRUE, formula.predicateCacheEntry(IS_CNF));
+    Assert.assertEquals(Tristate.UNDEF, formula.predicateCacheEntry(IS_DNF));
+    Assert.assertEquals(Tristate.FALSE, formula.predicateCacheEntry(IS_TAUTOLOGY));
+    Assert.assertEquals(Tristate.TRUE, formula.predicateCacheEntry(MyOwnCacheKey.MYKEY1));
+    Assert.assertEquals(Tristate.UNDEF, formula.predicateCacheEntry(MyOwnCacheKey.MYKEY2));
+    Assert.assertEquals("sub", formula.functionCacheEntry(SUBFORMULAS));
+    Assert.assertEquals("key1", formula.functionCacheEntry(MyOwnCacheKey.MYKEY1));
+    Assert.assertEquals(f.verum(), formula.transformationCacheEntry(MyOwnCacheKey.MYKEY1));
+    Assert.assertNull(formula.transformationCacheEntry(FACTORIZED_CNF));
+    formula.setPredicateCacheEntry(IS_CNF, Tristate.UNDEF);
+    Assert.assertEquals(Tristate.UNDEF, formula.predicateCacheEntry(IS_CNF));
+    Assert.assertEquals(Tristate.FALSE, formula.predicateCacheEntry(IS_TAUTOLOGY));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testDeprecatedCacheViews() {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula formula = f.not(f.and(f.variable("a"), f.variable("b")));
+    Assert.assertTrue(formula.transformationCache().isEmpty());
+    Assert.assertTrue(formula.predicateCache().isEmpty());
+    Assert.assertTrue(formula.functionCache().isEmpty());
+    formula.transformationCache().put(FACTORIZED_CNF, f.verum());
+    formula.predicateCache().put(IS_CNF, Tristate.TRUE);
+    formula.predicateCache().put(MyOwnCacheKey.MYKEY1, Tristate.FALSE);
+    formula.functionCache().put(MyOwnCacheKey.MYKEY2, "key2");
+    Assert.assertEquals(f.verum(), formula.transformationCacheEntry(FACTORIZED_CNF));
+    Assert.assertEquals(Tristate.TRUE, formula.predicateCacheEntry(IS_CNF));
+    Assert.assertEquals(Tristate.FALSE, formula.predicateCacheEntry(MyOwnCacheKey.MYKEY1));
+    Assert.assertEquals("key2", formula.functionCacheEntry(MyOwnCacheKey.MYKEY2));
+    formula.setFunctionCacheEntry(SUBFORMULAS, "sub");
+    Assert.assertEquals("sub", formula.functionCache().get(SUBFORMULAS));
+    Assert.assertEquals(2, formula.functionCache().size());
+    Assert.assertEquals(2, formula.predicateCache().size());
+    Assert.assertTrue(formula.predicateCache().containsKey(MyOwnCacheKey.MYKEY1));
+    Assert.assertFalse(formula.predicateCache().containsKey(IS_DNF));
+    Assert.assertEquals(f.verum(), formula.transformationCache().remove(FACTORIZED_CNF));
+    Assert.assertEquals(Tristate.TRUE, formula.predicateCache().remove(IS_CNF));
+    Assert.assertNull(formula.transformationCacheEntry(FACTORIZED_CNF));
+    Assert.assertEquals(Tristate.UNDEF, formula.predicateCacheEntry(IS_CNF));
+    Assert.assertEquals(1, formula.predicateCache().size());
+  }
+
   private enum MyOwnCacheKey implements CacheEntry {
     MYKEY1("My Key 1"),
     MYKEY2("My Key 2");
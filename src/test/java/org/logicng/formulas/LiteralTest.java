@@ -66,6 +66,19 @@ public class LiteralTest {
     Assert.assertEquals(false, F.NA.phase());
   }
 
+  @Test
+  public void testVariableIds() {
+    final FormulaFactory f = new FormulaFactory();
+    final Variable a = f.variable("a");
+    final Variable b = f.variable("b");
+    Assert.assertEquals(0, a.id());
+    Assert.assertEquals(1, b.id());
+    Assert.assertEquals(0, f.literal("a", false).variable().id());
+    Assert.assertEquals(1, f.variable("b").id());
+    Assert.assertEquals(2, f.variable("c").id());
+    Assert.assertEquals(0, new FormulaFactory().variable("c").id());
+  }
+
   @Test
   public void testVariables() {
     Assert.assertEquals(1, F.A.variables().size());
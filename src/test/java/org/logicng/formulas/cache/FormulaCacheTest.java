@@ -0,0 +1,178 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.configurations.ConfigurationType;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.transformations.cnf.TseitinTransformation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.logicng.formulas.cache.FunctionCacheEntry.SUBFORMULAS;
+import static org.logicng.formulas.cache.PredicateCacheEntry.IS_CNF;
+import static org.logicng.formulas.cache.TransformationCacheEntry.FACTORIZED_CNF;
+import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
+import static org.logicng.formulas.cache.TransformationCacheEntry.TSEITIN;
+
+/**
+ * Unit tests for the cache policies and statistics of a formula factory.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class FormulaCacheTest {
+
+  @Test
+  public void testConfigToString() {
+    final FormulaCacheConfig config = new FormulaCacheConfig.Builder()
+            .policy(FormulaCacheConfig.CachePolicy.LRU)
+            .maxSize(42)
+            .statistics(true)
+            .build();
+    Assert.assertEquals(ConfigurationType.FORMULA_CACHE, config.type());
+    Assert.assertEquals("FormulaCacheConfig{\npolicy=LRU\nmaxSize=42\nstatistics=true\n}\n", config.toString());
+  }
+
+  @Test
+  public void testClearCaches() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final PropositionalParser p = new PropositionalParser(f);
+    final Formula formula = p.parse("~(a & b) | (c => d)");
+    final Formula nnf = formula.nnf();
+    final Formula cnf = formula.cnf();
+    Assert.assertSame(nnf, formula.transformationCacheEntry(NNF));
+    Assert.assertSame(cnf, formula.transformationCacheEntry(FACTORIZED_CNF));
+    Assert.assertEquals(Tristate.TRUE, cnf.predicateCacheEntry(IS_CNF));
+    f.clearCaches();
+    Assert.assertNull(formula.transformationCacheEntry(NNF));
+    Assert.assertNull(formula.transformationCacheEntry(FACTORIZED_CNF));
+    Assert.assertEquals(Tristate.TRUE, cnf.predicateCacheEntry(IS_CNF));
+    Assert.assertSame(nnf, formula.nnf());
+    Assert.assertSame(cnf, formula.cnf());
+  }
+
+  @Test
+  public void testStatistics() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    f.putConfiguration(new FormulaCacheConfig.Builder().statistics(true).build());
+    final PropositionalParser p = new PropositionalParser(f);
+    final Formula formula = p.parse("~(a & b) | (c => d)");
+    Assert.assertNull(f.cacheStatistics().get(NNF));
+    formula.nnf();
+    formula.nnf();
+    final CacheStatistics stats = f.cacheStatistics().get(NNF);
+    Assert.assertEquals(NNF, stats.entry());
+    Assert.assertEquals(3, stats.misses());
+    Assert.assertEquals(1, stats.hits());
+    Assert.assertEquals(3, stats.size());
+    Assert.assertEquals(0, stats.evictions());
+    f.clearCaches();
+    Assert.assertEquals(0, f.cacheStatistics().get(NNF).size());
+    Assert.assertEquals(1, f.cacheStatistics().get(NNF).hits());
+    Assert.assertTrue(new FormulaFactory().cacheStatistics().isEmpty());
+  }
+
+  @Test
+  public void testLRUEviction() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    f.putConfiguration(new FormulaCacheConfig.Builder()
+            .policy(FormulaCacheConfig.CachePolicy.LRU).maxSize(2).statistics(true).build());
+    final PropositionalParser p = new PropositionalParser(f);
+    final Formula f1 = p.parse("~(a & b)");
+    final Formula f2 = p.parse("~(c & d)");
+    final Formula f3 = p.parse("~(e & g)");
+    f1.nnf();
+    f2.nnf();
+    Assert.assertNotNull(f1.transformationCacheEntry(NNF));
+    f3.nnf();
+    Assert.assertNull(f2.transformationCacheEntry(NNF));
+    Assert.assertNotNull(f1.transformationCacheEntry(NNF));
+    Assert.assertNotNull(f3.transformationCacheEntry(NNF));
+    final CacheStatistics stats = f.cacheStatistics().get(NNF);
+    Assert.assertEquals(2, stats.size());
+    Assert.assertEquals(1, stats.evictions());
+    Assert.assertSame(p.parse("~c | ~d"), f2.nnf());
+  }
+
+  @Test
+  public void testFIFOEviction() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    f.putConfiguration(new FormulaCacheConfig.Builder().policy(FormulaCacheConfig.CachePolicy.FIFO).maxSize(2).build());
+    final PropositionalParser p = new PropositionalParser(f);
+    final Formula f1 = p.parse("~(a & b)");
+    final Formula f2 = p.parse("~(c & d)");
+    final Formula f3 = p.parse("~(e & g)");
+    f1.nnf();
+    f2.nnf();
+    Assert.assertNotNull(f1.transformationCacheEntry(NNF));
+    f3.nnf();
+    Assert.assertNull(f1.transformationCacheEntry(NNF));
+    Assert.assertNotNull(f2.transformationCacheEntry(NNF));
+    Assert.assertNotNull(f3.transformationCacheEntry(NNF));
+    f1.setFunctionCacheEntry(SUBFORMULAS, "x");
+    Assert.assertNull(f2.transformationCacheEntry(NNF));
+    f1.setFunctionCacheEntry(SUBFORMULAS, null);
+    Assert.assertNull(f1.functionCacheEntry(SUBFORMULAS));
+  }
+
+  @Test
+  public void testTseitinWithSmallBoundedCache() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    f.putConfiguration(new FormulaCacheConfig.Builder().policy(FormulaCacheConfig.CachePolicy.LRU).maxSize(1).build());
+    final PropositionalParser p = new PropositionalParser(f);
+    final List<Formula> ops = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      ops.add(p.parse(String.format("(a%d & b%d) | (c%d & ~d%d)", i, i, i, i)));
+    final Formula formula = f.and(ops);
+    final Formula tseitin = formula.transform(new TseitinTransformation(0));
+    Assert.assertEquals(Tristate.TRUE, tseitin.predicateCacheEntry(IS_CNF));
+    Assert.assertNotNull(formula.nnf().transformationCacheEntry(TSEITIN));
+    Assert.assertSame(tseitin, formula.transform(new TseitinTransformation(0)));
+  }
+
+  @Test
+  public void testReconfigurationClearsCaches() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula formula = new PropositionalParser(f).parse("~(a & b)");
+    formula.nnf();
+    Assert.assertNotNull(formula.transformationCacheEntry(NNF));
+    f.putConfiguration(new FormulaCacheConfig.Builder().policy(FormulaCacheConfig.CachePolicy.LRU).build());
+    Assert.assertNull(formula.transformationCacheEntry(NNF));
+    final Map<CacheEntry, CacheStatistics> stats = f.cacheStatistics();
+    Assert.assertTrue(stats.isEmpty());
+  }
+}
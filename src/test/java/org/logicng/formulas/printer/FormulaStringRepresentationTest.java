@@ -0,0 +1,85 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.printer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.F;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the streaming printing of {@link FormulaStringRepresentation}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class FormulaStringRepresentationTest {
+
+  private final List<FormulaStringRepresentation> representations = Arrays.asList(new DefaultStringRepresentation(),
+          new UTF8StringRepresentation(), new LatexStringRepresentation());
+
+  @Test
+  public void testWrite() throws IOException {
+    final List<Formula> formulas = Arrays.asList(F.FALSE, F.TRUE, F.A, F.NA, F.OR3, F.AND3, F.NOT1, F.NOT2, F.IMP3,
+            F.IMP4, F.EQ3, F.EQ4, F.PBC1, F.PBC5, F.f.pbc(CType.LE, 2, new Literal[]{F.A, F.NB, F.X}, new int[]{1, 1, 3}));
+    for (final FormulaStringRepresentation sr : this.representations)
+      for (final Formula formula : formulas) {
+        final StringWriter writer = new StringWriter();
+        sr.write(formula, writer);
+        Assert.assertEquals(sr.toString(formula), writer.toString());
+      }
+    final StringBuilder sb = new StringBuilder("formula: ");
+    new DefaultStringRepresentation().write(F.IMP4, sb);
+    Assert.assertEquals("formula: (a <=> b) => (~x <=> ~y)", sb.toString());
+  }
+
+  @Test
+  public void testDeepFormula() {
+    final FormulaFactory f = new FormulaFactory();
+    final int depth = 50000;
+    Formula formula = f.variable("v0");
+    for (int i = 1; i < depth; i++)
+      formula = i % 2 == 0 ? f.and(f.variable("v" + i), formula.negate()) : f.or(f.variable("v" + i), formula);
+    final String string = f.string(formula);
+    Assert.assertTrue(string.startsWith("v49999 | v49998 & ~(v49997 | v49996 & ~(v49995 | "));
+    final int innermost = string.indexOf("v5 | v4 & ~(v3 | v2 & ~(v1 | v0)");
+    Assert.assertTrue(innermost > 0);
+    final String closing = string.substring(innermost + "v5 | v4 & ~(v3 | v2 & ~(v1 | v0".length());
+    Assert.assertEquals(depth / 2 - 1, closing.length());
+    Assert.assertTrue(closing.matches("\\)+"));
+  }
+}
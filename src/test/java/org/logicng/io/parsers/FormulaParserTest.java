@@ -0,0 +1,193 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.parsers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the {@link FormulaParser}.  The ANTLR parsers serve as reference implementation.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class FormulaParserTest {
+
+  private static final List<String> INPUTS = Arrays.asList("", "  \t", "a", "~a", "~~a", "A_b1", "_x", "@RESERVED_CNF_0",
+          "$true", "$false", "~$true", "$false | a", "a & b | c", "a | b & c", "~(a | b) & ~c", "a => b => c",
+          "a <=> b <=> c", "a => b <=> c => d", "(a | b) & (c | ~d)", "a & (b | (c => (d <=> e)))", "a&b|c=>d<=>e",
+          "a & a & ~a", "a | $true", "(((a)))", "a<=>~b", "2 * a + 3 * b <= 4", "2*a - 3*b >= -4",
+          "2 * ~a + -3 * b = 0", "2*a - -3*~b > 1", "-5 * a < -3", "1*a+1*b+1*c>=2", "~(2 * a = 1)",
+          "2 * a < 3 & b", "(1 * a + 2 * b > 1) | c => 3 * ~c = 3", "0 * a = 0", "1 * a = 1 <=> a",
+          "$truea", "a b", "a &", "& a", "(a", "a)", "()", "a | | b", "~", "a <= b", "a = b", "a => ", "<=> a",
+          "3 * a", "3 * a <", "3 * a < b", "3 * a + b = 1", "2 * a -3 * b > 1", "3 a = 1", "a * 3 = 1", "a#b",
+          "$tru", "a - b", "a + b", "$", "1", "-1 * a >= +1");
+
+  @Test
+  public void testPseudoBooleanReference() {
+    final FormulaFactory f = new FormulaFactory();
+    final PseudoBooleanParser reference = new PseudoBooleanParser(f);
+    final FormulaParser parser = new FormulaParser(f);
+    for (final String input : INPUTS)
+      assertSameResult(input, reference, parser);
+  }
+
+  @Test
+  public void testPropositionalReference() {
+    final FormulaFactory f = new FormulaFactory();
+    final PropositionalParser reference = new PropositionalParser(f);
+    final FormulaParser parser = new FormulaParser(f, false);
+    for (final String input : INPUTS)
+      assertSameResult(input, reference, parser);
+  }
+
+  @Test
+  public void testRandomFormulas() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final PseudoBooleanParser reference = new PseudoBooleanParser(f);
+    final FormulaParser parser = new FormulaParser(f);
+    final Random random = new Random(42);
+    for (int i = 0; i < 500; i++) {
+      final Formula formula = randomFormula(f, random, 5);
+      final String string = f.string(formula);
+      final Formula parsed = parser.parse(string);
+      Assert.assertSame(reference.parse(string), parsed);
+      Assert.assertSame(parsed, parser.parse(f.string(parsed)));
+    }
+  }
+
+  @Test
+  public void testParseReader() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final FormulaParser parser = new FormulaParser(f);
+    Assert.assertEquals(f.verum(), parser.parse((CharSequence) null));
+    Assert.assertEquals(f.verum(), parser.parse(new StringReader("")));
+    Assert.assertEquals(f.and(f.variable("a"), f.or(f.variable("b"), f.literal("c", false))),
+            parser.parse(new StringReader("a &\n(b |\r\n~c)")));
+    Assert.assertEquals(f.pbc(CType.GE, 1, new Literal[]{f.variable("a")}, new int[]{2}), parser.parse(new StringBuilder("2 * a >= 1")));
+  }
+
+  @Test
+  public void testParseAll() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final FormulaParser parser = new FormulaParser(f);
+    final List<Formula> formulas = parser.parseAll(new StringReader("a & b\n\n  \n~c | d\r\n2 * a + 1 * ~b <= 2\n$false"));
+    Assert.assertEquals(Arrays.asList(f.parse("a & b"), f.parse("~c | d"), f.parse("2 * a + 1 * ~b <= 2"), f.falsum()), formulas);
+    Assert.assertTrue(parser.parseAll(new StringReader("")).isEmpty());
+    try {
+      parser.parseAll(new StringReader("a\nb\n\nc &\nd"));
+      Assert.fail("Expected a parser exception");
+    } catch (final ParserException e) {
+      Assert.assertTrue(e.getMessage().startsWith("Line 4: "));
+    }
+  }
+
+  @Test
+  public void testNumberRange() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final FormulaParser parser = new FormulaParser(f);
+    Assert.assertEquals(f.pbc(CType.LE, Integer.MIN_VALUE, new Literal[]{f.variable("a")}, new int[]{Integer.MAX_VALUE}),
+            parser.parse("2147483647 * a <= -2147483648"));
+    for (final String input : Arrays.asList("2147483648 * a <= 1", "1 * a <= -2147483649", "1 * a <= 99999999999999999999")) {
+      try {
+        parser.parse(input);
+        Assert.fail("Expected a parser exception for " + input);
+      } catch (final ParserException e) {
+        // expected
+      }
+    }
+  }
+
+  private static void assertSameResult(final String input, final Object reference, final FormulaParser parser) {
+    Formula expected = null;
+    Formula actual = null;
+    try {
+      expected = reference instanceof PseudoBooleanParser
+              ? ((PseudoBooleanParser) reference).parse(input)
+              : ((PropositionalParser) reference).parse(input);
+    } catch (final ParserException e) {
+      // expected stays null
+    }
+    try {
+      actual = parser.parse(input);
+    } catch (final ParserException e) {
+      // actual stays null
+    }
+    Assert.assertSame("Input: " + input, expected, actual);
+  }
+
+  /**
+   * Generates a random formula.  Coefficients of 1 are avoided since the default string representation omits them and
+   * the result could not be parsed again.
+   */
+  private static Formula randomFormula(final FormulaFactory f, final Random random, int depth) {
+    final int choice = depth == 0 ? random.nextInt(3) : random.nextInt(9);
+    switch (choice) {
+      case 0:
+        return f.literal("v" + random.nextInt(10), random.nextBoolean());
+      case 1:
+        return random.nextInt(10) == 0 ? (random.nextBoolean() ? f.verum() : f.falsum()) : f.variable("v" + random.nextInt(10));
+      case 2:
+        final int n = 1 + random.nextInt(4);
+        final List<Literal> literals = new ArrayList<>();
+        final List<Integer> coefficients = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+          literals.add(f.literal("v" + random.nextInt(10), random.nextBoolean()));
+          final int coefficient = random.nextInt(11) - 5;
+          coefficients.add(coefficient == 1 ? 2 : coefficient);
+        }
+        return f.pbc(CType.values()[random.nextInt(CType.values().length)], random.nextInt(11) - 5, literals, coefficients);
+      case 3:
+        return f.not(randomFormula(f, random, depth - 1));
+      case 4:
+        return f.implication(randomFormula(f, random, depth - 1), randomFormula(f, random, depth - 1));
+      case 5:
+        return f.equivalence(randomFormula(f, random, depth - 1), randomFormula(f, random, depth - 1));
+      case 6:
+      case 7:
+      case 8:
+        final List<Formula> operands = new ArrayList<>();
+        for (int i = 0; i < 2 + random.nextInt(3); i++)
+          operands.add(randomFormula(f, random, depth - 1));
+        return choice == 6 ? f.or(operands) : f.and(operands);
+      default:
+        throw new IllegalStateException("Unknown choice: " + choice);
+    }
+  }
+}
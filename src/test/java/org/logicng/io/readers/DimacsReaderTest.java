@@ -0,0 +1,156 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.readers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.maxsat.algorithms.WBO;
+import org.logicng.solvers.sat.CleaneLingConfig;
+import org.logicng.solvers.sat.CleaneLingSolver;
+import org.logicng.solvers.sat.CleaneLingStyleSolver;
+import org.logicng.solvers.sat.MiniSat2Solver;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for the {@link DimacsReader}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class DimacsReaderTest {
+
+  @Test
+  public void testCNFFiles() throws IOException, ParserException {
+    final Map<String, Boolean> expectedResults = new HashMap<>();
+    try (final BufferedReader reader = new BufferedReader(new FileReader("tests/sat/results.txt"))) {
+      while (reader.ready()) {
+        final String[] tokens = reader.readLine().split(";");
+        expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+      }
+    }
+    final File[] files = new File("tests/sat").listFiles();
+    assert files != null;
+    for (final File file : files) {
+      if (file.getName().endsWith(".cnf")) {
+        final MiniSatStyleSolver solver = new MiniSat2Solver();
+        DimacsReader.readCNF(file, solver);
+        Assert.assertEquals(expectedResults.get(file.getName()), solver.solve(null) == Tristate.TRUE);
+        final CleaneLingStyleSolver cleaneLing = new CleaneLingSolver(new CleaneLingConfig.Builder().build());
+        DimacsReader.readCNF(file, cleaneLing);
+        Assert.assertEquals(expectedResults.get(file.getName()), cleaneLing.solve(null) == Tristate.TRUE);
+      }
+    }
+  }
+
+  @Test
+  public void testCNFDetails() throws IOException, ParserException {
+    final File file = tempFile("c comment\np cnf 5 3\n1 -2 0\n2\n-3 0 -1 0\n%\n0\n");
+    final MiniSatStyleSolver solver = new MiniSat2Solver();
+    DimacsReader.readCNF(file, solver);
+    Assert.assertEquals(5, solver.nVars());
+    Assert.assertEquals(Tristate.TRUE, solver.solve(null));
+    Assert.assertFalse(solver.model().get(0));
+    Assert.assertFalse(solver.model().get(1));
+    Assert.assertFalse(solver.model().get(2));
+  }
+
+  @Test
+  public void testWCNFFiles() throws IOException, ParserException {
+    final String[] files = new String[]{"8.wcsp.log.wcnf", "54.wcsp.log.wcnf", "404.wcsp.log.wcnf", "term1_gr_2pin_w4.shuffled.cnf"};
+    final int[] results = new int[]{2, 37, 114, 0};
+    for (int i = 0; i < files.length; i++) {
+      final WBO solver = new WBO();
+      DimacsReader.readWCNF(new File("tests/partialweightedmaxsat/" + files[i]), solver);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.search());
+      Assert.assertEquals(results[i], solver.result());
+    }
+  }
+
+  @Test
+  public void testPureMaxSAT() throws IOException, ParserException {
+    final File file = tempFile("p cnf 2 4\n1 0\n-1 0\n2 0\n-2 0\n");
+    final WBO solver = new WBO();
+    DimacsReader.readWCNF(file, solver);
+    Assert.assertEquals(0, solver.nHard());
+    Assert.assertEquals(4, solver.nSoft());
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.search());
+    Assert.assertEquals(2, solver.result());
+  }
+
+  @Test
+  public void testOPB() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final File file = tempFile("* #variable= 3 #constraint= 2\nmin: +1 x1 +1 x2 ;\n+1 x1 +2 ~x2 +1 x3 >= 3 ;\n+1 x1 +1 x2 = 1;\n");
+    final SATSolver solver = MiniSat.miniSat(f);
+    DimacsReader.readOPB(file, f, solver);
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    Assert.assertTrue(solver.model().evaluateLit(f.variable("x1")));
+    Assert.assertFalse(solver.model().evaluateLit(f.variable("x2")));
+    Assert.assertEquals(2, solver.enumerateAllModels(Arrays.asList(f.variable("x1"), f.variable("x2"), f.variable("x3"))).size());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testIllegalCNF() throws IOException, ParserException {
+    DimacsReader.readCNF(tempFile("p cnf 2 1\n1 x 0\n"), new MiniSat2Solver());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testIllegalFormat() throws IOException, ParserException {
+    DimacsReader.readWCNF(tempFile("p dnf 2 1\n1 2 0\n"), new WBO());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testIllegalOPB() throws IOException, ParserException {
+    DimacsReader.readOPB(tempFile("+1 x1 +1 x2 ;\n"), new FormulaFactory(), MiniSat.miniSat(new FormulaFactory()));
+  }
+
+  private static File tempFile(final String content) throws IOException {
+    final File file = File.createTempFile("dimacs", ".cnf");
+    file.deleteOnExit();
+    try (final PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+      writer.print(content);
+    }
+    return file;
+  }
+}
@@ -0,0 +1,229 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.readers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.F;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.writers.FormulaBinaryWriter;
+import org.logicng.transformations.cnf.TseitinTransformation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link FormulaBinaryReader} and the {@link FormulaBinaryWriter}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class FormulaBinaryReaderTest {
+
+  private static final List<Formula> FORMULAS = Arrays.asList(F.TRUE, F.FALSE, F.A, F.NA, F.OR1, F.OR3, F.AND3, F.NOT1,
+          F.NOT2, F.IMP3, F.IMP4, F.EQ3, F.EQ4, F.PBC1, F.PBC2, F.PBC3, F.PBC4, F.PBC5, F.f.and(F.PBC1, F.NOT1, F.IMP4),
+          F.f.pbc(CType.LE, -3, Arrays.asList(F.NA, F.B), Arrays.asList(-2, 7)));
+
+  @Test
+  public void testRoundTripChannel() throws IOException, ParserException {
+    final List<Formula> read = roundTrip(FORMULAS, F.f);
+    Assert.assertEquals(FORMULAS.size(), read.size());
+    for (int i = 0; i < FORMULAS.size(); i++)
+      Assert.assertSame(FORMULAS.get(i), read.get(i));
+    final FormulaFactory g = new FormulaFactory();
+    final List<Formula> other = roundTrip(FORMULAS, g);
+    for (int i = 0; i < FORMULAS.size(); i++) {
+      Assert.assertSame(g, other.get(i).factory());
+      Assert.assertEquals(F.f.string(FORMULAS.get(i)), g.string(other.get(i)));
+    }
+  }
+
+  @Test
+  public void testRoundTripFile() throws IOException, ParserException {
+    final File file = File.createTempFile("formulas", ".lngf");
+    file.deleteOnExit();
+    FormulaBinaryWriter.write(file, FORMULAS);
+    final FormulaFactory g = new FormulaFactory();
+    final List<Formula> read = FormulaBinaryReader.read(file, g);
+    Assert.assertEquals(FORMULAS.size(), read.size());
+    for (int i = 0; i < FORMULAS.size(); i++)
+      Assert.assertEquals(F.f.string(FORMULAS.get(i)), g.string(read.get(i)));
+    Assert.assertTrue(file.delete());
+  }
+
+  @Test
+  public void testSharedNodes() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    Formula shared = f.variable("v0");
+    for (int i = 1; i < 64; i++)
+      shared = f.and(f.or(f.variable("v" + i), shared), f.or(f.literal("v" + i, false), shared));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    FormulaBinaryWriter.write(Channels.newChannel(out), Collections.singletonList(shared));
+    Assert.assertTrue(out.size() < 2000);
+    Assert.assertSame(shared, FormulaBinaryReader.read(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), f).get(0));
+    final Formula read = FormulaBinaryReader.read(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), new FormulaFactory()).get(0);
+    final ByteArrayOutputStream rewritten = new ByteArrayOutputStream();
+    FormulaBinaryWriter.write(Channels.newChannel(rewritten), Collections.singletonList(read));
+    Assert.assertArrayEquals(out.toByteArray(), rewritten.toByteArray());
+  }
+
+  @Test
+  public void testDeepFormula() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    Formula formula = f.variable("v0");
+    for (int i = 1; i < 50000; i++)
+      formula = i % 2 == 0 ? f.and(f.variable("v" + i), formula.negate()) : f.or(f.variable("v" + i), formula);
+    final FormulaFactory g = new FormulaFactory();
+    final Formula read = roundTrip(Collections.singletonList(formula), g).get(0);
+    Assert.assertEquals(f.string(formula), g.string(read));
+  }
+
+  @Test
+  public void testGeneratedVariables() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula cnf = f.or(f.and(f.variable("a"), f.variable("b")), f.and(f.variable("c"), f.variable("d")))
+            .transform(new TseitinTransformation(0));
+    final List<Variable> generated = new ArrayList<>();
+    for (final Variable var : cnf.variables())
+      if (f.isGeneratedVariable(var))
+        generated.add(var);
+    Assert.assertFalse(generated.isEmpty());
+    final FormulaFactory g = new FormulaFactory();
+    final Formula read = roundTrip(Collections.singletonList(cnf), g).get(0);
+    Assert.assertEquals(f.string(cnf), g.string(read));
+    for (final Variable var : read.variables())
+      Assert.assertEquals(generated.contains(f.variable(var.name())), g.isGeneratedVariable(var));
+    final Variable fresh = g.newCNFVariable();
+    Assert.assertFalse(read.variables().contains(fresh));
+  }
+
+  @Test
+  public void testIllegalInput() throws IOException {
+    assertIllegal(new byte[]{'X', 'N', 'G', 'F', 1, 0, 0, 0});
+    assertIllegal(new byte[]{'L', 'N', 'G', 'F', 2, 0, 0, 0});
+    assertIllegal(new byte[]{'L', 'N', 'G', 'F', 1, 0, 1, 42, 0});
+    assertIllegal(new byte[]{'L', 'N', 'G', 'F', 1, 0, 1, 4, 0, 0});
+    assertIllegal(new byte[]{'L', 'N', 'G', 'F', 1, 0, 1, 2, 0, 0});
+    assertIllegal(new byte[]{'L', 'N', 'G', 'F', 1, 0, 1, 1, 1});
+  }
+
+  @Test
+  public void testCorruptLengths() throws IOException {
+    final byte ff = (byte) 0xFF;
+    final List<byte[]> inputs = Arrays.asList(
+            new byte[]{'L', 'N', 'G', 'F', 1, ff, ff, ff, ff, 0x07},
+            new byte[]{'L', 'N', 'G', 'F', 1, 1, (byte) 0xFE, ff, ff, ff, 0x0F},
+            new byte[]{'L', 'N', 'G', 'F', 1, 0, ff, ff, ff, ff, 0x07},
+            new byte[]{'L', 'N', 'G', 'F', 1, 0, 1, FormulaBinaryWriter.TAG_AND, ff, ff, ff, ff, 0x07},
+            new byte[]{'L', 'N', 'G', 'F', 1, 0, 1, FormulaBinaryWriter.TAG_PBC, 0, 0, ff, ff, ff, ff, 0x07},
+            new byte[]{'L', 'N', 'G', 'F', 1, 0, 0, ff, ff, ff, ff, 0x07});
+    for (final byte[] input : inputs) {
+      assertIllegal(input);
+      final File file = File.createTempFile("corrupt", ".lngf");
+      file.deleteOnExit();
+      Files.write(file.toPath(), input);
+      try {
+        FormulaBinaryReader.read(file, new FormulaFactory());
+        Assert.fail("Expected a parser exception");
+      } catch (final ParserException e) {
+        // expected
+      }
+      try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+        FormulaBinaryReader.read(channel, new FormulaFactory());
+        Assert.fail("Expected a parser exception");
+      } catch (final ParserException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonBlockingChannel() throws IOException, ParserException {
+    final Pipe pipe = Pipe.open();
+    try {
+      pipe.source().configureBlocking(false);
+      FormulaBinaryReader.read(pipe.source(), new FormulaFactory());
+    } finally {
+      pipe.source().close();
+      pipe.sink().close();
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testChannelWithoutBytes() throws IOException, ParserException {
+    final ReadableByteChannel channel = new ReadableByteChannel() {
+      @Override
+      public int read(final ByteBuffer dst) {
+        return 0;
+      }
+
+      @Override
+      public boolean isOpen() {
+        return true;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    FormulaBinaryReader.read(channel, new FormulaFactory());
+  }
+
+  private static List<Formula> roundTrip(final List<Formula> formulas, final FormulaFactory f) throws IOException, ParserException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    FormulaBinaryWriter.write(Channels.newChannel(out), formulas);
+    return FormulaBinaryReader.read(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), f);
+  }
+
+  private static void assertIllegal(final byte[] bytes) throws IOException {
+    try {
+      FormulaBinaryReader.read(Channels.newChannel(new ByteArrayInputStream(bytes)), new FormulaFactory());
+      Assert.fail("Expected a parser exception");
+    } catch (final ParserException e) {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,151 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.writers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.maxsat.algorithms.WBO;
+import org.logicng.solvers.sat.MiniCard;
+import org.logicng.solvers.sat.MiniSat2Solver;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Unit tests for the {@link DimacsWriter}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class DimacsWriterTest {
+
+  @Test
+  public void testCNFRoundTrip() throws IOException, ParserException {
+    final String[] files = new String[]{"tests/sat/3col40_5_10.shuffled.cnf", "tests/sat/apex7_gr_rcs_w5.shuffled.cnf"};
+    final Tristate[] results = new Tristate[]{Tristate.FALSE, Tristate.TRUE};
+    for (int i = 0; i < files.length; i++) {
+      final MiniSatStyleSolver solver = new MiniSat2Solver();
+      DimacsReader.readCNF(new File(files[i]), solver);
+      final File file = tempFile();
+      DimacsWriter.writeCNF(file, solver);
+      final MiniSatStyleSolver copy = new MiniSat2Solver();
+      DimacsReader.readCNF(file, copy);
+      Assert.assertEquals(solver.nVars(), copy.nVars());
+      Assert.assertTrue(copy.levelZeroLiterals().size() + copy.clauses().size() <=
+              solver.levelZeroLiterals().size() + solver.clauses().size());
+      Assert.assertEquals(results[i], copy.solve(null));
+    }
+  }
+
+  @Test
+  public void testCNFUnitsAndUnsat() throws IOException, ParserException {
+    final MiniSatStyleSolver solver = new MiniSat2Solver();
+    for (int i = 0; i < 4; i++)
+      solver.newVar(true, true);
+    solver.addClause(clause(0));
+    solver.addClause(clause(1, 2));
+    solver.addClause(clause(4, 6));
+    File file = tempFile();
+    DimacsWriter.writeCNF(file, solver);
+    MiniSatStyleSolver copy = new MiniSat2Solver();
+    DimacsReader.readCNF(file, copy);
+    Assert.assertEquals(2, copy.levelZeroLiterals().size());
+    Assert.assertEquals(1, copy.clauses().size());
+    solver.addClause(clause(3));
+    file = tempFile();
+    DimacsWriter.writeCNF(file, solver);
+    copy = new MiniSat2Solver();
+    DimacsReader.readCNF(file, copy);
+    Assert.assertFalse(copy.ok());
+    Assert.assertEquals(Tristate.FALSE, copy.solve(null));
+  }
+
+  @Test
+  public void testCardinalityConstraint() throws IOException {
+    final MiniCard solver = new MiniCard();
+    for (int i = 0; i < 3; i++)
+      solver.newVar(true, true);
+    solver.addClause(clause(0, 2));
+    solver.addAtMost(clause(0, 2, 4), 1);
+    final File file = tempFile();
+    Assert.assertTrue(file.delete());
+    try {
+      DimacsWriter.writeCNF(file, solver);
+      Assert.fail("Expected an unsupported operation exception");
+    } catch (final UnsupportedOperationException e) {
+      Assert.assertFalse(file.exists());
+    }
+    final File existing = tempFile();
+    try (final PrintWriter writer = new PrintWriter(existing)) {
+      writer.println("p cnf 1 1");
+      writer.println("1 0");
+    }
+    final long length = existing.length();
+    try {
+      DimacsWriter.writeCNF(existing, solver);
+      Assert.fail("Expected an unsupported operation exception");
+    } catch (final UnsupportedOperationException e) {
+      Assert.assertEquals(length, existing.length());
+    }
+  }
+
+  @Test
+  public void testWCNFRoundTrip() throws IOException, ParserException {
+    final WBO solver = new WBO();
+    DimacsReader.readWCNF(new File("tests/partialweightedmaxsat/54.wcsp.log.wcnf"), solver);
+    final File file = tempFile();
+    DimacsWriter.writeWCNF(file, solver);
+    final WBO copy = new WBO();
+    DimacsReader.readWCNF(file, copy);
+    Assert.assertEquals(solver.nHard(), copy.nHard());
+    Assert.assertEquals(solver.nSoft(), copy.nSoft());
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, copy.search());
+    Assert.assertEquals(37, copy.result());
+  }
+
+  private static LNGIntVector clause(final int... lits) {
+    final LNGIntVector clause = new LNGIntVector();
+    for (final int lit : lits)
+      clause.push(lit);
+    return clause;
+  }
+
+  private static File tempFile() throws IOException {
+    final File file = File.createTempFile("dimacs", ".cnf");
+    file.deleteOnExit();
+    return file;
+  }
+}
@@ -38,8 +38,12 @@ import org.logicng.io.parsers.PseudoBooleanParser;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
 
 /**
  * Unit tests for the {@link FormulaDotFileWriter}.
@@ -79,6 +83,36 @@ public class FormulaDotFileWriterTest {
     testFiles("f5", f5);
   }
 
+  @Test
+  public void testWriter() throws IOException, ParserException {
+    final Formula formula = p.parse("(a & b) <=> (~c => (x | z))");
+    final StringWriter writer = new StringWriter();
+    FormulaDotFileWriter.write(writer, formula, true);
+    final StringBuilder expected = new StringBuilder();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new FileInputStream("tests/writers/formulas-dot/f1_t.dot"), Charset.forName("UTF-8")))) {
+      String line;
+      while ((line = reader.readLine()) != null)
+        expected.append(line).append("\n");
+    }
+    Assert.assertEquals(expected.toString(), writer.toString());
+  }
+
+  @Test
+  public void testDeepFormula() throws IOException {
+    final int depth = 50000;
+    Formula formula = f.variable("v0");
+    for (int i = 1; i < depth; i++)
+      formula = i % 2 == 0 ? f.and(f.variable("v" + i), formula.negate()) : f.or(f.variable("v" + i), formula);
+    final StringWriter writer = new StringWriter();
+    FormulaDotFileWriter.write(writer, formula, false);
+    final String dot = writer.toString();
+    Assert.assertTrue(dot.startsWith("digraph G {\n  id0 [shape=box, label=\"v0\"];\n"));
+    Assert.assertTrue(dot.contains("  id124997 [label=\"∨\"];\n  id124997 -> id"));
+    Assert.assertFalse(dot.contains("id124998"));
+    Assert.assertTrue(dot.endsWith("  id124997 -> id124996;\n}\n"));
+  }
+
   private void testFiles(final String fileName, final Formula formula) throws IOException {
     FormulaDotFileWriter.write("tests/writers/temp/" + fileName + "_t.dot", formula, true);
     FormulaDotFileWriter.write("tests/writers/temp/" + fileName + "_f.dot", formula, false);
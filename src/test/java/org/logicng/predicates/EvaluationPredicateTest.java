@@ -0,0 +1,109 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.predicates;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.F;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PseudoBooleanParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link EvaluationPredicate}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class EvaluationPredicateTest {
+
+  @Test
+  public void testSameResultAsEvaluate() throws ParserException {
+    final PseudoBooleanParser p = new PseudoBooleanParser(F.f);
+    final List<Formula> formulas = new ArrayList<>(Arrays.asList(F.TRUE, F.FALSE, F.A, F.NA, F.C, F.OR1, F.OR2,
+            F.OR3, F.AND1, F.AND2, F.AND3, F.NOT1, F.NOT2, F.IMP1, F.IMP2, F.IMP3, F.IMP4, F.EQ1, F.EQ2, F.EQ3, F.EQ4,
+            F.PBC1, F.PBC2, F.PBC3, F.PBC4, F.PBC5));
+    formulas.add(p.parse("(a & (b | ~c)) => ~(x <=> (y | (a & (b | ~c))))"));
+    formulas.add(p.parse("~(~x => a) | (2 * a + 3 * y + 1 * c >= 3) & (c | ~x)"));
+    final List<Assignment> assignments = Arrays.asList(new Assignment(), new Assignment(Arrays.asList(F.A, F.NB, F.NX)),
+            new Assignment(Arrays.asList(F.NA, F.B, F.C, F.X, F.Y)), new Assignment(Arrays.asList(F.A, F.B, F.NY)));
+    for (final Assignment ass : assignments) {
+      final EvaluationPredicate evaluation = new EvaluationPredicate(ass);
+      for (final Formula formula : formulas)
+        Assert.assertEquals(formula.evaluate(ass), formula.holds(evaluation));
+      final boolean[] values = evaluation.test(formulas);
+      Assert.assertEquals(formulas.size(), values.length);
+      for (int i = 0; i < formulas.size(); i++)
+        Assert.assertEquals(formulas.get(i).evaluate(ass), values[i]);
+    }
+  }
+
+  @Test
+  public void testSharedDAG() {
+    final FormulaFactory f = new FormulaFactory();
+    final int depth = 80;
+    Formula formula = f.variable("a");
+    final Assignment assignment = new Assignment(f.variable("a"));
+    boolean expected = true;
+    for (int i = 0; i < depth; i++) {
+      final Variable v = f.variable("v" + i);
+      final Variable w = f.variable("w" + i);
+      formula = f.or(f.and(formula, v), f.and(f.not(formula), w));
+      final boolean vValue = i % 3 != 0;
+      final boolean wValue = i % 2 == 0;
+      assignment.addLiteral(vValue ? v : v.negate());
+      assignment.addLiteral(wValue ? w : w.negate());
+      expected = expected ? vValue : wValue;
+    }
+    Assert.assertEquals(expected, formula.holds(new EvaluationPredicate(assignment)));
+    Assert.assertEquals(!expected, f.not(formula).holds(new EvaluationPredicate(assignment)));
+  }
+
+  @Test
+  public void testDeepFormula() {
+    final FormulaFactory f = new FormulaFactory();
+    final Assignment assignment = new Assignment();
+    Formula formula = f.variable("a");
+    for (int i = 0; i < 50000; i++) {
+      formula = f.or(f.and(formula, f.variable("v" + i)), f.variable("w" + i));
+      assignment.addLiteral(f.variable("v" + i));
+      assignment.addLiteral(f.literal("w" + i, false));
+    }
+    Assert.assertFalse(formula.holds(new EvaluationPredicate(assignment)));
+    assignment.addLiteral(f.variable("a"));
+    Assert.assertTrue(formula.holds(new EvaluationPredicate(assignment)));
+  }
+}
@@ -0,0 +1,190 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.pseudobooleans;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the pseudo-Boolean encoders {@link PBBDD}, {@link PBAdder}, {@link PBSorter} and the encoder
+ * selection {@link PBSelector}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class PBEncodersTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PBEncoder[] encoders = new PBEncoder[]{new PBSWC(f), new PBBDD(f), new PBAdder(f), new PBSorter(f), new PBSelector(f)};
+
+  @Test
+  public void testCCs() {
+    for (final PBEncoder encoder : this.encoders) {
+      testCC(10, 0, 1, encoder);
+      testCC(10, 1, 11, encoder);
+      testCC(10, 2, 56, encoder);
+      testCC(10, 5, 638, encoder);
+      testCC(10, 9, 1023, encoder);
+    }
+  }
+
+  @Test
+  public void testLargeCoefficients() {
+    final Variable[] vars = this.variables(3);
+    for (final PBEncoder encoder : this.encoders) {
+      Assert.assertEquals(4, this.countModels(encoder.build(vars, new int[]{10, 2, 1}, 3), vars));
+      Assert.assertEquals(2, this.countModels(encoder.build(vars, new int[]{10, 2, 4}, 3), vars));
+    }
+  }
+
+  @Test
+  public void testRandomConstraints() {
+    final Random random = new Random(42);
+    final Variable[] vars = this.variables(8);
+    for (int round = 0; round < 50; round++) {
+      final Literal[] lits = new Literal[vars.length];
+      final int[] coeffs = new int[vars.length];
+      int sum = 0;
+      for (int i = 0; i < vars.length; i++) {
+        lits[i] = random.nextBoolean() ? vars[i] : vars[i].negate();
+        coeffs[i] = 1 + random.nextInt(round < 25 ? 5 : 50);
+        sum += coeffs[i];
+      }
+      final int rhs = random.nextInt(sum + 1);
+      final int expected = bruteForce(lits, coeffs, rhs, vars);
+      for (final PBEncoder encoder : this.encoders)
+        Assert.assertEquals(encoder.toString(), expected, this.countModels(encoder.build(lits, coeffs, rhs), vars));
+    }
+  }
+
+  @Test
+  public void testConstraintsOnSolver() {
+    final Variable[] vars = this.variables(10);
+    final int[] coeffs = new int[]{3, 7, 2, 9, 11, 4, 5, 1, 8, 6};
+    for (final PBConfig.PBEncoding encoding : PBConfig.PBEncoding.values()) {
+      final FormulaFactory factory = new FormulaFactory();
+      factory.putConfiguration(new PBConfig.Builder().pbEncoding(encoding).build());
+      final Variable[] fVars = new Variable[vars.length];
+      for (int i = 0; i < vars.length; i++)
+        fVars[i] = factory.variable(vars[i].name());
+      final SATSolver solver = MiniSat.miniSat(factory);
+      solver.add(factory.pbc(CType.GE, 20, fVars, coeffs));
+      solver.add(factory.pbc(CType.LE, 25, fVars, coeffs));
+      final List<Assignment> models = solver.enumerateAllModels(fVars);
+      Assert.assertEquals(bruteForce(vars, coeffs, 25, vars) - bruteForce(vars, coeffs, 19, vars), models.size());
+    }
+  }
+
+  @Test
+  public void testSelection() {
+    final PBSelector selector = new PBSelector(this.f);
+    final Variable[] vars = this.variables(100);
+    final int[] small = new int[100];
+    final int[] large = new int[100];
+    for (int i = 0; i < 100; i++) {
+      small[i] = 1 + i % 3;
+      large[i] = 100000 + 7919 * i;
+    }
+    Assert.assertTrue(selector.encoderFor(vars, small, 5) instanceof PBBDD);
+    Assert.assertTrue(selector.encoderFor(vars, small, 150) instanceof PBSorter);
+    Assert.assertTrue(selector.encoderFor(vars, large, 20000000) instanceof PBAdder);
+    final FormulaFactory factory = new FormulaFactory();
+    factory.putConfiguration(new PBConfig.Builder().pbEncoding(PBConfig.PBEncoding.SWC).build());
+    Assert.assertTrue(new PBSelector(factory).encoderFor(vars, large, 20000000) instanceof PBSWC);
+  }
+
+  @Test
+  public void testConfigToString() {
+    final PBConfig config = new PBConfig.Builder().pbEncoding(PBConfig.PBEncoding.ADDER).build();
+    Assert.assertEquals("PBConfig{\npbEncoding=ADDER\n}\n", config.toString());
+    Assert.assertEquals("PBBDD", new PBBDD(this.f).toString());
+    Assert.assertEquals("PBAdder", new PBAdder(this.f).toString());
+    Assert.assertEquals("PBSorter", new PBSorter(this.f).toString());
+    Assert.assertEquals("PBSelector", new PBSelector(this.f).toString());
+  }
+
+  private void testCC(int numLits, int rhs, int expected, final PBEncoder encoder) {
+    final Variable[] vars = this.variables(numLits);
+    final int[] coeffs = new int[numLits];
+    for (int i = 0; i < numLits; i++)
+      coeffs[i] = 1;
+    final ImmutableFormulaList clauses = encoder.build(vars, coeffs, rhs);
+    final SATSolver solver = MiniSat.miniSat(this.f);
+    solver.add(clauses);
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    final List<Assignment> models = solver.enumerateAllModels(vars);
+    Assert.assertEquals(expected, models.size());
+    for (final Assignment model : models)
+      Assert.assertTrue(model.positiveLiterals().size() <= rhs);
+  }
+
+  private int countModels(final ImmutableFormulaList clauses, final Variable[] vars) {
+    final SATSolver solver = MiniSat.miniSat(this.f);
+    solver.add(clauses);
+    for (final Variable var : vars)
+      solver.add(this.f.or(var, this.f.newPBVariable()));
+    return solver.enumerateAllModels(vars).size();
+  }
+
+  private static int bruteForce(final Literal[] lits, final int[] coeffs, int rhs, final Variable[] vars) {
+    int count = 0;
+    for (int bits = 0; bits < 1 << vars.length; bits++) {
+      final Assignment assignment = new Assignment();
+      for (int i = 0; i < vars.length; i++)
+        assignment.addLiteral((bits & (1 << i)) != 0 ? vars[i] : vars[i].negate());
+      int sum = 0;
+      for (int i = 0; i < lits.length; i++)
+        if (assignment.evaluateLit(lits[i]))
+          sum += coeffs[i];
+      if (sum <= rhs)
+        count++;
+    }
+    return count;
+  }
+
+  private Variable[] variables(int n) {
+    final Variable[] vars = new Variable[n];
+    for (int i = 0; i < n; i++)
+      vars[i] = this.f.variable("v" + i);
+    return vars;
+  }
+}
@@ -66,12 +66,14 @@ public class PBSolvingTest {
       this.literals100[i] = f.variable("v" + i);
     for (int i = 0; i < 10; i++)
       this.literals10[i] = f.variable("v" + i);
-    this.solvers = new SATSolver[5];
+    this.solvers = new SATSolver[7];
     solvers[0] = MiniSat.miniSat(f);
     solvers[1] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build());
     solvers[2] = MiniSat.miniCard(f);
     solvers[3] = MiniSat.glucose(f);
     solvers[4] = CleaneLing.minimalistic(f);
+    solvers[5] = MiniSat.miniPB(f);
+    solvers[6] = MiniSat.miniPB(f, new MiniSatConfig.Builder().incremental(false).build());
   }
 
   @Test
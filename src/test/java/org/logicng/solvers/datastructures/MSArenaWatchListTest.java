@@ -0,0 +1,95 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.datastructures;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.logicng.solvers.datastructures.MSClauseArenaTest.clause;
+
+/**
+ * Unit tests for {@link MSArenaWatchList}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class MSArenaWatchListTest {
+
+  @Test
+  public void testPushSetAndMove() {
+    final MSArenaWatchList ws = new MSArenaWatchList(1);
+    Assert.assertTrue(ws.empty());
+    ws.push(0, 4);
+    ws.push(3, 2);
+    ws.push(6, 7);
+    Assert.assertEquals(3, ws.size());
+    Assert.assertEquals(3, ws.ref(1));
+    Assert.assertEquals(2, ws.blocker(1));
+    ws.set(0, 9, 5);
+    Assert.assertEquals(9, ws.ref(0));
+    Assert.assertEquals(5, ws.blocker(0));
+    ws.move(2, 1);
+    ws.removeElements(1);
+    Assert.assertEquals(2, ws.size());
+    Assert.assertEquals(6, ws.ref(1));
+    Assert.assertEquals(7, ws.blocker(1));
+    Assert.assertEquals("MSArenaWatchList{size=2, watchers=[(5, 9), (7, 6)]}", ws.toString());
+    ws.removeFrom(7);
+    Assert.assertEquals(6, ws.ref(0));
+    Assert.assertEquals(1, ws.size());
+    ws.clear();
+    Assert.assertTrue(ws.empty());
+  }
+
+  @Test
+  public void testCleanAndRelocate() {
+    final MSClauseArena arena = new MSClauseArena();
+    final int c1 = arena.alloc(clause(2, 4), false);
+    final int c2 = arena.alloc(clause(2, 6, 8), false);
+    final int c3 = arena.alloc(clause(2, 10), false);
+    final MSArenaWatchList ws = new MSArenaWatchList();
+    ws.push(c1, 4);
+    ws.push(c2, 6);
+    ws.push(c3, 10);
+    arena.free(c2);
+    ws.setDirty();
+    Assert.assertTrue(ws.dirty());
+    ws.clean(arena);
+    Assert.assertFalse(ws.dirty());
+    Assert.assertEquals(2, ws.size());
+    Assert.assertEquals(c3, ws.ref(1));
+    final MSClauseArena to = new MSClauseArena();
+    arena.relocate(c3, to);
+    ws.relocate(arena, to);
+    Assert.assertEquals(3, ws.ref(0));
+    Assert.assertEquals(0, ws.ref(1));
+    Assert.assertEquals(10, ws.blocker(1));
+    Assert.assertEquals("[2, 4]", to.lits(ws.ref(0)).toString());
+  }
+}
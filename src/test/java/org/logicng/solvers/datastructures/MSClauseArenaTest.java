@@ -0,0 +1,171 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.datastructures;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+
+/**
+ * Unit tests for {@link MSClauseArena}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class MSClauseArenaTest {
+
+  @Test
+  public void testAllocAndAccess() {
+    final MSClauseArena arena = new MSClauseArena(1);
+    final int c1 = arena.alloc(clause(2, 4, 6), false);
+    final int c2 = arena.alloc(clause(1, 3), true);
+    Assert.assertEquals(0, c1);
+    Assert.assertEquals(4, c2);
+    Assert.assertEquals(8, arena.size());
+    Assert.assertEquals(3, arena.size(c1));
+    Assert.assertEquals(2, arena.size(c2));
+    Assert.assertFalse(arena.learnt(c1));
+    Assert.assertTrue(arena.learnt(c2));
+    Assert.assertEquals(6, arena.lit(c1, 2));
+    arena.setLit(c1, 2, 8);
+    Assert.assertEquals(8, arena.lit(c1, 2));
+    Assert.assertEquals("[2, 4, 8]", arena.lits(c1).toString());
+    Assert.assertEquals(0.0, arena.activity(c2), 0.0);
+    arena.setActivity(c2, 2.5);
+    Assert.assertEquals(2.5, arena.activity(c2), 0.0);
+  }
+
+  @Test
+  public void testGrow() {
+    final MSClauseArena arena = new MSClauseArena(1);
+    final LNGIntVector lits = clause(0, 2, 4, 6, 8);
+    for (int i = 0; i < 1000; i++)
+      Assert.assertEquals(6 * i, arena.alloc(lits, false));
+    Assert.assertEquals(6000, arena.size());
+    Assert.assertEquals(8, arena.lit(5994, 4));
+  }
+
+  @Test
+  public void testPopAndFree() {
+    final MSClauseArena arena = new MSClauseArena();
+    final int c1 = arena.alloc(clause(2, 4, 6), true);
+    final int c2 = arena.alloc(clause(1, 3, 5), false);
+    arena.setActivity(c1, 1.5);
+    arena.pop(c1);
+    Assert.assertEquals(2, arena.size(c1));
+    Assert.assertEquals(1.5, arena.activity(c1), 0.0);
+    Assert.assertEquals(1, arena.wasted());
+    Assert.assertFalse(arena.deleted(c2));
+    arena.free(c2);
+    Assert.assertTrue(arena.deleted(c2));
+    Assert.assertEquals(5, arena.wasted());
+    Assert.assertEquals("MSClauseArena{size=9, wasted=5}", arena.toString());
+  }
+
+  @Test
+  public void testRelocate() {
+    final MSClauseArena arena = new MSClauseArena();
+    final int c1 = arena.alloc(clause(2, 4), false);
+    final int c2 = arena.alloc(clause(1, 3, 5), true);
+    final int c3 = arena.alloc(clause(7, 9), false);
+    arena.setActivity(c2, 3.0);
+    arena.free(c1);
+    final MSClauseArena to = new MSClauseArena(arena.size() - arena.wasted());
+    final int r3 = arena.relocate(c3, to);
+    final int r2 = arena.relocate(c2, to);
+    Assert.assertEquals(0, r3);
+    Assert.assertEquals(3, r2);
+    Assert.assertEquals(r2, arena.relocate(c2, to));
+    Assert.assertEquals(8, to.size());
+    Assert.assertEquals(0, to.wasted());
+    Assert.assertEquals("[7, 9]", to.lits(r3).toString());
+    Assert.assertEquals("[1, 3, 5]", to.lits(r2).toString());
+    Assert.assertTrue(to.learnt(r2));
+    Assert.assertEquals(3.0, to.activity(r2), 0.0);
+  }
+
+  @Test
+  public void testLbd() {
+    final MSClauseArena arena = new MSClauseArena();
+    final int c1 = arena.alloc(clause(2, 4, 6), true);
+    final int c2 = arena.alloc(clause(1, 3, 5, 7), false);
+    Assert.assertEquals(0, arena.lbd(c1));
+    arena.setLbd(c1, 3);
+    arena.setActivity(c1, 1.5);
+    arena.setLbd(c2, 1000);
+    Assert.assertEquals(3, arena.lbd(c1));
+    Assert.assertEquals(MSClauseArena.MAX_LBD, arena.lbd(c2));
+    Assert.assertEquals(3, arena.size(c1));
+    Assert.assertEquals(4, arena.size(c2));
+    Assert.assertTrue(arena.learnt(c1));
+    Assert.assertFalse(arena.learnt(c2));
+    Assert.assertEquals(1.5, arena.activity(c1), 0.0);
+    arena.pop(c2);
+    Assert.assertEquals(3, arena.size(c2));
+    Assert.assertEquals(MSClauseArena.MAX_LBD, arena.lbd(c2));
+    arena.free(c2);
+    Assert.assertTrue(arena.deleted(c2));
+    Assert.assertEquals(MSClauseArena.MAX_LBD, arena.lbd(c2));
+    final MSClauseArena to = new MSClauseArena();
+    Assert.assertEquals(3, to.lbd(arena.relocate(c1, to)));
+  }
+
+  @Test
+  public void testMaxSize() {
+    final MSClauseArena arena = new MSClauseArena();
+    final LNGIntVector lits = new LNGIntVector(MSClauseArena.MAX_SIZE, 2);
+    final int c = arena.alloc(lits, false);
+    Assert.assertEquals(MSClauseArena.MAX_SIZE, arena.size(c));
+    lits.push(4);
+    try {
+      arena.alloc(lits, false);
+      Assert.fail("Expected an illegal argument exception");
+    } catch (final IllegalArgumentException e) {
+      Assert.assertEquals(MSClauseArena.MAX_SIZE + 1, arena.size());
+    }
+  }
+
+  @Test
+  public void testShrink() {
+    final MSClauseArena arena = new MSClauseArena();
+    arena.alloc(clause(2, 4), false);
+    final int c2 = arena.alloc(clause(1, 3, 5), false);
+    arena.shrinkTo(c2);
+    Assert.assertEquals(3, arena.size());
+    Assert.assertEquals(c2, arena.alloc(clause(7, 9), false));
+    Assert.assertEquals("[7, 9]", arena.lits(c2).toString());
+  }
+
+  static LNGIntVector clause(int... lits) {
+    final LNGIntVector vec = new LNGIntVector();
+    for (final int lit : lits)
+      vec.push(lit);
+    return vec;
+  }
+}
@@ -0,0 +1,106 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.datastructures;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+
+/**
+ * Unit tests for {@link MSWatchList}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class MSWatchListTest {
+
+  private final MSClause c1 = clause(2, 4);
+  private final MSClause c2 = clause(2, 4);
+  private final MSClause c3 = clause(1, 5, 7);
+
+  @Test
+  public void testPushAndGet() {
+    final MSWatchList ws = new MSWatchList(1);
+    Assert.assertTrue(ws.empty());
+    ws.push(c1, 4);
+    ws.push(c2, 2);
+    ws.push(c3, 7);
+    Assert.assertFalse(ws.empty());
+    Assert.assertEquals(3, ws.size());
+    Assert.assertSame(c1, ws.clause(0));
+    Assert.assertSame(c2, ws.clause(1));
+    Assert.assertSame(c3, ws.clause(2));
+    Assert.assertEquals(4, ws.blocker(0));
+    Assert.assertEquals(2, ws.blocker(1));
+    Assert.assertEquals(7, ws.blocker(2));
+  }
+
+  @Test
+  public void testSetAndMove() {
+    final MSWatchList ws = new MSWatchList();
+    ws.push(c1, 4);
+    ws.push(c2, 2);
+    ws.set(0, c3, 5);
+    Assert.assertSame(c3, ws.clause(0));
+    Assert.assertEquals(5, ws.blocker(0));
+    ws.move(1, 0);
+    Assert.assertSame(c2, ws.clause(0));
+    Assert.assertEquals(2, ws.blocker(0));
+    ws.removeElements(1);
+    Assert.assertEquals(1, ws.size());
+    Assert.assertSame(c2, ws.clause(0));
+  }
+
+  @Test
+  public void testRemove() {
+    final MSWatchList ws = new MSWatchList();
+    ws.push(c1, 4);
+    ws.push(c2, 2);
+    ws.push(c3, 7);
+    Assert.assertTrue(ws.remove(c2));
+    Assert.assertEquals(2, ws.size());
+    Assert.assertSame(c1, ws.clause(0));
+    Assert.assertSame(c3, ws.clause(1));
+    Assert.assertEquals(7, ws.blocker(1));
+    Assert.assertFalse(ws.remove(c2));
+    Assert.assertTrue(ws.remove(c1));
+    Assert.assertTrue(ws.remove(c3));
+    Assert.assertTrue(ws.empty());
+    ws.push(c1, 2);
+    ws.clear();
+    Assert.assertTrue(ws.empty());
+  }
+
+  private static MSClause clause(int... lits) {
+    final LNGIntVector vec = new LNGIntVector();
+    for (final int lit : lits)
+      vec.push(lit);
+    return new MSClause(vec, false);
+  }
+}
@@ -172,15 +172,16 @@ public class TestToStrings {
   }
 
   @Test
-  public void testMSWatcher() {
+  public void testMSWatchList() {
     final LNGIntVector vec = new LNGIntVector();
     vec.push(2);
     vec.push(4);
     vec.push(6);
     final MSClause clause = new MSClause(vec, true);
-    final MSWatcher watcher = new MSWatcher(clause, 2);
-    final String expected = "MSWatcher{clause=MSClause{activity=0.0, learnt=true, szWithoutSelectors=0, seen=false, lbd=0, canBeDel=true, oneWatched=false, isAtMost=false, atMostWatchers=-1, lits=[1, 2, 3]}, blocker=2}";
-    Assert.assertEquals(expected, watcher.toString());
+    final MSWatchList watchList = new MSWatchList();
+    watchList.push(clause, 2);
+    final String expected = "MSWatchList{size=1, watchers=[(2, MSClause{activity=0.0, learnt=true, szWithoutSelectors=0, seen=false, lbd=0, canBeDel=true, oneWatched=false, isAtMost=false, atMostWatchers=-1, lits=[1, 2, 3]})]}";
+    Assert.assertEquals(expected, watchList.toString());
   }
 
 }
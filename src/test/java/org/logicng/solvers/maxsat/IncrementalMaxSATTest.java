@@ -0,0 +1,217 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.maxsat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the incremental interface of the MaxSAT solver.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class IncrementalMaxSATTest {
+
+  private static final int NUM_VARS = 8;
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final Variable[] vars = new Variable[NUM_VARS];
+
+  public IncrementalMaxSATTest() {
+    for (int i = 0; i < NUM_VARS; i++)
+      this.vars[i] = this.f.variable("v" + i);
+  }
+
+  @Test
+  public void testAddAfterSolve() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    for (final MaxSATSolver solver : this.solvers(false)) {
+      solver.addSoftFormula(p.parse("a"), 1);
+      solver.addSoftFormula(p.parse("b"), 1);
+      solver.addSoftFormula(p.parse("c"), 1);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(0, solver.result());
+      solver.addHardFormula(p.parse("~a | ~b"));
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(1, solver.result());
+      solver.addHardFormula(p.parse("~c | ~d"));
+      solver.addSoftFormula(p.parse("d"), 1);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(2, solver.result());
+      solver.addHardFormula(p.parse("~c"));
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(2, solver.result());
+      Assert.assertTrue(solver.model().negativeLiterals().contains(this.f.literal("c", false)));
+      solver.addHardFormula(p.parse("c"));
+      Assert.assertEquals(MaxSAT.MaxSATResult.UNSATISFIABLE, solver.solve());
+    }
+  }
+
+  @Test
+  public void testAssumptions() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    for (final MaxSATSolver solver : this.solvers(false)) {
+      solver.addHardFormula(p.parse("~a | ~b"));
+      solver.addSoftFormula(p.parse("a"), 1);
+      solver.addSoftFormula(p.parse("b"), 1);
+      solver.addSoftFormula(p.parse("c"), 1);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve(Arrays.asList(this.f.literal("c", false), this.f.literal("a", false))));
+      Assert.assertEquals(2, solver.result());
+      Assert.assertTrue(solver.model().negativeLiterals().contains(this.f.literal("c", false)));
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(1, solver.result());
+      Assert.assertEquals(MaxSAT.MaxSATResult.UNSATISFIABLE, solver.solve(Arrays.asList(this.f.literal("a", true), this.f.literal("b", true))));
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve(Collections.singletonList(this.f.literal("x", true))));
+      Assert.assertEquals(1, solver.result());
+      Assert.assertTrue(solver.model().positiveLiterals().contains(this.f.variable("x")));
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(1, solver.result());
+    }
+  }
+
+  @Test
+  public void testRandomUnweighted() {
+    this.testRandom(false);
+  }
+
+  @Test
+  public void testRandomWeighted() {
+    this.testRandom(true);
+  }
+
+  private void testRandom(boolean weighted) {
+    final Random random = new Random(42);
+    for (int round = 0; round < 10; round++) {
+      final List<MaxSATSolver> solvers = this.solvers(weighted);
+      final List<Formula> hard = new ArrayList<>();
+      final List<Formula> soft = new ArrayList<>();
+      final List<Integer> softWeights = new ArrayList<>();
+      for (int step = 0; step < 5; step++) {
+        for (int i = 0; i < 3; i++) {
+          final Formula clause = this.randomClause(random);
+          hard.add(clause);
+          for (final MaxSATSolver solver : solvers)
+            solver.addHardFormula(clause);
+        }
+        for (int i = 0; i < 6; i++) {
+          final Formula clause = this.randomClause(random);
+          final int weight = weighted ? 1 + random.nextInt(5) : 1;
+          soft.add(clause);
+          softWeights.add(weight);
+          for (final MaxSATSolver solver : solvers)
+            solver.addSoftFormula(clause, weight);
+        }
+        final List<Literal> assumptions = new ArrayList<>();
+        if (step % 2 == 1)
+          assumptions.add(this.vars[random.nextInt(NUM_VARS)].negate());
+        final int expected = this.bruteForce(hard, soft, softWeights, assumptions);
+        for (final MaxSATSolver solver : solvers) {
+          final MaxSAT.MaxSATResult result = solver.solve(assumptions);
+          if (expected == -1) {
+            Assert.assertEquals(MaxSAT.MaxSATResult.UNSATISFIABLE, result);
+          } else {
+            Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, result);
+            Assert.assertEquals(expected, solver.result());
+            Assert.assertEquals(expected, this.cost(solver.model(), hard, soft, softWeights, assumptions));
+          }
+        }
+        if (expected == -1 && assumptions.isEmpty())
+          break;
+      }
+    }
+  }
+
+  private List<MaxSATSolver> solvers(boolean weighted) {
+    final List<MaxSATSolver> solvers = new ArrayList<>();
+    solvers.add(MaxSATSolver.oll());
+    solvers.add(MaxSATSolver.wbo());
+    solvers.add(MaxSATSolver.incWBO());
+    solvers.add(MaxSATSolver.linearSU());
+    if (weighted) {
+      solvers.add(MaxSATSolver.wmsu3());
+    } else {
+      solvers.add(MaxSATSolver.linearUS());
+      solvers.add(MaxSATSolver.msu3());
+    }
+    return solvers;
+  }
+
+  private Formula randomClause(final Random random) {
+    final int size = 1 + random.nextInt(3);
+    final List<Literal> lits = new ArrayList<>(size);
+    for (int i = 0; i < size; i++)
+      lits.add(this.f.literal(this.vars[random.nextInt(NUM_VARS)].name(), random.nextBoolean()));
+    return this.f.or(lits);
+  }
+
+  private int bruteForce(final List<Formula> hard, final List<Formula> soft, final List<Integer> softWeights,
+                         final List<Literal> assumptions) {
+    int best = -1;
+    for (int bits = 0; bits < 1 << NUM_VARS; bits++) {
+      final Assignment assignment = new Assignment();
+      for (int i = 0; i < NUM_VARS; i++)
+        assignment.addLiteral((bits & (1 << i)) != 0 ? this.vars[i] : this.vars[i].negate());
+      final int cost = this.cost(assignment, hard, soft, softWeights, assumptions);
+      if (cost != -1 && (best == -1 || cost < best))
+        best = cost;
+    }
+    return best;
+  }
+
+  private int cost(final Assignment assignment, final List<Formula> hard, final List<Formula> soft,
+                   final List<Integer> softWeights, final List<Literal> assumptions) {
+    for (final Literal lit : assumptions)
+      if (!lit.evaluate(assignment))
+        return -1;
+    for (final Formula formula : hard)
+      if (!formula.evaluate(assignment))
+        return -1;
+    int cost = 0;
+    for (int i = 0; i < soft.size(); i++)
+      if (!soft.get(i).evaluate(assignment))
+        cost += softWeights.get(i);
+    return cost;
+  }
+}
@@ -156,6 +156,17 @@ public class PartialMaxSATTest {
     }
   }
 
+  @Test
+  public void testOLL() throws IOException {
+    final MaxSATSolver solver = MaxSATSolver.oll(new MaxSATConfig.Builder().verbosity(SOME).output(logStream).build());
+    for (int i = 0; i < files.length; i++) {
+      solver.reset();
+      readCNF(solver, "tests/partialmaxsat/" + files[i]);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(results[i], solver.result());
+    }
+  }
+
   @Test
   public void testTimeoutHandler() throws IOException {
     MaxSATSolver solver = MaxSATSolver.wbo(new MaxSATConfig.Builder().verbosity(SOME).output(logStream).build());
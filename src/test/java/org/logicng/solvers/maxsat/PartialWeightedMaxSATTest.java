@@ -180,6 +180,27 @@ public class PartialWeightedMaxSATTest {
     }
   }
 
+  @Test
+  public void testOLL() throws IOException {
+    final MaxSATConfig[] configs = new MaxSATConfig[2];
+    configs[0] = new Builder().solver(MaxSATConfig.SolverType.GLUCOSE).verbosity(SOME).output(logStream).build();
+    configs[1] = new Builder().solver(MaxSATConfig.SolverType.MINISAT).verbosity(SOME).output(logStream).build();
+    for (final MaxSATConfig config : configs) {
+      for (int i = 0; i < files.length; i++) {
+        final MaxSATSolver solver = MaxSATSolver.oll(config);
+        readCNF(solver, "tests/partialweightedmaxsat/" + files[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(results[i], solver.result());
+      }
+      for (int i = 0; i < bmoFiles.length; i++) {
+        final MaxSATSolver solver = MaxSATSolver.oll(config);
+        readCNF(solver, "tests/partialweightedmaxsat/bmo/" + bmoFiles[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(bmoResults[i], solver.result());
+      }
+    }
+  }
+
   private void readCNF(final MaxSATSolver solver, final String fileName) throws IOException {
     final BufferedReader reader = new BufferedReader(new FileReader(fileName));
     int hardWeight = 0;
@@ -174,6 +174,21 @@ public class PureMaxSATTest {
     }
   }
 
+  @Test
+  public void testOLL() throws IOException {
+    final MaxSATSolver solver = MaxSATSolver.oll(new MaxSATConfig.Builder().verbosity(SOME).output(logStream).build());
+    for (final String file : files) {
+      solver.reset();
+      readCNF(solver, "tests/maxsat/" + file);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(1, solver.result());
+    }
+    solver.reset();
+    readCNF(solver, "tests/sat/9symml_gr_rcs_w6.shuffled.cnf");
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(0, solver.result());
+  }
+
   @Test
   public void testSingle() throws IOException {
     final MaxSATSolver solver = MaxSATSolver.incWBO(new MaxSATConfig.Builder().cardinality(CardinalityEncoding.MTOTALIZER)
@@ -30,21 +30,27 @@ package org.logicng.solvers.sat;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
 import org.logicng.io.parsers.ParserException;
 import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.CleaneLing;
 import org.logicng.solvers.MiniSat;
 import org.logicng.solvers.SATSolver;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.logicng.datastructures.Tristate.FALSE;
 import static org.logicng.datastructures.Tristate.TRUE;
 
 /**
- * Unit tests for the assume functionality of the MiniSat style SAT solvers.
+ * Unit tests for the assume functionality of the SAT solvers.
  * @author Christoph Zengler
  * @version 1.0
  * @since 1.0
@@ -58,7 +64,7 @@ public class AssumeTest {
   public AssumeTest() {
     this.f = new FormulaFactory();
     this.parser = new PropositionalParser(f);
-    this.solvers = new SATSolver[6];
+    this.solvers = new SATSolver[8];
     this.solvers[0] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).build());
     this.solvers[1] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build());
     this.solvers[2] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(true).build(),
@@ -67,6 +73,8 @@ public class AssumeTest {
             new GlucoseConfig.Builder().build());
     this.solvers[4] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(true).build());
     this.solvers[5] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(false).build());
+    this.solvers[6] = CleaneLing.minimalistic(f);
+    this.solvers[7] = CleaneLing.full(f);
   }
 
   @Test
@@ -105,4 +113,40 @@ public class AssumeTest {
       s.reset();
     }
   }
+
+  @Test
+  public void testAssumeWithSimplifications() {
+    final Random random = new Random(42);
+    final SATSolver cleaneLing = CleaneLing.full(f);
+    final List<Variable> variables = new ArrayList<>();
+    for (int i = 0; i < 60; i++)
+      variables.add(f.variable("v" + i));
+    final List<Formula> clauses = new ArrayList<>();
+    for (int round = 0; round < 30; round++) {
+      for (int i = 0; i < (round == 0 ? 200 : 5); i++) {
+        final List<Literal> clause = new ArrayList<>();
+        for (int j = 0; j < 3; j++)
+          clause.add(f.literal(variables.get(random.nextInt(variables.size())).name(), random.nextBoolean()));
+        final Formula formula = f.or(clause);
+        clauses.add(formula);
+        cleaneLing.add(formula);
+      }
+      final List<Literal> assumptions = new ArrayList<>();
+      for (int i = 0; i < 3; i++)
+        assumptions.add(f.literal(variables.get(random.nextInt(variables.size())).name(), random.nextBoolean()));
+      final SATSolver miniSat = MiniSat.miniSat(f);
+      miniSat.add(clauses);
+      final Tristate expected = miniSat.sat(assumptions);
+      Assert.assertEquals(expected, cleaneLing.sat(assumptions));
+      if (expected == TRUE) {
+        Assert.assertTrue(f.and(clauses).evaluate(cleaneLing.model()));
+        Assert.assertTrue(f.and(assumptions).evaluate(cleaneLing.model()));
+      }
+      final SATSolver reference = MiniSat.miniSat(f);
+      reference.add(clauses);
+      Assert.assertEquals(reference.sat(), cleaneLing.sat());
+      if (cleaneLing.sat() == TRUE)
+        Assert.assertTrue(f.and(clauses).evaluate(cleaneLing.model()));
+    }
+  }
 }
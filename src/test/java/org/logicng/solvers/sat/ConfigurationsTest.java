@@ -54,6 +54,8 @@ public class ConfigurationsTest {
             .lsInc(1.5)
             .incremental(false)
             .initialPhase(true)
+            .clauseArena(true)
+            .cnfMethod(CNFMethod.TSEITIN)
             .build();
     final String expected = "MiniSatConfig{\n" +
             "varDecay=1.2\n" +
@@ -67,6 +69,9 @@ public class ConfigurationsTest {
             "learntsizeInc=1.5\n" +
             "incremental=false\n" +
             "initialPhase=true\n" +
+            "unsatCoreGeneration=false\n" +
+            "clauseArena=true\n" +
+            "cnfMethod=TSEITIN\n" +
             "}\n";
     Assert.assertEquals(expected, config.toString());
   }
@@ -141,6 +146,8 @@ public class ConfigurationsTest {
             .searchFirst(true)
             .scoreIncrementFactor(1049)
             .stepsLim(999999)
+            .unsatCoreGeneration(true)
+            .cnfMethod(CNFMethod.PLAISTED_GREENBAUM)
             .build();
     final String expected = "CleaneLingConfig{\n" +
             "blockedClauseElimination=false\n" +
@@ -175,6 +182,8 @@ public class ConfigurationsTest {
             "searchFirst=true\n" +
             "scoreIncrementFactor=1049\n" +
             "stepsLim=999999\n" +
+            "unsatCoreGeneration=true\n" +
+            "cnfMethod=PLAISTED_GREENBAUM\n" +
             "}\n";
     Assert.assertEquals(expected, config.toString());
   }
@@ -30,10 +30,19 @@ package org.logicng.solvers.sat;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
 import org.logicng.formulas.FormulaFactory;
+import org.logicng.solvers.CleaneLing;
 import org.logicng.solvers.MiniSat;
 import org.logicng.solvers.SATSolver;
 import org.logicng.solvers.SolverState;
+import org.logicng.solvers.datastructures.CLClause;
+import org.logicng.solvers.datastructures.CLWatch;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import static org.logicng.datastructures.Tristate.FALSE;
 import static org.logicng.datastructures.Tristate.TRUE;
@@ -53,9 +62,10 @@ public class IncDecTest {
   public IncDecTest() {
     this.f = new FormulaFactory();
     this.pg = new PigeonHoleGenerator(f);
-    this.solvers = new SATSolver[2];
+    this.solvers = new SATSolver[3];
     this.solvers[0] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).build());
     this.solvers[1] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(true).build());
+    this.solvers[2] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).clauseArena(true).build());
   }
 
   @Test
@@ -85,4 +95,115 @@ public class IncDecTest {
     }
   }
 
+  @Test
+  public void testIncDecCleaneLing() {
+    final SATSolver[] cleaneLingSolvers = new SATSolver[]{CleaneLing.minimalistic(f), CleaneLing.full(f)};
+    for (final SATSolver s : cleaneLingSolvers) {
+      s.add(f.variable("a"));
+      final SolverState state1 = s.saveState();
+      Assert.assertEquals("SolverState{state=[2, 0, 1, 1, 0, 1]}", state1.toString());
+      Assert.assertEquals(TRUE, s.sat());
+      s.add(pg.generate(5));
+      Assert.assertEquals(FALSE, s.sat());
+      s.loadState(state1);
+      Assert.assertEquals(TRUE, s.sat());
+      s.add(f.literal("a", false));
+      Assert.assertEquals(FALSE, s.sat());
+      s.loadState(state1);
+      Assert.assertEquals(TRUE, s.sat());
+      s.add(pg.generate(5));
+      final SolverState state2 = s.saveState();
+      s.add(pg.generate(4));
+      Assert.assertEquals(FALSE, s.sat());
+      s.loadState(state2);
+      Assert.assertEquals(FALSE, s.sat());
+      s.loadState(state1);
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertEquals(TRUE, s.sat(f.variable("a")));
+      Assert.assertEquals(FALSE, s.sat(f.literal("a", false)));
+    }
+  }
+
+  @Test
+  public void testCleaneLingKeepsLearntClauses() {
+    final CleaneLingConfig config = new CleaneLingConfig.Builder().searchFirst(true).searchInterval(1000000).build();
+    final CleaneLingStyleSolver[] cleaneLingSolvers = new CleaneLingStyleSolver[]{
+            new CleaneLingMinimalisticSolver(config), new CleaneLingSolver(config)};
+    for (final CleaneLingStyleSolver solver : cleaneLingSolvers) {
+      addPigeonHole(solver, 5);
+      Assert.assertEquals(FALSE, solver.solve(null, assumption(-1)));
+      final int[] state = solver.saveState();
+      final int learnt = learntClauses(solver);
+      Assert.assertTrue(learnt > 0);
+      Assert.assertEquals(CleaneLingStyleSolver.VALUE_TRUE, solver.vals.get(1));
+      solver.addlit(-2);
+      solver.addlit(0);
+      Assert.assertEquals(CleaneLingStyleSolver.VALUE_FALSE, solver.vals.get(2));
+      solver.addlit(-1);
+      solver.addlit(0);
+      Assert.assertEquals(FALSE, solver.solve(null));
+      solver.loadState(state);
+      Assert.assertEquals(0, solver.stats.simplifications);
+      Assert.assertEquals(learnt, learntClauses(solver));
+      Assert.assertEquals(CleaneLingStyleSolver.VALUE_TRUE, solver.vals.get(1));
+      Assert.assertEquals(CleaneLingStyleSolver.VALUE_UNASSIGNED, solver.vals.get(2));
+      Assert.assertEquals(TRUE, solver.solve(null));
+      Assert.assertTrue(solver.model().get(1));
+      Assert.assertEquals(FALSE, solver.solve(null, assumption(-1)));
+    }
+  }
+
+  @Test
+  public void testCleaneLingRebuildsAfterSimplification() {
+    final CleaneLingSolver solver = new CleaneLingSolver(new CleaneLingConfig.Builder().build());
+    addPigeonHole(solver, 5);
+    final int[] state = solver.saveState();
+    solver.addlit(-1);
+    solver.addlit(0);
+    Assert.assertEquals(FALSE, solver.solve(null));
+    Assert.assertTrue(solver.stats.simplifications > 0);
+    solver.loadState(state);
+    Assert.assertEquals(0, solver.stats.simplifications);
+    Assert.assertEquals(0, learntClauses(solver));
+    Assert.assertEquals(TRUE, solver.solve(null));
+    Assert.assertEquals(FALSE, solver.solve(null, assumption(-1)));
+  }
+
+  /**
+   * Adds the pigeon hole problem with n holes and n + 1 pigeons over the variables 2, 3, ... to a solver.  Each clause
+   * contains the literal 1, hence the problem is only unsatisfiable if variable 1 is false.
+   * @param solver the solver
+   * @param n      the number of holes
+   */
+  private static void addPigeonHole(final CleaneLingStyleSolver solver, int n) {
+    for (int i = 0; i <= n; i++) {
+      solver.addlit(1);
+      for (int j = 0; j < n; j++)
+        solver.addlit(2 + i * n + j);
+      solver.addlit(0);
+    }
+    for (int j = 0; j < n; j++)
+      for (int i = 0; i <= n; i++)
+        for (int k = i + 1; k <= n; k++) {
+          solver.addlit(1);
+          solver.addlit(-(2 + i * n + j));
+          solver.addlit(-(2 + k * n + j));
+          solver.addlit(0);
+        }
+  }
+
+  private static LNGIntVector assumption(int lit) {
+    final LNGIntVector assumptions = new LNGIntVector();
+    assumptions.push(lit);
+    return assumptions;
+  }
+
+  private static int learntClauses(final CleaneLingStyleSolver solver) {
+    final Set<CLClause> learnt = Collections.newSetFromMap(new IdentityHashMap<CLClause, Boolean>());
+    for (final LNGVector<CLWatch> ws : solver.watches)
+      for (final CLWatch w : ws)
+        if (w.clause().redundant() && !w.clause().dumped())
+          learnt.add(w.clause());
+    return learnt.size();
+  }
 }
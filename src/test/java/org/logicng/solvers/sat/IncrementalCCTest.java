@@ -0,0 +1,149 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.cardinalityconstraints.CCConfig;
+import org.logicng.cardinalityconstraints.CCIncrementalData;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+
+/**
+ * Unit tests for incremental cardinality constraints on the SAT solvers.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class IncrementalCCTest {
+
+  private static final CCConfig.AMKEncoding[] ENCODINGS = new CCConfig.AMKEncoding[]{
+          CCConfig.AMKEncoding.TOTALIZER, CCConfig.AMKEncoding.MODULAR_TOTALIZER,
+          CCConfig.AMKEncoding.CARDINALITY_NETWORK, CCConfig.AMKEncoding.BEST};
+
+  @Test
+  public void testTightenWithUnitClauses() {
+    for (final CCConfig.AMKEncoding encoding : ENCODINGS) {
+      final FormulaFactory f = this.factory(encoding);
+      for (final SATSolver solver : this.solvers(f)) {
+        final Variable[] vars = this.variables(f, 20);
+        solver.add(f.cc(CType.GE, 7, vars));
+        final CCIncrementalData data = solver.addIncrementalCC((PBConstraint) f.cc(CType.LE, 15, vars));
+        int rhs = 15;
+        while (solver.sat() == TRUE) {
+          final int trueVars = solver.model(vars).positiveLiterals().size();
+          Assert.assertTrue(trueVars <= rhs && trueVars >= 7);
+          rhs = trueVars - 1;
+          solver.add(data.newUpperBound(rhs));
+        }
+        Assert.assertEquals(encoding + " " + solver, 6, rhs);
+        Assert.assertEquals(6, data.currentRHS());
+      }
+    }
+  }
+
+  @Test
+  public void testTightenWithAssumptions() {
+    for (final CCConfig.AMKEncoding encoding : ENCODINGS) {
+      final FormulaFactory f = this.factory(encoding);
+      for (final SATSolver solver : this.solvers(f)) {
+        final Variable[] vars = this.variables(f, 20);
+        solver.add(f.cc(CType.GE, 7, vars));
+        final CCIncrementalData data = solver.addIncrementalCC((PBConstraint) f.cc(CType.LT, 30, vars));
+        Assert.assertEquals(TRUE, solver.sat(solver.upperBoundAssumption(data, 25)));
+        Assert.assertEquals(TRUE, solver.sat(solver.upperBoundAssumption(data, 7)));
+        Assert.assertEquals(7, solver.model(vars).positiveLiterals().size());
+        Assert.assertEquals(FALSE, solver.sat(solver.upperBoundAssumption(data, 6)));
+        Assert.assertEquals(encoding + " " + solver, TRUE, solver.sat());
+        Assert.assertEquals(29, data.currentRHS());
+      }
+    }
+  }
+
+  @Test
+  public void testSmallConstraints() {
+    for (final CCConfig.AMKEncoding encoding : ENCODINGS) {
+      final FormulaFactory f = this.factory(encoding);
+      final SATSolver solver = MiniSat.miniSat(f);
+      final Variable a = f.variable("a");
+      final CCIncrementalData data = solver.addIncrementalCC((PBConstraint) f.cc(CType.LE, 1, a));
+      solver.add(a);
+      Assert.assertEquals(TRUE, solver.sat());
+      Assert.assertEquals(f.verum(), data.upperBound(1));
+      Assert.assertEquals(FALSE, solver.sat(solver.upperBoundAssumption(data, 0)));
+      solver.add(data.newUpperBound(0));
+      Assert.assertEquals(FALSE, solver.sat());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalComparator() {
+    final FormulaFactory f = new FormulaFactory();
+    MiniSat.miniSat(f).addIncrementalCC((PBConstraint) f.cc(CType.GE, 2, this.variables(f, 5)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalBound() {
+    final FormulaFactory f = new FormulaFactory();
+    final SATSolver solver = MiniSat.miniSat(f);
+    final CCIncrementalData data = solver.addIncrementalCC((PBConstraint) f.cc(CType.LE, 2, this.variables(f, 5)));
+    solver.add(data.newUpperBound(1));
+    data.newUpperBound(2);
+  }
+
+  private FormulaFactory factory(final CCConfig.AMKEncoding encoding) {
+    final FormulaFactory f = new FormulaFactory();
+    f.putConfiguration(new CCConfig.Builder().amkEncoding(encoding).build());
+    return f;
+  }
+
+  private SATSolver[] solvers(final FormulaFactory f) {
+    return new SATSolver[]{
+            MiniSat.miniSat(f),
+            MiniSat.glucose(f),
+            MiniSat.miniCard(f),
+            CleaneLing.minimalistic(f)
+    };
+  }
+
+  private Variable[] variables(final FormulaFactory f, int n) {
+    final Variable[] vars = new Variable[n];
+    for (int i = 0; i < n; i++)
+      vars[i] = f.variable("v" + i);
+    return vars;
+  }
+}
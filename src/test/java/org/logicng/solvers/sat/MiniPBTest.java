@@ -0,0 +1,264 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.SolverState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+
+/**
+ * Some MiniPB specific unit tests.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class MiniPBTest {
+
+  private static final CType[] COMPARATORS = {CType.EQ, CType.GE, CType.GT, CType.LE, CType.LT};
+
+  @Test
+  public void testAtLeast() {
+    final MiniPB solver = solver(4);
+    Assert.assertTrue(solver.addAtLeast(clause(1, 2, 3, 4), coeffs(3, 2, 2, 1), 5));
+    Assert.assertEquals(TRUE, solver.solve(null));
+    Assert.assertEquals(TRUE, solver.solve(null, clause(-1)));
+    Assert.assertEquals(FALSE, solver.solve(null, clause(-1, -2)));
+    Assert.assertEquals(TRUE, solver.solve(null, clause(-3, -4)));
+    Assert.assertEquals(FALSE, solver.solve(null, clause(-2, -3, -4)));
+    Assert.assertEquals(TRUE, solver.solve(null));
+  }
+
+  @Test
+  public void testNormalization() {
+    final MiniPB solver = solver(3);
+    Assert.assertTrue(solver.addAtLeast(clause(1, -1, 2), coeffs(2, 2, 1), 2));
+    Assert.assertEquals(TRUE, solver.solve(null, clause(-2)));
+    Assert.assertTrue(solver.addAtLeast(clause(1, 2, -2), coeffs(-5, 3, 1), 0));
+    Assert.assertEquals(FALSE, solver.solve(null, clause(1)));
+    Assert.assertEquals(TRUE, solver.solve(null, clause(-1)));
+    Assert.assertTrue(solver.addAtLeast(clause(2, 3), coeffs(4, 7), 3));
+    Assert.assertEquals(TRUE, solver.solve(null, clause(-2)));
+    Assert.assertEquals(FALSE, solver.solve(null, clause(-2, -3)));
+    Assert.assertFalse(solver.addAtLeast(clause(1, 2, 3), coeffs(1, 1, 1), 4));
+    Assert.assertEquals(FALSE, solver.solve(null));
+  }
+
+  @Test
+  public void testPropagationOnLevelZero() {
+    final MiniPB solver = solver(3);
+    Assert.assertTrue(solver.addAtLeast(clause(1, 2, 3), coeffs(5, 2, 2), 6));
+    Assert.assertEquals(TRUE, solver.value(literal(1)));
+    Assert.assertTrue(solver.addClause(clause(-2)));
+    Assert.assertEquals(TRUE, solver.value(literal(3)));
+  }
+
+  @Test
+  public void testLazyReasons() {
+    final MiniPB solver = solver(4);
+    Assert.assertTrue(solver.addAtLeast(clause(1, 2, 3, 4), coeffs(3, 2, 2, 1), 5));
+    solver.trailLim.push(solver.trail.size());
+    solver.uncheckedEnqueue(literal(-1), null);
+    Assert.assertNull(solver.propagate());
+    for (int v = 2; v <= 4; v++) {
+      Assert.assertEquals(TRUE, solver.value(literal(v)));
+      Assert.assertTrue(solver.vars.get(v).reason().isPB());
+    }
+    solver.cancelUntil(0);
+    Assert.assertTrue(solver.addClause(clause(1, -2, -3)));
+    Assert.assertEquals(FALSE, solver.solve(null, clause(-1)));
+    Assert.assertEquals(1, solver.conflict.size());
+    Assert.assertEquals(literal(1), solver.conflict.get(0));
+    Assert.assertEquals(TRUE, solver.solve(null));
+    Assert.assertTrue(solver.model().get(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalConstraint() {
+    final MiniPB solver = solver(1);
+    solver.addAtLeast(clause(1), coeffs(1, 2), 1);
+  }
+
+  @Test
+  public void testIncDec() {
+    final MiniPB solver = solver(4);
+    solver.addAtLeast(clause(1, 2, 3, 4), coeffs(3, 2, 2, 1), 5);
+    final int[] state = solver.saveState();
+    solver.addAtLeast(clause(1, 2, 3, 4), coeffs(-3, -2, -2, -1), -4);
+    Assert.assertEquals(FALSE, solver.solve(null));
+    solver.loadState(state);
+    Assert.assertEquals(TRUE, solver.solve(null));
+    solver.addAtLeast(clause(1, 2, 3, 4), coeffs(-3, -2, -2, -1), -5);
+    Assert.assertEquals(TRUE, solver.solve(null));
+    Assert.assertEquals(TRUE, solver.solve(null, clause(1, 2)));
+    Assert.assertEquals(FALSE, solver.solve(null, clause(1, 2, 3)));
+  }
+
+  @Test
+  public void testPBConstraintsOnWrapper() {
+    final FormulaFactory f = new FormulaFactory();
+    final Variable[] vars = new Variable[]{f.variable("a"), f.variable("b"), f.variable("c"), f.variable("d")};
+    final SATSolver solver = MiniSat.miniPB(f);
+    solver.add(f.pbc(CType.EQ, 5, new Literal[]{vars[0], vars[1], vars[2], vars[3].negate()}, new int[]{3, 2, 2, 1}));
+    Assert.assertEquals(TRUE, solver.sat());
+    final List<Assignment> models = solver.enumerateAllModels(vars);
+    Assert.assertEquals(3, models.size());
+    for (final Assignment model : models)
+      Assert.assertTrue(model.positiveLiterals().contains(vars[0]) || model.positiveLiterals().contains(vars[1]));
+    final SATSolver cardSolver = MiniSat.miniPB(f);
+    cardSolver.add(f.cc(CType.LT, 2, vars));
+    cardSolver.add(f.cc(CType.GE, 1, vars));
+    Assert.assertEquals(4, cardSolver.enumerateAllModels(vars).size());
+  }
+
+  @Test
+  public void testRandomConstraints() {
+    final FormulaFactory f = new FormulaFactory();
+    final Random random = new Random(42);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 12; i++)
+      vars.add(f.variable("v" + i));
+    for (int round = 0; round < 100; round++) {
+      final SATSolver solver = MiniSat.miniPB(f);
+      final List<Formula> formulas = new ArrayList<>();
+      for (int i = 0; i < 1 + random.nextInt(5); i++)
+        formulas.add(randomPBConstraint(f, vars, random));
+      for (int i = 0; i < random.nextInt(10); i++)
+        formulas.add(f.or(randomLiteral(vars, random), randomLiteral(vars, random), randomLiteral(vars, random)));
+      solver.add(formulas);
+      final List<Variable> relevant = new ArrayList<>(f.and(formulas).variables());
+      final int numModels = countModels(formulas, relevant);
+      Assert.assertEquals(numModels > 0 ? TRUE : FALSE, solver.sat());
+      if (numModels > 0) {
+        final Assignment model = solver.model();
+        for (final Formula formula : formulas)
+          Assert.assertTrue(formula.evaluate(model));
+      }
+      Assert.assertEquals(numModels, solver.enumerateAllModels(relevant).size());
+    }
+  }
+
+  @Test
+  public void testRandomIncrementalConstraints() {
+    final FormulaFactory f = new FormulaFactory();
+    final Random random = new Random(7);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 30; i++)
+      vars.add(f.variable("v" + i));
+    final SATSolver pbSolver = MiniSat.miniPB(f);
+    for (int round = 0; round < 50; round++) {
+      final SolverState state = pbSolver.saveState();
+      final SATSolver reference = MiniSat.miniPB(f, new MiniSatConfig.Builder().incremental(false).build());
+      final List<Formula> formulas = new ArrayList<>();
+      for (int i = 0; i < 10 + random.nextInt(20); i++)
+        formulas.add(randomPBConstraint(f, vars, random));
+      pbSolver.add(formulas);
+      reference.add(formulas);
+      final Tristate result = reference.sat();
+      Assert.assertEquals(result, pbSolver.sat());
+      if (result == TRUE) {
+        final Assignment model = pbSolver.model();
+        for (final Formula formula : formulas)
+          Assert.assertTrue(formula.evaluate(model));
+      }
+      pbSolver.loadState(state);
+    }
+  }
+
+  private static int countModels(final List<Formula> formulas, final List<Variable> vars) {
+    int count = 0;
+    for (int bits = 0; bits < 1 << vars.size(); bits++) {
+      final Assignment assignment = new Assignment();
+      for (int i = 0; i < vars.size(); i++)
+        assignment.addLiteral((bits & (1 << i)) != 0 ? vars.get(i) : vars.get(i).negate());
+      boolean satisfied = true;
+      for (final Formula formula : formulas)
+        satisfied &= formula.evaluate(assignment);
+      if (satisfied)
+        count++;
+    }
+    return count;
+  }
+
+  private static Formula randomPBConstraint(final FormulaFactory f, final List<Variable> vars, final Random random) {
+    final int size = 2 + random.nextInt(8);
+    final Literal[] lits = new Literal[size];
+    final int[] coeffs = new int[size];
+    int sum = 0;
+    for (int i = 0; i < size; i++) {
+      lits[i] = randomLiteral(vars, random);
+      coeffs[i] = random.nextInt(15) - 4;
+      sum += Math.abs(coeffs[i]);
+    }
+    return f.pbc(COMPARATORS[random.nextInt(COMPARATORS.length)], random.nextInt(sum + 1) - sum / 4, lits, coeffs);
+  }
+
+  private static Literal randomLiteral(final List<Variable> vars, final Random random) {
+    final Variable var = vars.get(random.nextInt(vars.size()));
+    return random.nextBoolean() ? var : var.negate();
+  }
+
+  private MiniPB solver(int numVars) {
+    final MiniPB solver = new MiniPB();
+    for (int i = 0; i <= numVars; i++)
+      solver.newVar(true, true);
+    return solver;
+  }
+
+  private LNGIntVector coeffs(int... coeffs) {
+    return new LNGIntVector(coeffs);
+  }
+
+  private LNGIntVector clause(int... lits) {
+    final LNGIntVector c = new LNGIntVector(lits.length);
+    for (int l : lits)
+      c.push(literal(l));
+    return c;
+  }
+
+  private int literal(int l) {
+    return l < 0 ? (-l * 2) ^ 1 : l * 2;
+  }
+}
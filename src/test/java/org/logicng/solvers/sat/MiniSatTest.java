@@ -30,7 +30,16 @@ package org.logicng.solvers.sat;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.logicng.collections.LNGBooleanVector;
 import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.logicng.datastructures.Tristate.FALSE;
 import static org.logicng.datastructures.Tristate.TRUE;
@@ -70,6 +79,77 @@ public class MiniSatTest {
     solver.loadState(null);
   }
 
+  @Test(expected = IllegalArgumentException.class)
+  public void testGlucoseClauseArena() {
+    new GlucoseSyrup(new MiniSatConfig.Builder().clauseArena(true).build(), new GlucoseConfig.Builder().build());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMiniCardClauseArena() {
+    new MiniCard(new MiniSatConfig.Builder().clauseArena(true).build());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMiniPBClauseArena() {
+    new MiniPB(new MiniSatConfig.Builder().clauseArena(true).build());
+  }
+
+  @Test
+  public void testClauseArena() throws IOException {
+    final String[] files = new String[]{"tests/sat/3col40_5_10.shuffled.cnf", "tests/sat/apex7_gr_rcs_w5.shuffled.cnf",
+            "tests/sat/9symml_gr_rcs_w5.shuffled.cnf"};
+    for (final String file : files) {
+      final List<LNGIntVector> clauses = readCNF(new File(file));
+      final MiniSat2Solver solver = new MiniSat2Solver(new MiniSatConfig.Builder().incremental(false).build());
+      final MiniSat2Solver arenaSolver = new MiniSat2Solver(new MiniSatConfig.Builder().incremental(false)
+              .clauseArena(true).build());
+      for (final LNGIntVector clause : clauses) {
+        addClause(solver, clause);
+        addClause(arenaSolver, clause);
+      }
+      final Tristate result = solver.solve(null);
+      Assert.assertEquals(result, arenaSolver.solve(null));
+      Assert.assertTrue(arenaSolver.toString().contains("arena         MSClauseArena{"));
+      if (result == TRUE)
+        for (final LNGIntVector clause : clauses)
+          Assert.assertTrue(satisfied(clause, arenaSolver.model()));
+    }
+  }
+
+  private static List<LNGIntVector> readCNF(final File file) throws IOException {
+    final List<LNGIntVector> clauses = new ArrayList<>();
+    try (final BufferedReader reader = new BufferedReader(new FileReader(file))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("c") || trimmed.startsWith("p"))
+          continue;
+        final LNGIntVector clause = new LNGIntVector();
+        for (final String token : trimmed.split("\\s+")) {
+          final int lit = Integer.parseInt(token);
+          if (lit != 0)
+            clause.push(lit < 0 ? ((-lit - 1) * 2) ^ 1 : (lit - 1) * 2);
+        }
+        clauses.add(clause);
+      }
+    }
+    return clauses;
+  }
+
+  private static void addClause(final MiniSat2Solver solver, final LNGIntVector clause) {
+    for (int i = 0; i < clause.size(); i++)
+      while (solver.nVars() <= clause.get(i) >> 1)
+        solver.newVar(true, true);
+    solver.addClause(new LNGIntVector(clause));
+  }
+
+  private static boolean satisfied(final LNGIntVector clause, final LNGBooleanVector model) {
+    for (int i = 0; i < clause.size(); i++)
+      if (model.get(clause.get(i) >> 1) != ((clause.get(i) & 1) == 1))
+        return true;
+    return false;
+  }
+
   private LNGIntVector clause(int... lits) {
     final LNGIntVector c = new LNGIntVector(lits.length);
     for (int l : lits)
@@ -0,0 +1,202 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.ModelBatchHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.propositions.StandardProposition;
+import org.logicng.solvers.MiniSat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.logicng.datastructures.Tristate.TRUE;
+
+/**
+ * Unit tests for the streaming model enumeration of MiniSat-style solvers.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class ModelEnumerationTest {
+
+  private final FormulaFactory f;
+  private final PropositionalParser parser;
+  private final MiniSat[] solvers;
+
+  public ModelEnumerationTest() {
+    this.f = new FormulaFactory();
+    this.parser = new PropositionalParser(f);
+    this.solvers = new MiniSat[7];
+    this.solvers[0] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).build());
+    this.solvers[1] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build());
+    this.solvers[2] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(false).build(),
+            new GlucoseConfig.Builder().build());
+    this.solvers[3] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(true).build());
+    this.solvers[4] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(false).build());
+    this.solvers[5] = MiniSat.miniSat(f, new MiniSatConfig.Builder().unsatCoreGeneration(true).build());
+    this.solvers[6] = MiniSat.glucose(f, new MiniSatConfig.Builder().unsatCoreGeneration(true).build(),
+            new GlucoseConfig.Builder().build());
+  }
+
+  @Test
+  public void testIterator() throws ParserException {
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("(a | b) & (c | ~d)"));
+      final Set<Assignment> models = new HashSet<>();
+      final Iterator<Assignment> it = s.modelIterator(null);
+      while (it.hasNext()) {
+        final Assignment model = it.next();
+        Assert.assertEquals(4, model.size());
+        Assert.assertTrue(model.evaluateLit(f.variable("a")) || model.evaluateLit(f.variable("b")));
+        models.add(model);
+      }
+      Assert.assertEquals(9, models.size());
+      Assert.assertFalse(it.hasNext());
+      s.reset();
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testExhaustedIterator() throws ParserException {
+    final MiniSat s = this.solvers[0];
+    s.add(parser.parse("a & b"));
+    final Iterator<Assignment> it = s.modelIterator(null);
+    Assert.assertNotNull(it.next());
+    it.next();
+  }
+
+  @Test
+  public void testIteratorProjection() throws ParserException {
+    final List<Variable> projection = Arrays.asList(f.variable("a"), f.variable("c"), f.variable("a"), f.variable("x"));
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("(a | b) & (c | ~d)"));
+      final Set<Assignment> models = new HashSet<>();
+      final Iterator<Assignment> it = s.modelIterator(projection);
+      while (it.hasNext()) {
+        final Assignment model = it.next();
+        Assert.assertEquals(2, model.size());
+        models.add(model);
+      }
+      Assert.assertEquals(4, models.size());
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testIteratorIsLazy() throws ParserException {
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("a | b | c | d | e | f | g | h"));
+      final Iterator<Assignment> it = s.modelIterator(null);
+      for (int i = 0; i < 3; i++)
+        Assert.assertNotNull(it.next());
+      Assert.assertEquals(252, s.enumerateAllModels().size());
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testEnumerationRestoresIncrementalState() throws ParserException {
+    final MiniSat s = this.solvers[0];
+    s.add(parser.parse("a | b"));
+    Assert.assertEquals(3, s.enumerateAllModels().size());
+    Assert.assertEquals(3, s.enumerateAllModels(Arrays.asList(f.variable("a"), f.variable("b"))).size());
+    Assert.assertEquals(2, s.enumerateAllModels(Arrays.asList(f.variable("a"))).size());
+    Assert.assertEquals(TRUE, s.sat());
+  }
+
+  @Test
+  public void testBatches() throws ParserException {
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("(a | b) & (c | ~d)"));
+      final List<Integer> batchSizes = new ArrayList<>();
+      final Set<Assignment> models = new HashSet<>();
+      s.enumerateAllModels(null, 4, new ModelBatchHandler() {
+        @Override
+        public boolean foundModels(final List<Assignment> batch) {
+          batchSizes.add(batch.size());
+          models.addAll(batch);
+          return true;
+        }
+      });
+      Assert.assertEquals(Arrays.asList(4, 4, 1), batchSizes);
+      Assert.assertEquals(9, models.size());
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testBatchesAborted() throws ParserException {
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("a | b | c | d"));
+      final List<Integer> batchSizes = new ArrayList<>();
+      s.enumerateAllModels(Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c")), 2, new ModelBatchHandler() {
+        @Override
+        public boolean foundModels(final List<Assignment> batch) {
+          batchSizes.add(batch.size());
+          return batchSizes.size() < 2;
+        }
+      });
+      Assert.assertEquals(Arrays.asList(2, 2), batchSizes);
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testCoreSelectorsAreNotEnumerated() throws ParserException {
+    final MiniSat s = this.solvers[5];
+    s.add(new StandardProposition("p1", parser.parse("a | b")));
+    s.add(new StandardProposition("p2", parser.parse("~a | c")));
+    final List<Assignment> models = s.enumerateAllModels();
+    Assert.assertEquals(4, models.size());
+    for (final Assignment model : models)
+      Assert.assertEquals(3, model.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalBatchSize() {
+    this.solvers[0].enumerateAllModels(null, 0, new ModelBatchHandler() {
+      @Override
+      public boolean foundModels(final List<Assignment> batch) {
+        return true;
+      }
+    });
+  }
+}
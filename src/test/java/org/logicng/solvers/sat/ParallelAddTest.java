@@ -0,0 +1,185 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for the parallel bulk loading of formulas into the solvers.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class ParallelAddTest {
+
+  @Test
+  public void testSameSolverState() {
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int round = 0; round < 5; round++) {
+        final FormulaFactory f = new FormulaFactory("", true);
+        final List<Formula> formulas = randomFormulas(f, new Random(round), 300);
+        for (final String style : Arrays.asList("minisat", "glucose", "minicard", "minipb")) {
+          final MiniSat parallel = solver(f, style);
+          parallel.add(f.variable("v7"));
+          parallel.addParallel(formulas, pool);
+          final MiniSat sequential = solver(f, style);
+          sequential.add(f.variable("v7"));
+          sequential.add(formulas);
+          final MiniSatStyleSolver p = parallel.underlyingSolver();
+          final MiniSatStyleSolver s = sequential.underlyingSolver();
+          Assert.assertEquals(s.nVars(), p.nVars());
+          Assert.assertEquals(s.clauses().size(), p.clauses().size());
+          for (int i = 0; i < s.clauses().size(); i++)
+            Assert.assertEquals(s.clauses().get(i), p.clauses().get(i));
+          for (int i = 0; i < s.nVars(); i++)
+            Assert.assertEquals(s.nameForIdx(i), p.nameForIdx(i));
+          Assert.assertEquals(sequential.sat(), parallel.sat());
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testSatisfiability() {
+    final FormulaFactory f = new FormulaFactory("", true);
+    final Random random = new Random(42);
+    for (int i = 0; i < 20; i++) {
+      final List<Formula> formulas = randomFormulas(f, random, 20 + random.nextInt(40));
+      final Tristate expected = sat(MiniSat.miniSat(f), formulas, false);
+      Assert.assertEquals(expected, sat(MiniSat.miniSat(f), formulas, true));
+      Assert.assertEquals(expected, sat(MiniSat.glucose(f), formulas, true));
+      Assert.assertEquals(expected, sat(MiniSat.miniCard(f), formulas, true));
+      Assert.assertEquals(expected, sat(MiniSat.miniPB(f), formulas, true));
+    }
+  }
+
+  @Test
+  public void testPigeonHole() {
+    final FormulaFactory f = new FormulaFactory("", true);
+    final Formula pigeonHole = new PigeonHoleGenerator(f).generate(6);
+    final List<Formula> formulas = new ArrayList<>();
+    for (final Formula op : pigeonHole)
+      formulas.add(op);
+    final SATSolver solver = MiniSat.miniSat(f);
+    solver.addParallel(formulas);
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+  }
+
+  @Test
+  public void testSequentialFallback() {
+    final FormulaFactory f = new FormulaFactory();
+    final List<Formula> formulas = randomFormulas(f, new Random(3), 100);
+    final MiniSat parallel = MiniSat.miniSat(f);
+    parallel.addParallel(formulas);
+    final MiniSat sequential = MiniSat.miniSat(f);
+    sequential.add(formulas);
+    Assert.assertEquals(sequential.underlyingSolver().nVars(), parallel.underlyingSolver().nVars());
+    Assert.assertEquals(sequential.underlyingSolver().clauses().size(), parallel.underlyingSolver().clauses().size());
+    Assert.assertEquals(sequential.sat(), parallel.sat());
+    final FormulaFactory g = new FormulaFactory("", true);
+    final SATSolver encoding = MiniSat.miniSat(g, new MiniSatConfig.Builder().cnfMethod(CNFMethod.TSEITIN).build());
+    encoding.addParallel(Arrays.asList(g.variable("a"), g.literal("b", false), g.or(g.literal("a", false), g.variable("b"))));
+    Assert.assertEquals(Tristate.FALSE, encoding.sat());
+  }
+
+  private static Tristate sat(final SATSolver solver, final List<Formula> formulas, boolean parallel) {
+    if (parallel)
+      solver.addParallel(formulas);
+    else
+      solver.add(formulas);
+    return solver.sat();
+  }
+
+  private static MiniSat solver(final FormulaFactory f, final String style) {
+    switch (style) {
+      case "minisat":
+        return MiniSat.miniSat(f);
+      case "glucose":
+        return MiniSat.glucose(f);
+      case "minicard":
+        return MiniSat.miniCard(f);
+      default:
+        return MiniSat.miniPB(f);
+    }
+  }
+
+  private static List<Formula> randomFormulas(final FormulaFactory f, final Random random, int n) {
+    final List<Formula> formulas = new ArrayList<>();
+    for (int i = 0; i < n; i++)
+      formulas.add(randomFormula(f, random, 3));
+    return formulas;
+  }
+
+  private static Formula randomFormula(final FormulaFactory f, final Random random, int depth) {
+    final int choice = depth == 0 ? random.nextInt(2) : random.nextInt(7);
+    switch (choice) {
+      case 0:
+        return f.literal("v" + random.nextInt(30), random.nextBoolean());
+      case 1:
+        if (random.nextInt(4) != 0)
+          return f.literal("v" + random.nextInt(30), random.nextBoolean());
+        final List<Variable> variables = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+          variables.add(f.variable("v" + random.nextInt(30)));
+        if (random.nextBoolean())
+          return f.cc(CType.LE, 1 + random.nextInt(2), variables);
+        final List<Literal> literals = new ArrayList<Literal>(variables);
+        return f.pbc(CType.GE, 2, literals, Arrays.asList(1, 2, 3));
+      case 2:
+        return f.not(randomFormula(f, random, depth - 1));
+      case 3:
+        return f.implication(randomFormula(f, random, depth - 1), randomFormula(f, random, depth - 1));
+      case 4:
+        return f.equivalence(randomFormula(f, random, depth - 1), randomFormula(f, random, depth - 1));
+      default:
+        final List<Formula> operands = new ArrayList<>();
+        for (int i = 0; i < 2 + random.nextInt(2); i++)
+          operands.add(randomFormula(f, random, depth - 1));
+        return choice == 5 ? f.or(operands) : f.and(operands);
+    }
+  }
+}
@@ -0,0 +1,388 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.TimeoutSATHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.propositions.Proposition;
+import org.logicng.propositions.StandardProposition;
+import org.logicng.solvers.PortfolioConfig;
+import org.logicng.solvers.PortfolioSolver;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.SolverState;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+
+/**
+ * Unit tests for the {@link PortfolioSolver} and the {@link UnitExchange}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class PortfolioSolverTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PropositionalParser p = new PropositionalParser(f);
+  private final PigeonHoleGenerator pg = new PigeonHoleGenerator(f);
+
+  private final PortfolioConfig sharingConfig = new PortfolioConfig.Builder()
+          .miniSat(new MiniSatConfig.Builder().build())
+          .miniSat(new MiniSatConfig.Builder().restartFirst(50).initialPhase(true).build())
+          .glucose(new MiniSatConfig.Builder().incremental(false).build(), new GlucoseConfig.Builder().build())
+          .miniCard(new MiniSatConfig.Builder().build())
+          .shareUnits(true)
+          .build();
+
+  @Test
+  public void testConfig() {
+    final PortfolioConfig config = new PortfolioConfig.Builder().build();
+    Assert.assertEquals(3, config.workers().size());
+    Assert.assertEquals(PortfolioConfig.SolverType.MINISAT, config.workers().get(0).type());
+    Assert.assertEquals(PortfolioConfig.SolverType.GLUCOSE, config.workers().get(1).type());
+    Assert.assertEquals(PortfolioConfig.SolverType.CLEANELING, config.workers().get(2).type());
+    Assert.assertFalse(config.shareUnits());
+    Assert.assertEquals("PortfolioConfig{\nworkers=[MINISAT, GLUCOSE, CLEANELING]\nshareUnits=false\nexchangeCapacity=65536\n}\n",
+            config.toString());
+  }
+
+  @Test
+  public void testSimple() throws ParserException {
+    for (final PortfolioConfig config : Arrays.asList(new PortfolioConfig.Builder().build(), this.sharingConfig)) {
+      final SATSolver solver = PortfolioSolver.portfolio(f, config);
+      Assert.assertEquals(TRUE, solver.sat());
+      final Formula formula = p.parse("(a | b) & (~a | c) & (~c | ~b) & (b | c)");
+      solver.add(formula);
+      Assert.assertEquals(TRUE, solver.sat());
+      Assert.assertTrue(formula.evaluate(solver.model()));
+      solver.add(p.parse("a <=> b"));
+      Assert.assertEquals(FALSE, solver.sat());
+      Assert.assertNull(solver.model());
+      solver.reset();
+      Assert.assertEquals(TRUE, solver.sat());
+    }
+  }
+
+  @Test
+  public void testPigeonHole() {
+    for (final PortfolioConfig config : Arrays.asList(new PortfolioConfig.Builder().build(), this.sharingConfig)) {
+      for (int i = 1; i <= 7; i++) {
+        final SATSolver solver = PortfolioSolver.portfolio(f, config);
+        solver.add(pg.generate(i));
+        Assert.assertEquals(FALSE, solver.sat());
+        solver.reset();
+        solver.add(f.and(pg.generate(i), f.literal("v1", false)));
+        Assert.assertEquals(FALSE, solver.sat());
+      }
+    }
+  }
+
+  @Test
+  public void testTimeoutHandler() {
+    final SATSolver solver = PortfolioSolver.portfolio(f, this.sharingConfig);
+    solver.add(pg.generate(10));
+    Assert.assertEquals(UNDEF, solver.sat(new TimeoutSATHandler(500)));
+  }
+
+  @Test
+  public void testAssumptions() throws ParserException {
+    final SATSolver solver = PortfolioSolver.portfolio(f);
+    solver.add(p.parse("(a | b) & (~a | c)"));
+    Assert.assertEquals(TRUE, solver.sat(f.literal("a", true)));
+    Assert.assertTrue(solver.model().evaluateLit(f.variable("c")));
+    Assert.assertEquals(FALSE, solver.sat(Arrays.asList(f.literal("a", true), f.literal("c", false))));
+    Assert.assertEquals(TRUE, solver.sat());
+  }
+
+  @Test
+  public void testAssumptionsWithoutMiniSat() throws ParserException {
+    final PortfolioConfig config = new PortfolioConfig.Builder().cleaneLing(new CleaneLingConfig.Builder().build()).build();
+    final SATSolver solver = PortfolioSolver.portfolio(f, config);
+    solver.add(p.parse("(a | b) & (~a | c)"));
+    Assert.assertEquals(TRUE, solver.sat(f.literal("a", true)));
+    Assert.assertTrue(solver.model().evaluateLit(f.variable("c")));
+    Assert.assertEquals(FALSE, solver.sat(Arrays.asList(f.literal("a", true), f.literal("c", false))));
+    Assert.assertEquals(TRUE, solver.sat());
+  }
+
+  @Test
+  public void testModelEnumeration() throws ParserException {
+    final SATSolver solver = PortfolioSolver.portfolio(f, this.sharingConfig);
+    solver.add(p.parse("(a | b | c) & (~a | ~b)"));
+    final List<Variable> variables = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"));
+    final List<Assignment> models = solver.enumerateAllModels(variables);
+    Assert.assertEquals(5, models.size());
+    for (final Assignment model : models)
+      Assert.assertTrue(p.parse("(a | b | c) & (~a | ~b)").evaluate(model));
+  }
+
+  @Test
+  public void testModelEnumerationWithSimplifications() throws ParserException {
+    final SATSolver solver = PortfolioSolver.portfolio(f);
+    solver.add(p.parse("(a | b | c) & (~a | ~b)"));
+    final List<Variable> variables = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"));
+    final List<Assignment> models = solver.enumerateAllModels(variables);
+    Assert.assertEquals(5, models.size());
+    for (final Assignment model : models)
+      Assert.assertTrue(p.parse("(a | b | c) & (~a | ~b)").evaluate(model));
+  }
+
+  @Test
+  public void testUnsatCore() throws ParserException {
+    final PortfolioConfig config = new PortfolioConfig.Builder()
+            .miniSat(new MiniSatConfig.Builder().unsatCoreGeneration(true).build())
+            .cleaneLing(new CleaneLingConfig.Builder().unsatCoreGeneration(true).build())
+            .build();
+    final SATSolver solver = PortfolioSolver.portfolio(f, config);
+    final Proposition p1 = new StandardProposition(p.parse("a | b"));
+    final Proposition p2 = new StandardProposition(p.parse("~a"));
+    final Proposition p3 = new StandardProposition(p.parse("c"));
+    final Proposition p4 = new StandardProposition(p.parse("~b"));
+    solver.add(p1);
+    solver.add(p2);
+    solver.add(p3);
+    solver.add(p4);
+    Assert.assertEquals(FALSE, solver.sat());
+    final List<Proposition> core = solver.unsatCore(true);
+    Assert.assertEquals(3, core.size());
+    Assert.assertFalse(core.contains(p3));
+  }
+
+  @Test
+  public void testUnsatCoreWithoutMiniSat() throws ParserException {
+    final PortfolioConfig config = new PortfolioConfig.Builder()
+            .cleaneLing(new CleaneLingConfig.Builder().unsatCoreGeneration(true).build())
+            .cleaneLing(new CleaneLingConfig.Builder().unsatCoreGeneration(true).plain(true).build())
+            .build();
+    final SATSolver solver = PortfolioSolver.portfolio(f, config);
+    final Proposition p1 = new StandardProposition(p.parse("a | b"));
+    final Proposition p2 = new StandardProposition(p.parse("~a"));
+    final Proposition p3 = new StandardProposition(p.parse("c"));
+    final Proposition p4 = new StandardProposition(p.parse("~b"));
+    solver.add(p1);
+    solver.add(p2);
+    solver.add(p3);
+    solver.add(p4);
+    Assert.assertEquals(FALSE, solver.sat());
+    Assert.assertEquals(Arrays.asList(p1, p2, p4), solver.unsatCore(true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInconsistentUnsatCoreGeneration() {
+    final PortfolioConfig config = new PortfolioConfig.Builder()
+            .miniSat(new MiniSatConfig.Builder().unsatCoreGeneration(true).build())
+            .cleaneLing(new CleaneLingConfig.Builder().build())
+            .build();
+    PortfolioSolver.portfolio(f, config);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUnsatCoreGenerationNotActivated() throws ParserException {
+    final SATSolver solver = PortfolioSolver.portfolio(f);
+    solver.add(new StandardProposition(p.parse("a & ~a")));
+    Assert.assertEquals(FALSE, solver.sat());
+    solver.unsatCore();
+  }
+
+  @Test
+  public void testSaveLoadState() throws ParserException {
+    final PortfolioConfig config = new PortfolioConfig.Builder()
+            .miniSat(new MiniSatConfig.Builder().build())
+            .miniCard(new MiniSatConfig.Builder().build())
+            .build();
+    final SATSolver solver = PortfolioSolver.portfolio(f, config);
+    solver.add(p.parse("a | b"));
+    final SolverState state = solver.saveState();
+    solver.add(p.parse("~a & ~b"));
+    Assert.assertEquals(FALSE, solver.sat());
+    solver.loadState(state);
+    Assert.assertEquals(TRUE, solver.sat());
+  }
+
+  @Test
+  public void testSaveLoadStateDefaultPortfolio() throws ParserException {
+    final SATSolver solver = PortfolioSolver.portfolio(f);
+    Assert.assertTrue(solver.toString().contains("GLUCOSE"));
+    solver.add(p.parse("a | b"));
+    final SolverState state = solver.saveState();
+    Assert.assertFalse(solver.toString().contains("GLUCOSE"));
+    solver.add(p.parse("~a & ~b"));
+    Assert.assertEquals(FALSE, solver.sat());
+    solver.loadState(state);
+    Assert.assertEquals(TRUE, solver.sat());
+    Assert.assertTrue(p.parse("a | b").evaluate(solver.model()));
+    solver.add(p.parse("~a"));
+    Assert.assertEquals(TRUE, solver.sat());
+    Assert.assertTrue(solver.model().evaluateLit(f.variable("b")));
+    solver.loadState(state);
+    Assert.assertEquals(TRUE, solver.sat(f.literal("b", false)));
+    Assert.assertTrue(solver.model().evaluateLit(f.variable("a")));
+    solver.reset();
+    Assert.assertTrue(solver.toString().contains("GLUCOSE"));
+    Assert.assertEquals(TRUE, solver.sat());
+  }
+
+  @Test
+  public void testSaveStateWithoutSupport() throws ParserException {
+    final PortfolioConfig config = new PortfolioConfig.Builder()
+            .glucose(new MiniSatConfig.Builder().build(), new GlucoseConfig.Builder().build())
+            .miniSat(new MiniSatConfig.Builder().incremental(false).build())
+            .build();
+    final SATSolver solver = PortfolioSolver.portfolio(f, config);
+    solver.add(p.parse("a | b"));
+    try {
+      solver.saveState();
+      Assert.fail("Expected an unsupported operation exception");
+    } catch (final UnsupportedOperationException e) {
+      Assert.assertTrue(solver.toString().contains("GLUCOSE"));
+    }
+    Assert.assertEquals(TRUE, solver.sat());
+  }
+
+  @Test
+  public void testModelEnumerationRestoresState() throws ParserException {
+    final PortfolioConfig config = new PortfolioConfig.Builder()
+            .miniSat(new MiniSatConfig.Builder().build())
+            .miniCard(new MiniSatConfig.Builder().build())
+            .cleaneLing(new CleaneLingConfig.Builder().build())
+            .build();
+    final SATSolver solver = PortfolioSolver.portfolio(f, config);
+    solver.add(p.parse("(a | b | c) & (~a | ~b)"));
+    final List<Variable> variables = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"));
+    Assert.assertEquals(5, solver.enumerateAllModels(variables).size());
+    Assert.assertEquals(TRUE, solver.sat());
+    Assert.assertEquals(5, solver.enumerateAllModels(variables).size());
+  }
+
+  @Test
+  public void testSharedUnitsWithAssumptions() throws ParserException {
+    final SATSolver solver = PortfolioSolver.portfolio(f, this.sharingConfig);
+    solver.add(pg.generate(6));
+    solver.add(p.parse("v1 | v2"));
+    final List<Literal> assumptions = Arrays.asList(f.literal("v1", false), f.literal("v2", false));
+    Assert.assertEquals(FALSE, solver.sat(assumptions));
+    solver.reset();
+    solver.add(p.parse("(a | b) & (~a | c) & (~b | c)"));
+    Assert.assertEquals(FALSE, solver.sat(f.literal("c", false)));
+    Assert.assertEquals(TRUE, solver.sat());
+    Assert.assertTrue(solver.model().evaluateLit(f.variable("c")));
+    Assert.assertEquals(TRUE, solver.sat(Arrays.asList(f.literal("a", false), f.literal("c", true))));
+    Assert.assertTrue(solver.model().evaluateLit(f.variable("b")));
+  }
+
+  @Test
+  public void testNoUnitExportWithAssumptions() throws IOException, ParserException {
+    final MiniSat2Solver solver = new MiniSat2Solver();
+    DimacsReader.readCNF(new File("tests/sat/3col40_5_10.shuffled.cnf"), solver);
+    for (int i = 0; i < solver.nVars(); i++)
+      solver.addName("v" + i, i);
+    final UnitExchange exchange = new UnitExchange(1000);
+    solver.setUnitExchange(exchange);
+    final LNGIntVector assumptions = new LNGIntVector();
+    assumptions.push(MiniSatStyleSolver.mkLit(solver.nVars() - 1, false));
+    Assert.assertEquals(FALSE, solver.solve(null, assumptions));
+    Assert.assertEquals(0, exchange.size());
+    Assert.assertEquals(FALSE, solver.solve(null));
+    Assert.assertTrue(exchange.size() > 0);
+  }
+
+  @Test
+  public void testUnitExchange() {
+    final MiniSat2Solver solver = new MiniSat2Solver();
+    final UnitExchange exchange = new UnitExchange(2);
+    Assert.assertEquals(0, exchange.size());
+    Assert.assertTrue(exchange.publish(solver, "a", true));
+    Assert.assertTrue(exchange.publish(solver, "b", false));
+    Assert.assertFalse(exchange.publish(solver, "c", true));
+    Assert.assertEquals(2, exchange.size());
+    Assert.assertEquals("a", exchange.get(0).name);
+    Assert.assertFalse(exchange.get(1).phase);
+    Assert.assertNull(exchange.get(2));
+  }
+
+  @Test
+  public void testUnitImport() {
+    final MiniSat2Solver exporter = new MiniSat2Solver();
+    final MiniSat2Solver importer = new MiniSat2Solver();
+    final UnitExchange exchange = new UnitExchange(10);
+    for (final MiniSat2Solver solver : Arrays.asList(exporter, importer)) {
+      solver.addName("a", solver.newVar(true, true));
+      solver.addName("b", solver.newVar(true, true));
+      solver.setUnitExchange(exchange);
+    }
+    exchange.publish(exporter, "b", false);
+    exchange.publish(exporter, "x", true);
+    Assert.assertEquals(TRUE, importer.solve(null));
+    Assert.assertFalse(importer.model().get(1));
+    exchange.publish(exporter, "b", true);
+    Assert.assertEquals(FALSE, importer.solve(null));
+  }
+
+  @Test
+  public void testConflictingUnitImport() {
+    final MiniSat2Solver exporter = new MiniSat2Solver();
+    for (final MiniSatStyleSolver importer : Arrays.asList(new MiniSat2Solver(), new GlucoseSyrup(), new MiniCard())) {
+      final UnitExchange exchange = new UnitExchange(10);
+      importer.addName("a", importer.newVar(true, true));
+      importer.addName("b", importer.newVar(true, true));
+      importer.setUnitExchange(exchange);
+      exchange.publish(exporter, "b", true);
+      Assert.assertEquals(TRUE, importer.solve(null));
+      exchange.publish(exporter, "b", false);
+      Assert.assertFalse(importer.importUnits(null));
+      Assert.assertFalse(importer.ok());
+      importer.setUnitExchange(null);
+      final LNGIntVector assumptions = new LNGIntVector();
+      assumptions.push(MiniSatStyleSolver.mkLit(0, false));
+      Assert.assertEquals(FALSE, importer.solve(null, assumptions));
+      Assert.assertEquals(FALSE, importer.solve(null));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalExchangeCapacity() {
+    new UnitExchange(0);
+  }
+}
@@ -81,16 +81,18 @@ public class SATTest {
     this.f = new FormulaFactory();
     this.pg = new PigeonHoleGenerator(f);
     this.parser = new PropositionalParser(f);
-    this.solvers = new SATSolver[8];
+    this.solvers = new SATSolver[10];
     this.solvers[0] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).build());
     this.solvers[1] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build());
     this.solvers[2] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(false).build(),
             new GlucoseConfig.Builder().build());
     this.solvers[3] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(true).build());
     this.solvers[4] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(false).build());
-    this.solvers[5] = CleaneLing.minimalistic(f);
-    this.solvers[6] = CleaneLing.full(f, new CleaneLingConfig.Builder().plain(true).glueUpdate(true).gluered(true).build());
-    this.solvers[7] = CleaneLing.full(f);
+    this.solvers[5] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).clauseArena(true).build());
+    this.solvers[6] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).clauseArena(true).build());
+    this.solvers[7] = CleaneLing.minimalistic(f);
+    this.solvers[8] = CleaneLing.full(f, new CleaneLingConfig.Builder().plain(true).glueUpdate(true).gluered(true).build());
+    this.solvers[9] = CleaneLing.full(f);
   }
 
   @Test
@@ -103,6 +105,26 @@ public class SATTest {
     }
   }
 
+  @Test
+  public void testVariablesOfDifferentFactories() {
+    final FormulaFactory f2 = new FormulaFactory();
+    f2.variable("x");
+    for (final SATSolver s : this.solvers) {
+      s.add(f.or(f.variable("a"), f.variable("b")));
+      s.add(f2.literal("a", false));
+      s.add(f2.literal("b", false));
+      Assert.assertEquals(FALSE, s.sat());
+      s.reset();
+      s.add(f.variable("a"));
+      s.add(f2.variable("b"));
+      Assert.assertEquals(TRUE, s.sat());
+      final Assignment model = s.model();
+      Assert.assertEquals(2, model.size());
+      Assert.assertTrue(model.positiveLiterals().contains(f.variable("b")));
+      s.reset();
+    }
+  }
+
   @Test
   public void testFalse() {
     for (final SATSolver s : this.solvers) {
@@ -225,16 +247,20 @@ public class SATTest {
     }
   }
 
-  @Test(expected = UnsupportedOperationException.class)
-  public void testIllegalEnumeration() {
-    final SATSolver s = this.solvers[7];
+  @Test
+  public void testEnumerationWithSimplifications() {
+    final SATSolver s = this.solvers[9];
     final Variable[] lits = new Variable[100];
     final CCExactlyOne c = new CCEXOProduct(f);
     for (int j = 0; j < lits.length; j++)
       lits[j] = f.variable("x" + j);
     final ImmutableFormulaList cc = c.build(lits);
     s.add(cc);
-    s.enumerateAllModels(lits);
+    Assert.assertEquals(TRUE, s.sat());
+    final List<Assignment> models = s.enumerateAllModels(lits);
+    Assert.assertEquals(100, models.size());
+    for (final Assignment m : models)
+      Assert.assertEquals(1, m.positiveLiterals().size());
   }
 
   @Test
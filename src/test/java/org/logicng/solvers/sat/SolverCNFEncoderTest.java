@@ -0,0 +1,205 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.propositions.StandardProposition;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.SolverState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+
+/**
+ * Unit tests for the direct CNF encodings on the solvers.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class SolverCNFEncoderTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final Variable[] vars = new Variable[6];
+
+  public SolverCNFEncoderTest() {
+    for (int i = 0; i < this.vars.length; i++)
+      this.vars[i] = this.f.variable("v" + i);
+  }
+
+  @Test
+  public void testRandomFormulas() {
+    final Random random = new Random(42);
+    for (int i = 0; i < 200; i++) {
+      final Formula formula = this.randomFormula(random, 4);
+      final int expected = this.countModels(formula);
+      for (final CNFMethod method : new CNFMethod[]{CNFMethod.TSEITIN, CNFMethod.PLAISTED_GREENBAUM}) {
+        for (final SATSolver solver : this.solvers(method)) {
+          solver.add(formula);
+          Assert.assertEquals(expected == 0 ? Tristate.FALSE : Tristate.TRUE, solver.sat());
+          final List<Assignment> models = solver.enumerateAllModels(formula.variables());
+          Assert.assertEquals(expected, models.size());
+          for (final Assignment model : models)
+            Assert.assertTrue(formula.evaluate(model));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSharedSubformulas() {
+    final Random random = new Random(7);
+    for (int i = 0; i < 50; i++) {
+      final Formula shared = this.randomFormula(random, 3);
+      final Formula f1 = this.f.or(shared, this.randomFormula(random, 2));
+      final Formula f2 = this.f.implication(shared, this.randomFormula(random, 2));
+      final Formula f3 = this.f.not(this.f.and(shared, this.randomFormula(random, 2)));
+      final Formula conjunction = this.f.and(f1, f2, f3);
+      final int expected = this.countModels(conjunction);
+      for (final CNFMethod method : new CNFMethod[]{CNFMethod.TSEITIN, CNFMethod.PLAISTED_GREENBAUM}) {
+        for (final SATSolver solver : this.solvers(method)) {
+          solver.add(f1);
+          solver.add(f2);
+          solver.add(f3);
+          Assert.assertEquals(expected, solver.enumerateAllModels(conjunction.variables()).size());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFactoryUntouched() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final Formula formula = p.parse("(a & b | ~(c => d)) <=> (e | f & ~(a <=> c)) | ~(b & (d | e))");
+    final String before = this.f.toString();
+    final SATSolver solver = MiniSat.miniSat(this.f, new MiniSatConfig.Builder().cnfMethod(CNFMethod.PLAISTED_GREENBAUM).build());
+    solver.add(formula);
+    Assert.assertEquals(before, this.f.toString());
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    Assert.assertTrue(formula.evaluate(solver.model()));
+    final SortedSet<Variable> variables = formula.variables();
+    Assert.assertEquals(variables, solver.model().formula(this.f).variables());
+  }
+
+  @Test
+  public void testConstants() {
+    for (final SATSolver solver : this.solvers(CNFMethod.PLAISTED_GREENBAUM)) {
+      solver.add(this.f.verum());
+      Assert.assertEquals(Tristate.TRUE, solver.sat());
+      solver.add(this.f.falsum());
+      Assert.assertEquals(Tristate.FALSE, solver.sat());
+    }
+  }
+
+  @Test
+  public void testUnsatCore() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final MiniSat solver = MiniSat.miniSat(this.f, new MiniSatConfig.Builder().unsatCoreGeneration(true)
+            .cnfMethod(CNFMethod.PLAISTED_GREENBAUM).build());
+    final StandardProposition p1 = new StandardProposition(p.parse("(a | b) & (c => d)"));
+    final StandardProposition p2 = new StandardProposition(p.parse("~(a | b) | ~(c <=> e)"));
+    final StandardProposition p3 = new StandardProposition(p.parse("x | y"));
+    final StandardProposition p4 = new StandardProposition(p.parse("c & e"));
+    solver.add(p1);
+    solver.add(p2);
+    solver.add(p3);
+    solver.add(p4);
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+    Assert.assertEquals(3, solver.unsatCore(true).size());
+    Assert.assertFalse(solver.unsatCore(true).contains(p3));
+  }
+
+  @Test
+  public void testSaveLoadState() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final Formula shared = p.parse("(a & b) | (c & ~d)");
+    final MiniSat solver = MiniSat.miniSat(this.f, new MiniSatConfig.Builder().cnfMethod(CNFMethod.PLAISTED_GREENBAUM).build());
+    solver.add(p.parse("a | c"));
+    final SolverState state = solver.saveState();
+    solver.add(shared.negate());
+    solver.add(p.parse("a & b"));
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+    solver.loadState(state);
+    solver.add(shared);
+    solver.add(p.parse("~a"));
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    Assert.assertTrue(shared.evaluate(solver.model()));
+  }
+
+  private List<SATSolver> solvers(final CNFMethod method) {
+    final List<SATSolver> solvers = new ArrayList<>();
+    solvers.add(MiniSat.miniSat(this.f, new MiniSatConfig.Builder().cnfMethod(method).build()));
+    solvers.add(MiniSat.glucose(this.f, new MiniSatConfig.Builder().cnfMethod(method).build(), new GlucoseConfig.Builder().build()));
+    solvers.add(MiniSat.miniCard(this.f, new MiniSatConfig.Builder().cnfMethod(method).build()));
+    solvers.add(CleaneLing.minimalistic(this.f, new CleaneLingConfig.Builder().cnfMethod(method).build()));
+    solvers.add(CleaneLing.full(this.f, new CleaneLingConfig.Builder().plain(true).cnfMethod(method).build()));
+    return solvers;
+  }
+
+  private Formula randomFormula(final Random random, int depth) {
+    if (depth == 0 || random.nextInt(5) == 0)
+      return this.f.literal(this.vars[random.nextInt(this.vars.length)].name(), random.nextBoolean());
+    switch (random.nextInt(5)) {
+      case 0:
+        return this.f.not(this.randomFormula(random, depth - 1));
+      case 1:
+        return this.f.implication(this.randomFormula(random, depth - 1), this.randomFormula(random, depth - 1));
+      case 2:
+        return this.f.equivalence(this.randomFormula(random, depth - 1), this.randomFormula(random, depth - 1));
+      case 3:
+        return this.f.and(this.randomFormula(random, depth - 1), this.randomFormula(random, depth - 1), this.randomFormula(random, depth - 1));
+      default:
+        return this.f.or(this.randomFormula(random, depth - 1), this.randomFormula(random, depth - 1), this.randomFormula(random, depth - 1));
+    }
+  }
+
+  private int countModels(final Formula formula) {
+    final Variable[] variables = formula.variables().toArray(new Variable[0]);
+    int count = 0;
+    for (int bits = 0; bits < 1 << variables.length; bits++) {
+      final Assignment assignment = new Assignment();
+      for (int i = 0; i < variables.length; i++)
+        assignment.addLiteral((bits & (1 << i)) != 0 ? variables[i] : variables[i].negate());
+      if (formula.evaluate(assignment))
+        count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,229 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.F;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.propositions.Proposition;
+import org.logicng.propositions.StandardProposition;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.SolverState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+
+/**
+ * Unit tests for the computation of unsatisfiable cores.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class UnsatCoreTest {
+
+  private final FormulaFactory f;
+  private final PropositionalParser parser;
+  private final SATSolver[] solvers;
+
+  public UnsatCoreTest() {
+    this.f = new FormulaFactory();
+    this.parser = new PropositionalParser(f);
+    this.solvers = new SATSolver[9];
+    this.solvers[0] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).unsatCoreGeneration(true).build());
+    this.solvers[1] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).unsatCoreGeneration(true).build());
+    this.solvers[2] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(true).unsatCoreGeneration(true).build(),
+            new GlucoseConfig.Builder().build());
+    this.solvers[3] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(false).unsatCoreGeneration(true).build(),
+            new GlucoseConfig.Builder().build());
+    this.solvers[4] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(true).unsatCoreGeneration(true).build());
+    this.solvers[5] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(false).unsatCoreGeneration(true).build());
+    this.solvers[6] = CleaneLing.minimalistic(f, new CleaneLingConfig.Builder().unsatCoreGeneration(true).build());
+    this.solvers[7] = CleaneLing.full(f, new CleaneLingConfig.Builder().unsatCoreGeneration(true).build());
+    this.solvers[8] = CleaneLing.full(f, new CleaneLingConfig.Builder().unsatCoreGeneration(true)
+            .cnfMethod(CNFMethod.PLAISTED_GREENBAUM).build());
+  }
+
+  @Test
+  public void testSimpleCore() throws ParserException {
+    final Proposition p1 = new StandardProposition("p1", parser.parse("a"));
+    final Proposition p2 = new StandardProposition("p2", parser.parse("~a | b"));
+    final Proposition p3 = new StandardProposition("p3", parser.parse("c => d"));
+    final Proposition p4 = new StandardProposition("p4", parser.parse("~b"));
+    for (final SATSolver s : this.solvers) {
+      s.add(p1);
+      s.add(p2);
+      s.add(p3);
+      Assert.assertEquals(TRUE, s.sat());
+      final Assignment model = s.model();
+      Assert.assertEquals(4, model.size());
+      Assert.assertTrue(model.positiveLiterals().contains(f.variable("a")));
+      s.add(p4);
+      Assert.assertEquals(FALSE, s.sat());
+      Assert.assertEquals(Arrays.asList(p1, p2, p4), s.unsatCore());
+      Assert.assertEquals(Arrays.asList(p1, p2, p4), s.unsatCore(true));
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testHardFormulasAreNotInCore() throws ParserException {
+    final Proposition p1 = new StandardProposition("p1", parser.parse("a & c"));
+    final Proposition p2 = new StandardProposition("p2", parser.parse("~c | d"));
+    for (final SATSolver s : this.solvers) {
+      s.add(parser.parse("~a | b"));
+      s.add(parser.parse("~b"));
+      s.add(p1);
+      s.add(p2);
+      Assert.assertEquals(FALSE, s.sat());
+      Assert.assertEquals(Arrays.asList(p1), s.unsatCore(true));
+      s.reset();
+      s.add(F.FALSE);
+      s.add(p1);
+      Assert.assertEquals(FALSE, s.sat());
+      Assert.assertTrue(s.unsatCore().isEmpty());
+      s.reset();
+      s.add(new StandardProposition("false", F.FALSE));
+      Assert.assertEquals(FALSE, s.sat());
+      Assert.assertEquals(1, s.unsatCore().size());
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testMinimization() throws ParserException {
+    final List<Proposition> props = new ArrayList<>();
+    props.add(new StandardProposition("p0", parser.parse("a | b")));
+    props.add(new StandardProposition("p1", parser.parse("a => c")));
+    props.add(new StandardProposition("p2", parser.parse("b => c")));
+    props.add(new StandardProposition("p3", parser.parse("~c | ~a")));
+    props.add(new StandardProposition("p4", parser.parse("c => d")));
+    props.add(new StandardProposition("p5", parser.parse("~d")));
+    props.add(new StandardProposition("p6", parser.parse("e & ~a")));
+    props.add(new StandardProposition("p7", parser.parse("~b | x")));
+    props.add(new StandardProposition("p8", parser.parse("x => ~e")));
+    for (final SATSolver s : this.solvers) {
+      for (final Proposition p : props)
+        s.add(p);
+      Assert.assertEquals(FALSE, s.sat());
+      final List<Proposition> core = s.unsatCore(true);
+      Assert.assertEquals(FALSE, s.sat());
+      assertMinimalCore(core);
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testAssumptions() throws ParserException {
+    final Proposition p1 = new StandardProposition("p1", parser.parse("a => b"));
+    final Proposition p2 = new StandardProposition("p2", parser.parse("b => c"));
+    final Proposition p3 = new StandardProposition("p3", parser.parse("d"));
+    for (final SATSolver s : this.solvers) {
+      s.add(p1);
+      s.add(p2);
+      s.add(p3);
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertEquals(FALSE, s.sat(Arrays.asList(f.literal("a", true), f.literal("c", false))));
+      Assert.assertEquals(Arrays.asList(p1, p2), s.unsatCore(true));
+      Assert.assertEquals(FALSE, s.sat(f.literal("d", false)));
+      Assert.assertEquals(Arrays.asList(p3), s.unsatCore());
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testSaveAndLoadState() throws ParserException {
+    final Proposition p1 = new StandardProposition("p1", parser.parse("a | b"));
+    final Proposition p2 = new StandardProposition("p2", parser.parse("~a"));
+    final Proposition p3 = new StandardProposition("p3", parser.parse("~b"));
+    for (final SATSolver s : Arrays.asList(this.solvers[0], this.solvers[6], this.solvers[7])) {
+      s.add(p1);
+      s.add(p2);
+      final SolverState state = s.saveState();
+      s.add(p3);
+      Assert.assertEquals(FALSE, s.sat());
+      Assert.assertEquals(Arrays.asList(p1, p2, p3), s.unsatCore());
+      s.loadState(state);
+      Assert.assertEquals(TRUE, s.sat());
+      s.add(new StandardProposition("p4", parser.parse("~b & c")));
+      Assert.assertEquals(FALSE, s.sat());
+      Assert.assertEquals(3, s.unsatCore().size());
+      Assert.assertTrue(s.unsatCore().containsAll(Arrays.asList(p1, p2)));
+      s.reset();
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCoreGenerationNotActivated() {
+    final SATSolver s = MiniSat.miniSat(f);
+    s.add(new StandardProposition("p", F.FALSE));
+    Assert.assertEquals(FALSE, s.sat());
+    s.unsatCore();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCoreOnSatisfiableFormula() {
+    final SATSolver s = this.solvers[0];
+    s.add(new StandardProposition("p", F.TRUE));
+    Assert.assertEquals(TRUE, s.sat());
+    s.unsatCore();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCleaneLingCoreGenerationNotActivated() {
+    final SATSolver s = CleaneLing.minimalistic(f);
+    s.add(new StandardProposition("p", F.FALSE));
+    Assert.assertEquals(FALSE, s.sat());
+    s.unsatCore();
+  }
+
+  private void assertMinimalCore(final List<Proposition> core) {
+    final SATSolver checker = MiniSat.miniSat(f);
+    for (final Proposition p : core)
+      checker.add(p);
+    Assert.assertEquals(FALSE, checker.sat());
+    for (final Proposition removed : core) {
+      checker.reset();
+      for (final Proposition p : core)
+        if (p != removed)
+          checker.add(p);
+      Assert.assertEquals(TRUE, checker.sat());
+    }
+  }
+}
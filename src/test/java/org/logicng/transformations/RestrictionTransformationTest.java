@@ -0,0 +1,118 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.transformations;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.F;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PseudoBooleanParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link RestrictionTransformation}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class RestrictionTransformationTest {
+
+  private final Assignment ass = new Assignment(Arrays.asList(F.A, F.NB, F.NX));
+  private final RestrictionTransformation restriction = new RestrictionTransformation(ass);
+
+  @Test
+  public void testSameResultAsRestrict() throws ParserException {
+    final PseudoBooleanParser p = new PseudoBooleanParser(F.f);
+    final List<Formula> formulas = new ArrayList<>(Arrays.asList(F.TRUE, F.FALSE, F.A, F.NA, F.C, F.OR1, F.OR2,
+            F.OR3, F.AND1, F.AND2, F.AND3, F.NOT1, F.NOT2, F.IMP1, F.IMP2, F.IMP3, F.IMP4, F.EQ1, F.EQ2, F.EQ3, F.EQ4,
+            F.PBC1, F.PBC2, F.PBC3, F.PBC4, F.PBC5));
+    formulas.add(p.parse("(a & (b | ~c)) => ~(x <=> (y | (a & (b | ~c))))"));
+    formulas.add(p.parse("~(~x => a) | (2 * a + 3 * y + 1 * c >= 3) & (c | ~x)"));
+    for (final Formula formula : formulas)
+      Assert.assertEquals(formula.restrict(ass), formula.transform(restriction));
+    final List<Formula> restricted = restriction.apply(formulas);
+    for (int i = 0; i < formulas.size(); i++)
+      Assert.assertEquals(formulas.get(i).restrict(ass), restricted.get(i));
+  }
+
+  @Test
+  public void testRestrictAll() throws ParserException {
+    final Formula formula = new PseudoBooleanParser(F.f).parse("(a | b) & (~a | c) & (b => x)");
+    final List<Assignment> assignments = Arrays.asList(new Assignment(F.A), new Assignment(F.NA),
+            new Assignment(Arrays.asList(F.B, F.NX)), new Assignment());
+    final List<Formula> restricted = RestrictionTransformation.restrictAll(formula, assignments);
+    Assert.assertEquals(4, restricted.size());
+    for (int i = 0; i < assignments.size(); i++)
+      Assert.assertEquals(formula.restrict(assignments.get(i)), restricted.get(i));
+  }
+
+  @Test
+  public void testSharedDAG() {
+    final FormulaFactory f = new FormulaFactory();
+    final int depth = 80;
+    final List<Variable> vs = new ArrayList<>();
+    final List<Variable> ws = new ArrayList<>();
+    Formula previous = null;
+    Formula formula = f.variable("a");
+    for (int i = 0; i < depth; i++) {
+      previous = formula;
+      vs.add(f.variable("v" + i));
+      ws.add(f.variable("w" + i));
+      formula = f.or(f.and(formula, vs.get(i)), f.and(f.not(formula), ws.get(i)));
+    }
+    final Assignment assignment = new Assignment();
+    for (int i = 0; i < depth; i++) {
+      assignment.addLiteral(vs.get(i));
+      assignment.addLiteral(ws.get(i).negate());
+    }
+    Assert.assertEquals(f.variable("a"), formula.transform(new RestrictionTransformation(assignment)));
+    final Assignment partial = new Assignment(Arrays.asList(vs.get(depth - 1), ws.get(depth - 1).negate()));
+    Assert.assertEquals(previous, formula.transform(new RestrictionTransformation(partial)));
+  }
+
+  @Test
+  public void testDeepFormula() {
+    final FormulaFactory f = new FormulaFactory();
+    final Assignment assignment = new Assignment();
+    Formula formula = f.variable("a");
+    for (int i = 0; i < 50000; i++) {
+      formula = f.or(f.and(formula, f.variable("v" + i)), f.variable("w" + i));
+      assignment.addLiteral(f.variable("v" + i));
+      assignment.addLiteral(f.literal("w" + i, false));
+    }
+    Assert.assertEquals(f.variable("a"), formula.transform(new RestrictionTransformation(assignment)));
+  }
+}
@@ -0,0 +1,101 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.transformations;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Substitution;
+import org.logicng.formulas.F;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PseudoBooleanParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link SubstitutionTransformation}.
+ * @author Christoph Zengler
+ * @version 1.0
+ * @since 1.0
+ */
+public class SubstitutionTransformationTest {
+
+  @Test
+  public void testSameResultAsSubstitute() throws ParserException {
+    final PseudoBooleanParser p = new PseudoBooleanParser(F.f);
+    final Substitution subst = new Substitution();
+    subst.addMapping(F.A, F.NB);
+    subst.addMapping(F.X, p.parse("a & (y | c)"));
+    final SubstitutionTransformation substitution = new SubstitutionTransformation(subst);
+    final List<Formula> formulas = new ArrayList<>(Arrays.asList(F.TRUE, F.FALSE, F.A, F.NA, F.C, F.OR1, F.OR2,
+            F.OR3, F.AND1, F.AND2, F.AND3, F.NOT1, F.NOT2, F.IMP1, F.IMP2, F.IMP3, F.IMP4, F.EQ1, F.EQ2, F.EQ3, F.EQ4));
+    formulas.add(p.parse("(a & (b | ~c)) => ~(x <=> (y | (a & (b | ~c))))"));
+    formulas.add(p.parse("~(~x => a) | (c | ~x)"));
+    for (final Formula formula : formulas)
+      Assert.assertEquals(formula.substitute(subst), formula.transform(substitution));
+    final List<Formula> substituted = substitution.apply(formulas);
+    for (int i = 0; i < formulas.size(); i++)
+      Assert.assertEquals(formulas.get(i).substitute(subst), substituted.get(i));
+  }
+
+  @Test
+  public void testSharedDAG() {
+    final FormulaFactory f = new FormulaFactory();
+    final int depth = 80;
+    Formula formulaA = f.variable("a");
+    Formula formulaB = f.variable("b");
+    for (int i = 0; i < depth; i++) {
+      final Variable v = f.variable("v" + i);
+      final Variable w = f.variable("w" + i);
+      formulaA = f.or(f.and(formulaA, v), f.and(f.not(formulaA), w));
+      formulaB = f.or(f.and(formulaB, v), f.and(f.not(formulaB), w));
+    }
+    final Substitution subst = new Substitution();
+    subst.addMapping(f.variable("a"), f.variable("b"));
+    Assert.assertSame(formulaB, formulaA.transform(new SubstitutionTransformation(subst)));
+  }
+
+  @Test
+  public void testDeepFormula() {
+    final FormulaFactory f = new FormulaFactory();
+    Formula formula = f.variable("a");
+    Formula expected = f.variable("b");
+    for (int i = 0; i < 50000; i++) {
+      formula = f.or(f.and(formula, f.variable("v" + i)), f.variable("w" + i));
+      expected = f.or(f.and(expected, f.variable("v" + i)), f.variable("w" + i));
+    }
+    final Substitution substitution = new Substitution();
+    substitution.addMapping(f.variable("a"), f.variable("b"));
+    Assert.assertSame(expected, formula.transform(new SubstitutionTransformation(substitution)));
+  }
+}
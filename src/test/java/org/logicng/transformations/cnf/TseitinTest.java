@@ -149,8 +149,8 @@ public class TseitinTest {
     PseudoBooleanParser p = new PseudoBooleanParser(F.f);
     Assert.assertEquals(p.parse("a"), p.parse("a <=> (1 * b <= 1)").transform(ts));
     Assert.assertEquals(p.parse("$false"), p.parse("~(1 * b <= 1)").transform(ts));
-    Assert.assertEquals(p.parse("(~@RESERVED_CC_0 | ~@RESERVED_CC_1) & (~@RESERVED_CC_2 | ~@RESERVED_CC_3) & (~b | @RESERVED_CC_0) & (~b | @RESERVED_CC_2) & (~c | @RESERVED_CC_0) & (~c | @RESERVED_CC_3) & (~d | @RESERVED_CC_1) & (~d | @RESERVED_CC_2)"), p.parse("(1 * b + 1 * c + 1 * d <= 1)").transform(ts));
-    Assert.assertEquals(p.parse("(@RESERVED_CC_7 | ~@RESERVED_CC_5) & (@RESERVED_CC_8 | ~@RESERVED_CC_6) & (d | ~@RESERVED_CC_6) & (d | @RESERVED_CC_7 | ~@RESERVED_CC_4) & (d | @RESERVED_CC_8 | ~@RESERVED_CC_5) & (b | ~@RESERVED_CC_8) & (c | ~@RESERVED_CC_8) & (c | b | ~@RESERVED_CC_7) & @RESERVED_CC_4 & @RESERVED_CC_5"), p.parse("~(1 * b + 1 * c + 1 * d <= 1)").transform(ts));
+    Assert.assertEquals(p.parse("(~b | ~c) & (~b | ~d) & (~c | ~d)"), p.parse("(1 * b + 1 * c + 1 * d <= 1)").transform(ts));
+    Assert.assertEquals(p.parse("(@RESERVED_CC_3 | ~@RESERVED_CC_1) & (@RESERVED_CC_4 | ~@RESERVED_CC_2) & (d | ~@RESERVED_CC_2) & (d | @RESERVED_CC_3 | ~@RESERVED_CC_0) & (d | @RESERVED_CC_4 | ~@RESERVED_CC_1) & (b | ~@RESERVED_CC_4) & (c | ~@RESERVED_CC_4) & (c | b | ~@RESERVED_CC_3) & @RESERVED_CC_0 & @RESERVED_CC_1"), p.parse("~(1 * b + 1 * c + 1 * d <= 1)").transform(ts));
   }
 
   private boolean equivalentModels(final Formula f1, final Formula f2, final SortedSet<Variable> vars) {